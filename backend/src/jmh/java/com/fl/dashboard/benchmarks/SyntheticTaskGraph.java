@@ -0,0 +1,85 @@
+package com.fl.dashboard.benchmarks;
+
+import com.fl.dashboard.entities.Projeto;
+import com.fl.dashboard.entities.Tarefa;
+import com.fl.dashboard.entities.User;
+import com.fl.dashboard.enums.TarefaStatus;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Detached (never persisted) Projeto -> Tarefa -> User graphs for the JMH
+ * benchmarks. Seeded, so every run - and every commit being compared -
+ * measures exactly the same shapes.
+ */
+public final class SyntheticTaskGraph {
+
+    private static final TarefaStatus[] STATUSES = TarefaStatus.values();
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+
+    private SyntheticTaskGraph() {
+    }
+
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * A projeto with {@code tarefaCount} tarefas, each assigned to 1-3 of the
+     * {@code userCount} users, with prazos spread over two years.
+     */
+    public static Projeto projeto(long id, int tarefaCount, int userCount, long seed) {
+        Random random = new Random(seed);
+        List<User> users = users(userCount);
+
+        Projeto projeto = new Projeto();
+        projeto.setId(id);
+        projeto.setDesignacao("Projeto " + id);
+        projeto.setStatus("EM_PROGRESSO");
+        projeto.setPrazo(toDate(BASE_DATE.plusDays(730)));
+        projeto.setCoordenador(users.get(0));
+        projeto.getUsers().addAll(users);
+
+        for (int i = 1; i <= tarefaCount; i++) {
+            Tarefa tarefa = new Tarefa();
+            tarefa.setId(id * 100_000 + i);
+            tarefa.setDescricao("Tarefa " + i);
+            tarefa.setPrioridade(random.nextBoolean() ? "ALTA" : "MEDIA");
+            tarefa.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+
+            LocalDate start = BASE_DATE.plusDays(random.nextInt(600));
+            tarefa.setPrazoEstimado(toDate(start));
+            tarefa.setPrazoReal(toDate(start.plusDays(1 + random.nextInt(120))));
+            tarefa.setWorkingDays(1 + random.nextInt(85));
+            tarefa.setProjeto(projeto);
+
+            int assignees = 1 + random.nextInt(3);
+            for (int a = 0; a < assignees; a++) {
+                tarefa.getUsers().add(users.get(random.nextInt(users.size())));
+            }
+            projeto.getTarefas().add(tarefa);
+        }
+        return projeto;
+    }
+
+    public static List<Tarefa> tarefas(Projeto projeto) {
+        return new ArrayList<>(projeto.getTarefas());
+    }
+
+    public static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,43 @@
+package com.fl.dashboard.converters;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonListConverter in both directions, for the list sizes the multi-value
+ * Cliente columns actually hold.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class JsonListConverterBenchmark {
+
+    @Param({"1", "5", "50"})
+    public int size;
+
+    private final JsonListConverter converter = new JsonListConverter();
+    private List<String> values;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add("contacto" + i + "@example.com");
+        }
+        json = converter.convertToDatabaseColumn(values);
+    }
+
+    @Benchmark
+    public String toDatabaseColumn() {
+        return converter.convertToDatabaseColumn(values);
+    }
+
+    @Benchmark
+    public List<String> toEntityAttribute() {
+        return converter.convertToEntityAttribute(json);
+    }
+}
@@ -0,0 +1,41 @@
+package com.fl.dashboard.dto;
+
+import com.fl.dashboard.benchmarks.SyntheticTaskGraph;
+import com.fl.dashboard.entities.Projeto;
+import com.fl.dashboard.entities.Tarefa;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity -> DTO constructors used by the heaviest list/detail endpoints, on
+ * detached synthetic graphs (Hibernate.initialize is a no-op on plain collections,
+ * so this measures the mapping itself, not lazy loading).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "200", "2000"})
+    public int tarefaCount;
+
+    private Projeto projeto;
+    private Tarefa tarefa;
+
+    @Setup
+    public void setUp() {
+        projeto = SyntheticTaskGraph.projeto(1L, tarefaCount, 25, 42L);
+        tarefa = projeto.getTarefas().iterator().next();
+    }
+
+    @Benchmark
+    public TarefaWithUserAndProjetoDTO tarefaWithUserAndProjeto() {
+        return new TarefaWithUserAndProjetoDTO(tarefa);
+    }
+
+    @Benchmark
+    public ProjetoWithUsersAndTarefasDTO projetoWithUsersAndTarefas() {
+        return new ProjetoWithUsersAndTarefasDTO(projeto);
+    }
+}
@@ -0,0 +1,57 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.entities.ProfileImage;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProfileImageService#generateSizes - decoding an upload and encoding every
+ * stored size - on typical upload sizes (phone photo, screenshot,
+ * already-small avatar), PNG and JPEG sources.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ProfileImageResizeBenchmark {
+
+    @Param({"160", "1024", "2048"})
+    public int sourceSize;
+
+    @Param({"png", "jpg"})
+    public String sourceFormat;
+
+    private byte[] sourceBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Random noise compresses badly, so this is closer to a worst-case photo than a flat image.
+        Random random = new Random(42L);
+        BufferedImage image = new BufferedImage(sourceSize, sourceSize, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            for (int i = 0; i < 200; i++) {
+                g.setColor(new Color(random.nextInt(0xFFFFFF)));
+                g.fillOval(random.nextInt(sourceSize), random.nextInt(sourceSize),
+                        1 + random.nextInt(sourceSize / 4), 1 + random.nextInt(sourceSize / 4));
+            }
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, sourceFormat, output);
+        sourceBytes = output.toByteArray();
+    }
+
+    @Benchmark
+    public List<ProfileImage> generateSizes() {
+        return ProfileImageService.generateSizes("benchmark", sourceBytes);
+    }
+}
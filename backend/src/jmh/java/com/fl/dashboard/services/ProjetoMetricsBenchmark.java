@@ -0,0 +1,51 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.benchmarks.SyntheticTaskGraph;
+import com.fl.dashboard.dto.ProjetoMetricsDTO;
+import com.fl.dashboard.entities.Projeto;
+import com.fl.dashboard.entities.Tarefa;
+import com.fl.dashboard.enums.TarefaStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory metrics aggregation (TarefaMetricsCalculator and
+ * ProjetoMetricsService#buildMetrics) over synthetic projetos of increasing size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ProjetoMetricsBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int tarefaCount;
+
+    private Projeto projeto;
+    private List<Tarefa> tarefas;
+    private ProjetoMetricsService projetoMetricsService;
+
+    @Setup
+    public void setUp() {
+        projeto = SyntheticTaskGraph.projeto(1L, tarefaCount, 25, 42L);
+        tarefas = SyntheticTaskGraph.tarefas(projeto);
+        // buildMetrics never touches the repositories.
+        projetoMetricsService = new ProjetoMetricsService(null, null, null);
+    }
+
+    @Benchmark
+    public int countByStatus() {
+        return TarefaMetricsCalculator.countByStatus(tarefas, TarefaStatus.DONE, TarefaStatus.IN_PROGRESS);
+    }
+
+    @Benchmark
+    public double averageWorkingDays() {
+        return TarefaMetricsCalculator.calculateAverageWorkingDays(tarefas);
+    }
+
+    @Benchmark
+    public ProjetoMetricsDTO buildMetrics() {
+        return projetoMetricsService.buildMetrics(projeto.getId(), projeto.getDesignacao(), tarefas);
+    }
+}
@@ -0,0 +1,65 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.benchmarks.SyntheticTaskGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WorkingDaysCalendar against the day-by-day Calendar loop it replaced in
+ * TarefaService, over ranges of a few days up to a couple of years.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class WorkingDaysBenchmark {
+
+    @Param({"5", "60", "730"})
+    public int rangeDays;
+
+    private Date start;
+    private Date end;
+    private WorkingDaysCalendar calendar;
+
+    @Setup
+    public void setUp() {
+        LocalDate startDate = LocalDate.of(2025, 3, 3);
+        start = SyntheticTaskGraph.toDate(startDate);
+        end = SyntheticTaskGraph.toDate(startDate.plusDays(rangeDays));
+
+        // No repository: the holidays are handed over directly, as the table would after reload().
+        calendar = new WorkingDaysCalendar(null);
+        calendar.setHolidays(List.of(
+                LocalDate.of(2025, 4, 18), LocalDate.of(2025, 4, 25), LocalDate.of(2025, 5, 1),
+                LocalDate.of(2025, 6, 10), LocalDate.of(2025, 6, 19), LocalDate.of(2025, 8, 15),
+                LocalDate.of(2025, 10, 5), LocalDate.of(2025, 11, 1), LocalDate.of(2025, 12, 1),
+                LocalDate.of(2025, 12, 8), LocalDate.of(2025, 12, 25), LocalDate.of(2026, 1, 1),
+                LocalDate.of(2026, 4, 3), LocalDate.of(2026, 6, 4), LocalDate.of(2026, 6, 10)));
+    }
+
+    @Benchmark
+    public Integer workingDaysCalendar() {
+        return calendar.calculateWorkingDays(start, end);
+    }
+
+    @Benchmark
+    public Integer legacyCalendarLoop() {
+        Calendar from = Calendar.getInstance();
+        from.setTime(start);
+        Calendar to = Calendar.getInstance();
+        to.setTime(end);
+        int workingDays = 0;
+        while (!from.after(to)) {
+            int dayOfWeek = from.get(Calendar.DAY_OF_WEEK);
+            if (dayOfWeek != Calendar.SATURDAY && dayOfWeek != Calendar.SUNDAY) {
+                workingDays++;
+            }
+            from.add(Calendar.DATE, 1);
+        }
+        return workingDays;
+    }
+}
@@ -1,15 +1,27 @@
 package com.fl.dashboard.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 @Configuration
 public class AppConfig {
 
+    private static final String BCRYPT = "bcrypt";
+
+    // New hashes are stored as {bcrypt}$2a$...; the ones written before carry no prefix and are
+    // matched as plain BCrypt. upgradeEncoding() flags both those and hashes below the configured
+    // strength, and the password grant re-hashes them on the user's next successful login.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password-hashing.bcrypt-strength:10}") int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 }
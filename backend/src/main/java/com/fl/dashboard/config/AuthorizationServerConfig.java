@@ -3,10 +3,15 @@ package com.fl.dashboard.config;
 import com.fl.dashboard.customgrant.CustomPasswordAuthenticationConverter;
 import com.fl.dashboard.customgrant.CustomPasswordAuthenticationProvider;
 import com.fl.dashboard.customgrant.CustomUserAuthorities;
+import com.fl.dashboard.customgrant.LoginErrorResponseHandler;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.JWKSource;
+import com.fl.dashboard.repositories.StoredAuthorizationRepository;
+import com.fl.dashboard.services.CurrentUser;
+import com.fl.dashboard.services.PasswordHashingService;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -22,7 +27,6 @@ import org.springframework.security.oauth2.core.OAuth2Token;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationConsentService;
-import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsentService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
@@ -62,12 +66,22 @@ public class AuthorizationServerConfig {
     @Value("${security.issuer-uri:}")
     private String issuerUri;
 
+    // "memory" (bounded, per instance) or "jdbc" (tb_oauth2_authorization, shared and persistent)
+    @Value("${security.authorization-store.type:memory}")
+    private String authorizationStoreType;
+
+    @Value("${security.authorization-store.max-entries:5000}")
+    private int authorizationStoreMaxEntries;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
     private static RSAKey generateRsa() {
         KeyPair keyPair = generateRsaKey();
         RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
@@ -89,7 +103,8 @@ public class AuthorizationServerConfig {
 
     @Bean
     @Order(2)
-    public SecurityFilterChain asSecurityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain asSecurityFilterChain(HttpSecurity http,
+                                                     OAuth2AuthorizationService authorizationService) throws Exception {
 
         OAuth2AuthorizationServerConfiguration.applyDefaultSecurity(http);
 
@@ -97,7 +112,8 @@ public class AuthorizationServerConfig {
         http.getConfigurer(OAuth2AuthorizationServerConfigurer.class)
                 .tokenEndpoint(tokenEndpoint -> tokenEndpoint
                         .accessTokenRequestConverter(new CustomPasswordAuthenticationConverter())
-                        .authenticationProvider(new CustomPasswordAuthenticationProvider(authorizationService(), tokenGenerator(), userDetailsService, passwordEncoder)));
+                        .authenticationProvider(new CustomPasswordAuthenticationProvider(authorizationService, tokenGenerator(), userDetailsService, passwordHashingService))
+                        .errorResponseHandler(new LoginErrorResponseHandler()));
 
         http.oauth2ResourceServer(oauth2ResourceServer -> oauth2ResourceServer.jwt(Customizer.withDefaults()));
         // @formatter:on
@@ -105,9 +121,17 @@ public class AuthorizationServerConfig {
         return http.build();
     }
 
+    // Every login and refresh saves an authorization, so the store must forget them: the default
+    // evicts expired ones and caps the count, the jdbc one keeps them in the database until the
+    // hourly purge (AuthorizationPurgeScheduler).
     @Bean
-    public OAuth2AuthorizationService authorizationService() {
-        return new InMemoryOAuth2AuthorizationService();
+    public OAuth2AuthorizationService authorizationService(MeterRegistry meterRegistry,
+                                                           StoredAuthorizationRepository storedAuthorizationRepository,
+                                                           RegisteredClientRepository registeredClientRepository) {
+        if ("jdbc".equalsIgnoreCase(authorizationStoreType)) {
+            return new JpaOAuth2AuthorizationService(storedAuthorizationRepository, registeredClientRepository);
+        }
+        return new BoundedOAuth2AuthorizationService(authorizationStoreMaxEntries, meterRegistry);
     }
 
     @Bean
@@ -118,8 +142,9 @@ public class AuthorizationServerConfig {
     @Bean
     public RegisteredClientRepository registeredClientRepository() {
         // @formatter:off
+        // Stable id: stored authorizations reference it, and must still resolve after a restart
         RegisteredClient registeredClient = RegisteredClient
-                .withId(UUID.randomUUID().toString())
+                .withId(clientId)
                 .clientId(clientId)
                 .clientSecret(passwordEncoder.encode(clientSecret))
                 .scope("read")
@@ -186,6 +211,10 @@ public class AuthorizationServerConfig {
                         .claim("username", user.getUsername()) // This should now be the email
                         .claim("email", user.getUsername()); // Add email claim explicitly
                 // @formatter:on
+                if (user.getUserId() != null) {
+                    // Lets CurrentUser answer "who is this" without a findByEmail per request
+                    context.getClaims().claim(CurrentUser.USER_ID_CLAIM, user.getUserId());
+                }
             }
         };
     }
@@ -0,0 +1,189 @@
+package com.fl.dashboard.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.util.Assert;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory OAuth2AuthorizationService that, unlike
+ * InMemoryOAuth2AuthorizationService, forgets authorizations: each one is
+ * dropped once its last token (normally the refresh token) has expired, and
+ * past {@code maxAuthorizations} the oldest are evicted. Every login and
+ * every refresh saves one, so the unbounded store grew for as long as the
+ * instance was up.
+ * <p>
+ * Authorizations are kept in save order and all of them live for the same
+ * refresh-token TTL (a refresh re-saves, moving it to the back), so the
+ * expired ones are always at the front and are dropped there on every save.
+ * Tokens are indexed by their SHA-256 rather than by the value itself.
+ * <p>
+ * Still per instance and lost on restart; see JpaOAuth2AuthorizationService
+ * (security.authorization-store.type=jdbc) for the shared, persistent store.
+ */
+public class BoundedOAuth2AuthorizationService implements OAuth2AuthorizationService {
+
+    private final int maxAuthorizations;
+    private final Clock clock;
+
+    // Guarded by lock. Insertion order = save order.
+    private final LinkedHashMap<String, StoredEntry> authorizationsById = new LinkedHashMap<>();
+    private final Map<String, String> idsByTokenHash = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Counter expiredEvictions;
+    private final Counter capacityEvictions;
+
+    public BoundedOAuth2AuthorizationService(int maxAuthorizations, MeterRegistry meterRegistry) {
+        this(maxAuthorizations, meterRegistry, Clock.systemUTC());
+    }
+
+    BoundedOAuth2AuthorizationService(int maxAuthorizations, MeterRegistry meterRegistry, Clock clock) {
+        Assert.isTrue(maxAuthorizations > 0, "maxAuthorizations must be greater than 0");
+        this.maxAuthorizations = maxAuthorizations;
+        this.clock = clock;
+
+        Gauge.builder("oauth2.authorizations.stored", this, BoundedOAuth2AuthorizationService::size)
+                .description("Autorizações OAuth2 (sessões) guardadas em memória")
+                .register(meterRegistry);
+        this.expiredEvictions = Counter.builder("oauth2.authorizations.evicted")
+                .description("Autorizações OAuth2 removidas da memória")
+                .tag("reason", "expired")
+                .register(meterRegistry);
+        this.capacityEvictions = Counter.builder("oauth2.authorizations.evicted")
+                .description("Autorizações OAuth2 removidas da memória")
+                .tag("reason", "capacity")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void save(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+        Instant now = clock.instant();
+        Instant expiresAt = OAuth2AuthorizationSupport.expiresAt(authorization);
+
+        lock.lock();
+        try {
+            removeEntry(authorization.getId());
+            if (expiresAt.isAfter(now)) {
+                List<String> tokenHashes = tokenHashes(authorization);
+                authorizationsById.put(authorization.getId(), new StoredEntry(authorization, expiresAt, tokenHashes));
+                tokenHashes.forEach(hash -> idsByTokenHash.put(hash, authorization.getId()));
+            }
+            evictExpired(now);
+            while (authorizationsById.size() > maxAuthorizations) {
+                removeEntry(authorizationsById.keySet().iterator().next());
+                capacityEvictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+        lock.lock();
+        try {
+            removeEntry(authorization.getId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Nullable
+    @Override
+    public OAuth2Authorization findById(String id) {
+        Assert.hasText(id, "id cannot be empty");
+        lock.lock();
+        try {
+            return activeAuthorization(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Nullable
+    @Override
+    public OAuth2Authorization findByToken(String token, @Nullable OAuth2TokenType tokenType) {
+        Assert.hasText(token, "token cannot be empty");
+        String hash = OAuth2AuthorizationSupport.hash(token);
+        OAuth2Authorization authorization;
+        lock.lock();
+        try {
+            String id = idsByTokenHash.get(hash);
+            authorization = id != null ? activeAuthorization(id) : null;
+        } finally {
+            lock.unlock();
+        }
+        return authorization != null && OAuth2AuthorizationSupport.hasToken(authorization, token, tokenType)
+                ? authorization : null;
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return authorizationsById.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static List<String> tokenHashes(OAuth2Authorization authorization) {
+        return Stream.of(authorization.getAccessToken(), authorization.getRefreshToken())
+                .filter(Objects::nonNull)
+                .map(token -> OAuth2AuthorizationSupport.hash(token.getToken().getTokenValue()))
+                .toList();
+    }
+
+    private OAuth2Authorization activeAuthorization(String id) {
+        StoredEntry entry = authorizationsById.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.expiresAt().isAfter(clock.instant())) {
+            removeEntry(id);
+            expiredEvictions.increment();
+            return null;
+        }
+        return entry.authorization();
+    }
+
+    private void evictExpired(Instant now) {
+        Iterator<StoredEntry> oldestFirst = authorizationsById.values().iterator();
+        while (oldestFirst.hasNext()) {
+            StoredEntry entry = oldestFirst.next();
+            if (entry.expiresAt().isAfter(now)) {
+                return;
+            }
+            oldestFirst.remove();
+            entry.tokenHashes().forEach(idsByTokenHash::remove);
+            expiredEvictions.increment();
+        }
+    }
+
+    private void removeEntry(String id) {
+        StoredEntry removed = authorizationsById.remove(id);
+        if (removed != null) {
+            removed.tokenHashes().forEach(idsByTokenHash::remove);
+        }
+    }
+
+    private record StoredEntry(OAuth2Authorization authorization, Instant expiresAt, List<String> tokenHashes) {
+    }
+}
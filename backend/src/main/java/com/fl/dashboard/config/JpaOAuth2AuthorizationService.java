@@ -0,0 +1,224 @@
+package com.fl.dashboard.config;
+
+import com.fl.dashboard.customgrant.CustomUserAuthorities;
+import com.fl.dashboard.entities.StoredAuthorization;
+import com.fl.dashboard.repositories.StoredAuthorizationRepository;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * OAuth2AuthorizationService on tb_oauth2_authorization, selected with
+ * security.authorization-store.type=jdbc: refresh tokens outlive a restart
+ * (the signing key doesn't, so access tokens still have to be refreshed)
+ * and are accepted by every replica. Expired rows are deleted by
+ * AuthorizationPurgeScheduler.
+ * <p>
+ * Stores exactly what the password and refresh_token grants read back -
+ * the tokens with their invalidated flag, the scopes and the user the
+ * tokens were issued to - rather than serializing the whole authorization
+ * to JSON: the Principal attribute (the client authentication carrying a
+ * CustomUserAuthorities) is rebuilt from the stored user on the way out.
+ * Access token claims aren't kept; nothing reads them with self-contained
+ * JWTs.
+ * <p>
+ * Neither are the tokens themselves - only their SHA-256, so the table is
+ * no use to whoever gets a copy of it. An authorization found by a token is
+ * rebuilt with the value the client presented; a token whose value isn't
+ * known (the access token of a refresh, both on findById) is rebuilt as a
+ * placeholder carrying its hash, which no token lookup or JWT decoder
+ * accepts and which save() writes back as the same hash.
+ */
+public class JpaOAuth2AuthorizationService implements OAuth2AuthorizationService {
+
+    // expires_at of a row whose tokens never expire (not issued by this server's TokenSettings)
+    private static final LocalDateTime NEVER = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    // Prefix of a placeholder token value. Issued tokens (JWTs, Base64URL refresh tokens) never contain ':'
+    static final String STORED_HASH_PREFIX = "sha256:";
+
+    private final StoredAuthorizationRepository storedAuthorizationRepository;
+    private final RegisteredClientRepository registeredClientRepository;
+
+    public JpaOAuth2AuthorizationService(StoredAuthorizationRepository storedAuthorizationRepository,
+                                         RegisteredClientRepository registeredClientRepository) {
+        this.storedAuthorizationRepository = storedAuthorizationRepository;
+        this.registeredClientRepository = registeredClientRepository;
+    }
+
+    @Override
+    public void save(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+        storedAuthorizationRepository.save(toEntity(authorization));
+    }
+
+    @Override
+    public void remove(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+        storedAuthorizationRepository.deleteById(authorization.getId());
+    }
+
+    @Nullable
+    @Override
+    public OAuth2Authorization findById(String id) {
+        Assert.hasText(id, "id cannot be empty");
+        return storedAuthorizationRepository.findById(id)
+                .map(entity -> toAuthorization(entity, null, null))
+                .orElse(null);
+    }
+
+    @Nullable
+    @Override
+    public OAuth2Authorization findByToken(String token, @Nullable OAuth2TokenType tokenType) {
+        Assert.hasText(token, "token cannot be empty");
+        String hash = OAuth2AuthorizationSupport.hash(token);
+
+        Optional<StoredAuthorization> stored;
+        if (tokenType == null) {
+            stored = storedAuthorizationRepository.findByTokenHash(hash);
+        } else if (OAuth2TokenType.ACCESS_TOKEN.equals(tokenType)) {
+            stored = storedAuthorizationRepository.findByAccessTokenHash(hash);
+        } else if (OAuth2TokenType.REFRESH_TOKEN.equals(tokenType)) {
+            stored = storedAuthorizationRepository.findByRefreshTokenHash(hash);
+        } else {
+            return null;
+        }
+
+        OAuth2Authorization authorization = stored
+                .map(entity -> toAuthorization(entity,
+                        hash.equals(entity.getAccessTokenHash()) ? token : null,
+                        hash.equals(entity.getRefreshTokenHash()) ? token : null))
+                .orElse(null);
+        return authorization != null && OAuth2AuthorizationSupport.hasToken(authorization, token, tokenType)
+                ? authorization : null;
+    }
+
+    StoredAuthorization toEntity(OAuth2Authorization authorization) {
+        StoredAuthorization entity = new StoredAuthorization();
+        entity.setId(authorization.getId());
+        entity.setRegisteredClientId(authorization.getRegisteredClientId());
+        entity.setPrincipalName(authorization.getPrincipalName());
+        entity.setAuthorizationGrantType(authorization.getAuthorizationGrantType().getValue());
+        entity.setAuthorizedScopes(StringUtils.collectionToCommaDelimitedString(authorization.getAuthorizedScopes()));
+
+        OAuth2ClientAuthenticationToken principal = authorization.getAttribute(Principal.class.getName());
+        if (principal != null && principal.getDetails() instanceof CustomUserAuthorities user) {
+            entity.setUserEmail(user.getUsername());
+            entity.setUserId(user.getUserId());
+            entity.setUserAuthorities(user.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.joining(",")));
+        } else {
+            entity.setUserEmail(authorization.getPrincipalName());
+        }
+
+        OAuth2Authorization.Token<OAuth2AccessToken> accessToken = authorization.getAccessToken();
+        if (accessToken != null) {
+            OAuth2AccessToken token = accessToken.getToken();
+            entity.setAccessTokenHash(hashOf(token.getTokenValue()));
+            entity.setAccessTokenIssuedAt(toUtc(token.getIssuedAt()));
+            entity.setAccessTokenExpiresAt(toUtc(token.getExpiresAt()));
+            entity.setAccessTokenScopes(StringUtils.collectionToCommaDelimitedString(token.getScopes()));
+            entity.setAccessTokenInvalidated(accessToken.isInvalidated());
+        }
+
+        OAuth2Authorization.Token<OAuth2RefreshToken> refreshToken = authorization.getRefreshToken();
+        if (refreshToken != null) {
+            OAuth2RefreshToken token = refreshToken.getToken();
+            entity.setRefreshTokenHash(hashOf(token.getTokenValue()));
+            entity.setRefreshTokenIssuedAt(toUtc(token.getIssuedAt()));
+            entity.setRefreshTokenExpiresAt(toUtc(token.getExpiresAt()));
+            entity.setRefreshTokenInvalidated(refreshToken.isInvalidated());
+        }
+
+        Instant expiresAt = OAuth2AuthorizationSupport.expiresAt(authorization);
+        entity.setExpiresAt(expiresAt.equals(Instant.MAX) ? NEVER : toUtc(expiresAt));
+        return entity;
+    }
+
+    /**
+     * The stored authorization with the given token values, where known (see
+     * the class comment for the others). Null when the registered client no
+     * longer exists - its tokens are no longer valid anyway.
+     */
+    @Nullable
+    OAuth2Authorization toAuthorization(StoredAuthorization entity, @Nullable String accessTokenValue,
+                                        @Nullable String refreshTokenValue) {
+        RegisteredClient registeredClient = registeredClientRepository.findById(entity.getRegisteredClientId());
+        if (registeredClient == null) {
+            return null;
+        }
+
+        OAuth2ClientAuthenticationToken principal = new OAuth2ClientAuthenticationToken(registeredClient,
+                ClientAuthenticationMethod.CLIENT_SECRET_BASIC, null);
+        principal.setDetails(new CustomUserAuthorities(entity.getUserEmail(), entity.getUserId(),
+                AuthorityUtils.commaSeparatedStringToAuthorityList(
+                        entity.getUserAuthorities() != null ? entity.getUserAuthorities() : "")));
+
+        OAuth2Authorization.Builder builder = OAuth2Authorization.withRegisteredClient(registeredClient)
+                .id(entity.getId())
+                .principalName(entity.getPrincipalName())
+                .authorizationGrantType(new AuthorizationGrantType(entity.getAuthorizationGrantType()))
+                .authorizedScopes(commaDelimitedSet(entity.getAuthorizedScopes()))
+                .attribute(Principal.class.getName(), principal);
+
+        if (entity.getAccessTokenHash() != null) {
+            OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                    valueOrPlaceholder(accessTokenValue, entity.getAccessTokenHash()),
+                    toInstant(entity.getAccessTokenIssuedAt()),
+                    toInstant(entity.getAccessTokenExpiresAt()), commaDelimitedSet(entity.getAccessTokenScopes()));
+            builder.token(accessToken, metadata -> metadata.put(
+                    OAuth2Authorization.Token.INVALIDATED_METADATA_NAME, entity.isAccessTokenInvalidated()));
+        }
+        if (entity.getRefreshTokenHash() != null) {
+            OAuth2RefreshToken refreshToken = new OAuth2RefreshToken(
+                    valueOrPlaceholder(refreshTokenValue, entity.getRefreshTokenHash()),
+                    toInstant(entity.getRefreshTokenIssuedAt()), toInstant(entity.getRefreshTokenExpiresAt()));
+            builder.token(refreshToken, metadata -> metadata.put(
+                    OAuth2Authorization.Token.INVALIDATED_METADATA_NAME, entity.isRefreshTokenInvalidated()));
+        }
+        return builder.build();
+    }
+
+    private static String hashOf(String tokenValue) {
+        return tokenValue.startsWith(STORED_HASH_PREFIX)
+                ? tokenValue.substring(STORED_HASH_PREFIX.length())
+                : OAuth2AuthorizationSupport.hash(tokenValue);
+    }
+
+    private static String valueOrPlaceholder(@Nullable String tokenValue, String hash) {
+        return tokenValue != null ? tokenValue : STORED_HASH_PREFIX + hash;
+    }
+
+    private static Set<String> commaDelimitedSet(@Nullable String value) {
+        return StringUtils.commaDelimitedListToSet(value);
+    }
+
+    private static LocalDateTime toUtc(@Nullable Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
+    }
+
+    private static Instant toInstant(@Nullable LocalDateTime utc) {
+        return utc != null ? utc.toInstant(ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.fl.dashboard.config;
+
+import com.fl.dashboard.services.SlackNotificationManagerService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters on top of what Actuator binds by itself (HTTP server
+ * requests, Spring Data repository invocations, HikariCP pool, JVM). Scraped
+ * from /actuator/prometheus - see ResourceServerConfig#metricsSecurityFilterChain.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Timer name shared by every service annotated with @Timed(SERVICE_TIMER); the aspect tags
+    // each sample with class and method.
+    public static final String SERVICE_TIMER = "dashboard.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder slackQueueMetrics(SlackNotificationManagerService slackNotificationManagerService) {
+        return registry -> Gauge.builder("slack.notifications.pending", slackNotificationManagerService,
+                        SlackNotificationManagerService::getPendingNotificationsCount)
+                .description("Notificações Slack agrupadas à espera de envio")
+                .register(registry);
+    }
+}
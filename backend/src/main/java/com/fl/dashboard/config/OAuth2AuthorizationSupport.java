@@ -0,0 +1,68 @@
+package com.fl.dashboard.config;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.AbstractOAuth2Token;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Shared by the authorization stores. Only access and refresh tokens are
+ * handled - the only ones the password/refresh_token grants issue.
+ */
+final class OAuth2AuthorizationSupport {
+
+    private OAuth2AuthorizationSupport() {
+    }
+
+    /**
+     * Lookup key of a token: the SHA-256 of its value, hex-encoded. Fixed 64
+     * chars whatever the token (a JWT access token runs to well over 1 KB),
+     * so it can be a plain indexed column / map key.
+     */
+    static String hash(String tokenValue) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(tokenValue.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Whether the token is the authorization's access or refresh token (or
+     * specifically the one of tokenType, when given).
+     */
+    static boolean hasToken(OAuth2Authorization authorization, String token, @Nullable OAuth2TokenType tokenType) {
+        boolean access = tokenType == null || OAuth2TokenType.ACCESS_TOKEN.equals(tokenType);
+        boolean refresh = tokenType == null || OAuth2TokenType.REFRESH_TOKEN.equals(tokenType);
+        return access && matches(authorization.getAccessToken(), token)
+                || refresh && matches(authorization.getRefreshToken(), token);
+    }
+
+    /**
+     * When the last of the authorization's tokens expires - after that it
+     * can neither be used nor refreshed.
+     */
+    static Instant expiresAt(OAuth2Authorization authorization) {
+        return Stream.of(authorization.getAccessToken(), authorization.getRefreshToken())
+                .filter(Objects::nonNull)
+                .map(token -> token.getToken().getExpiresAt())
+                .map(expiresAt -> expiresAt != null ? expiresAt : Instant.MAX)
+                .max(Instant::compareTo)
+                .orElse(Instant.MAX);
+    }
+
+    private static boolean matches(@Nullable OAuth2Authorization.Token<? extends AbstractOAuth2Token> token,
+                                   String value) {
+        return token != null && token.getToken().getTokenValue().equals(value);
+    }
+}
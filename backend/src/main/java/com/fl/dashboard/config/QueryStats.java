@@ -0,0 +1,97 @@
+package com.fl.dashboard.config;
+
+/**
+ * Per-thread SQL counters: JDBC statements prepared, rows returned by
+ * queries and entities hydrated, fed by QueryStatsStatisticsFactory. Opened
+ * around every HTTP request by QueryStatsFilter, and usable directly in
+ * tests to put a query budget on a block of code.
+ *
+ * <p>Only counts work done on the thread that opened the scope - anything
+ * handed off to @Async/another executor is not attributed to the request.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryStats() {
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * The innermost open scope on this thread, or null.
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    static void statementPrepared() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements++;
+        }
+    }
+
+    static void rowsFetched(int rows) {
+        Scope scope = CURRENT.get();
+        if (scope != null && rows > 0) {
+            scope.rows += rows;
+        }
+    }
+
+    static void entityLoaded() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.entities++;
+        }
+    }
+
+    /**
+     * Counts everything done on this thread until closed. Scopes nest: closing
+     * an inner scope adds its totals to the enclosing one.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private long statements;
+        private long rows;
+        private long entities;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getEntities() {
+            return entities;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent != null) {
+                parent.statements += statements;
+                parent.rows += rows;
+                parent.entities += entities;
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
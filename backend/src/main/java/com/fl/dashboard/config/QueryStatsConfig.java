@@ -0,0 +1,44 @@
+package com.fl.dashboard.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Per-request SQL statement/row/entity counting (QueryStats). Replaces
+ * eyeballing show-sql output for N+1s: the counts end up in metrics on every
+ * environment, and in X-Sql-* response headers where query-stats.response-headers
+ * is on (dev/test), which is what QueryBudget asserts against in tests.
+ */
+@Configuration
+@ConditionalOnProperty(name = "query-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateCustomizer() {
+        return properties -> {
+            properties.put("hibernate.generate_statistics", "true");
+            properties.put("hibernate.stats.factory", QueryStatsStatisticsFactory.class.getName());
+            // generate_statistics also turns on a "Session Metrics" INFO dump at the end of every
+            // session by default - far too noisy to leave on.
+            properties.put("hibernate.session.events.log", "false");
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${query-stats.response-headers:false}") boolean responseHeaders,
+            @Value("${query-stats.warn-threshold:50}") long warnThreshold) {
+        FilterRegistrationBean<QueryStatsFilter> bean =
+                new FilterRegistrationBean<>(new QueryStatsFilter(meterRegistry, responseHeaders, warnThreshold));
+        // Right after the CORS filter, so the security filter chain's own lookups are counted too.
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return bean;
+    }
+}
@@ -0,0 +1,96 @@
+package com.fl.dashboard.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL work done by each HTTP request (QueryStats) and publishes it
+ * as Micrometer distribution summaries tagged by method + URI pattern, plus -
+ * when enabled - as X-Sql-* response headers. Requests above the warn
+ * threshold are logged, which is usually an N+1 in the making.
+ */
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String ENTITIES_HEADER = "X-Sql-Entities";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final long warnThreshold;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry, boolean responseHeaders, long warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        QueryStats.Scope scope = QueryStats.open();
+        try {
+            // Headers have to go out before the body starts streaming, so they're written on commit
+            // (counts so far) instead of after the chain, when the response may already be gone.
+            HttpServletResponse target = responseHeaders ? new QueryStatsHeaderWriter(response, scope) : response;
+            filterChain.doFilter(request, target);
+        } finally {
+            scope.close();
+            record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        summary("http.server.requests.sql.statements", method, uri).record(scope.getStatements());
+        summary("http.server.requests.sql.rows", method, uri).record(scope.getRows());
+        summary("http.server.requests.sql.entities", method, uri).record(scope.getEntities());
+
+        if (warnThreshold > 0 && scope.getStatements() > warnThreshold) {
+            logger.warn("{} {} executou {} instruções SQL ({} linhas, {} entidades) - possível N+1",
+                    method, uri, scope.getStatements(), scope.getRows(), scope.getEntities());
+        }
+    }
+
+    private DistributionSummary summary(String name, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+
+    private static class QueryStatsHeaderWriter extends OnCommittedResponseWrapper {
+
+        private final QueryStats.Scope scope;
+
+        QueryStatsHeaderWriter(HttpServletResponse response, QueryStats.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            response.setHeader(STATEMENTS_HEADER, Long.toString(scope.getStatements()));
+            response.setHeader(ROWS_HEADER, Long.toString(scope.getRows()));
+            response.setHeader(ENTITIES_HEADER, Long.toString(scope.getEntities()));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.fl.dashboard.config;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Plugged in through hibernate.stats.factory (see QueryStatsConfig): Hibernate's
+ * own statistics, which already get a callback for every prepared statement,
+ * query result and entity load, additionally forwarded to the per-thread
+ * QueryStats scope. The global statistics keep working as before.
+ */
+public class QueryStatsStatisticsFactory implements StatisticsFactory {
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new QueryCountingStatistics(sessionFactory);
+    }
+
+    static class QueryCountingStatistics extends StatisticsImpl {
+
+        QueryCountingStatistics(SessionFactoryImplementor sessionFactory) {
+            super(sessionFactory);
+        }
+
+        @Override
+        public void prepareStatement() {
+            super.prepareStatement();
+            QueryStats.statementPrepared();
+        }
+
+        @Override
+        public void queryExecuted(String hql, int rows, long time) {
+            super.queryExecuted(hql, rows, time);
+            QueryStats.rowsFetched(rows);
+        }
+
+        @Override
+        public void loadEntity(String entityName) {
+            super.loadEntity(entityName);
+            QueryStats.entityLoaded();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.fl.dashboard.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
@@ -8,12 +10,19 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
@@ -42,6 +51,40 @@ public class ResourceServerConfig {
         return http.build();
     }
 
+    /**
+     * /actuator/prometheus is scraped with HTTP Basic by a dedicated account
+     * (metrics.scrape.*), not with a user JWT - Prometheus can't run the
+     * password grant. With no password configured the endpoint is denied.
+     */
+    @Bean
+    @Order(0)
+    public SecurityFilterChain metricsSecurityFilterChain(HttpSecurity http,
+                                                          @Value("${metrics.scrape.username}") String username,
+                                                          @Value("${metrics.scrape.password:}") String password) throws Exception {
+        http.securityMatcher(EndpointRequest.to(PrometheusScrapeEndpoint.class))
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+        if (password.isBlank()) {
+            http.authorizeHttpRequests(authorize -> authorize.anyRequest().denyAll());
+            return http.build();
+        }
+
+        // Kept out of the context on purpose: a UserDetailsService bean would clash with UserService.
+        PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                .password(encoder.encode(password))
+                .authorities("METRICS_SCRAPE")
+                .build()));
+
+        http.authenticationManager(new ProviderManager(provider))
+                .authorizeHttpRequests(authorize -> authorize.anyRequest().hasAuthority("METRICS_SCRAPE"))
+                .httpBasic(Customizer.withDefaults());
+        return http.build();
+    }
+
     @Bean
     @Order(3)
     public SecurityFilterChain rsSecurityFilterChain(HttpSecurity http) throws Exception {
@@ -1,5 +1,7 @@
 package com.fl.dashboard.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -33,6 +35,7 @@ import org.springframework.web.socket.messaging.StompSubProtocolHandler;
 import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 @Configuration
@@ -41,12 +44,16 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private static final Logger logger = LoggerFactory.getLogger(WebSocketConfig.class);
     private final JwtDecoder jwtDecoder;
+    private final AtomicInteger activeSessions = new AtomicInteger();
 
     @Value("${cors.origins}")
     private String corsOrigins;
 
-    public WebSocketConfig(JwtDecoder jwtDecoder) {
+    public WebSocketConfig(JwtDecoder jwtDecoder, MeterRegistry meterRegistry) {
         this.jwtDecoder = jwtDecoder;
+        Gauge.builder("websocket.sessions.active", activeSessions, AtomicInteger::get)
+                .description("Sessões WebSocket abertas nesta instância")
+                .register(meterRegistry);
     }
 
     @Override
@@ -149,12 +156,14 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
             @Override
             public void afterConnectionEstablished(WebSocketSession session) throws Exception {
                 logger.info("WebSocket connection established: {}", session.getId());
+                activeSessions.incrementAndGet();
                 super.afterConnectionEstablished(session);
             }
 
             @Override
             public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
                 logger.info("WebSocket connection closed: {}, status: {}", session.getId(), closeStatus);
+                activeSessions.decrementAndGet();
                 super.afterConnectionClosed(session, closeStatus);
             }
         });
@@ -0,0 +1,26 @@
+package com.fl.dashboard.customgrant;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * The UserDetails returned by UserService#loadUserByUsername: a plain
+ * Spring Security user that also carries the user's id, so the password
+ * grant can put it in the token (user_id claim) without another query.
+ */
+public class AuthenticatedUser extends User {
+
+    private final Long userId;
+
+    public AuthenticatedUser(Long userId, String username, String password, boolean enabled,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+}
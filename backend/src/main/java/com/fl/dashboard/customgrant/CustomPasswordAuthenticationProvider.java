@@ -1,14 +1,16 @@
 package com.fl.dashboard.customgrant;
 
+import com.fl.dashboard.services.PasswordHashingService;
+import com.fl.dashboard.services.exceptions.LoginCapacityExceededException;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.*;
 import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
@@ -33,22 +35,27 @@ public class CustomPasswordAuthenticationProvider implements AuthenticationProvi
     private final OAuth2AuthorizationService authorizationService;
     private final UserDetailsService userDetailsService;
     private final OAuth2TokenGenerator<? extends OAuth2Token> tokenGenerator;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
     private String username = "";
     private String password = "";
     private Set<String> authorizedScopes = new HashSet<>();
 
     public CustomPasswordAuthenticationProvider(OAuth2AuthorizationService authorizationService,
                                                 OAuth2TokenGenerator<? extends OAuth2Token> tokenGenerator,
-                                                UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+                                                UserDetailsService userDetailsService,
+                                                PasswordHashingService passwordHashingService) {
         Assert.notNull(authorizationService, "authorizationService cannot be null");
         Assert.notNull(tokenGenerator, "TokenGenerator cannot be null");
         Assert.notNull(userDetailsService, "UserDetailsService cannot be null");
-        Assert.notNull(passwordEncoder, "PasswordEncoder cannot be null");
+        Assert.notNull(passwordHashingService, "PasswordHashingService cannot be null");
         this.authorizationService = authorizationService;
         this.tokenGenerator = tokenGenerator;
         this.userDetailsService = userDetailsService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        // Outdated hashes are re-saved on login only if the user store supports it (UserService does)
+        this.userDetailsPasswordService = userDetailsService instanceof UserDetailsPasswordService passwordService
+                ? passwordService : null;
     }
 
     private static OAuth2ClientAuthenticationToken getAuthenticatedClientElseThrowInvalidClient(Authentication authentication) {
@@ -95,7 +102,16 @@ public class CustomPasswordAuthenticationProvider implements AuthenticationProvi
             throw new OAuth2AuthenticationException("Invalid credentials");
         }
 
-        if (!passwordEncoder.matches(password, user.getPassword()) || !user.getUsername().equals(username)) {
+        // BCrypt runs on PasswordHashingService's pool; a refused login is "try again later", not bad credentials
+        String passwordHash;
+        try {
+            passwordHash = passwordHashingService.verifyLogin(password, user.getPassword());
+        } catch (LoginCapacityExceededException e) {
+            throw new OAuth2AuthenticationException(
+                    new OAuth2Error(OAuth2ErrorCodes.TEMPORARILY_UNAVAILABLE, e.getMessage(), ERROR_URI));
+        }
+
+        if (passwordHash == null || !user.getUsername().equals(username)) {
             throw new OAuth2AuthenticationException("Invalid credentials");
         }
 
@@ -103,6 +119,10 @@ public class CustomPasswordAuthenticationProvider implements AuthenticationProvi
             throw new OAuth2AuthenticationException("Conta desativada. Contacte um administrador.");
         }
 
+        if (userDetailsPasswordService != null && !passwordHash.equals(user.getPassword())) {
+            user = userDetailsPasswordService.updatePassword(user, passwordHash);
+        }
+
         authorizedScopes = user.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .filter(scope -> {
@@ -114,7 +134,8 @@ public class CustomPasswordAuthenticationProvider implements AuthenticationProvi
         //-----------Create a new Security Context Holder Context----------
         OAuth2ClientAuthenticationToken oAuth2ClientAuthenticationToken = (OAuth2ClientAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
         // CHANGE: Use the actual user's email, not the client details
-        CustomUserAuthorities customPasswordUser = new CustomUserAuthorities(username, user.getAuthorities()); // username is the email
+        Long userId = user instanceof AuthenticatedUser authenticated ? authenticated.getUserId() : null;
+        CustomUserAuthorities customPasswordUser = new CustomUserAuthorities(username, userId, user.getAuthorities()); // username is the email
         oAuth2ClientAuthenticationToken.setDetails(customPasswordUser);
         var newcontext = SecurityContextHolder.createEmptyContext();
         newcontext.setAuthentication(oAuth2ClientAuthenticationToken);
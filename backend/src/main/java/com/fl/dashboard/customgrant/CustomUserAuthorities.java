@@ -7,10 +7,16 @@ import java.util.Collection;
 public class CustomUserAuthorities {
 
     private String username;
+    private Long userId;
     private Collection<? extends GrantedAuthority> authorities;
 
     public CustomUserAuthorities(String username, Collection<? extends GrantedAuthority> authorities) {
+        this(username, null, authorities);
+    }
+
+    public CustomUserAuthorities(String username, Long userId, Collection<? extends GrantedAuthority> authorities) {
         this.username = username;
+        this.userId = userId;
         this.authorities = authorities;
     }
 
@@ -18,6 +24,11 @@ public class CustomUserAuthorities {
         return username;
     }
 
+    // Null for authorizations stored before the user_id claim existed
+    public Long getUserId() {
+        return userId;
+    }
+
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
     }
@@ -0,0 +1,46 @@
+package com.fl.dashboard.customgrant;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.http.converter.OAuth2ErrorHttpMessageConverter;
+import org.springframework.security.oauth2.server.authorization.web.authentication.OAuth2ErrorAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+
+import java.io.IOException;
+
+/**
+ * Token endpoint errors: the default 400 with the OAuth2 error body, except
+ * logins refused by PasswordHashingService (temporarily_unavailable), which
+ * get 503 and Retry-After so the client backs off instead of reporting bad
+ * credentials.
+ */
+public class LoginErrorResponseHandler implements AuthenticationFailureHandler {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AuthenticationFailureHandler defaultHandler = new OAuth2ErrorAuthenticationFailureHandler();
+    private final HttpMessageConverter<OAuth2Error> errorConverter = new OAuth2ErrorHttpMessageConverter();
+
+    @Override
+    public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
+                                        AuthenticationException exception) throws IOException, ServletException {
+        if (exception instanceof OAuth2AuthenticationException oauth2Exception
+                && OAuth2ErrorCodes.TEMPORARILY_UNAVAILABLE.equals(oauth2Exception.getError().getErrorCode())) {
+            ServletServerHttpResponse httpResponse = new ServletServerHttpResponse(response);
+            httpResponse.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            httpResponse.getHeaders().set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            errorConverter.write(oauth2Exception.getError(), null, httpResponse);
+            return;
+        }
+        defaultHandler.onAuthenticationFailure(request, response, exception);
+    }
+}
@@ -1,5 +1,6 @@
 package com.fl.dashboard.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fl.dashboard.enums.TarefaStatus;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -10,6 +11,7 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ColunaDTO {
 
     private Long id;
@@ -0,0 +1,181 @@
+package com.fl.dashboard.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fl.dashboard.services.exceptions.InvalidFieldSelectionException;
+
+import java.util.*;
+
+/**
+ * The {@code fields=} / {@code expand=} query parameters of the heavy "full"
+ * endpoints, e.g. {@code /projetos/1/full?fields=id,designacao,tarefas.status}.
+ * <p>
+ * {@code expand} names the associations to load; an association mentioned in
+ * {@code fields} (bare or as {@code association.field}) is expanded
+ * implicitly. Associations that aren't expanded are neither fetched nor
+ * serialized. With neither parameter the endpoint keeps its full response.
+ */
+public final class FieldSelection {
+
+    private static final FieldSelection ALL = new FieldSelection(null, Map.of(), null);
+
+    // null = every scalar field
+    private final Set<String> fields;
+    // association -> nested fields to keep (empty = all of them)
+    private final Map<String, Set<String>> expansions;
+    private final Set<String> associations;
+
+    private FieldSelection(Set<String> fields, Map<String, Set<String>> expansions, Set<String> associations) {
+        this.fields = fields;
+        this.expansions = expansions;
+        this.associations = associations;
+    }
+
+    /**
+     * The selection of a request without fields/expand: everything.
+     */
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * @param associations the associations the endpoint can expand; anything
+     *                     else named in {@code expand} or as a dotted field is rejected
+     */
+    public static FieldSelection parse(String fields, String expand, Set<String> associations) {
+        if (isBlank(fields) && isBlank(expand)) {
+            return ALL;
+        }
+
+        Map<String, Set<String>> expansions = new TreeMap<>();
+        for (String association : split(expand)) {
+            expansions.put(requireAssociation(association, associations), new TreeSet<>());
+        }
+
+        Set<String> scalarFields = null;
+        if (!isBlank(fields)) {
+            scalarFields = new TreeSet<>();
+            for (String field : split(fields)) {
+                int dot = field.indexOf('.');
+                if (dot > 0) {
+                    String association = requireAssociation(field.substring(0, dot), associations);
+                    expansions.computeIfAbsent(association, a -> new TreeSet<>()).add(field.substring(dot + 1));
+                } else if (associations.contains(field)) {
+                    expansions.computeIfAbsent(field, a -> new TreeSet<>());
+                } else {
+                    scalarFields.add(field);
+                }
+            }
+        }
+
+        Map<String, Set<String>> frozen = new TreeMap<>();
+        expansions.forEach((association, nested) -> frozen.put(association, Collections.unmodifiableSet(nested)));
+        return new FieldSelection(scalarFields == null ? null : Collections.unmodifiableSet(scalarFields),
+                Collections.unmodifiableMap(frozen), associations);
+    }
+
+    /**
+     * True when neither parameter was given - callers keep the original,
+     * fully expanded code path.
+     */
+    public boolean isAll() {
+        return this == ALL;
+    }
+
+    /**
+     * Sorted, so two requests listing the same associations in a different
+     * order share one cached fetch plan.
+     */
+    public Set<String> getExpansions() {
+        return isAll() ? Set.of() : expansions.keySet();
+    }
+
+    public boolean expands(String association) {
+        return isAll() || expansions.containsKey(association);
+    }
+
+    /**
+     * Whether {@code association.field} ends up in the response, so DTOs can
+     * skip building (and lazily loading) nested collections nobody asked for.
+     */
+    public boolean includesNested(String association, String field) {
+        if (isAll()) {
+            return true;
+        }
+        Set<String> nested = expansions.get(association);
+        return nested != null && (nested.isEmpty() || nested.contains(field));
+    }
+
+    /**
+     * Serializes {@code dto} with the given mapper (so the usual Jackson
+     * annotations/formats apply) and strips everything not selected.
+     */
+    public JsonNode apply(Object dto, ObjectMapper objectMapper) {
+        JsonNode tree = objectMapper.valueToTree(dto);
+        if (isAll()) {
+            return tree;
+        }
+        if (tree.isArray()) {
+            tree.forEach(this::prune);
+        } else {
+            prune(tree);
+        }
+        return tree;
+    }
+
+    private void prune(JsonNode node) {
+        if (!(node instanceof ObjectNode object)) {
+            return;
+        }
+        Iterator<Map.Entry<String, JsonNode>> it = object.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> entry = it.next();
+            String name = entry.getKey();
+            if (associations.contains(name)) {
+                Set<String> nested = expansions.get(name);
+                if (nested == null) {
+                    it.remove();
+                } else if (!nested.isEmpty()) {
+                    retainNested(entry.getValue(), nested);
+                }
+            } else if (fields != null && !fields.contains(name)) {
+                it.remove();
+            }
+        }
+    }
+
+    private static void retainNested(JsonNode value, Set<String> nested) {
+        if (value instanceof ObjectNode object) {
+            object.retain(nested);
+        } else if (value.isArray()) {
+            value.forEach(element -> {
+                if (element instanceof ObjectNode object) {
+                    object.retain(nested);
+                }
+            });
+        }
+    }
+
+    private static String requireAssociation(String name, Set<String> associations) {
+        if (!associations.contains(name)) {
+            throw new InvalidFieldSelectionException("Associação desconhecida: '" + name
+                    + "'. Valores possíveis: " + String.join(", ", new TreeSet<>(associations)));
+        }
+        return name;
+    }
+
+    private static List<String> split(String value) {
+        if (isBlank(value)) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,23 @@
+package com.fl.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Team-wide project allocation at the end of one month, replayed from the
+ * ProjetoUserHistory events.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyAllocationDTO {
+
+    /** e.g. "2026-01" */
+    private String yearMonth;
+    private int colaboradores;
+    private int projetos;
+    private int alocacoes;
+}
@@ -0,0 +1,25 @@
+package com.fl.dashboard.dto;
+
+import com.fl.dashboard.enums.JobRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileImageReprocessProgressDTO {
+
+    // Null if the job hasn't run on this instance since it started
+    private JobRunStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int total;
+    private int scanned;
+    private int regenerated;
+    private int failed;
+}
@@ -0,0 +1,29 @@
+package com.fl.dashboard.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /projetos/{id}/board: everything the Kanban board renders, in one
+ * response. Cards carry their assignees as ids into users, so each user is
+ * sent once however many cards they're on; cards are in column order and go
+ * in the column with their status.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjetoBoardDTO {
+
+    private Long id;
+    private String designacao;
+    private Date prazo;
+
+    private List<ColunaDTO> colunas;
+    private List<TarefaBoardCardDTO> tarefas;
+    private Map<Long, UserSummaryDTO> users;
+}
@@ -2,6 +2,7 @@ package com.fl.dashboard.dto;
 
 import com.fl.dashboard.entities.Projeto;
 import com.fl.dashboard.enums.TipoProjeto;
+import com.fl.dashboard.projections.ProjetoListRow;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -57,6 +58,15 @@ public class ProjetoDTO {
     }
 
     public ProjetoDTO(Projeto entity) {
+        this(entity, true);
+    }
+
+    /**
+     * @param withExternos false when the caller's FieldSelection leaves the
+     *                     externos out - they're then not loaded at all and
+     *                     both externos and externoIds stay null
+     */
+    public ProjetoDTO(Projeto entity, boolean withExternos) {
         this.id = entity.getId();
         this.projetoAno = entity.getProjetoAno();
         this.designacao = entity.getDesignacao();
@@ -80,7 +90,10 @@ public class ProjetoDTO {
             this.clienteId = entity.getCliente().getId();
         }
 
-        if (entity.getExternos() != null) {
+        if (!withExternos) {
+            this.externos = null;
+            this.externoIds = null;
+        } else if (entity.getExternos() != null) {
             entity.getExternos().forEach(externo -> {
                 this.externos.add(new ExternoDTO(externo));
                 this.externoIds.add(externo.getId());
@@ -88,6 +101,28 @@ public class ProjetoDTO {
         }
     }
 
+    // Listing variant: cliente is resolved by the caller from row.clienteId(), externos by the subclass.
+    public ProjetoDTO(ProjetoListRow row) {
+        this.id = row.id();
+        this.projetoAno = row.projetoAno();
+        this.designacao = row.designacao();
+        this.entidade = row.entidade();
+        this.prioridade = row.prioridade();
+        this.observacao = row.observacao();
+        this.prazo = row.prazo();
+        this.status = row.status();
+        this.tipo = row.tipo();
+        this.dataProposta = row.dataProposta();
+        this.dataAdjudicacao = row.dataAdjudicacao();
+        this.clienteId = row.clienteId();
+
+        if (row.coordenadorId() != null) {
+            this.coordenador = new UserSummaryDTO(row.coordenadorId(), row.coordenadorName(),
+                    row.coordenadorFuncao(), row.coordenadorCargo(), row.coordenadorEmail());
+            this.coordenadorId = row.coordenadorId();
+        }
+    }
+
     public ProjetoDTO(Long id, String designacao) {
         this.id = id;
         this.designacao = designacao;
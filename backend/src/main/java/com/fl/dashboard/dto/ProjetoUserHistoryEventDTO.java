@@ -1,6 +1,7 @@
 package com.fl.dashboard.dto;
 
 import com.fl.dashboard.entities.ProjetoUserHistory;
+import com.fl.dashboard.projections.ProjetoUserHistoryRow;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -26,4 +27,12 @@ public class ProjetoUserHistoryEventDTO {
         this.action = entity.getAction().name();
         this.eventDate = entity.getEventDate();
     }
+
+    public ProjetoUserHistoryEventDTO(ProjetoUserHistoryRow row) {
+        this.id = row.id();
+        this.projetoId = row.projetoId();
+        this.projetoDesignacao = row.projetoDesignacao();
+        this.action = row.action().name();
+        this.eventDate = row.eventDate();
+    }
 }
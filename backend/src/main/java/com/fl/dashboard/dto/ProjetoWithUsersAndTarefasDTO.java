@@ -15,6 +15,9 @@ import java.util.stream.Collectors;
 @Setter
 public class ProjetoWithUsersAndTarefasDTO extends ProjetoDTO {
 
+    // What /projetos/{id}/full accepts in expand= (see FieldSelection)
+    public static final Set<String> ASSOCIATIONS = Set.of("users", "tarefas", "externos");
+
     private Set<UserSummaryDTO> users = new HashSet<>();
     private Set<TarefaDTO> tarefas = new HashSet<>();
     private Set<ExternoDTO> externos = new HashSet<>();
@@ -24,14 +27,21 @@ public class ProjetoWithUsersAndTarefasDTO extends ProjetoDTO {
     }
 
     public ProjetoWithUsersAndTarefasDTO(Projeto entity) {
-        super(entity);
-        Hibernate.initialize(entity.getUsers());
-        Hibernate.initialize(entity.getTarefas());
-        // Inicializar externos também
-        Hibernate.initialize(entity.getExternos());
+        this(entity, FieldSelection.all());
+    }
 
-        // Inicializar users como conjunto vazio se for null
-        if (entity.getUsers() != null) {
+    /**
+     * Only maps (and so only initializes) the associations the selection
+     * expands; the others stay null and are dropped from the response.
+     */
+    public ProjetoWithUsersAndTarefasDTO(Projeto entity, FieldSelection selection) {
+        super(entity, selection.expands("externos"));
+
+        if (!selection.expands("users")) {
+            this.users = null;
+        } else if (entity.getUsers() != null) {
+            // Inicializar users como conjunto vazio se for null
+            Hibernate.initialize(entity.getUsers());
             this.users = entity.getUsers().stream()
                     .map(UserSummaryDTO::new)
                     .collect(Collectors.toSet());
@@ -41,7 +51,10 @@ public class ProjetoWithUsersAndTarefasDTO extends ProjetoDTO {
 
         // Inicializar tarefas como conjunto vazio se for null
         // E filtrar tarefas apagadas
-        if (entity.getTarefas() != null) {
+        if (!selection.expands("tarefas")) {
+            this.tarefas = null;
+        } else if (entity.getTarefas() != null) {
+            Hibernate.initialize(entity.getTarefas());
             this.tarefas = entity.getTarefas().stream()
                     .filter(tarefa -> tarefa.getDeletedAt() == null && tarefa.getArquivadaEm() == null)
                     .map(TarefaDTO::new)
@@ -52,7 +65,9 @@ public class ProjetoWithUsersAndTarefasDTO extends ProjetoDTO {
 
         // Inicializar externos como conjunto vazio se for null
         // E filtrar externos ativos
-        if (entity.getExternos() != null) {
+        if (!selection.expands("externos")) {
+            this.externos = null;
+        } else if (entity.getExternos() != null) {
             this.externos = entity.getExternos().stream()
                     .filter(externo -> externo.getDeletedAt() == null)
                     .map(ExternoDTO::new)
@@ -2,6 +2,7 @@ package com.fl.dashboard.dto;
 
 import com.fl.dashboard.entities.Projeto;
 import com.fl.dashboard.entities.User;
+import com.fl.dashboard.projections.ProjetoListRow;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -34,6 +35,13 @@ public class ProjetoWithUsersDTO extends ProjetoDTO {
         }
     }
 
+    public ProjetoWithUsersDTO(ProjetoListRow row, ClienteDTO cliente, Set<UserSummaryDTO> users, Set<ExternoDTO> externos) {
+        super(row);
+        setCliente(cliente);
+        this.users = users;
+        this.externos = externos;
+    }
+
     public ProjetoWithUsersDTO(Projeto entity, Set<User> users) {
         super(entity);
         this.users = users.stream().map(UserSummaryDTO::new).collect(Collectors.toSet());
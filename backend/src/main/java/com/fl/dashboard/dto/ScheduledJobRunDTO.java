@@ -0,0 +1,38 @@
+package com.fl.dashboard.dto;
+
+import com.fl.dashboard.entities.ScheduledJobRun;
+import com.fl.dashboard.enums.JobRunStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class ScheduledJobRunDTO {
+
+    private Long id;
+    private String jobName;
+    private String instanceId;
+    private String triggeredBy;
+    private JobRunStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Integer rowsAffected;
+    private String errorMessage;
+
+    public ScheduledJobRunDTO() {
+    }
+
+    public ScheduledJobRunDTO(ScheduledJobRun entity) {
+        this.id = entity.getId();
+        this.jobName = entity.getJobName();
+        this.instanceId = entity.getInstanceId();
+        this.triggeredBy = entity.getTriggeredBy();
+        this.status = entity.getStatus();
+        this.startedAt = entity.getStartedAt();
+        this.finishedAt = entity.getFinishedAt();
+        this.rowsAffected = entity.getRowsAffected();
+        this.errorMessage = entity.getErrorMessage();
+    }
+}
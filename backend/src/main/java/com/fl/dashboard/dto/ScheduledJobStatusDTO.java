@@ -0,0 +1,22 @@
+package com.fl.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledJobStatusDTO {
+
+    private String jobName;
+    private Long lockAtMostForSeconds;
+    private boolean locked;
+    private LocalDateTime lockedUntil;
+    private String lockedBy;
+    private ScheduledJobRunDTO lastRun;
+}
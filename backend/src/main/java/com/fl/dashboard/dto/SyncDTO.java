@@ -0,0 +1,46 @@
+package com.fl.dashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * GET /sync: what changed since the client's token, in the shapes of the
+ * list endpoints (GET /tarefas, /projetos, /colunas/projeto/{id} and the
+ * notification pages), so the client merges each list by id and drops the
+ * deleted ids. token goes in the next call.
+ * <p>
+ * reset means the lists were not computed and the client reloads them in
+ * full: no token or one it can't be served from (unreadable, older than
+ * SyncService.TOKEN_MAX_AGE), or more changes than one response carries.
+ * Empty lists are left out of the JSON.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class SyncDTO {
+
+    private String token;
+    private boolean reset;
+
+    private List<TarefaDTO> tarefas;
+    private List<ProjetoWithUsersDTO> projetos;
+    private List<ColunaWithProjetoDTO> colunas;
+    private List<NotificationResponseDTO> notifications;
+
+    // Deleted, or no longer visible to the caller (e.g. removed from the tarefa)
+    private List<Long> deletedTarefas;
+    private List<Long> deletedProjetos;
+    private List<Long> deletedNotifications;
+
+    public static SyncDTO reset(String token) {
+        SyncDTO dto = new SyncDTO();
+        dto.setToken(token);
+        dto.setReset(true);
+        return dto;
+    }
+}
@@ -0,0 +1,50 @@
+package com.fl.dashboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fl.dashboard.enums.FrequenciaRecorrencia;
+import com.fl.dashboard.enums.TarefaStatus;
+import com.fl.dashboard.projections.TarefaListRow;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A card of ProjetoBoardDTO: the TarefaDTO fields a card shows (plus version,
+ * for the edits made from it), assignees as ids into the board's users.
+ * Fields without a value are left out.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class TarefaBoardCardDTO {
+
+    private Long id;
+    private String descricao;
+    private String prioridade;
+    private Date prazoEstimado;
+    private Date prazoReal;
+    private TarefaStatus status;
+    private Integer workingDays;
+    private Long version;
+    private Boolean recorrente;
+    private FrequenciaRecorrencia frequenciaRecorrencia;
+    private List<Long> userIds;
+
+    public TarefaBoardCardDTO(TarefaListRow row, List<Long> userIds) {
+        this.id = row.id();
+        this.descricao = row.descricao();
+        this.prioridade = row.prioridade();
+        this.prazoEstimado = row.prazoEstimado();
+        this.prazoReal = row.prazoReal();
+        this.status = row.status();
+        this.workingDays = row.workingDays();
+        this.version = row.version();
+        this.recorrente = row.recorrente();
+        this.frequenciaRecorrencia = row.frequenciaRecorrencia();
+        this.userIds = userIds;
+    }
+}
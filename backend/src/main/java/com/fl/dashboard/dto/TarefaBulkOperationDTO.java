@@ -0,0 +1,47 @@
+package com.fl.dashboard.dto;
+
+import com.fl.dashboard.enums.TarefaBulkOperacao;
+import com.fl.dashboard.enums.TarefaStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Body of POST /tarefas/bulk: one operation applied to every tarefa listed.
+ * Only the field the operation needs is read - status for STATUS, userIds
+ * for REASSIGN (replacing the current ones, as PUT /tarefas/{id}/users does),
+ * projetoId for MOVE_PROJETO (null takes the tarefas out of their projeto).
+ */
+@Getter
+@Setter
+public class TarefaBulkOperationDTO {
+
+    public static final int MAX_TAREFAS = 200;
+
+    @NotNull(message = "Indique a operação")
+    private TarefaBulkOperacao operacao;
+
+    @Valid
+    @NotEmpty(message = "Indique pelo menos uma tarefa")
+    @Size(max = MAX_TAREFAS, message = "No máximo " + MAX_TAREFAS + " tarefas por operação")
+    private List<Item> tarefas;
+
+    private TarefaStatus status;
+    private Set<Long> userIds;
+    private Long projetoId;
+
+    // version is the one the client last read; left out, the tarefa is changed whatever its version
+    @Getter
+    @Setter
+    public static class Item {
+        @NotNull(message = "Indique o id da tarefa")
+        private Long id;
+        private Long version;
+    }
+}
@@ -3,6 +3,7 @@ package com.fl.dashboard.dto;
 import com.fl.dashboard.entities.Tarefa;
 import com.fl.dashboard.enums.FrequenciaRecorrencia;
 import com.fl.dashboard.enums.TarefaStatus;
+import com.fl.dashboard.projections.TarefaListRow;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -73,6 +74,23 @@ public class TarefaDTO {
         this.workingDays = workingDays;
     }
 
+    public TarefaDTO(TarefaListRow row) {
+        this.id = row.id();
+        this.descricao = row.descricao();
+        this.prioridade = row.prioridade();
+        this.prazoEstimado = row.prazoEstimado();
+        this.prazoReal = row.prazoReal();
+        this.status = row.status();
+        this.workingDays = row.workingDays();
+        this.arquivadaEm = row.arquivadaEm();
+        this.version = row.version();
+        this.recorrente = row.recorrente();
+        this.frequenciaRecorrencia = row.frequenciaRecorrencia();
+        this.dataFimRecorrencia = row.dataFimRecorrencia();
+        this.proximaOcorrencia = row.proximaOcorrencia();
+        this.tarefaOrigemId = row.tarefaOrigemId();
+    }
+
     public TarefaDTO(Tarefa entity) {
         this.id = entity.getId();
         this.descricao = entity.getDescricao();
@@ -12,6 +12,10 @@ import java.util.stream.Collectors;
 @Getter
 @Setter
 public class TarefaWithUserAndProjetoDTO extends TarefaDTO {
+
+    // What /tarefas/full accepts in expand= (see FieldSelection)
+    public static final Set<String> ASSOCIATIONS = Set.of("users", "projeto", "externos");
+
     private Set<UserSummaryDTO> users = new HashSet<>();
     private ProjetoDTO projeto;
     private Set<ExternoDTO> externos;
@@ -22,10 +26,17 @@ public class TarefaWithUserAndProjetoDTO extends TarefaDTO {
     }
 
     public TarefaWithUserAndProjetoDTO(Tarefa entity) {
+        this(entity, FieldSelection.all());
+    }
+
+    // Associations left out of the selection stay null (and are never initialized).
+    public TarefaWithUserAndProjetoDTO(Tarefa entity, FieldSelection selection) {
         super(entity);
 
         // Safely initialize and map users
-        if (entity.getUsers() != null) {
+        if (!selection.expands("users")) {
+            this.users = null;
+        } else if (entity.getUsers() != null) {
             Hibernate.initialize(entity.getUsers());
             this.users = entity.getUsers().stream()
                     .map(UserSummaryDTO::new)
@@ -33,15 +44,16 @@ public class TarefaWithUserAndProjetoDTO extends TarefaDTO {
         }
 
         // Safely initialize and map projeto
-        if (entity.getProjeto() != null) {
+        if (selection.expands("projeto") && entity.getProjeto() != null) {
             Hibernate.initialize(entity.getProjeto());
-            this.projeto = new ProjetoDTO(entity.getProjeto());
+            this.projeto = new ProjetoDTO(entity.getProjeto(),
+                    selection.includesNested("projeto", "externos") || selection.includesNested("projeto", "externoIds"));
         }
 
         // Map externos (via ExternoDTO's own constructor, which copies especialidades into a plain
         // HashSet instead of holding the live Hibernate-managed collection reference — building the
         // DTO field-by-field here used to bypass that and pass the raw proxy through)
-        if (entity.getExternos() != null) {
+        if (selection.expands("externos") && entity.getExternos() != null) {
             this.externos = entity.getExternos().stream()
                     .map(ExternoDTO::new)
                     .collect(Collectors.toSet());
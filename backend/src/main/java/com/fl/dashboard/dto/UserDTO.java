@@ -28,7 +28,9 @@ public class UserDTO {
     private String email;
 
     private String password;
-    private byte[] profileImage;
+    // Version of GET /users/{id}/profile-image: requested as ?v=<hash> the image is cached for
+    // good, since a new photo gets a new hash. Null without a photo.
+    private String profileImageHash;
     private boolean ativo = true;
 
     // private Set<ProjetoDTO> projetos = new HashSet<>();
@@ -36,14 +38,13 @@ public class UserDTO {
     public UserDTO() {
     }
 
-    public UserDTO(Long id, String name, String funcao, String cargo, String email, String password, byte[] profileImage) {
+    public UserDTO(Long id, String name, String funcao, String cargo, String email, String password) {
         this.id = id;
         this.name = name;
         this.funcao = funcao;
         this.cargo = cargo;
         this.email = email;
         this.password = password;
-        this.profileImage = profileImage;
     }
 
     public UserDTO(User entity) {
@@ -53,7 +54,7 @@ public class UserDTO {
         cargo = entity.getCargo();
         email = entity.getEmail();
         password = entity.getPassword();
-        profileImage = entity.getProfileImage();
+        profileImageHash = entity.getProfileImageHash();
         ativo = entity.isAtivo();
     }
 
@@ -22,6 +22,14 @@ public class UserSummaryDTO {
     public UserSummaryDTO() {
     }
 
+    public UserSummaryDTO(Long id, String name, String funcao, String cargo, String email) {
+        this.id = id;
+        this.name = name;
+        this.funcao = funcao;
+        this.cargo = cargo;
+        this.email = email;
+    }
+
     public UserSummaryDTO(User entity) {
         this.id = entity.getId();
         this.name = entity.getName();
@@ -14,13 +14,27 @@ import java.util.stream.Collectors;
 @Setter
 public class UserWithProjetosDTO extends UserDTO {
 
+    // What /users/with-projetos accepts in expand= (see FieldSelection)
+    public static final Set<String> ASSOCIATIONS = Set.of("projetos");
+
     private Set<ProjetoDTO> projetos = new HashSet<>();
 
     public UserWithProjetosDTO(User entity) {
+        this(entity, FieldSelection.all());
+    }
+
+    // projetos stays null (never initialized) when the selection doesn't expand it.
+    public UserWithProjetosDTO(User entity, FieldSelection selection) {
         super(entity);
+        if (!selection.expands("projetos")) {
+            this.projetos = null;
+            return;
+        }
+        boolean withExternos = selection.includesNested("projetos", "externos")
+                || selection.includesNested("projetos", "externoIds");
         Hibernate.initialize(entity.getProjetos()); //ensures the projetos collection is properly loaded within the transaction.
         this.projetos = entity.getProjetos().stream()
-                .map(ProjetoDTO::new)
+                .map(projeto -> new ProjetoDTO(projeto, withExternos))
                 .collect(Collectors.toSet());
     }
 
@@ -6,6 +6,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -26,6 +27,10 @@ public class Coluna {
     private String titulo;
     private Integer ordem;
 
+    // For GET /sync, see Tarefa#touch
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @JsonBackReference
     @ManyToOne
     @JoinColumn(name = "projeto_id")
@@ -38,6 +43,12 @@ public class Coluna {
     public Coluna() {
     }
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     public Coluna(Long id, TarefaStatus status, String titulo, Integer ordem) {
         this.id = id;
         this.status = status;
@@ -0,0 +1,50 @@
+package com.fl.dashboard.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Non-working day (public holiday or company closure) excluded from
+ * Tarefa.workingDays by WorkingDaysCalendar.
+ */
+@Entity
+@Table(name = "tb_holiday")
+@Getter
+@Setter
+public class Holiday {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "holiday_date", nullable = false, unique = true)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private String description;
+
+    public Holiday() {
+    }
+
+    public Holiday(LocalDate date, String description) {
+        this.date = date;
+        this.description = description;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Holiday holiday = (Holiday) o;
+        return Objects.equals(id, holiday.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
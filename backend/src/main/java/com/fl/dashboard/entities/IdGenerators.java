@@ -0,0 +1,20 @@
+package com.fl.dashboard.entities;
+
+/**
+ * Shared settings of the pooled table id generators used by the entities
+ * that are inserted in bulk (see V30). Unlike IDENTITY, ids come from a
+ * block reserved in tb_id_generator, so Hibernate knows them before the
+ * INSERT and can send saveAll as JDBC batches.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "tb_id_generator";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+
+    // One reservation per block of ids - matches hibernate.jdbc.batch_size.
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
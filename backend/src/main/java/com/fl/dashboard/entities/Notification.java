@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
 import java.util.Date;
 
 @Entity
@@ -13,9 +14,19 @@ import java.util.Date;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notification_id")
+    @TableGenerator(name = "notification_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "notification",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
+    @Version
+    private Long version;
+
+    // For GET /sync, see Tarefa#touch
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     private String type;
     private String content;
     private Boolean isRead;
@@ -39,4 +50,10 @@ public class Notification {
     @JoinColumn(name = "projeto_id")
     private Projeto projeto;
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
 }
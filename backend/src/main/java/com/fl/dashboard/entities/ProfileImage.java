@@ -0,0 +1,106 @@
+package com.fl.dashboard.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One size of a profile image, generated once at upload by
+ * ProfileImageService. Content-addressed: hash is the SHA-256 of the
+ * uploaded file, so a row never changes once written, the same photo
+ * uploaded twice is stored once, and (hash, size) is a strong ETag. Users
+ * point at their image through tb_user.profile_image_hash, which keeps the
+ * bytes out of every query that loads a User.
+ */
+@Entity
+@Table(name = "tb_profile_image")
+@IdClass(ProfileImage.Key.class)
+@Getter
+@Setter
+public class ProfileImage {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    // Longest side in pixels
+    @Id
+    private Integer size;
+
+    @Column(name = "content_type", nullable = false, length = 50)
+    private String contentType;
+
+    // Null for rows migrated from tb_user (V33), until the reprocessing job regenerates them
+    private Integer width;
+
+    private Integer height;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] data;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public ProfileImage() {
+    }
+
+    public ProfileImage(String hash, Integer size, String contentType, byte[] data, Integer width, Integer height) {
+        this.hash = hash;
+        this.size = size;
+        this.contentType = contentType;
+        this.data = data;
+        this.width = width;
+        this.height = height;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProfileImage that = (ProfileImage) o;
+        return Objects.equals(hash, that.hash) && Objects.equals(size, that.size);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hash, size);
+    }
+
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String hash;
+        private Integer size;
+
+        public Key() {
+        }
+
+        public Key(String hash, Integer size) {
+            this.hash = hash;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(hash, key.hash) && Objects.equals(size, key.size);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hash, size);
+        }
+    }
+}
@@ -58,6 +58,13 @@ public class Projeto {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    private Long version;
+
+    // For GET /sync, see Tarefa#touch
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     private Integer projetoAno;
     private String designacao;
     private String entidade;
@@ -100,6 +107,12 @@ public class Projeto {
         this.prazo = prazo;
     }
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     public void markAsDeleted() {
         this.deletedAt = LocalDateTime.now();
     }
@@ -128,6 +141,18 @@ public class Projeto {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     public Integer getProjetoAno() {
         return projetoAno;
     }
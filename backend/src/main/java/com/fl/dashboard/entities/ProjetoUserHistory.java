@@ -21,7 +21,10 @@ import java.util.Objects;
 public class ProjetoUserHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "projeto_user_history_id")
+    @TableGenerator(name = "projeto_user_history_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "projeto_user_history",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(optional = false)
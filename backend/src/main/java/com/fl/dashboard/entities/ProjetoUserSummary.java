@@ -0,0 +1,67 @@
+package com.fl.dashboard.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Running totals of the ProjetoUserHistory events of one (projeto, user)
+ * pair, kept up to date by ProjetoUserHistoryService#registarEventos so the
+ * time spent per project is read from one row per project instead of being
+ * replayed from every event.
+ */
+@Entity
+@Table(name = "tb_projeto_user_summary",
+        uniqueConstraints = @UniqueConstraint(name = "UK_projeto_user_summary", columnNames = {"user_id", "projeto_id"}))
+@Getter
+@Setter
+public class ProjetoUserSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "projeto_user_summary_id")
+    @TableGenerator(name = "projeto_user_summary_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "projeto_user_summary",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "projeto_id")
+    private Projeto projeto;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    // Closed ADDED-to-REMOVED cycles only; the open one is counted from activeSince.
+    @Column(name = "total_seconds", nullable = false)
+    private Long totalSeconds = 0L;
+
+    // Date of the pending ADDED, null while the user is off the project.
+    @Column(name = "active_since")
+    private LocalDateTime activeSince;
+
+    @Column(name = "first_event_date", nullable = false)
+    private LocalDateTime firstEventDate;
+
+    @Column(name = "last_event_date", nullable = false)
+    private LocalDateTime lastEventDate;
+
+    public ProjetoUserSummary() {
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProjetoUserSummary that = (ProjetoUserSummary) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,67 @@
+package com.fl.dashboard.entities;
+
+import com.fl.dashboard.enums.JobRunStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * One execution of a @Scheduled job (or of a manual trigger through
+ * /admin/jobs). Only the replica that actually won the SchedulerLock
+ * records a run - skipped ticks on the other replicas leave no trace.
+ */
+@Entity
+@Table(name = "tb_scheduled_job_run")
+@Getter
+@Setter
+public class ScheduledJobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 64)
+    private String jobName;
+
+    @Column(name = "instance_id", nullable = false)
+    private String instanceId;
+
+    // "SCHEDULER" for cron ticks, otherwise the email of the admin who triggered it.
+    @Column(name = "triggered_by", nullable = false)
+    private String triggeredBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobRunStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "rows_affected")
+    private Integer rowsAffected;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    public ScheduledJobRun() {
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ScheduledJobRun that = (ScheduledJobRun) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,52 @@
+package com.fl.dashboard.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Lease-based lock row for a @Scheduled job (one row per job name). Only
+ * ever modified through the conditional UPDATEs in SchedulerLockRepository,
+ * so two replicas can never both hold the same lease.
+ */
+@Entity
+@Table(name = "tb_scheduler_lock")
+@Getter
+@Setter
+public class SchedulerLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    public SchedulerLock() {
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SchedulerLock that = (SchedulerLock) o;
+        return Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name);
+    }
+}
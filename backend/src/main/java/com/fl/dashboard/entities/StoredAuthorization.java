@@ -0,0 +1,100 @@
+package com.fl.dashboard.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * An OAuth2 authorization (one login, re-saved on every refresh) persisted
+ * by JpaOAuth2AuthorizationService. Only the SHA-256 of each token is kept,
+ * never the token itself, so a copy of the table can't be used to log in;
+ * the value comes from the client that presents it. expires_at
+ * is when the last token expires - AuthorizationPurgeScheduler deletes the
+ * rows past it. All timestamps are UTC, so replicas in different time zones
+ * agree on them.
+ */
+@Entity
+@Table(name = "tb_oauth2_authorization")
+@Getter
+@Setter
+public class StoredAuthorization {
+
+    @Id
+    @Column(length = 100)
+    private String id;
+
+    @Column(name = "registered_client_id", nullable = false, length = 100)
+    private String registeredClientId;
+
+    @Column(name = "principal_name", nullable = false, length = 200)
+    private String principalName;
+
+    @Column(name = "authorization_grant_type", nullable = false, length = 100)
+    private String authorizationGrantType;
+
+    @Column(name = "authorized_scopes", length = 1000)
+    private String authorizedScopes;
+
+    // The user the tokens were issued to and their authorities at login - what the JWT claims of a
+    // refreshed access token are built from (AuthorizationServerConfig#tokenCustomizer).
+    @Column(name = "user_email", nullable = false)
+    private String userEmail;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "user_authorities", length = 1000)
+    private String userAuthorities;
+
+    @Column(name = "access_token_hash", length = 64)
+    private String accessTokenHash;
+
+    @Column(name = "access_token_issued_at")
+    private LocalDateTime accessTokenIssuedAt;
+
+    @Column(name = "access_token_expires_at")
+    private LocalDateTime accessTokenExpiresAt;
+
+    @Column(name = "access_token_scopes", length = 1000)
+    private String accessTokenScopes;
+
+    @Column(name = "access_token_invalidated", nullable = false)
+    private boolean accessTokenInvalidated;
+
+    @Column(name = "refresh_token_hash", length = 64)
+    private String refreshTokenHash;
+
+    @Column(name = "refresh_token_issued_at")
+    private LocalDateTime refreshTokenIssuedAt;
+
+    @Column(name = "refresh_token_expires_at")
+    private LocalDateTime refreshTokenExpiresAt;
+
+    @Column(name = "refresh_token_invalidated", nullable = false)
+    private boolean refreshTokenInvalidated;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public StoredAuthorization() {
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StoredAuthorization that = (StoredAuthorization) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -15,7 +15,10 @@ import java.util.Objects;
 public class Subtarefa {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "subtarefa_id")
+    @TableGenerator(name = "subtarefa_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "subtarefa",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -0,0 +1,62 @@
+package com.fl.dashboard.entities;
+
+import com.fl.dashboard.enums.SyncEntityType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A tarefa, projeto or notification that GET /sync has to report as gone
+ * to one user, where nothing else records it: a deleted notification (no
+ * row left), or a tarefa/projeto the user was removed from (the row itself
+ * didn't change). Soft-deleted tarefas and projetos don't need one.
+ */
+@Entity
+@Table(name = "tb_sync_tombstone")
+@Getter
+@Setter
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public SyncTombstone() {
+    }
+
+    public SyncTombstone(SyncEntityType entityType, Long entityId, Long userId, LocalDateTime deletedAt) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SyncTombstone that = (SyncTombstone) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -18,7 +18,10 @@ import java.util.*;
 public class Tarefa {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tarefa_id")
+    @TableGenerator(name = "tarefa_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.SEGMENT_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "tarefa",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     private String descricao;
@@ -35,6 +38,11 @@ public class Tarefa {
     @Version
     private Long version;
 
+    // What GET /sync reads. Set in touch() rather than with @UpdateTimestamp, which misses the
+    // version-only UPDATE of a users/externos change; bulk updates set it themselves.
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @JsonBackReference
     @ManyToOne
     @JoinColumn(name = "projeto_id")
@@ -72,6 +80,12 @@ public class Tarefa {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     public void markAsDeleted() {
         this.deletedAt = LocalDateTime.now();
     }
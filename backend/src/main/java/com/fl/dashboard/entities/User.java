@@ -21,6 +21,9 @@ public class User implements UserDetails {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    private Long version;
+
     @NotBlank(message = "Campo Obrigatório")
     private String name;
 
@@ -34,9 +37,9 @@ public class User implements UserDetails {
 
     private boolean ativo = true;
 
-    @Lob
-    @Column(name = "profile_image", columnDefinition = "MEDIUMBLOB")
-    private byte[] profileImage;
+    // SHA-256 of the photo in tb_profile_image (ProfileImageService); null without one
+    @Column(name = "profile_image_hash", length = 64)
+    private String profileImageHash;
 
     @JsonManagedReference
     @ManyToMany(mappedBy = "users")
@@ -63,14 +66,13 @@ public class User implements UserDetails {
     public User() {
     }
 
-    public User(Long id, String name, String funcao, String cargo, String email, String password, byte[] profileImage) {
+    public User(Long id, String name, String funcao, String cargo, String email, String password) {
         this.id = id;
         this.name = name;
         this.funcao = funcao;
         this.cargo = cargo;
         this.email = email;
         this.password = password;
-        this.profileImage = profileImage;
     }
 
     @Override
@@ -0,0 +1,12 @@
+package com.fl.dashboard.enums;
+
+/**
+ * Outcome of a single ScheduledJobRun. RUNNING is only ever seen while the
+ * job is executing - or if the replica running it died before it could
+ * record the end of the run.
+ */
+public enum JobRunStatus {
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package com.fl.dashboard.enums;
+
+/**
+ * What a SyncTombstone stands for.
+ */
+public enum SyncEntityType {
+    TAREFA,
+    PROJETO,
+    NOTIFICATION
+}
@@ -0,0 +1,8 @@
+package com.fl.dashboard.enums;
+
+public enum TarefaBulkOperacao {
+    STATUS,
+    REASSIGN,
+    ARCHIVE,
+    MOVE_PROJETO
+}
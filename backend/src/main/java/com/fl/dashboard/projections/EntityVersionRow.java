@@ -0,0 +1,18 @@
+package com.fl.dashboard.projections;
+
+/**
+ * One row of a JSON view's fingerprint query (see VersionTag): which entity
+ * (kind), the row it hangs off in the view (ownerId), and its id and
+ * version. Membership rows (users of a projeto, externos of a tarefa...)
+ * are rows of their own, so adding or removing one changes the tag even
+ * when no version moves.
+ */
+public interface EntityVersionRow {
+    String getKind();
+    Long getOwnerId();
+    Long getId();
+    Long getVersion();
+
+    // Columns maintained by bulk UPDATEs that skip @Version (tb_tarefa.working_days), else 0
+    Long getDerived();
+}
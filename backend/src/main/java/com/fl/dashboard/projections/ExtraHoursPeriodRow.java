@@ -0,0 +1,10 @@
+package com.fl.dashboard.projections;
+
+/**
+ * Extra hours of one user summed over one period of a year - the month
+ * (1-12) or the ISO week, depending on the query.
+ */
+public record ExtraHoursPeriodRow(
+        Integer period,
+        Double totalHours) {
+}
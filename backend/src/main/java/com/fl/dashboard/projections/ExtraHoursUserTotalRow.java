@@ -0,0 +1,15 @@
+package com.fl.dashboard.projections;
+
+/**
+ * Extra hours of one user summed over a date range. Entries can be negative
+ * (hours owed), so the positive and negative parts are kept apart as well.
+ */
+public record ExtraHoursUserTotalRow(
+        Long userId,
+        String name,
+        String email,
+        Double totalHours,
+        Double extraHours,
+        Double owedHours,
+        Long entries) {
+}
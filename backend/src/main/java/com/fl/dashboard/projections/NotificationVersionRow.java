@@ -0,0 +1,9 @@
+package com.fl.dashboard.projections;
+
+public interface NotificationVersionRow {
+    Long getId();
+    Long getVersion();
+    Long getUserVersion();
+    Long getProjetoId();
+    Long getProjetoVersion();
+}
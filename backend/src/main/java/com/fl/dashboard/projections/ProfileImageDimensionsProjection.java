@@ -0,0 +1,8 @@
+package com.fl.dashboard.projections;
+
+public interface ProfileImageDimensionsProjection {
+    String getHash();
+    Integer getSize();
+    Integer getWidth();
+    Integer getHeight();
+}
@@ -0,0 +1,21 @@
+package com.fl.dashboard.projections;
+
+import com.fl.dashboard.enums.TarefaStatus;
+
+import java.util.Date;
+
+/**
+ * One column of a projeto's board, with the projeto's own header columns
+ * repeated on each row. A projeto without columns still comes back as one
+ * row, with the coluna fields null - so the same query tells a missing
+ * projeto from an empty board.
+ */
+public record ProjetoBoardColunaRow(
+        Long projetoId,
+        String designacao,
+        Date prazo,
+        Long colunaId,
+        TarefaStatus status,
+        String titulo,
+        Integer ordem) {
+}
@@ -0,0 +1,26 @@
+package com.fl.dashboard.projections;
+
+import com.fl.dashboard.enums.TipoProjeto;
+
+import java.util.Date;
+
+/**
+ * One exported Projeto (see ProjetoRepository#streamExportRows), with the
+ * cliente/coordenador names and the assigned users joined into one string by
+ * the database.
+ */
+public record ProjetoExportRow(
+        Long id,
+        Integer projetoAno,
+        String designacao,
+        String entidade,
+        String prioridade,
+        String status,
+        TipoProjeto tipo,
+        Date prazo,
+        Date dataProposta,
+        Date dataAdjudicacao,
+        String clienteName,
+        String coordenadorName,
+        String colaboradores) {
+}
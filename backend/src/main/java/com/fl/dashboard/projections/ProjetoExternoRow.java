@@ -0,0 +1,11 @@
+package com.fl.dashboard.projections;
+
+import com.fl.dashboard.entities.Externo;
+
+/**
+ * One (projeto, externo) pair of tb_projeto_externo. The Externo stays an
+ * entity here: ExternoDTO needs its especialidades collection, and the table
+ * is small enough that hydrating it isn't what a listing pays for.
+ */
+public record ProjetoExternoRow(Long projetoId, Externo externo) {
+}
@@ -0,0 +1,30 @@
+package com.fl.dashboard.projections;
+
+import com.fl.dashboard.enums.TipoProjeto;
+
+import java.util.Date;
+
+/**
+ * Scalar columns of a Projeto plus its coordenador summary, for the project
+ * listings. users/externos/cliente are assembled from separate IN (...)
+ * queries keyed by projeto id (see ProjetoService#toProjetoWithUsersDTOs).
+ */
+public record ProjetoListRow(
+        Long id,
+        Integer projetoAno,
+        String designacao,
+        String entidade,
+        String prioridade,
+        String observacao,
+        Date prazo,
+        String status,
+        TipoProjeto tipo,
+        Date dataProposta,
+        Date dataAdjudicacao,
+        Long coordenadorId,
+        String coordenadorName,
+        String coordenadorFuncao,
+        String coordenadorCargo,
+        String coordenadorEmail,
+        Long clienteId) {
+}
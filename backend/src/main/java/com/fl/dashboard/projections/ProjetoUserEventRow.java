@@ -0,0 +1,16 @@
+package com.fl.dashboard.projections;
+
+import com.fl.dashboard.enums.ProjetoUserHistoryAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * The bare (user, projeto, action, date) of a ProjetoUserHistory event, for
+ * replaying the assignment history of the whole team.
+ */
+public record ProjetoUserEventRow(
+        Long userId,
+        Long projetoId,
+        ProjetoUserHistoryAction action,
+        LocalDateTime eventDate) {
+}
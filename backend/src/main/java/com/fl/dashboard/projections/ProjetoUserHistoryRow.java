@@ -0,0 +1,17 @@
+package com.fl.dashboard.projections;
+
+import com.fl.dashboard.enums.ProjetoUserHistoryAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * One ProjetoUserHistory event with the designacao of its projeto, read in
+ * the same query instead of loading the Projeto.
+ */
+public record ProjetoUserHistoryRow(
+        Long id,
+        Long projetoId,
+        String projetoDesignacao,
+        ProjetoUserHistoryAction action,
+        LocalDateTime eventDate) {
+}
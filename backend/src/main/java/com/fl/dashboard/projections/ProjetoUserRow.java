@@ -0,0 +1,14 @@
+package com.fl.dashboard.projections;
+
+/**
+ * One (projeto, member) pair of tb_projeto_user, with the UserSummaryDTO
+ * columns of the member.
+ */
+public record ProjetoUserRow(
+        Long projetoId,
+        Long userId,
+        String name,
+        String funcao,
+        String cargo,
+        String email) {
+}
@@ -0,0 +1,13 @@
+package com.fl.dashboard.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ProjetoUserSummary with the designacao of its projeto.
+ */
+public record ProjetoUserSummaryRow(
+        Long projetoId,
+        String projetoDesignacao,
+        Long totalSeconds,
+        LocalDateTime activeSince) {
+}
@@ -0,0 +1,12 @@
+package com.fl.dashboard.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * The percentual of a tarefa's subtarefas that is concluded, for a tarefa
+ * that has been divided.
+ */
+public record SubtarefaProgressRow(
+        Long tarefaId,
+        BigDecimal percentualConcluido) {
+}
@@ -0,0 +1,23 @@
+package com.fl.dashboard.projections;
+
+import com.fl.dashboard.enums.TarefaStatus;
+
+import java.util.Date;
+
+/**
+ * One exported Tarefa (see TarefaRepository#streamExportRows): scalars plus
+ * the projeto designation and the assignees already joined into one string
+ * by the database, so the export never hydrates an entity.
+ */
+public record TarefaExportRow(
+        Long id,
+        String descricao,
+        String prioridade,
+        TarefaStatus status,
+        Date prazoEstimado,
+        Date prazoReal,
+        Integer workingDays,
+        Boolean recorrente,
+        String projetoDesignacao,
+        String responsaveis) {
+}
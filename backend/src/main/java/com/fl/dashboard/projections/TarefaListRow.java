@@ -0,0 +1,30 @@
+package com.fl.dashboard.projections;
+
+import com.fl.dashboard.enums.FrequenciaRecorrencia;
+import com.fl.dashboard.enums.TarefaStatus;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Scalar columns of a Tarefa, selected with a JPQL constructor expression for
+ * the list endpoints that only ever build a TarefaDTO - no managed entity, no
+ * dirty-checking snapshot, and none of the EAGER to-ones (projeto, coluna)
+ * dragged in per row.
+ */
+public record TarefaListRow(
+        Long id,
+        String descricao,
+        String prioridade,
+        Date prazoEstimado,
+        Date prazoReal,
+        TarefaStatus status,
+        Integer workingDays,
+        LocalDateTime arquivadaEm,
+        Long version,
+        Boolean recorrente,
+        FrequenciaRecorrencia frequenciaRecorrencia,
+        Date dataFimRecorrencia,
+        Date proximaOcorrencia,
+        Long tarefaOrigemId) {
+}
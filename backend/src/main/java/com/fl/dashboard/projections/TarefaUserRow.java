@@ -0,0 +1,14 @@
+package com.fl.dashboard.projections;
+
+/**
+ * One (tarefa, assignee) pair of tb_tarefa_user, with the UserSummaryDTO
+ * columns of the assignee.
+ */
+public record TarefaUserRow(
+        Long tarefaId,
+        Long userId,
+        String name,
+        String funcao,
+        String cargo,
+        String email) {
+}
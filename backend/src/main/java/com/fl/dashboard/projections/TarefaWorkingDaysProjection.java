@@ -0,0 +1,10 @@
+package com.fl.dashboard.projections;
+
+import java.util.Date;
+
+public interface TarefaWorkingDaysProjection {
+    Long getId();
+    Date getPrazoEstimado();
+    Date getPrazoReal();
+    Integer getWorkingDays();
+}
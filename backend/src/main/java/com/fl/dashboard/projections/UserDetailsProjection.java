@@ -2,6 +2,8 @@ package com.fl.dashboard.projections;
 
 public interface UserDetailsProjection {
 
+    Long getUserId();
+
     String getUsername();
 
     String getPassword();
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,9 +30,17 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     @Query("SELECT c FROM Cliente c WHERE c.deletedAt IS NULL")
     List<Cliente> findAllActive();
 
+    // Keyset chunks for JsonArrayStreamer; the Pageable only supplies the limit.
+    @Query("SELECT c FROM Cliente c WHERE c.deletedAt IS NULL AND c.id > :afterId ORDER BY c.id")
+    List<Cliente> findActiveAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT c.id FROM Cliente c WHERE c.deletedAt IS NULL AND c.id > :afterId ORDER BY c.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // By id rather than LIMIT on the fetch join itself, which Hibernate would apply in memory.
     @EntityGraph(attributePaths = {"projetos"})
-    @Query("SELECT c FROM Cliente c WHERE c.deletedAt IS NULL")
-    List<Cliente> findAllWithProjetos();
+    @Query("SELECT c FROM Cliente c WHERE c.id IN :ids ORDER BY c.id")
+    List<Cliente> findAllByIdInWithProjetos(@Param("ids") Collection<Long> ids);
 
     @EntityGraph(attributePaths = {"projetos"})
     @Query("SELECT c FROM Cliente c WHERE c.id = :id AND c.deletedAt IS NULL")
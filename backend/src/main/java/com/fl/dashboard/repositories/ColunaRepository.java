@@ -1,10 +1,15 @@
 package com.fl.dashboard.repositories;
 
+import com.fl.dashboard.dto.ColunaWithProjetoDTO;
 import com.fl.dashboard.entities.Coluna;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -15,5 +20,13 @@ public interface ColunaRepository extends JpaRepository<Coluna, Long> {
     // same Cartesian-explosion pattern that caused the Projeto prod OOM, on every Kanban board load.
     @EntityGraph(attributePaths = {"projeto"})
     List<Coluna> findByProjetoIdOrderByOrdemAsc(Long projetoId);
+
+    // GET /sync: columns changed since a token, of the projetos the user sees (all when userId is null)
+    @Query("SELECT new com.fl.dashboard.dto.ColunaWithProjetoDTO(c.id, c.status, c.titulo, c.ordem, p.id) " +
+            "FROM Coluna c JOIN c.projeto p WHERE c.updatedAt >= :since AND p.deletedAt IS NULL " +
+            "AND (:userId IS NULL OR EXISTS (SELECT 1 FROM Projeto m JOIN m.users u WHERE m.id = p.id AND u.id = :userId)) " +
+            "ORDER BY c.id")
+    List<ColunaWithProjetoDTO> findChangedSince(@Param("since") LocalDateTime since,
+                                                @Param("userId") Long userId, Pageable pageable);
 }
 
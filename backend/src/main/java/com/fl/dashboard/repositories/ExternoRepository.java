@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,12 +27,21 @@ public interface ExternoRepository extends JpaRepository<Externo, Long> {
     @Query("SELECT e FROM Externo e WHERE e.deletedAt IS NULL")
     Page<Externo> findAllActive(Pageable pageable);
 
-    @Query("SELECT e FROM Externo e WHERE e.deletedAt IS NULL")
-    List<Externo> findAllActive();
+    // Keyset chunk for JsonArrayStreamer; the Pageable only supplies the limit. The externos are
+    // then loaded by id - a LIMIT on a collection fetch join would be applied in memory.
+    @Query("SELECT e.id FROM Externo e WHERE e.deletedAt IS NULL AND e.id > :afterId ORDER BY e.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"projetos"})
-    @Query("SELECT e FROM Externo e WHERE e.deletedAt IS NULL")
-    List<Externo> findAllWithProjetos();
+    // especialidades is an EAGER @ElementCollection: outside the graph it costs a select per externo.
+    @EntityGraph(attributePaths = {"especialidades"})
+    @Query("SELECT e FROM Externo e WHERE e.id IN :ids ORDER BY e.id")
+    List<Externo> findAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ExternoWithProjetosDTO builds a ProjetoDTO per project, which reads the EAGER to-ones.
+    @EntityGraph(attributePaths = {"especialidades", "projetos", "projetos.coordenador", "projetos.cliente",
+            "projetos.proposta"})
+    @Query("SELECT e FROM Externo e WHERE e.id IN :ids ORDER BY e.id")
+    List<Externo> findAllByIdInWithProjetos(@Param("ids") Collection<Long> ids);
 
     // Split from a single findByIdWithRelationships: ExternoWithProjetosDTO only reads projetos
     // (+ especialidades via the EAGER base ExternoDTO), never tarefas.
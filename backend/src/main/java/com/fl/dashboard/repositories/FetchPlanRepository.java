@@ -0,0 +1,107 @@
+package com.fl.dashboard.repositories;
+
+import com.fl.dashboard.entities.Projeto;
+import com.fl.dashboard.entities.Tarefa;
+import com.fl.dashboard.entities.User;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Subgraph;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counterparts of the fixed @EntityGraph queries behind the "full" endpoints,
+ * with the graph picked per request from the FieldSelection expansions.
+ * Spring Data only supports graphs declared up front, hence the EntityManager.
+ * <p>
+ * The graphs are built once per (entity, attribute set) and reused; the JPQL
+ * never changes, so Hibernate's own query plan cache covers the rest.
+ */
+@Repository
+public class FetchPlanRepository {
+
+    // loadgraph rather than fetchgraph: attributes left out of the graph keep their mapped
+    // fetch type, so an EAGER to-one doesn't turn into one lazy query per row.
+    private static final String LOAD_GRAPH_HINT = "jakarta.persistence.loadgraph";
+    private static final List<String> PROJETO_TO_ONES = List.of("coordenador", "cliente", "proposta");
+
+    private record GraphKey(Class<?> type, Set<String> attributes) {
+    }
+
+    private final Map<GraphKey, EntityGraph<?>> graphs = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Optional<Projeto> findActiveProjetoById(Long id, Set<String> attributes) {
+        TypedQuery<Projeto> query = entityManager.createQuery(
+                "SELECT p FROM Projeto p WHERE p.id = :id AND p.deletedAt IS NULL", Projeto.class);
+        query.setParameter("id", id);
+        return withGraph(query, Projeto.class, attributes).getResultList().stream().findFirst();
+    }
+
+    // The list endpoints stream keyset chunks: the ids are paged first (a LIMIT on a collection
+    // fetch join would be applied in memory), then one chunk is loaded here.
+    public List<Tarefa> findTarefasByIds(Collection<Long> ids, Set<String> attributes) {
+        TypedQuery<Tarefa> query = entityManager.createQuery(
+                "SELECT t FROM Tarefa t WHERE t.id IN :ids ORDER BY t.id", Tarefa.class);
+        query.setParameter("ids", ids);
+        return withGraph(query, Tarefa.class, withProjetoToOnes(attributes, "projeto")).getResultList();
+    }
+
+    public List<User> findUsersByIds(Collection<Long> ids, Set<String> attributes) {
+        TypedQuery<User> query = entityManager.createQuery(
+                "SELECT u FROM User u WHERE u.id IN :ids ORDER BY u.id", User.class);
+        query.setParameter("ids", ids);
+        return withGraph(query, User.class, withProjetoToOnes(attributes, "projetos")).getResultList();
+    }
+
+    // ProjetoDTO reads coordenador and cliente, and Projeto.proposta is an (implicitly EAGER)
+    // to-one too. Left out of the graph, each one costs a separate select per distinct project.
+    private static Set<String> withProjetoToOnes(Set<String> attributes, String projetoPath) {
+        if (!attributes.contains(projetoPath)) {
+            return attributes;
+        }
+        Set<String> expanded = new HashSet<>(attributes);
+        for (String toOne : PROJETO_TO_ONES) {
+            expanded.add(projetoPath + "." + toOne);
+        }
+        return expanded;
+    }
+
+    private <T> TypedQuery<T> withGraph(TypedQuery<T> query, Class<T> type, Set<String> attributes) {
+        if (!attributes.isEmpty()) {
+            query.setHint(LOAD_GRAPH_HINT, graphFor(type, attributes));
+        }
+        return query;
+    }
+
+    // Graphs are only read after being built, so sharing one instance across sessions is safe.
+    // Attributes may be one level deep ("projeto.cliente"); the parent must be listed as well.
+    EntityGraph<?> graphFor(Class<?> type, Set<String> attributes) {
+        return graphs.computeIfAbsent(new GraphKey(type, Set.copyOf(attributes)), key -> {
+            EntityGraph<?> graph = entityManager.createEntityGraph(key.type());
+            Map<String, Subgraph<?>> subgraphs = new HashMap<>();
+            key.attributes().stream().sorted().forEach(attribute -> {
+                int dot = attribute.indexOf('.');
+                if (dot < 0) {
+                    graph.addAttributeNodes(attribute);
+                } else {
+                    subgraphs.computeIfAbsent(attribute.substring(0, dot), graph::addSubgraph)
+                            .addAttributeNodes(attribute.substring(dot + 1));
+                }
+            });
+            return graph;
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.fl.dashboard.repositories;
+
+import com.fl.dashboard.entities.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+
+    // Only the dates - WorkingDaysCalendar keeps them as a sorted primitive array.
+    @Query("SELECT h.date FROM Holiday h ORDER BY h.date")
+    List<LocalDate> findAllDatesOrdered();
+}
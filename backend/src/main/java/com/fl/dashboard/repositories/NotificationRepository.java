@@ -2,6 +2,7 @@ package com.fl.dashboard.repositories;
 
 import com.fl.dashboard.entities.Notification;
 import com.fl.dashboard.entities.User;
+import com.fl.dashboard.projections.NotificationVersionRow;
 import com.fl.dashboard.projections.UnreadNotificationCountProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -45,6 +46,20 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC")
     Page<Notification> findAllByUserIdWithDetails(@Param("userId") Long userId, Pageable pageable);
 
+    // Fingerprint of findAllByUserIdWithDetails (same filter, order and paging) for its ETag: what
+    // NotificationService#convertToDTO reads from each notification, its user and its projeto.
+    @Query("SELECT n.id AS id, n.version AS version, u.version AS userVersion, " +
+            "p.id AS projetoId, p.version AS projetoVersion " +
+            "FROM Notification n JOIN n.user u LEFT JOIN n.projeto p " +
+            "WHERE u.id = :userId ORDER BY n.createdAt DESC")
+    Page<NotificationVersionRow> findVersionsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // GET /sync: the user's notifications created or changed since a token
+    @EntityGraph(attributePaths = {"user", "projeto"})
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.updatedAt >= :since ORDER BY n.id")
+    List<Notification> findByUserIdChangedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since,
+                                                Pageable pageable);
+
     // One aggregate query for a whole page of users, instead of the frontend firing one
     // findByUserAndIsReadFalse-style request per row (e.g. one NotificationBadge per row in the
     // Colaboradores table).
@@ -52,10 +67,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
             "WHERE n.user.id IN :userIds AND n.isRead = false GROUP BY n.user.id")
     List<UnreadNotificationCountProjection> countUnreadByUserIds(@Param("userIds") List<Long> userIds);
 
-    void deleteByIsReadTrueAndCreatedAtBefore(LocalDateTime cutoffTime);
+    long deleteByIsReadTrueAndCreatedAtBefore(LocalDateTime cutoffTime);
 
     // Unread notifications had no expiry at all before this — they accumulated indefinitely.
-    void deleteByIsReadFalseAndCreatedAtBefore(LocalDateTime cutoffTime);
+    long deleteByIsReadFalseAndCreatedAtBefore(LocalDateTime cutoffTime);
 
     boolean existsByProjetoIdAndUserIdAndType(Long projetoId, Long userId, String type);
 
@@ -0,0 +1,39 @@
+package com.fl.dashboard.repositories;
+
+import com.fl.dashboard.entities.ProfileImage;
+import com.fl.dashboard.projections.ProfileImageDimensionsProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProfileImageRepository extends JpaRepository<ProfileImage, ProfileImage.Key> {
+
+    // Which sizes exist for an image - read from the primary key, without touching the bytes
+    @Query("SELECT p.size FROM ProfileImage p WHERE p.hash = :hash ORDER BY p.size")
+    List<Integer> findSizesByHash(@Param("hash") String hash);
+
+    // What ProfileImageService#findSourcesToReprocess decides on, for a whole chunk of images at once
+    @Query("SELECT p.hash AS hash, p.size AS size, p.width AS width, p.height AS height " +
+            "FROM ProfileImage p WHERE p.hash IN :hashes")
+    List<ProfileImageDimensionsProjection> findDimensionsByHashIn(@Param("hashes") Collection<String> hashes);
+
+    // Sizes no longer generated (after a change to ProfileImageService.SIZES)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProfileImage p WHERE p.hash = :hash AND p.size NOT IN :sizes")
+    int deleteOtherSizes(@Param("hash") String hash, @Param("sizes") Collection<Integer> sizes);
+
+    // Once the last user pointing at an image has moved to another one
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProfileImage p WHERE p.hash = :hash " +
+            "AND NOT EXISTS (SELECT 1 FROM User u WHERE u.profileImageHash = :hash)")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -3,35 +3,82 @@ package com.fl.dashboard.repositories;
 import com.fl.dashboard.entities.Externo;
 import com.fl.dashboard.entities.Projeto;
 import com.fl.dashboard.enums.TipoProjeto;
+import com.fl.dashboard.projections.EntityVersionRow;
+import com.fl.dashboard.projections.ProjetoBoardColunaRow;
+import com.fl.dashboard.projections.ProjetoExportRow;
+import com.fl.dashboard.projections.ProjetoExternoRow;
+import com.fl.dashboard.projections.ProjetoListRow;
+import com.fl.dashboard.projections.ProjetoUserRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjetoRepository extends JpaRepository<Projeto, Long> {
 
+    String LIST_ROW_SELECT = "SELECT new com.fl.dashboard.projections.ProjetoListRow(" +
+            "p.id, p.projetoAno, p.designacao, p.entidade, p.prioridade, p.observacao, p.prazo, p.status, " +
+            "p.tipo, p.dataProposta, p.dataAdjudicacao, c.id, c.name, c.funcao, c.cargo, c.email, cl.id) " +
+            "FROM Projeto p LEFT JOIN p.coordenador c LEFT JOIN p.cliente cl ";
+
+    // Project listings as plain rows (no collection fetch, so Pageable is applied in SQL, and no
+    // managed entities); users/externos come from the *ByProjetoIds queries below.
+    @Query(value = LIST_ROW_SELECT + "WHERE p.deletedAt IS NULL",
+            countQuery = "SELECT COUNT(p) FROM Projeto p WHERE p.deletedAt IS NULL")
+    Page<ProjetoListRow> findActiveListRows(Pageable pageable);
+
+    @Query(LIST_ROW_SELECT + "WHERE p.deletedAt IS NULL")
+    List<ProjetoListRow> findAllActiveListRows();
+
+    // GET /sync: what changed since a token. A null userId means every projeto (VIEW_ALL_PROJECTS),
+    // otherwise only those the user is a member of, as GET /projetos lists them.
+    @Query(LIST_ROW_SELECT + "WHERE p.updatedAt >= :since AND p.deletedAt IS NULL " +
+            "AND (:userId IS NULL OR EXISTS (SELECT 1 FROM Projeto m JOIN m.users u WHERE m.id = p.id AND u.id = :userId)) " +
+            "ORDER BY p.id")
+    List<ProjetoListRow> findActiveListRowsChangedSince(@Param("since") LocalDateTime since,
+                                                        @Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT p.id FROM Projeto p WHERE p.updatedAt >= :since AND p.deletedAt IS NOT NULL " +
+            "AND (:userId IS NULL OR EXISTS (SELECT 1 FROM Projeto m JOIN m.users u WHERE m.id = p.id AND u.id = :userId)) " +
+            "ORDER BY p.id")
+    List<Long> findDeletedIdsChangedSince(@Param("since") LocalDateTime since,
+                                          @Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT new com.fl.dashboard.projections.ProjetoUserRow(p.id, u.id, u.name, u.funcao, u.cargo, u.email) " +
+            "FROM Projeto p JOIN p.users u WHERE p.id IN :ids")
+    List<ProjetoUserRow> findUserRowsByProjetoIds(@Param("ids") Collection<Long> ids);
+
+    // GET /projetos/{id}/board: the columns in board order, empty if the projeto doesn't exist
+    @Query("SELECT new com.fl.dashboard.projections.ProjetoBoardColunaRow(p.id, p.designacao, p.prazo, " +
+            "c.id, c.status, c.titulo, c.ordem) " +
+            "FROM Projeto p LEFT JOIN p.colunas c WHERE p.id = :id AND p.deletedAt IS NULL " +
+            "ORDER BY c.ordem, c.id")
+    List<ProjetoBoardColunaRow> findBoardColunaRows(@Param("id") Long id);
+
+    @Query("SELECT new com.fl.dashboard.projections.ProjetoExternoRow(p.id, e) " +
+            "FROM Projeto p JOIN p.externos e WHERE p.id IN :ids")
+    List<ProjetoExternoRow> findExternoRowsByProjetoIds(@Param("ids") Collection<Long> ids);
+
     // IDs-only + fetch-by-id split avoids Hibernate's "collection fetch + pagination" in-memory
     // pagination (HHH90003004), which loaded the whole active Projeto table (with users/tarefas/
     // tarefas.users/colunas joined) into heap before slicing it — root cause of a prod OOM.
     @Query("SELECT p.id FROM Projeto p WHERE p.deletedAt IS NULL")
     Page<Long> findAllActiveIds(Pageable pageable);
 
-    // ProjetoWithUsersDTO (the only consumer of this method) only reads users/externos — tarefas,
-    // tarefas.users and colunas were being fetched here for nothing. Combining that many collections
-    // in one join multiplies rows (tarefas grows unbounded as a project matures), which caused a
-    // prod OOM when a page happened to include an older/larger project (e.g. page 2).
-    @EntityGraph(attributePaths = {"users", "externos"})
-    @Query("SELECT p FROM Projeto p WHERE p.id IN :ids")
-    List<Projeto> findAllByIdInWithDetails(@Param("ids") List<Long> ids);
-
     // ProjetoWithTarefasDTO only reads tarefas (via TarefaDTO, which never touches tarefa.users) —
     // tarefas.users and colunas were dead weight, and tarefas grows unboundedly per project (same
     // Cartesian-explosion pattern as findAllByIdInWithDetails above).
@@ -47,6 +94,31 @@ public interface ProjetoRepository extends JpaRepository<Projeto, Long> {
             "WHERE p.id = :id AND p.deletedAt IS NULL")
     Optional<Projeto> findByIdWithUsersAndTarefas(@Param("id") Long id);
 
+    // Fingerprint of /projetos/{id}/full for its ETag (VersionTag): every row the view is built
+    // from - the projeto, its coordenador and cliente, users, externos and tarefas - as ids and
+    // versions only. Empty if the projeto doesn't exist.
+    @Query(nativeQuery = true, value = """
+            SELECT 'P' AS kind, p.id AS ownerId, p.id AS id, p.version AS version, 0 AS derived
+            FROM tb_projeto p WHERE p.id = :id
+            UNION ALL
+            SELECT 'C', p.id, u.id, u.version, 0
+            FROM tb_projeto p JOIN tb_user u ON u.id = p.coordenador_id WHERE p.id = :id
+            UNION ALL
+            SELECT 'L', p.id, c.id, c.version, 0
+            FROM tb_projeto p JOIN tb_cliente c ON c.id = p.cliente_id WHERE p.id = :id
+            UNION ALL
+            SELECT 'U', pu.projeto_id, u.id, u.version, 0
+            FROM tb_projeto_user pu JOIN tb_user u ON u.id = pu.user_id WHERE pu.projeto_id = :id
+            UNION ALL
+            SELECT 'E', pe.projeto_id, e.id, e.version, 0
+            FROM tb_projeto_externo pe JOIN tb_externo e ON e.id = pe.externo_id WHERE pe.projeto_id = :id
+            UNION ALL
+            SELECT 'T', t.projeto_id, t.id, t.version, COALESCE(t.working_days, -1)
+            FROM tb_tarefa t WHERE t.projeto_id = :id
+            ORDER BY kind, ownerId, id
+            """)
+    List<EntityVersionRow> findFullViewVersions(@Param("id") Long id);
+
     // Backs plain GET /projetos/{id} (ProjetoDTO — no collections needed at all) and the
     // addExternosToProjeto/removeExternoFromProjeto mutations (only touch externos). The old
     // {"users","tarefas","tarefas.users","colunas"} graph turned every single-project fetch into
@@ -55,6 +127,17 @@ public interface ProjetoRepository extends JpaRepository<Projeto, Long> {
     @Query("SELECT p FROM Projeto p WHERE p.id = :id AND p.deletedAt IS NULL")
     Optional<Projeto> findByIdActive(@Param("id") Long id);
 
+    // One probe on tb_projeto_user's (projeto_id, user_id) primary key - AccessDecisionService
+    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Projeto p JOIN p.users u " +
+            "WHERE p.id = :projetoId AND u.id = :userId AND p.deletedAt IS NULL")
+    boolean existsActiveMembership(@Param("projetoId") Long projetoId, @Param("userId") Long userId);
+
+    // A collaborator's own projects, by the id from CurrentUser - replaces findByEmail(...).getProjetos(),
+    // which also loaded the user's roles and then every project, deleted ones included.
+    @EntityGraph(attributePaths = {"users"})
+    @Query("SELECT p FROM Projeto p JOIN p.users u WHERE u.id = :userId AND p.deletedAt IS NULL ORDER BY p.id")
+    List<Projeto> findActiveByUserId(@Param("userId") Long userId);
+
     // Backs searchProjetos -> ProjetoWithUsersAndTarefasDTO (users, tarefas, externos — never
     // tarefas.users/colunas). Also unbounded (no pagination), so an over-fetching graph here is
     // worse than the paginated cases: every matching project's full Cartesian join is computed.
@@ -66,9 +149,24 @@ public interface ProjetoRepository extends JpaRepository<Projeto, Long> {
             @Param("searchQuery") String searchQuery
     );
 
-    @EntityGraph(attributePaths = {"users", "tarefas", "tarefas.users", "colunas"})
-    @Query("SELECT p FROM Projeto p WHERE p.deletedAt IS NULL")
-    List<Projeto> findAllActive();
+    // The /projetos/filter criteria, shared by the listing (with or without VIEW_ALL_PROJECTS) and its
+    // export so they always match. :userEmail != null limits them to that user's projects. Needs
+    // "LEFT JOIN p.cliente cl": a p.cliente.name path would inner join and drop projects without a cliente.
+    String FILTER_WHERE = "WHERE p.deletedAt IS NULL " +
+            "AND (:designacao IS NULL OR LOWER(p.designacao) LIKE LOWER(CONCAT('%', :designacao, '%'))) " +
+            "AND (:clienteId IS NULL OR cl.id = :clienteId) " +
+            "AND (:clienteName IS NULL OR LOWER(cl.name) LIKE LOWER(CONCAT('%', :clienteName, '%'))) " +
+            "AND (:prioridade IS NULL OR LOWER(p.prioridade) LIKE LOWER(CONCAT('%', :prioridade, '%'))) " +
+            "AND (:startDate IS NULL OR p.prazo >= :startDate) " +
+            "AND (:endDate IS NULL OR p.prazo <= :endDate) " +
+            "AND (:status IS NULL OR p.status = :status) " +
+            "AND (:coordenadorId IS NULL OR p.coordenador.id = :coordenadorId) " +
+            "AND (:propostaStartDate IS NULL OR p.dataProposta >= :propostaStartDate) " +
+            "AND (:propostaEndDate IS NULL OR p.dataProposta <= :propostaEndDate) " +
+            "AND (:adjudicacaoStartDate IS NULL OR p.dataAdjudicacao >= :adjudicacaoStartDate) " +
+            "AND (:adjudicacaoEndDate IS NULL OR p.dataAdjudicacao <= :adjudicacaoEndDate) " +
+            "AND (:tipo IS NULL OR p.tipo = :tipo) " +
+            "AND (:userEmail IS NULL OR p.id IN (SELECT up.id FROM User ue JOIN ue.projetos up WHERE ue.email = :userEmail)) ";
 
     // No @EntityGraph here: combining a Pageable query with a collection-fetch EntityGraph
     // forces Hibernate to paginate in memory (see findAllActiveIds above for the pattern to
@@ -81,20 +179,7 @@ public interface ProjetoRepository extends JpaRepository<Projeto, Long> {
             @Param("endDate") Date endDate,
             Pageable pageable);
 
-    @Query("SELECT p FROM Projeto p WHERE p.deletedAt IS NULL " +
-            "AND (:designacao IS NULL OR LOWER(p.designacao) LIKE LOWER(CONCAT('%', :designacao, '%'))) " +
-            "AND (:clienteId IS NULL OR p.cliente.id = :clienteId) " +
-            "AND (:clienteName IS NULL OR LOWER(p.cliente.name) LIKE LOWER(CONCAT('%', :clienteName, '%'))) " +
-            "AND (:prioridade IS NULL OR LOWER(p.prioridade) LIKE LOWER(CONCAT('%', :prioridade, '%'))) " +
-            "AND (:startDate IS NULL OR p.prazo >= :startDate) " +
-            "AND (:endDate IS NULL OR p.prazo <= :endDate) " +
-            "AND (:status IS NULL OR p.status = :status) " +
-            "AND (:coordenadorId IS NULL OR p.coordenador.id = :coordenadorId) " +
-            "AND (:propostaStartDate IS NULL OR p.dataProposta >= :propostaStartDate) " +
-            "AND (:propostaEndDate IS NULL OR p.dataProposta <= :propostaEndDate) " +
-            "AND (:adjudicacaoStartDate IS NULL OR p.dataAdjudicacao >= :adjudicacaoStartDate) " +
-            "AND (:adjudicacaoEndDate IS NULL OR p.dataAdjudicacao <= :adjudicacaoEndDate)" +
-            "AND (:tipo IS NULL OR p.tipo = :tipo)")
+    @Query("SELECT p FROM Projeto p LEFT JOIN p.cliente cl " + FILTER_WHERE)
     Page<Projeto> findByFilters(
             @Param("designacao") String designacao,
             @Param("clienteId") Long clienteId,
@@ -109,8 +194,35 @@ public interface ProjetoRepository extends JpaRepository<Projeto, Long> {
             @Param("adjudicacaoStartDate") Date adjudicacaoStartDate,
             @Param("adjudicacaoEndDate") Date adjudicacaoEndDate,
             @Param("tipo") TipoProjeto tipo,
+            @Param("userEmail") String userEmail,
             Pageable pageable);
 
+    // /projetos/filter/export: a forward-only cursor of scalar rows (ExportService). MySQL only honors
+    // the fetch size with useCursorFetch=true.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.fl.dashboard.projections.ProjetoExportRow(p.id, p.projetoAno, p.designacao, " +
+            "p.entidade, p.prioridade, p.status, p.tipo, p.prazo, p.dataProposta, p.dataAdjudicacao, " +
+            "cl.name, c.name, LISTAGG(u.name, ', ') WITHIN GROUP (ORDER BY u.name)) " +
+            "FROM Projeto p LEFT JOIN p.cliente cl LEFT JOIN p.coordenador c LEFT JOIN p.users u " + FILTER_WHERE +
+            "GROUP BY p.id, p.projetoAno, p.designacao, p.entidade, p.prioridade, p.status, p.tipo, p.prazo, " +
+            "p.dataProposta, p.dataAdjudicacao, cl.name, c.name " +
+            "ORDER BY p.id")
+    Stream<ProjetoExportRow> streamExportRows(
+            @Param("designacao") String designacao,
+            @Param("clienteId") Long clienteId,
+            @Param("clienteName") String clienteName,
+            @Param("prioridade") String prioridade,
+            @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate,
+            @Param("status") String status,
+            @Param("coordenadorId") Long coordenadorId,
+            @Param("propostaStartDate") Date propostaStartDate,
+            @Param("propostaEndDate") Date propostaEndDate,
+            @Param("adjudicacaoStartDate") Date adjudicacaoStartDate,
+            @Param("adjudicacaoEndDate") Date adjudicacaoEndDate,
+            @Param("tipo") TipoProjeto tipo,
+            @Param("userEmail") String userEmail);
+
     List<Projeto> findByClienteId(Long id);
 
     @Query("SELECT p FROM Projeto p LEFT JOIN FETCH p.users WHERE p.cliente.id = :clienteId")
@@ -1,16 +1,42 @@
 package com.fl.dashboard.repositories;
 
 import com.fl.dashboard.entities.ProjetoUserHistory;
-import org.springframework.data.jpa.repository.EntityGraph;
+import com.fl.dashboard.projections.ProjetoUserEventRow;
+import com.fl.dashboard.projections.ProjetoUserHistoryRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjetoUserHistoryRepository extends JpaRepository<ProjetoUserHistory, Long> {
 
-    @EntityGraph(attributePaths = {"projeto"})
-    List<ProjetoUserHistory> findByUserIdOrderByEventDateAsc(Long userId);
+    @Query("SELECT new com.fl.dashboard.projections.ProjetoUserHistoryRow(h.id, p.id, p.designacao, h.action, h.eventDate) " +
+            "FROM ProjetoUserHistory h JOIN h.projeto p " +
+            "WHERE h.user.id = :userId " +
+            "ORDER BY h.eventDate, h.id")
+    List<ProjetoUserHistoryRow> findRowsByUserId(@Param("userId") Long userId);
+
+    // Every event before the given instant, for replaying team-wide assignments in order.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.fl.dashboard.projections.ProjetoUserEventRow(h.user.id, h.projeto.id, h.action, h.eventDate) " +
+            "FROM ProjetoUserHistory h " +
+            "WHERE h.eventDate < :before " +
+            "ORDER BY h.eventDate, h.id")
+    Stream<ProjetoUserEventRow> streamEventsBefore(@Param("before") LocalDateTime before);
+
+    // Grouped by pair, for rebuilding ProjetoUserSummary.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.fl.dashboard.projections.ProjetoUserEventRow(h.user.id, h.projeto.id, h.action, h.eventDate) " +
+            "FROM ProjetoUserHistory h " +
+            "ORDER BY h.user.id, h.projeto.id, h.eventDate, h.id")
+    Stream<ProjetoUserEventRow> streamAllByPair();
 
 }
@@ -0,0 +1,24 @@
+package com.fl.dashboard.repositories;
+
+import com.fl.dashboard.entities.ProjetoUserSummary;
+import com.fl.dashboard.projections.ProjetoUserSummaryRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProjetoUserSummaryRepository extends JpaRepository<ProjetoUserSummary, Long> {
+
+    List<ProjetoUserSummary> findByProjetoIdAndUserIdIn(Long projetoId, Collection<Long> userIds);
+
+    @Query("SELECT new com.fl.dashboard.projections.ProjetoUserSummaryRow(p.id, p.designacao, s.totalSeconds, s.activeSince) " +
+            "FROM ProjetoUserSummary s JOIN s.projeto p " +
+            "WHERE s.user.id = :userId " +
+            "ORDER BY s.firstEventDate, p.id")
+    List<ProjetoUserSummaryRow> findRowsByUserId(@Param("userId") Long userId);
+
+}
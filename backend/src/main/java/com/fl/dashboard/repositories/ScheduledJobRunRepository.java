@@ -0,0 +1,18 @@
+package com.fl.dashboard.repositories;
+
+import com.fl.dashboard.entities.ScheduledJobRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, Long> {
+
+    Page<ScheduledJobRun> findByJobNameOrderByStartedAtDesc(String jobName, Pageable pageable);
+
+    Optional<ScheduledJobRun> findFirstByJobNameOrderByStartedAtDesc(String jobName);
+
+}
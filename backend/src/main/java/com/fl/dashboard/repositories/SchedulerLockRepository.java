@@ -0,0 +1,36 @@
+package com.fl.dashboard.repositories;
+
+import com.fl.dashboard.entities.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    // A single conditional UPDATE is the whole lock: the row lock InnoDB takes while evaluating
+    // "locked_until <= now" means two replicas racing on the same cron tick can't both see an
+    // expired lease - exactly one of them gets an update count of 1.
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :lockedUntil, l.lockedAt = :now, l.lockedBy = :owner " +
+            "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("now") LocalDateTime now,
+                   @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    // Heartbeat and release are both scoped to (owner, lockedAt): once a lease has lapsed and
+    // another replica took it over, a late heartbeat/release from the previous holder is a no-op.
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :lockedUntil " +
+            "WHERE l.name = :name AND l.lockedBy = :owner AND l.lockedAt = :lockedAt")
+    int updateLockedUntil(@Param("name") String name,
+                          @Param("owner") String owner,
+                          @Param("lockedAt") LocalDateTime lockedAt,
+                          @Param("lockedUntil") LocalDateTime lockedUntil);
+
+}
@@ -0,0 +1,28 @@
+package com.fl.dashboard.repositories;
+
+import com.fl.dashboard.entities.StoredAuthorization;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface StoredAuthorizationRepository extends JpaRepository<StoredAuthorization, String> {
+
+    Optional<StoredAuthorization> findByAccessTokenHash(String accessTokenHash);
+
+    Optional<StoredAuthorization> findByRefreshTokenHash(String refreshTokenHash);
+
+    @Query("SELECT a FROM StoredAuthorization a " +
+            "WHERE a.accessTokenHash = :tokenHash OR a.refreshTokenHash = :tokenHash")
+    Optional<StoredAuthorization> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Single bulk DELETE over idx_oauth2_authorization_expires_at - no rows loaded
+    @Modifying
+    @Query("DELETE FROM StoredAuthorization a WHERE a.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,6 +1,7 @@
 package com.fl.dashboard.repositories;
 
 import com.fl.dashboard.entities.Subtarefa;
+import com.fl.dashboard.projections.SubtarefaProgressRow;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +30,10 @@ public interface SubtarefaRepository extends JpaRepository<Subtarefa, Long> {
     @Query("SELECT COALESCE(SUM(s.percentual), 0) FROM Subtarefa s WHERE s.tarefa.id = :tarefaId AND s.concluida = true")
     BigDecimal sumPercentualConcluidoByTarefaId(@Param("tarefaId") Long tarefaId);
 
+    // One row per tarefa that has subtarefas: both the "dividida" check and the 100% one, for a whole set
+    @Query("SELECT new com.fl.dashboard.projections.SubtarefaProgressRow(s.tarefa.id, " +
+            "SUM(CASE WHEN s.concluida = true THEN s.percentual ELSE 0 END)) " +
+            "FROM Subtarefa s WHERE s.tarefa.id IN :tarefaIds GROUP BY s.tarefa.id")
+    List<SubtarefaProgressRow> findProgressByTarefaIds(@Param("tarefaIds") Collection<Long> tarefaIds);
+
 }
@@ -0,0 +1,53 @@
+package com.fl.dashboard.repositories;
+
+import com.fl.dashboard.entities.SyncTombstone;
+import com.fl.dashboard.enums.SyncEntityType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("SELECT t.entityId FROM SyncTombstone t WHERE t.userId = :userId AND t.entityType = :entityType " +
+            "AND t.deletedAt >= :since ORDER BY t.id")
+    List<Long> findEntityIdsSince(@Param("userId") Long userId, @Param("entityType") SyncEntityType entityType,
+                                  @Param("since") LocalDateTime since, Pageable pageable);
+
+    // The insert-selects below run just before the matching DELETE on tb_notification, in the
+    // same transaction, so they see exactly the rows about to go - without loading them.
+
+    @Modifying
+    @Query("INSERT INTO SyncTombstone (entityType, entityId, userId, deletedAt) " +
+            "SELECT com.fl.dashboard.enums.SyncEntityType.NOTIFICATION, n.id, n.user.id, :deletedAt " +
+            "FROM Notification n WHERE n.id = :id AND n.user IS NOT NULL")
+    int insertForNotification(@Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("INSERT INTO SyncTombstone (entityType, entityId, userId, deletedAt) " +
+            "SELECT com.fl.dashboard.enums.SyncEntityType.NOTIFICATION, n.id, n.user.id, :deletedAt " +
+            "FROM Notification n WHERE n.user.id = :userId AND (:onlyRead = false OR n.isRead = true)")
+    int insertForNotificationsOfUser(@Param("userId") Long userId, @Param("onlyRead") boolean onlyRead,
+                                     @Param("deletedAt") LocalDateTime deletedAt);
+
+    // Same criteria as NotificationCleanupService's two deletes
+    @Modifying
+    @Query("INSERT INTO SyncTombstone (entityType, entityId, userId, deletedAt) " +
+            "SELECT com.fl.dashboard.enums.SyncEntityType.NOTIFICATION, n.id, n.user.id, :deletedAt " +
+            "FROM Notification n WHERE n.user IS NOT NULL AND " +
+            "((n.isRead = true AND n.createdAt < :readCutoff) OR (n.isRead = false AND n.createdAt < :unreadCutoff))")
+    int insertForExpiredNotifications(@Param("readCutoff") Date readCutoff,
+                                      @Param("unreadCutoff") Date unreadCutoff,
+                                      @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
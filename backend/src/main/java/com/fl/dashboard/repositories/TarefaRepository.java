@@ -2,21 +2,90 @@ package com.fl.dashboard.repositories;
 
 import com.fl.dashboard.entities.Tarefa;
 import com.fl.dashboard.enums.TarefaStatus;
+import com.fl.dashboard.projections.EntityVersionRow;
+import com.fl.dashboard.projections.TarefaExportRow;
+import com.fl.dashboard.projections.TarefaListRow;
+import com.fl.dashboard.projections.TarefaUserRow;
+import com.fl.dashboard.projections.TarefaWorkingDaysProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
 
+    String LIST_ROW_SELECT = "SELECT new com.fl.dashboard.projections.TarefaListRow(" +
+            "t.id, t.descricao, t.prioridade, t.prazoEstimado, t.prazoReal, t.status, t.workingDays, " +
+            "t.arquivadaEm, t.version, t.recorrente, t.frequenciaRecorrencia, t.dataFimRecorrencia, " +
+            "t.proximaOcorrencia, t.tarefaOrigemId) FROM Tarefa t ";
+
+    // The TarefaFilterDTO criteria, shared by /tarefas/filter and its export so both always match.
+    String FILTER_WHERE = "WHERE t.deletedAt IS NULL AND t.arquivadaEm IS NULL " +
+            "AND (:descricao IS NULL OR LOWER(t.descricao) LIKE LOWER(CONCAT('%', :descricao, '%'))) " +
+            "AND (:status IS NULL OR t.status = :status) " +
+            "AND (:projetoId IS NULL OR t.projeto.id = :projetoId) " +
+            "AND (:prioridade IS NULL OR LOWER(t.prioridade) = LOWER(:prioridade)) " +
+            "AND (:recorrente IS NULL OR t.recorrente = :recorrente) " +
+            "AND ((:dateField IS NULL) OR " +
+            "     (:dateField = 'prazoEstimado' AND (:startDate IS NULL OR t.prazoEstimado >= :startDate) AND (:endDate IS NULL OR t.prazoEstimado <= :endDate)) OR " +
+            "     (:dateField = 'prazoReal' AND (:startDate IS NULL OR t.prazoReal >= :startDate) AND (:endDate IS NULL OR t.prazoReal <= :endDate))) ";
+
+    // GET /tarefas only builds TarefaDTOs: selecting rows skips the per-row EAGER projeto/coluna
+    // loads (and everything those pull in) that hydrating Tarefa entities costs.
+    // Keyset chunk for JsonArrayStreamer: the Pageable only supplies the limit.
+    @Query(LIST_ROW_SELECT + "WHERE t.deletedAt IS NULL AND t.id > :afterId ORDER BY t.id")
+    List<TarefaListRow> findActiveListRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // GET /sync: what changed since a token, in the GET /tarefas shape. A null userId means every
+    // tarefa (VIEW_ALL_TASKS), otherwise only those assigned to the user, as GET /tarefas lists them.
+    @Query(LIST_ROW_SELECT + "WHERE t.updatedAt >= :since AND t.deletedAt IS NULL " +
+            "AND (:userId IS NULL OR EXISTS (SELECT 1 FROM Tarefa a JOIN a.users u WHERE a.id = t.id AND u.id = :userId)) " +
+            "ORDER BY t.id")
+    List<TarefaListRow> findActiveListRowsChangedSince(@Param("since") LocalDateTime since,
+                                                       @Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT t.id FROM Tarefa t WHERE t.updatedAt >= :since AND t.deletedAt IS NOT NULL " +
+            "AND (:userId IS NULL OR EXISTS (SELECT 1 FROM Tarefa a JOIN a.users u WHERE a.id = t.id AND u.id = :userId)) " +
+            "ORDER BY t.id")
+    List<Long> findDeletedIdsChangedSince(@Param("since") LocalDateTime since,
+                                          @Param("userId") Long userId, Pageable pageable);
+
+    // GET /projetos/{id}/board: the cards, in the order of the column each sits in. Cards go in
+    // columns by status; those whose status has no column come last.
+    @Query(LIST_ROW_SELECT + "LEFT JOIN Coluna c ON c.projeto = t.projeto AND c.status = t.status " +
+            "WHERE t.projeto.id = :projetoId AND t.deletedAt IS NULL AND t.arquivadaEm IS NULL " +
+            "ORDER BY c.ordem NULLS LAST, t.id")
+    List<TarefaListRow> findBoardRowsByProjetoId(@Param("projetoId") Long projetoId);
+
+    @Query("SELECT new com.fl.dashboard.projections.TarefaUserRow(t.id, u.id, u.name, u.funcao, u.cargo, u.email) " +
+            "FROM Tarefa t JOIN t.users u " +
+            "WHERE t.projeto.id = :projetoId AND t.deletedAt IS NULL AND t.arquivadaEm IS NULL")
+    List<TarefaUserRow> findBoardUserRowsByProjetoId(@Param("projetoId") Long projetoId);
+
+    @Query("SELECT t.id FROM Tarefa t WHERE t.deletedAt IS NULL AND t.id > :afterId ORDER BY t.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(LIST_ROW_SELECT + "JOIN t.users u WHERE u.email = :email AND t.deletedAt IS NULL " +
+            "AND t.id > :afterId ORDER BY t.id")
+    List<TarefaListRow> findActiveListRowsByUserEmailAfter(@Param("email") String email,
+                                                          @Param("afterId") Long afterId, Pageable pageable);
+
     // TarefaWithUserAndProjetoDTO (the only consumer) reads users, projeto and externos — never
     // projeto.colunas or coluna; TarefaService never touches either, so this only ever paid for an
     // unused join.
@@ -45,6 +114,31 @@ public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
             "WHERE t.deletedAt IS NULL")
     List<Tarefa> findAllActive();
 
+    // /tarefas/filter/export: a forward-only cursor of scalar rows (ExportService), the assignees
+    // aggregated per row. userEmail != null limits it to that user's tasks, like the list endpoint.
+    // MySQL only honors the fetch size with useCursorFetch=true on the JDBC URL; without it the
+    // driver buffers the whole result.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.fl.dashboard.projections.TarefaExportRow(t.id, t.descricao, t.prioridade, t.status, " +
+            "t.prazoEstimado, t.prazoReal, t.workingDays, t.recorrente, p.designacao, " +
+            "LISTAGG(u.name, ', ') WITHIN GROUP (ORDER BY u.name)) " +
+            "FROM Tarefa t LEFT JOIN t.projeto p LEFT JOIN t.users u " + FILTER_WHERE +
+            "AND (:userEmail IS NULL OR t.id IN (SELECT ut.id FROM User ue JOIN ue.tarefas ut WHERE ue.email = :userEmail)) " +
+            "GROUP BY t.id, t.descricao, t.prioridade, t.status, t.prazoEstimado, t.prazoReal, t.workingDays, " +
+            "t.recorrente, p.designacao " +
+            "ORDER BY t.id")
+    Stream<TarefaExportRow> streamExportRows(
+            @Param("descricao") String descricao,
+            @Param("status") TarefaStatus status,
+            @Param("projetoId") Long projetoId,
+            @Param("prioridade") String prioridade,
+            @Param("recorrente") Boolean recorrente,
+            @Param("dateField") String dateField,
+            @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate,
+            @Param("userEmail") String userEmail
+    );
+
     @EntityGraph(attributePaths = {"users", "projeto"})
     @Query("SELECT t FROM Tarefa t WHERE t.status = :status AND t.deletedAt IS NULL")
     List<Tarefa> findAllByStatus(@Param("status") TarefaStatus status);
@@ -66,6 +160,11 @@ public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
     @Query("SELECT t FROM Tarefa t WHERE t.id = :id AND t.deletedAt IS NULL")
     Optional<Tarefa> findByIdActive(@Param("id") Long id);
 
+    // One probe on tb_tarefa_user's (tarefa_id, user_id) primary key - AccessDecisionService
+    @Query("SELECT CASE WHEN COUNT(t) > 0 THEN true ELSE false END FROM Tarefa t JOIN t.users u " +
+            "WHERE t.id = :tarefaId AND u.id = :userId AND t.deletedAt IS NULL")
+    boolean existsActiveAssignment(@Param("tarefaId") Long tarefaId, @Param("userId") Long userId);
+
     // deadline is a java.util.Date (matches Tarefa.prazoReal's type) — a LocalDate parameter here
     // used to throw at runtime (Hibernate can't coerce LocalDate to the Timestamp column), silently
     // swallowed by Spring's scheduled-task error handler since the only caller is @Scheduled.
@@ -114,15 +213,7 @@ public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
     @Query("SELECT t.id FROM Tarefa t WHERE t.deletedAt IS NULL AND t.arquivadaEm IS NULL")
     Page<Long> findAllActiveSortedIds(Pageable pageable);
 
-    @Query("SELECT t.id FROM Tarefa t WHERE t.deletedAt IS NULL AND t.arquivadaEm IS NULL " +
-            "AND (:descricao IS NULL OR LOWER(t.descricao) LIKE LOWER(CONCAT('%', :descricao, '%'))) " +
-            "AND (:status IS NULL OR t.status = :status) " +
-            "AND (:projetoId IS NULL OR t.projeto.id = :projetoId) " +
-            "AND (:prioridade IS NULL OR LOWER(t.prioridade) = LOWER(:prioridade)) " +
-            "AND (:recorrente IS NULL OR t.recorrente = :recorrente) " +
-            "AND ((:dateField IS NULL) OR " +
-            "     (:dateField = 'prazoEstimado' AND (:startDate IS NULL OR t.prazoEstimado >= :startDate) AND (:endDate IS NULL OR t.prazoEstimado <= :endDate)) OR " +
-            "     (:dateField = 'prazoReal' AND (:startDate IS NULL OR t.prazoReal >= :startDate) AND (:endDate IS NULL OR t.prazoReal <= :endDate)))")
+    @Query("SELECT t.id FROM Tarefa t " + FILTER_WHERE)
     Page<Long> findWithFiltersIds(
             @Param("descricao") String descricao,
             @Param("status") TarefaStatus status,
@@ -139,6 +230,11 @@ public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
     @Query("SELECT t FROM Tarefa t WHERE t.id IN :ids")
     List<Tarefa> findAllByIdInWithUsersAndProjeto(@Param("ids") List<Long> ids);
 
+    // POST /tarefas/bulk: the coordenador comes along, it gets the status notifications too
+    @EntityGraph(attributePaths = {"users", "projeto", "projeto.coordenador"})
+    @Query("SELECT t FROM Tarefa t WHERE t.id IN :ids AND t.deletedAt IS NULL")
+    List<Tarefa> findAllActiveByIdInForBulk(@Param("ids") Collection<Long> ids);
+
     @EntityGraph(attributePaths = {"users"})
     @Query("SELECT t FROM Tarefa t WHERE t.projeto.id = :projetoId AND t.deletedAt IS NULL " +
             "AND t.arquivadaEm IS NOT NULL ORDER BY t.arquivadaEm DESC")
@@ -157,4 +253,54 @@ public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
             "AND (p IS NULL OR (p.status <> 'CONCLUIDO' AND p.deletedAt IS NULL))")
     List<Tarefa> findRecorrentesDue(@Param("today") Date today);
 
+    // Keyset-paged scan for the working-days recalculation job: only the four columns it needs,
+    // no entity hydration, and "id > :afterId" instead of OFFSET so later pages don't get slower.
+    // Archived tarefas are included on purpose - their working_days still feed the metrics averages.
+    @Query("SELECT t.id AS id, t.prazoEstimado AS prazoEstimado, t.prazoReal AS prazoReal, " +
+            "t.workingDays AS workingDays FROM Tarefa t " +
+            "WHERE t.id > :afterId AND t.deletedAt IS NULL " +
+            "AND t.prazoEstimado IS NOT NULL AND t.prazoReal IS NOT NULL ORDER BY t.id")
+    List<TarefaWorkingDaysProjection> findWorkingDaysBatch(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Fingerprint of a page of TarefaWithUserAndProjetoDTO (/tarefas/filter) for its ETag: the
+    // tarefas, their users and externos, and their projetos with coordenador, cliente and externos.
+    // working_days rides along because updateWorkingDays doesn't bump the version.
+    @Query(nativeQuery = true, value = """
+            SELECT 'T' AS kind, t.id AS ownerId, t.id AS id, t.version AS version, COALESCE(t.working_days, -1) AS derived
+            FROM tb_tarefa t WHERE t.id IN (:ids)
+            UNION ALL
+            SELECT 'U', tu.tarefa_id, u.id, u.version, 0
+            FROM tb_tarefa_user tu JOIN tb_user u ON u.id = tu.user_id WHERE tu.tarefa_id IN (:ids)
+            UNION ALL
+            SELECT 'X', te.tarefa_id, e.id, e.version, 0
+            FROM tb_tarefa_externo te JOIN tb_externo e ON e.id = te.externo_id WHERE te.tarefa_id IN (:ids)
+            UNION ALL
+            SELECT 'P', t.id, p.id, p.version, 0
+            FROM tb_tarefa t JOIN tb_projeto p ON p.id = t.projeto_id WHERE t.id IN (:ids)
+            UNION ALL
+            SELECT 'C', p.id, u.id, u.version, 0
+            FROM tb_projeto p JOIN tb_user u ON u.id = p.coordenador_id
+            WHERE p.id IN (SELECT t.projeto_id FROM tb_tarefa t WHERE t.id IN (:ids))
+            UNION ALL
+            SELECT 'L', p.id, c.id, c.version, 0
+            FROM tb_projeto p JOIN tb_cliente c ON c.id = p.cliente_id
+            WHERE p.id IN (SELECT t.projeto_id FROM tb_tarefa t WHERE t.id IN (:ids))
+            UNION ALL
+            SELECT 'E', pe.projeto_id, e.id, e.version, 0
+            FROM tb_projeto_externo pe JOIN tb_externo e ON e.id = pe.externo_id
+            WHERE pe.projeto_id IN (SELECT t.projeto_id FROM tb_tarefa t WHERE t.id IN (:ids))
+            ORDER BY kind, ownerId, id
+            """)
+    List<EntityVersionRow> findViewVersionsByIds(@Param("ids") Collection<Long> ids);
+
+    // Bulk UPDATE (one statement per distinct value per batch). Bypasses @Version on purpose:
+    // working_days is derived from the prazos, so recomputing it shouldn't make a concurrent
+    // editor's save fail with an optimistic-lock conflict. updatedAt is still set (a bulk UPDATE
+    // skips @UpdateTimestamp), so GET /sync picks the new value up.
+    @Transactional
+    @Modifying
+    @Query("UPDATE Tarefa t SET t.workingDays = :workingDays, t.updatedAt = :updatedAt WHERE t.id IN :ids")
+    int updateWorkingDays(@Param("ids") List<Long> ids, @Param("workingDays") Integer workingDays,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+
 }
@@ -2,7 +2,11 @@ package com.fl.dashboard.repositories;
 
 import com.fl.dashboard.entities.User;
 import com.fl.dashboard.entities.UserExtraHours;
+import com.fl.dashboard.projections.ExtraHoursPeriodRow;
+import com.fl.dashboard.projections.ExtraHoursUserTotalRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -19,4 +23,34 @@ public interface UserExtraHoursRepository extends JpaRepository<UserExtraHours,
 
     List<UserExtraHours> findByUserIdAndDateBetween(Long userId, LocalDate start, LocalDate end);
 
+    // The (user_id, date) range is served by the UK_user_date unique key.
+    @Query("SELECT new com.fl.dashboard.projections.ExtraHoursPeriodRow(extract(month from e.date), SUM(e.hours)) " +
+            "FROM UserExtraHours e " +
+            "WHERE e.user.id = :userId AND e.date BETWEEN :start AND :end " +
+            "GROUP BY extract(month from e.date) " +
+            "ORDER BY extract(month from e.date)")
+    List<ExtraHoursPeriodRow> sumByMonth(@Param("userId") Long userId,
+                                         @Param("start") LocalDate start,
+                                         @Param("end") LocalDate end);
+
+    // extract(week) is the ISO-8601 week on every dialect (WEEKOFYEAR on MySQL, ISO_WEEK on H2).
+    @Query("SELECT new com.fl.dashboard.projections.ExtraHoursPeriodRow(extract(week from e.date), SUM(e.hours)) " +
+            "FROM UserExtraHours e " +
+            "WHERE e.user.id = :userId AND e.date BETWEEN :start AND :end " +
+            "GROUP BY extract(week from e.date) " +
+            "ORDER BY extract(week from e.date)")
+    List<ExtraHoursPeriodRow> sumByIsoWeek(@Param("userId") Long userId,
+                                           @Param("start") LocalDate start,
+                                           @Param("end") LocalDate end);
+
+    @Query("SELECT new com.fl.dashboard.projections.ExtraHoursUserTotalRow(u.id, u.name, u.email, SUM(e.hours), " +
+            "SUM(CASE WHEN e.hours > 0 THEN e.hours ELSE 0.0 END), " +
+            "SUM(CASE WHEN e.hours < 0 THEN e.hours ELSE 0.0 END), " +
+            "COUNT(e)) " +
+            "FROM UserExtraHours e JOIN e.user u " +
+            "WHERE e.date BETWEEN :start AND :end " +
+            "GROUP BY u.id, u.name, u.email " +
+            "ORDER BY u.name, u.id")
+    List<ExtraHoursUserTotalRow> sumByUser(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
 }
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +21,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @EntityGraph(attributePaths = {"roles"})
     User findByEmail(String email);
 
+    // Access checks only need the id - no roles graph, just the unique email index
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
     // IDs-only + fetch-by-id split avoids Hibernate's "collection fetch + pagination" in-memory
     // pagination (HHH90003004), which loaded the whole User table (with roles joined) into heap
     // before slicing it — same root cause as the earlier Projeto/Tarefa prod OOM. Plain findAll(Pageable)
@@ -33,7 +38,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findAllByIdInWithRoles(@Param("ids") List<Long> ids);
 
     @Query(nativeQuery = true, value = """
-            SELECT tb_user.email AS username, tb_user.password, tb_user.ativo, tb_role.id AS roleId, tb_role.authority
+            SELECT tb_user.id AS userId, tb_user.email AS username, tb_user.password, tb_user.ativo, tb_role.id AS roleId, tb_role.authority
             FROM tb_user
             INNER JOIN tb_user_role ON tb_user.id = tb_user_role.user_id
             INNER JOIN tb_role ON tb_role.id = tb_user_role.role_id
@@ -41,11 +46,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
             """)
     List<UserDetailsProjection> searchUserAndRolesByEmail(String email);
 
-    // UserWithProjetosDTO (the consumer of all three methods below) only reads projetos — roles was
+    // Keyset chunk for JsonArrayStreamer (/users/with-projetos); the users themselves are then
+    // loaded through FetchPlanRepository#findUsersByIds.
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // UserWithProjetosDTO (the consumer of both methods below) only reads projetos — roles was
     // unused dead weight on every one of these.
-    @EntityGraph(attributePaths = {"projetos"})
-    @Query("SELECT u FROM User u")
-    List<User> findAllWithProjetos();
 
     @EntityGraph(attributePaths = {"projetos"})
     @Query("SELECT u FROM User u WHERE u.id = :id")
@@ -58,6 +65,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
             @Param("emailQuery") String emailQuery
     );
 
+    @Query("SELECT u.profileImageHash FROM User u WHERE u.id = :id")
+    Optional<String> findProfileImageHash(@Param("id") Long id);
+
+    // Keyset pages of the images in use, for ProfileImageReprocessJob - start with afterHash = ""
+    @Query("SELECT DISTINCT u.profileImageHash FROM User u WHERE u.profileImageHash > :afterHash " +
+            "ORDER BY u.profileImageHash")
+    List<String> findProfileImageHashesAfter(@Param("afterHash") String afterHash, Pageable pageable);
+
+    @Query("SELECT COUNT(DISTINCT u.profileImageHash) FROM User u WHERE u.profileImageHash IS NOT NULL")
+    long countProfileImageHashes();
+
+    // Password only, without loading the user - login hash upgrades and resetAllPasswords
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
     @Modifying
     @Query(value = "DELETE FROM tb_tarefa_user WHERE user_id = :userId", nativeQuery = true)
     void deleteTaskUserAssociationsByUserId(@Param("userId") Long userId);
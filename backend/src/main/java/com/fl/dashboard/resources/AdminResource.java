@@ -1,10 +1,15 @@
 package com.fl.dashboard.resources;
 
+import com.fl.dashboard.dto.ProfileImageReprocessProgressDTO;
 import com.fl.dashboard.dto.ResetPasswordDTO;
+import com.fl.dashboard.schedulers.ProfileImageReprocessJob;
+import com.fl.dashboard.services.CurrentUser;
 import com.fl.dashboard.services.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,9 +24,11 @@ import java.util.Map;
 public class AdminResource {
 
     private final UserService userService;
+    private final ProfileImageReprocessJob profileImageReprocessJob;
 
-    public AdminResource(UserService userService) {
+    public AdminResource(UserService userService, ProfileImageReprocessJob profileImageReprocessJob) {
         this.userService = userService;
+        this.profileImageReprocessJob = profileImageReprocessJob;
     }
 
 
@@ -51,18 +58,21 @@ public class AdminResource {
         return ResponseEntity.ok(response);
     }
 
-    // One-off maintenance operation: shrinks any profile image stored before resizing was added to
-    // uploads. Safe to run more than once.
+    // Maintenance operation: regenerates the stored sizes of the profile images in use, e.g. for the
+    // images migrated from tb_user (V33), which only have their original. Runs in the background -
+    // poll the GET for progress; 409 if it's already running. Safe to run more than once.
     @PostMapping("/resize-profile-images")
     @PreAuthorize("hasAuthority('SYSTEM_SETTINGS')")
-    public ResponseEntity<Map<String, Object>> resizeProfileImages() {
-        int count = userService.reprocessAllProfileImages();
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("message", count + " imagens de perfil redimensionadas");
-        response.put("timestamp", new Date());
+    public ResponseEntity<ProfileImageReprocessProgressDTO> resizeProfileImages(Authentication authentication) {
+        String triggeredBy = CurrentUser.emailOf(authentication);
+        ProfileImageReprocessProgressDTO progress =
+                profileImageReprocessJob.start(triggeredBy != null ? triggeredBy : "unknown");
+        return ResponseEntity.accepted().body(progress);
+    }
 
-        return ResponseEntity.ok(response);
+    @GetMapping("/resize-profile-images")
+    @PreAuthorize("hasAuthority('SYSTEM_SETTINGS')")
+    public ResponseEntity<ProfileImageReprocessProgressDTO> resizeProfileImagesProgress() {
+        return ResponseEntity.ok(profileImageReprocessJob.getProgress());
     }
 }
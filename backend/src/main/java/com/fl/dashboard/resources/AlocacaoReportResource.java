@@ -0,0 +1,42 @@
+package com.fl.dashboard.resources;
+
+import com.fl.dashboard.dto.MonthlyAllocationDTO;
+import com.fl.dashboard.services.ProjetoUserHistoryService;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Team-wide "allocation over time" report, built from the project-assignment
+ * history. Organization-wide like ColaboradorReportResource, so gated by
+ * VIEW_REPORTS only.
+ */
+@RestController
+@RequestMapping(value = "/relatorios/alocacao")
+public class AlocacaoReportResource {
+
+    private final ProjetoUserHistoryService projetoUserHistoryService;
+
+    public AlocacaoReportResource(ProjetoUserHistoryService projetoUserHistoryService) {
+        this.projetoUserHistoryService = projetoUserHistoryService;
+    }
+
+    // inicio/fim as yyyy-MM; defaults to the last 12 months
+    @GetMapping
+    @PreAuthorize("hasAuthority('VIEW_REPORTS')")
+    public ResponseEntity<List<MonthlyAllocationDTO>> getAlocacaoEquipa(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth inicio,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth fim) {
+        YearMonth to = fim != null ? fim : YearMonth.now();
+        YearMonth from = inicio != null ? inicio : to.minusMonths(11);
+        return ResponseEntity.ok(projetoUserHistoryService.getAlocacaoEquipa(from, to));
+    }
+}
@@ -3,6 +3,8 @@ package com.fl.dashboard.resources;
 import com.fl.dashboard.dto.*;
 import com.fl.dashboard.services.ClienteService;
 import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
+import com.fl.dashboard.utils.JsonArrayStreamer;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 
@@ -19,15 +22,17 @@ import java.util.List;
 public class ClienteResource {
 
     private final ClienteService clienteService;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
-    public ClienteResource(ClienteService clienteService) {
+    public ClienteResource(ClienteService clienteService, JsonArrayStreamer jsonArrayStreamer) {
         this.clienteService = clienteService;
+        this.jsonArrayStreamer = jsonArrayStreamer;
     }
 
+    // Streamed in keyset chunks (JsonArrayStreamer); /paged is the paginated alternative.
     @GetMapping
-    public ResponseEntity<List<ClienteDTO>> findAll() {
-        List<ClienteDTO> list = clienteService.findAll();
-        return ResponseEntity.ok().body(list);
+    public void findAll(HttpServletResponse response) throws IOException {
+        jsonArrayStreamer.write(response, clienteService::findAllChunk, ClienteDTO::getId);
     }
 
     @GetMapping("/paged")
@@ -37,9 +42,8 @@ public class ClienteResource {
     }
 
     @GetMapping("/with-projetos")
-    public ResponseEntity<List<ClienteWithProjetosDTO>> findAllWithProjetos() {
-        List<ClienteWithProjetosDTO> list = clienteService.findAllWithProjetos();
-        return ResponseEntity.ok().body(list);
+    public void findAllWithProjetos(HttpServletResponse response) throws IOException {
+        jsonArrayStreamer.write(response, clienteService::findAllWithProjetosChunk, ClienteWithProjetosDTO::getId);
     }
 
     @GetMapping(value = "/{id}")
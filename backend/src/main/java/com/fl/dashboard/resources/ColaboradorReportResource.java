@@ -2,13 +2,18 @@ package com.fl.dashboard.resources;
 
 import com.fl.dashboard.dto.CollaboratorGlobalMetricsDTO;
 import com.fl.dashboard.services.ColaboradorReportService;
+import com.fl.dashboard.services.export.ExportColumns;
+import com.fl.dashboard.services.export.ExportFormat;
+import com.fl.dashboard.services.export.ExportService;
 
 import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -24,9 +29,12 @@ import java.util.concurrent.TimeUnit;
 public class ColaboradorReportResource {
 
     private final ColaboradorReportService colaboradorReportService;
+    private final ExportService exportService;
 
-    public ColaboradorReportResource(ColaboradorReportService colaboradorReportService) {
+    public ColaboradorReportResource(ColaboradorReportService colaboradorReportService,
+                                     ExportService exportService) {
         this.colaboradorReportService = colaboradorReportService;
+        this.exportService = exportService;
     }
 
     @GetMapping
@@ -39,4 +47,13 @@ public class ColaboradorReportResource {
                 .cacheControl(CacheControl.maxAge(30, TimeUnit.SECONDS))
                 .body(metrics);
     }
+
+    // format=csv|xlsx
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('VIEW_REPORTS')")
+    public ResponseEntity<StreamingResponseBody> exportGlobalCollaboratorMetrics(
+            @RequestParam(required = false) String format) {
+        return exportService.export("relatorio-colaboradores", ExportFormat.from(format), ExportColumns.COLABORADORES,
+                () -> colaboradorReportService.getGlobalCollaboratorMetrics().stream());
+    }
 }
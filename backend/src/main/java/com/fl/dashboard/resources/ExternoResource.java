@@ -2,6 +2,8 @@ package com.fl.dashboard.resources;
 
 import com.fl.dashboard.dto.*;
 import com.fl.dashboard.services.ExternoService;
+import com.fl.dashboard.utils.JsonArrayStreamer;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 
@@ -17,15 +20,17 @@ import java.util.List;
 public class ExternoResource {
 
     private final ExternoService externoService;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
-    public ExternoResource(ExternoService externoService) {
+    public ExternoResource(ExternoService externoService, JsonArrayStreamer jsonArrayStreamer) {
         this.externoService = externoService;
+        this.jsonArrayStreamer = jsonArrayStreamer;
     }
 
+    // Streamed in keyset chunks (JsonArrayStreamer); /paged is the paginated alternative.
     @GetMapping
-    public ResponseEntity<List<ExternoDTO>> findAll() {
-        List<ExternoDTO> list = externoService.findAll();
-        return ResponseEntity.ok().body(list);
+    public void findAll(HttpServletResponse response) throws IOException {
+        jsonArrayStreamer.write(response, externoService::findAllChunk, ExternoDTO::getId);
     }
 
     @GetMapping("/paged")
@@ -35,9 +40,8 @@ public class ExternoResource {
     }
 
     @GetMapping("/with-projetos")
-    public ResponseEntity<List<ExternoWithProjetosDTO>> findAllWithProjetos() {
-        List<ExternoWithProjetosDTO> list = externoService.findAllWithProjetos();
-        return ResponseEntity.ok().body(list);
+    public void findAllWithProjetos(HttpServletResponse response) throws IOException {
+        jsonArrayStreamer.write(response, externoService::findAllWithProjetosChunk, ExternoWithProjetosDTO::getId);
     }
 
     @GetMapping(value = "/{id}")
@@ -15,11 +15,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -96,10 +99,17 @@ public class NotificationResource {
     @GetMapping("/user/{userId}/details")
     public ResponseEntity<Page<NotificationResponseDTO>> getAllNotificationsWithDetails(
             @PathVariable Long userId,
-            Pageable pageable
+            Pageable pageable,
+            WebRequest request
     ) {
+        // Polled by the notifications panel: unchanged pages are answered with a 304 from the
+        // ids/versions alone (see NotificationService#findDetailsPageEtag)
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(notificationService.findDetailsPageEtag(userId, pageable))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
         Page<NotificationResponseDTO> page = notificationService.findAllByUserIdWithDetails(userId, pageable);
-        return ResponseEntity.ok(page);
+        return ResponseEntity.ok().cacheControl(cacheControl).body(page);
     }
 
     @Operation(summary = "Create new notification", description = "Creates a notification with one of the following types: " +
@@ -1,19 +1,27 @@
 package com.fl.dashboard.resources;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fl.dashboard.dto.*;
 import com.fl.dashboard.entities.Projeto;
 import com.fl.dashboard.enums.TipoProjeto;
 import com.fl.dashboard.services.ProjetoService;
+import com.fl.dashboard.services.export.ExportColumns;
+import com.fl.dashboard.services.export.ExportFormat;
+import com.fl.dashboard.services.export.ExportService;
 import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -26,9 +34,13 @@ import java.util.List;
 public class ProjetoResource {
 
     private final ProjetoService projetoService;
+    private final ObjectMapper objectMapper;
+    private final ExportService exportService;
 
-    public ProjetoResource(ProjetoService projetoService) {
+    public ProjetoResource(ProjetoService projetoService, ObjectMapper objectMapper, ExportService exportService) {
         this.projetoService = projetoService;
+        this.objectMapper = objectMapper;
+        this.exportService = exportService;
     }
 
     @GetMapping
@@ -101,8 +113,39 @@ public class ProjetoResource {
         }
     }
 
+    // The Kanban board in one call, instead of /full + /colunas/projeto/{id} + a /tarefas/{id}/with-users per card
+    @GetMapping("/{id}/board")
+    public ResponseEntity<ProjetoBoardDTO> getBoard(@PathVariable Long id, Authentication authentication) {
+        try {
+            boolean canViewAll = authentication.getAuthorities().stream()
+                    .anyMatch(a -> a.getAuthority().equals("VIEW_ALL_PROJECTS"));
+
+            if (!canViewAll) {
+                String userEmail;
+                if (authentication.getPrincipal() instanceof Jwt jwt) {
+                    userEmail = jwt.getClaim("email");
+                } else {
+                    userEmail = authentication.getName();
+                }
+                if (projetoService.shouldDenyProjectAccess(id, userEmail)) {
+                    return ResponseEntity.status(403).build();
+                }
+            }
+
+            return ResponseEntity.ok(projetoService.findBoard(id));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Accepts fields=/expand= (FieldSelection), e.g. ?fields=id,designacao,tarefas.status
     @GetMapping("/{id}/full")
-    public ResponseEntity<ProjetoWithUsersAndTarefasDTO> getProjetoWithUsersAndTarefas(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<?> getProjetoWithUsersAndTarefas(@PathVariable Long id,
+                                                           @RequestParam(required = false) String fields,
+                                                           @RequestParam(required = false) String expand,
+                                                           Authentication authentication,
+                                                           WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, expand, ProjetoWithUsersAndTarefasDTO.ASSOCIATIONS);
         try {
             boolean canViewAll = authentication.getAuthorities().stream()
                     .anyMatch(a -> a.getAuthority().equals("VIEW_ALL_PROJECTS"));
@@ -119,8 +162,18 @@ public class ProjetoResource {
                 }
             }
 
-            ProjetoWithUsersAndTarefasDTO projeto = projetoService.findProjetoWithUsersAndTarefas(id);
-            return ResponseEntity.ok(projeto);
+            // Revalidated on every use (no-cache): a matching If-None-Match gets a 304 from one
+            // narrow query, before the projeto and its tarefas are loaded.
+            String etag = projetoService.findFullViewEtag(id, fields, expand);
+            CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+            if (etag != null && request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+            }
+
+            ProjetoWithUsersAndTarefasDTO projeto = projetoService.findProjetoWithUsersAndTarefas(id, selection);
+            return ResponseEntity.ok()
+                    .cacheControl(cacheControl)
+                    .body(selection.isAll() ? projeto : selection.apply(projeto, objectMapper));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
@@ -266,6 +319,38 @@ public class ProjetoResource {
         }
     }
 
+    // Every project matching the /filter criteria as a CSV or XLSX download (format=csv|xlsx). Without
+    // VIEW_ALL_PROJECTS only the user's own projects are exported; both use ProjetoRepository.FILTER_WHERE.
+    @GetMapping("/filter/export")
+    public ResponseEntity<StreamingResponseBody> exportProjetos(
+            @RequestParam(required = false) String designacao,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) String clienteName,
+            @RequestParam(required = false) String prioridade,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date startDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date endDate,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long coordenadorId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date propostaStartDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date propostaEndDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date adjudicacaoStartDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date adjudicacaoEndDate,
+            @RequestParam(required = false) TipoProjeto tipo,
+            @RequestParam(required = false) String format,
+            Authentication authentication) {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        boolean canViewAll = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("VIEW_ALL_PROJECTS"));
+        String userEmail = canViewAll ? null
+                : authentication.getPrincipal() instanceof Jwt jwt ? jwt.getClaim("email") : authentication.getName();
+        return exportService.export("projetos", exportFormat, ExportColumns.PROJETOS,
+                () -> projetoService.streamExportRows(
+                        designacao, clienteId, clienteName, prioridade, startDate, endDate, status,
+                        coordenadorId, propostaStartDate, propostaEndDate,
+                        adjudicacaoStartDate, adjudicacaoEndDate, tipo, userEmail));
+    }
+
     @GetMapping("/by-coordenador/{coordenadorId}")
     @PreAuthorize("hasAuthority('VIEW_ALL_PROJECTS') or #coordenadorId == authentication.principal.id")
     public ResponseEntity<List<ProjetoWithUsersDTO>> getProjetosByCoordenador(@PathVariable Long coordenadorId) {
@@ -27,7 +27,7 @@ public class ProjetoUserHistoryResource {
     }
 
     @GetMapping
-    @PreAuthorize("hasAuthority('VIEW_REPORTS') or authentication.name == @userService.findById(#id).email")
+    @PreAuthorize("hasAuthority('VIEW_REPORTS') or @accessDecisionService.isCurrentUser(authentication, #id)")
     public ResponseEntity<ProjetoUserHistoryTimelineDTO> getHistorico(@PathVariable Long id) {
         return ResponseEntity.ok(projetoUserHistoryService.getHistoricoParaUser(id));
     }
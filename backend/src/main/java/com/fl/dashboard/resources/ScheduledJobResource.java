@@ -0,0 +1,54 @@
+package com.fl.dashboard.resources;
+
+import com.fl.dashboard.dto.ScheduledJobRunDTO;
+import com.fl.dashboard.dto.ScheduledJobStatusDTO;
+import com.fl.dashboard.services.ScheduledJobService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Status, run history and manual triggering of the @Scheduled jobs. Runs are serialized across
+// replicas by the same DB lock the cron ticks use, so a manual run while another instance is
+// mid-job returns 409 instead of running twice.
+@RestController
+@RequestMapping("/admin/jobs")
+@PreAuthorize("hasAuthority('SYSTEM_SETTINGS')")
+public class ScheduledJobResource {
+
+    private final ScheduledJobService scheduledJobService;
+
+    public ScheduledJobResource(ScheduledJobService scheduledJobService) {
+        this.scheduledJobService = scheduledJobService;
+    }
+
+    private String extractUserEmail(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof org.springframework.security.oauth2.jwt.Jwt jwt) {
+            return jwt.getClaim("email");
+        }
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ScheduledJobStatusDTO>> listJobs() {
+        return ResponseEntity.ok(scheduledJobService.listJobs());
+    }
+
+    @GetMapping("/{jobName}/runs")
+    public ResponseEntity<Page<ScheduledJobRunDTO>> findRuns(@PathVariable String jobName, Pageable pageable) {
+        return ResponseEntity.ok(scheduledJobService.findRuns(jobName, pageable));
+    }
+
+    @PostMapping("/{jobName}/run")
+    public ResponseEntity<ScheduledJobRunDTO> trigger(@PathVariable String jobName, Authentication authentication) {
+        return ResponseEntity.ok(scheduledJobService.trigger(jobName, extractUserEmail(authentication)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.fl.dashboard.resources;
+
+import com.fl.dashboard.dto.SyncDTO;
+import com.fl.dashboard.services.CurrentUser;
+import com.fl.dashboard.services.SyncService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/sync")
+public class SyncResource {
+
+    private final SyncService syncService;
+    private final CurrentUser currentUser;
+
+    public SyncResource(SyncService syncService, CurrentUser currentUser) {
+        this.syncService = syncService;
+        this.currentUser = currentUser;
+    }
+
+    // What changed since the token of the previous call (see SyncDTO). Without one - first load -
+    // the answer is a reset carrying the token to start from.
+    @GetMapping
+    public ResponseEntity<SyncDTO> sync(@RequestParam(required = false) String since, Authentication authentication) {
+        boolean viewAllTarefas = hasAuthority(authentication, "VIEW_ALL_TASKS");
+        boolean viewAllProjetos = hasAuthority(authentication, "VIEW_ALL_PROJECTS");
+        SyncDTO changes = syncService.findChangesSince(since, currentUser.idOf(authentication),
+                viewAllTarefas, viewAllProjetos);
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(changes);
+    }
+
+    private static boolean hasAuthority(Authentication authentication, String authority) {
+        return authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals(authority));
+    }
+}
@@ -1,18 +1,29 @@
 package com.fl.dashboard.resources;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fl.dashboard.dto.*;
+import com.fl.dashboard.enums.TarefaBulkOperacao;
 import com.fl.dashboard.enums.TarefaStatus;
 import com.fl.dashboard.services.TarefaService;
+import com.fl.dashboard.services.export.ExportColumns;
+import com.fl.dashboard.services.export.ExportFormat;
+import com.fl.dashboard.services.export.ExportService;
+import com.fl.dashboard.utils.JsonArrayStreamer;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.Calendar;
 import java.util.Date;
@@ -25,9 +36,16 @@ import java.util.concurrent.TimeUnit;
 public class TarefaResource {
 
     private final TarefaService tarefaService;
+    private final ObjectMapper objectMapper;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final ExportService exportService;
 
-    public TarefaResource(TarefaService tarefaService) {
+    public TarefaResource(TarefaService tarefaService, ObjectMapper objectMapper,
+                          JsonArrayStreamer jsonArrayStreamer, ExportService exportService) {
         this.tarefaService = tarefaService;
+        this.objectMapper = objectMapper;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.exportService = exportService;
     }
 
     // Helper method to extract email from Authentication
@@ -38,17 +56,18 @@ public class TarefaResource {
         return authentication != null ? authentication.getName() : null;
     }
 
+    // Streamed in keyset chunks (JsonArrayStreamer) - still a plain JSON array for the client.
     @GetMapping
-    public ResponseEntity<List<TarefaDTO>> findAll(Authentication authentication) {
+    public void findAll(Authentication authentication, HttpServletResponse response) throws IOException {
         boolean canViewAll = authentication != null && authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("VIEW_ALL_TASKS"));
         if (canViewAll) {
-            List<TarefaDTO> list = tarefaService.findAll();
-            return ResponseEntity.ok().body(list);
+            jsonArrayStreamer.write(response, tarefaService::findAllChunk, TarefaDTO::getId);
         } else {
             String userEmail = extractUserEmail(authentication);
-            List<TarefaDTO> list = tarefaService.findAllAssignedToUser(userEmail);
-            return ResponseEntity.ok().body(list);
+            jsonArrayStreamer.write(response,
+                    (afterId, limit) -> tarefaService.findAssignedToUserChunk(userEmail, afterId, limit),
+                    TarefaDTO::getId);
         }
     }
 
@@ -109,10 +128,16 @@ public class TarefaResource {
         return ResponseEntity.ok().body(dto);
     }
 
+    // Accepts fields=/expand= (FieldSelection), e.g. ?expand=projeto&fields=id,status,projeto.designacao
     @GetMapping("/full")
-    public ResponseEntity<List<TarefaWithUserAndProjetoDTO>> findAllWithUsersAndProjeto() {
-        List<TarefaWithUserAndProjetoDTO> dtos = tarefaService.findAllWithUsersAndProjeto();
-        return ResponseEntity.ok().body(dtos);
+    public void findAllWithUsersAndProjeto(@RequestParam(required = false) String fields,
+                                           @RequestParam(required = false) String expand,
+                                           HttpServletResponse response) throws IOException {
+        FieldSelection selection = FieldSelection.parse(fields, expand, TarefaWithUserAndProjetoDTO.ASSOCIATIONS);
+        jsonArrayStreamer.write(response,
+                (afterId, limit) -> tarefaService.findAllWithUsersAndProjetoChunk(afterId, limit, selection),
+                TarefaWithUserAndProjetoDTO::getId,
+                dto -> selection.isAll() ? dto : selection.apply(dto, objectMapper));
     }
 
     @PostMapping("/with-associations")
@@ -263,6 +288,19 @@ public class TarefaResource {
         return ResponseEntity.ok().body(updatedTarefa);
     }
 
+    // One operation over many tarefas (closing a sprint, moving a column's worth of cards) in one
+    // transaction; archiving needs the same authority as PUT /{id}/archive.
+    @PostMapping("/bulk")
+    public ResponseEntity<List<TarefaDTO>> applyBulkOperation(@Valid @RequestBody TarefaBulkOperationDTO dto,
+                                                              Authentication authentication) {
+        boolean canArchive = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("MOVE_CARD_TO_DONE"));
+        if (dto.getOperacao() == TarefaBulkOperacao.ARCHIVE && !canArchive) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok().body(tarefaService.applyBulkOperation(dto));
+    }
+
     @PutMapping("/{id}/archive")
     @PreAuthorize("hasAuthority('MOVE_CARD_TO_DONE')")
     public ResponseEntity<TarefaDTO> archive(@PathVariable Long id) {
@@ -297,7 +335,8 @@ public class TarefaResource {
             @RequestParam(defaultValue = "ASC") String direction,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest request) {
 
         TarefaFilterDTO filterDTO = new TarefaFilterDTO();
         filterDTO.setDescricao(descricao);
@@ -312,13 +351,31 @@ public class TarefaResource {
         boolean canViewAll = authentication != null && authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("VIEW_ALL_TASKS"));
         String userEmail = extractUserEmail(authentication);
+        // ETag from the versions of the page's rows, checked before the page is built; the
+        // response carries it (set by checkNotModified) and a match gets an empty 304.
         Page<TarefaWithUserAndProjetoDTO> result = tarefaService.findWithFilters(
-                filterDTO, page, size, sort, direction, userEmail, canViewAll);
+                filterDTO, page, size, sort, direction, userEmail, canViewAll, request::checkNotModified);
 
+        CacheControl cacheControl = CacheControl.maxAge(10, TimeUnit.SECONDS);
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
         return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(10, TimeUnit.SECONDS))
+                .cacheControl(cacheControl)
                 .body(result);
     }
 
-
+    // Every row matching the /filter criteria (same parameters, same permission scoping) as a
+    // CSV or XLSX download: format=csv|xlsx.
+    @GetMapping("/filter/export")
+    public ResponseEntity<StreamingResponseBody> exportTarefas(TarefaFilterDTO filterDTO,
+                                                               @RequestParam(required = false) String format,
+                                                               Authentication authentication) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        boolean canViewAll = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("VIEW_ALL_TASKS"));
+        String userEmail = extractUserEmail(authentication);
+        return exportService.export("tarefas", exportFormat, ExportColumns.TAREFAS,
+                () -> tarefaService.streamExportRows(filterDTO, userEmail, canViewAll));
+    }
 }
@@ -2,10 +2,18 @@ package com.fl.dashboard.resources;
 
 import com.fl.dashboard.dto.UserExtraHoursDTO;
 import com.fl.dashboard.dto.UserExtraHoursSummaryDTO;
+import com.fl.dashboard.projections.ExtraHoursUserTotalRow;
 import com.fl.dashboard.services.UserExtraHoursService;
+import com.fl.dashboard.services.export.ExportColumns;
+import com.fl.dashboard.services.export.ExportFormat;
+import com.fl.dashboard.services.export.ExportService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -13,9 +21,11 @@ import java.util.List;
 public class UserExtraHoursResource {
 
     private final UserExtraHoursService service;
+    private final ExportService exportService;
 
-    public UserExtraHoursResource(UserExtraHoursService service) {
+    public UserExtraHoursResource(UserExtraHoursService service, ExportService exportService) {
         this.service = service;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -44,4 +54,40 @@ public class UserExtraHoursResource {
     public ResponseEntity<List<UserExtraHoursSummaryDTO>> getWeeklySummary(@PathVariable Long userId, @PathVariable int year) {
         return ResponseEntity.ok(service.getWeeklySummary(userId, year));
     }
+
+    // format=csv|xlsx
+    @GetMapping("/user/{userId}/monthly-summary/{year}/export")
+    public ResponseEntity<StreamingResponseBody> exportMonthlySummary(@PathVariable Long userId, @PathVariable int year,
+                                                                      @RequestParam(required = false) String format) {
+        return exportService.export("horas-extra-mensal-" + userId + "-" + year, ExportFormat.from(format),
+                ExportColumns.HORAS_EXTRA, () -> service.getMonthlySummary(userId, year).stream());
+    }
+
+    @GetMapping("/user/{userId}/weekly-summary/{year}/export")
+    public ResponseEntity<StreamingResponseBody> exportWeeklySummary(@PathVariable Long userId, @PathVariable int year,
+                                                                     @RequestParam(required = false) String format) {
+        return exportService.export("horas-extra-semanal-" + userId + "-" + year, ExportFormat.from(format),
+                ExportColumns.HORAS_EXTRA, () -> service.getWeeklySummary(userId, year).stream());
+    }
+
+    // Every user's totals for [start, end] (yyyy-MM-dd, inclusive), e.g. a month for payroll.
+    @GetMapping("/summary")
+    @PreAuthorize("hasAuthority('VIEW_REPORTS')")
+    public ResponseEntity<List<ExtraHoursUserTotalRow>> getTeamSummary(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate end) {
+        return ResponseEntity.ok(service.getTeamSummary(start, end));
+    }
+
+    @GetMapping("/summary/export")
+    @PreAuthorize("hasAuthority('VIEW_REPORTS')")
+    public ResponseEntity<StreamingResponseBody> exportTeamSummary(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate end,
+            @RequestParam(required = false) String format) {
+        // Resolved here so an invalid period is a 400 rather than a broken download.
+        List<ExtraHoursUserTotalRow> summary = service.getTeamSummary(start, end);
+        return exportService.export("horas-extra-equipa-" + start + "-" + end, ExportFormat.from(format),
+                ExportColumns.HORAS_EXTRA_EQUIPA, summary::stream);
+    }
 }
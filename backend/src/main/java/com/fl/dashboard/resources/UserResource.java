@@ -1,22 +1,31 @@
 package com.fl.dashboard.resources;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fl.dashboard.dto.FieldSelection;
 import com.fl.dashboard.dto.TarefaDTO;
 import com.fl.dashboard.dto.UserDTO;
 import com.fl.dashboard.dto.UserWithProjetosDTO;
 import com.fl.dashboard.dto.UserWithRolesDTO;
+import com.fl.dashboard.entities.ProfileImage;
+import com.fl.dashboard.services.ProfileImageService;
 import com.fl.dashboard.services.UserService;
+import com.fl.dashboard.utils.JsonArrayStreamer;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -26,9 +35,16 @@ import java.util.concurrent.TimeUnit;
 public class UserResource {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final JsonArrayStreamer jsonArrayStreamer;
+    private final ProfileImageService profileImageService;
 
-    public UserResource(UserService userService) {
+    public UserResource(UserService userService, ObjectMapper objectMapper, JsonArrayStreamer jsonArrayStreamer,
+                        ProfileImageService profileImageService) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.profileImageService = profileImageService;
     }
 
     // Current user endpoint - no permission needed as users can access their own data
@@ -69,24 +85,48 @@ public class UserResource {
 
     // Served on demand and cached by the browser instead of being embedded as base64 in every row
     // of the paginated list — that turned a 10-row page into several MB of JSON.
+    // ?size= picks the stored size (ProfileImageService.SIZES) closest to the one displayed. With
+    // ?v=<profileImageHash> of the current photo the response never changes and is cached for a
+    // year; without it the browser revalidates each time, and a matching If-None-Match gets a 304
+    // before the image bytes are even read.
     @GetMapping(value = "/{id}/profile-image")
-    public ResponseEntity<byte[]> getProfileImage(@PathVariable Long id) {
-        byte[] image = userService.getProfileImage(id);
-        if (image == null) {
+    public ResponseEntity<byte[]> getProfileImage(@PathVariable Long id,
+                                                  @RequestParam(required = false) Integer size,
+                                                  @RequestParam(required = false) String v,
+                                                  WebRequest request) {
+        ProfileImageService.Variant variant = profileImageService.findVariant(id, size);
+        if (variant == null) {
             return ResponseEntity.notFound().build();
         }
+        CacheControl cacheControl = variant.hash().equals(v)
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable()
+                : CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(variant.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(variant.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        ProfileImage image = profileImageService.load(variant);
         return ResponseEntity.ok()
-                .contentType(MediaType.IMAGE_JPEG)
-                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate())
-                .body(image);
+                .contentType(MediaType.parseMediaType(image.getContentType()))
+                .eTag(variant.etag())
+                .cacheControl(cacheControl)
+                .body(image.getData());
     }
 
     // Users with projects - requires VIEW_ALL_USERS permission
+    // Accepts fields=/expand= (FieldSelection), e.g. ?fields=id,name,projetos.designacao
     @GetMapping("/with-projetos")
     @PreAuthorize("hasAuthority('VIEW_ALL_USERS')")
-    public ResponseEntity<List<UserWithProjetosDTO>> findAllWithProjetos() {
-        List<UserWithProjetosDTO> list = userService.findAllWithProjetos();
-        return ResponseEntity.ok().body(list);
+    public void findAllWithProjetos(@RequestParam(required = false) String fields,
+                                    @RequestParam(required = false) String expand,
+                                    HttpServletResponse response) throws IOException {
+        FieldSelection selection = FieldSelection.parse(fields, expand, UserWithProjetosDTO.ASSOCIATIONS);
+        jsonArrayStreamer.write(response,
+                (afterId, limit) -> userService.findAllWithProjetosChunk(afterId, limit, selection),
+                UserWithProjetosDTO::getId,
+                dto -> selection.isAll() ? dto : selection.apply(dto, objectMapper));
     }
 
     @GetMapping
@@ -106,7 +146,7 @@ public class UserResource {
 
     // Get tasks for a user - requires VIEW_ALL_TASKS or own tasks
     @GetMapping("/{userId}/tarefas")
-    @PreAuthorize("hasAuthority('VIEW_ALL_TASKS') or (authentication.name == @userService.findById(#userId).email and hasAuthority('VIEW_ASSIGNED_TASKS'))")
+    @PreAuthorize("hasAuthority('VIEW_ALL_TASKS') or (@accessDecisionService.isCurrentUser(authentication, #userId) and hasAuthority('VIEW_ASSIGNED_TASKS'))")
     public ResponseEntity<List<TarefaDTO>> getTarefasByUser(@PathVariable Long userId) {
         List<TarefaDTO> tarefaDTOs = userService.getTarefasByUser(userId);
         return ResponseEntity.ok(tarefaDTOs);
@@ -2,6 +2,11 @@ package com.fl.dashboard.resources.exceptions;
 
 import com.fl.dashboard.services.exceptions.DatabaseException;
 import com.fl.dashboard.services.exceptions.DeadlineValidationException;
+import com.fl.dashboard.services.exceptions.InvalidBulkOperationException;
+import com.fl.dashboard.services.exceptions.InvalidExportFormatException;
+import com.fl.dashboard.services.exceptions.InvalidFieldSelectionException;
+import com.fl.dashboard.services.exceptions.InvalidPeriodException;
+import com.fl.dashboard.services.exceptions.JobAlreadyRunningException;
 import com.fl.dashboard.services.exceptions.OptimisticLockConflictException;
 import com.fl.dashboard.services.exceptions.RecorrenciaInvalidaException;
 import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
@@ -11,6 +16,7 @@ import com.fl.dashboard.services.exceptions.TarefaArquivamentoInvalidoException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
@@ -108,6 +114,20 @@ public class ResourceExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    // Two saves of the same @Version'd entity racing: the second one loaded the row before the
+    // first committed. Same answer as the explicit version check in TarefaService.
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<StandardError> optimisticLockFailure(ObjectOptimisticLockingFailureException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        StandardError err = new StandardError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Conflito de edição");
+        err.setMessage("O registo foi alterado por outra pessoa entretanto. Recarregue-o e tente novamente.");
+        err.setPath(request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
     @ExceptionHandler(OptimisticLockConflictException.class)
     public ResponseEntity<StandardError> optimisticLockConflict(OptimisticLockConflictException e, HttpServletRequest request) {
         HttpStatus status = HttpStatus.CONFLICT;
@@ -144,4 +164,64 @@ public class ResourceExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    @ExceptionHandler(JobAlreadyRunningException.class)
+    public ResponseEntity<StandardError> jobAlreadyRunning(JobAlreadyRunningException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        StandardError err = new StandardError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Tarefa agendada em execução");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(InvalidFieldSelectionException.class)
+    public ResponseEntity<StandardError> invalidFieldSelection(InvalidFieldSelectionException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        StandardError err = new StandardError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Seleção de campos inválida");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(InvalidExportFormatException.class)
+    public ResponseEntity<StandardError> invalidExportFormat(InvalidExportFormatException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        StandardError err = new StandardError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Formato de exportação inválido");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(InvalidPeriodException.class)
+    public ResponseEntity<StandardError> invalidPeriod(InvalidPeriodException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        StandardError err = new StandardError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Período inválido");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(InvalidBulkOperationException.class)
+    public ResponseEntity<StandardError> invalidBulkOperation(InvalidBulkOperationException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        StandardError err = new StandardError();
+        err.setTimestamp(Instant.now());
+        err.setStatus(status.value());
+        err.setError("Operação em massa inválida");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
 }
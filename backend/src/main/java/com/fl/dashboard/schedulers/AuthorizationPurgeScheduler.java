@@ -0,0 +1,56 @@
+package com.fl.dashboard.schedulers;
+
+import com.fl.dashboard.repositories.StoredAuthorizationRepository;
+import com.fl.dashboard.services.ScheduledJobService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Deletes the tb_oauth2_authorization rows whose tokens have all expired.
+ * Only exists with the database authorization store
+ * (security.authorization-store.type=jdbc) - the in-memory one evicts by
+ * itself.
+ */
+@Component
+@ConditionalOnProperty(name = "security.authorization-store.type", havingValue = "jdbc")
+public class AuthorizationPurgeScheduler implements LockedJob {
+
+    public static final String JOB_NAME = "oauth2-authorization-purge";
+
+    private final StoredAuthorizationRepository storedAuthorizationRepository;
+    private final ScheduledJobService scheduledJobService;
+
+    public AuthorizationPurgeScheduler(StoredAuthorizationRepository storedAuthorizationRepository,
+                                       ScheduledJobService scheduledJobService) {
+        this.storedAuthorizationRepository = storedAuthorizationRepository;
+        this.scheduledJobService = scheduledJobService;
+    }
+
+    // Hourly: every login adds a row, and a row is dead weight as soon as its refresh token expires.
+    @Scheduled(cron = "0 15 * * * *")
+    public void purgeExpired() {
+        scheduledJobService.runScheduled(JOB_NAME);
+    }
+
+    @Override
+    public String getJobName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public Duration getLockAtMostFor() {
+        return Duration.ofMinutes(10);
+    }
+
+    @Override
+    @Transactional
+    public int execute() {
+        return storedAuthorizationRepository.deleteExpired(LocalDateTime.now(ZoneOffset.UTC));
+    }
+}
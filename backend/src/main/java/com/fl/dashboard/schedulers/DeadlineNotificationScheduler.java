@@ -8,6 +8,7 @@ import com.fl.dashboard.enums.TarefaStatus;
 import com.fl.dashboard.repositories.ProjetoRepository;
 import com.fl.dashboard.repositories.TarefaRepository;
 import com.fl.dashboard.services.NotificationService;
+import com.fl.dashboard.services.ScheduledJobService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +16,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
@@ -22,10 +24,11 @@ import java.util.Date;
 import java.util.List;
 
 @Component
-public class DeadlineNotificationScheduler {
+public class DeadlineNotificationScheduler implements LockedJob {
 
     private static final Logger logger = LoggerFactory.getLogger(DeadlineNotificationScheduler.class);
     private static final String PROJETO_STATUS_CONCLUIDO = "CONCLUIDO";
+    public static final String JOB_NAME = "deadline-notifications";
 
     @Autowired
     private TarefaRepository tarefaRepository;
@@ -36,8 +39,29 @@ public class DeadlineNotificationScheduler {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private ScheduledJobService scheduledJobService;
+
+    // With more than one replica every instance fires this tick; the scheduler lock makes sure
+    // only one of them actually sends the day's warnings (the others used to send duplicates
+    // whenever they raced past existsDeadlineNotification at the same time).
     @Scheduled(cron = "0 0 9 * * *") // Corre diariamente às 9:00
     public void checkDeadlines() {
+        scheduledJobService.runScheduled(JOB_NAME);
+    }
+
+    @Override
+    public String getJobName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public Duration getLockAtMostFor() {
+        return Duration.ofMinutes(30);
+    }
+
+    @Override
+    public int execute() {
         LocalDate warningDate = LocalDate.now().plusDays(3); // Aviso de 3 dias antes
         // Tarefa.prazoReal / Projeto.prazo are java.util.Date (Timestamp) columns — Hibernate
         // can't coerce a LocalDate query parameter against them, so convert once up front.
@@ -49,6 +73,7 @@ public class DeadlineNotificationScheduler {
 
         logger.info("Deadline notification check finished: {} tarefa notification(s), {} projeto notification(s)",
                 tarefaNotificationsSent, projetoNotificationsSent);
+        return tarefaNotificationsSent + projetoNotificationsSent;
     }
 
     private int checkTarefaDeadlines(Date warningDate) {
@@ -0,0 +1,36 @@
+package com.fl.dashboard.schedulers;
+
+import java.time.Duration;
+
+/**
+ * A @Scheduled job that must run on only one replica per tick. The
+ * implementing bean's @Scheduled method hands off to
+ * ScheduledJobService#runScheduled, which takes the job's SchedulerLock,
+ * calls {@link #execute()} and records the run; the same beans are what
+ * /admin/jobs can trigger by name.
+ */
+public interface LockedJob {
+
+    String getJobName();
+
+    /**
+     * Lease taken on the lock. Kept alive by a heartbeat while
+     * {@link #execute()} runs, so this only bounds how long a crashed
+     * replica can keep the job blocked - not how long a run may take.
+     */
+    Duration getLockAtMostFor();
+
+    /**
+     * Minimum time the lock stays held after a scheduled run finishes, so a
+     * replica whose clock is slightly behind doesn't pick up the same cron
+     * tick right after a fast run released it.
+     */
+    default Duration getLockAtLeastFor() {
+        return Duration.ofMinutes(5);
+    }
+
+    /**
+     * @return number of rows created/updated/deleted, recorded in the run history
+     */
+    int execute();
+}
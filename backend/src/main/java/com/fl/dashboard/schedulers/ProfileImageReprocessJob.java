@@ -0,0 +1,202 @@
+package com.fl.dashboard.schedulers;
+
+import com.fl.dashboard.dto.ProfileImageReprocessProgressDTO;
+import com.fl.dashboard.entities.ProfileImage;
+import com.fl.dashboard.enums.JobRunStatus;
+import com.fl.dashboard.repositories.UserRepository;
+import com.fl.dashboard.services.ProfileImageService;
+import com.fl.dashboard.services.ScheduledJobService;
+import com.fl.dashboard.services.exceptions.JobAlreadyRunningException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Regenerates every stored size of the profile images in use, e.g. for the
+ * images migrated from tb_user (V33), which only have their original, or
+ * after a change to ProfileImageService.SIZES. Safe to run more than once:
+ * images already stored at their target dimensions are skipped without
+ * reading their bytes.
+ * <p>
+ * Pages through the images in chunks. For each chunk the sources are read in
+ * one query, decoded and resized on a pool sized to the CPUs, and written in
+ * one short transaction - so only a chunk's worth of images is ever in
+ * memory, and no connection is held while Java2D works. Not on a cron:
+ * started in the background by POST /admin/resize-profile-images (or run
+ * synchronously via /admin/jobs), with progress at
+ * GET /admin/resize-profile-images.
+ */
+@Component
+public class ProfileImageReprocessJob implements LockedJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileImageReprocessJob.class);
+    public static final String JOB_NAME = "profile-image-reprocess";
+    private static final int CHUNK_SIZE = 20;
+
+    private final ProfileImageService profileImageService;
+    private final UserRepository userRepository;
+    private final ScheduledJobService scheduledJobService;
+    private final ExecutorService resizeExecutor;
+    private final ExecutorService launcher;
+
+    // Progress of the current/last run on this instance; other replicas only see the run history
+    private final AtomicBoolean starting = new AtomicBoolean();
+    private final AtomicInteger scanned = new AtomicInteger();
+    private final AtomicInteger regenerated = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile JobRunStatus status;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile int total;
+
+    public ProfileImageReprocessJob(ProfileImageService profileImageService, UserRepository userRepository,
+                                    ScheduledJobService scheduledJobService,
+                                    @Value("${profile-images.reprocess.threads:0}") int threads) {
+        this.profileImageService = profileImageService;
+        this.userRepository = userRepository;
+        this.scheduledJobService = scheduledJobService;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.resizeExecutor = Executors.newFixedThreadPool(
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "profile-image-resize-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.launcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "profile-image-reprocess");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        launcher.shutdownNow();
+        resizeExecutor.shutdownNow();
+    }
+
+    @Override
+    public String getJobName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public Duration getLockAtMostFor() {
+        return Duration.ofMinutes(30);
+    }
+
+    @Override
+    public Duration getLockAtLeastFor() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Runs the job in the background, through ScheduledJobService so it takes
+     * the lock and is recorded in the run history like any other trigger.
+     *
+     * @throws JobAlreadyRunningException if it's already running on this instance
+     */
+    public ProfileImageReprocessProgressDTO start(String triggeredBy) {
+        if (status == JobRunStatus.RUNNING || !starting.compareAndSet(false, true)) {
+            throw new JobAlreadyRunningException("O job '" + JOB_NAME + "' já está em execução");
+        }
+        launcher.execute(() -> {
+            try {
+                scheduledJobService.trigger(JOB_NAME, triggeredBy);
+            } catch (JobAlreadyRunningException e) {
+                logger.warn("Job '{}' não iniciado: {}", JOB_NAME, e.getMessage());
+            } finally {
+                starting.set(false);
+            }
+        });
+        return getProgress();
+    }
+
+    public ProfileImageReprocessProgressDTO getProgress() {
+        return new ProfileImageReprocessProgressDTO(status, startedAt, finishedAt, total,
+                scanned.get(), regenerated.get(), failed.get());
+    }
+
+    // Not @Transactional: each chunk commits on its own, so a failure halfway keeps the chunks
+    // already done, and a rerun skips them.
+    @Override
+    public int execute() {
+        scanned.set(0);
+        regenerated.set(0);
+        failed.set(0);
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        status = JobRunStatus.RUNNING;
+        try {
+            total = (int) userRepository.countProfileImageHashes();
+
+            String afterHash = "";
+            List<String> chunk;
+            do {
+                chunk = userRepository.findProfileImageHashesAfter(afterHash, PageRequest.of(0, CHUNK_SIZE));
+                if (!chunk.isEmpty()) {
+                    processChunk(chunk);
+                    afterHash = chunk.get(chunk.size() - 1);
+                }
+            } while (chunk.size() == CHUNK_SIZE);
+
+            status = JobRunStatus.SUCCEEDED;
+        } catch (RuntimeException e) {
+            status = JobRunStatus.FAILED;
+            throw e;
+        } finally {
+            finishedAt = LocalDateTime.now();
+        }
+
+        logger.info("Reprocessamento de imagens de perfil concluído: {} imagem(ns) analisada(s), {} regenerada(s), {} com erro",
+                scanned.get(), regenerated.get(), failed.get());
+        return regenerated.get();
+    }
+
+    private void processChunk(List<String> hashes) {
+        Map<String, Future<List<ProfileImage>>> pending = new LinkedHashMap<>();
+        for (ProfileImage source : profileImageService.findSourcesToReprocess(hashes)) {
+            pending.put(source.getHash(), resizeExecutor.submit(
+                    () -> ProfileImageService.generateSizes(source.getHash(), source.getData())));
+        }
+
+        Map<String, List<ProfileImage>> sizesByHash = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<List<ProfileImage>>> entry : pending.entrySet()) {
+            try {
+                sizesByHash.put(entry.getKey(), entry.getValue().get());
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof IllegalArgumentException)) {
+                    throw new IllegalStateException("Falha ao redimensionar a imagem " + entry.getKey(), e.getCause());
+                }
+                // An image ImageIO can't decode: leave it as it is rather than fail the whole run
+                logger.warn("Could not reprocess profile image {}: {}", entry.getKey(), e.getCause().getMessage());
+                failed.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Reprocessamento de imagens de perfil interrompido", e);
+            }
+        }
+
+        if (!sizesByHash.isEmpty()) {
+            profileImageService.replaceSizes(sizesByHash);
+        }
+        regenerated.addAndGet(sizesByHash.size());
+        scanned.addAndGet(hashes.size());
+    }
+}
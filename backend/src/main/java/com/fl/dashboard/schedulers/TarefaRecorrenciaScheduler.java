@@ -2,6 +2,7 @@ package com.fl.dashboard.schedulers;
 
 import com.fl.dashboard.entities.Tarefa;
 import com.fl.dashboard.repositories.TarefaRepository;
+import com.fl.dashboard.services.ScheduledJobService;
 import com.fl.dashboard.services.TarefaService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,15 +10,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
 
 @Component
-public class TarefaRecorrenciaScheduler {
+public class TarefaRecorrenciaScheduler implements LockedJob {
 
     private static final Logger logger = LoggerFactory.getLogger(TarefaRecorrenciaScheduler.class);
+    public static final String JOB_NAME = "tarefa-recorrencia";
 
     @Autowired
     private TarefaRepository tarefaRepository;
@@ -25,10 +28,30 @@ public class TarefaRecorrenciaScheduler {
     @Autowired
     private TarefaService tarefaService;
 
+    @Autowired
+    private ScheduledJobService scheduledJobService;
+
     // Runs before DeadlineNotificationScheduler's 9:00 job so a freshly generated occurrence is
     // already in place by the time deadline warnings are computed for the day.
+    // Goes through the scheduler lock: two replicas generating the same occurrence would
+    // duplicate the tarefa, since findRecorrentesDue can't see the other instance's insert.
     @Scheduled(cron = "0 0 6 * * *")
     public void gerarOcorrenciasRecorrentes() {
+        scheduledJobService.runScheduled(JOB_NAME);
+    }
+
+    @Override
+    public String getJobName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public Duration getLockAtMostFor() {
+        return Duration.ofMinutes(30);
+    }
+
+    @Override
+    public int execute() {
         Date today = Date.from(LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant());
         List<Tarefa> templatesDue = tarefaRepository.findRecorrentesDue(today);
         logger.info("Verificação de tarefas recorrentes: {} template(s) com ocorrência em falta", templatesDue.size());
@@ -44,5 +67,6 @@ public class TarefaRecorrenciaScheduler {
             }
         }
         logger.info("Verificação de tarefas recorrentes concluída: {} nova(s) tarefa(s) gerada(s)", generated);
+        return generated;
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.fl.dashboard.schedulers;
+
+import com.fl.dashboard.projections.TarefaWorkingDaysProjection;
+import com.fl.dashboard.repositories.TarefaRepository;
+import com.fl.dashboard.services.WorkingDaysCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Recomputes tb_tarefa.working_days for every tarefa, e.g. after holidays are
+ * added to tb_holiday. Not on a cron - triggered manually via
+ * POST /admin/jobs/working-days-recalc/run, which also keeps two admins from
+ * running it concurrently.
+ */
+@Component
+public class WorkingDaysRecalculationJob implements LockedJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkingDaysRecalculationJob.class);
+    public static final String JOB_NAME = "working-days-recalc";
+    private static final int BATCH_SIZE = 1000;
+
+    private final TarefaRepository tarefaRepository;
+    private final WorkingDaysCalendar workingDaysCalendar;
+
+    public WorkingDaysRecalculationJob(TarefaRepository tarefaRepository, WorkingDaysCalendar workingDaysCalendar) {
+        this.tarefaRepository = tarefaRepository;
+        this.workingDaysCalendar = workingDaysCalendar;
+    }
+
+    @Override
+    public String getJobName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public Duration getLockAtMostFor() {
+        return Duration.ofMinutes(30);
+    }
+
+    @Override
+    public Duration getLockAtLeastFor() {
+        return Duration.ZERO;
+    }
+
+    // Not @Transactional: each batch's UPDATEs commit on their own, so a large table never
+    // holds row locks for the whole run, and a failure halfway keeps the batches already done.
+    @Override
+    public int execute() {
+        workingDaysCalendar.reload();
+
+        long afterId = 0L;
+        int scanned = 0;
+        int updated = 0;
+        List<TarefaWorkingDaysProjection> batch;
+        do {
+            batch = tarefaRepository.findWorkingDaysBatch(afterId, PageRequest.of(0, BATCH_SIZE));
+
+            // Group the changed rows by their new value so each batch is a handful of
+            // "UPDATE ... WHERE id IN (...)" statements rather than one per tarefa.
+            Map<Integer, List<Long>> idsByWorkingDays = new HashMap<>();
+            for (TarefaWorkingDaysProjection row : batch) {
+                Integer workingDays = workingDaysCalendar.calculateWorkingDays(row.getPrazoEstimado(), row.getPrazoReal());
+                if (!Objects.equals(workingDays, row.getWorkingDays())) {
+                    idsByWorkingDays.computeIfAbsent(workingDays, k -> new ArrayList<>()).add(row.getId());
+                }
+            }
+            for (Map.Entry<Integer, List<Long>> entry : idsByWorkingDays.entrySet()) {
+                updated += tarefaRepository.updateWorkingDays(entry.getValue(), entry.getKey(), LocalDateTime.now());
+            }
+
+            scanned += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        logger.info("Recálculo de dias úteis concluído: {} tarefa(s) analisada(s), {} atualizada(s)", scanned, updated);
+        return updated;
+    }
+}
@@ -0,0 +1,185 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.TarefaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Answers "may this user see this tarefa/projeto/user" for the resources and
+ * the @PreAuthorize expressions, without loading entities: the user id comes
+ * from CurrentUser (the JWT, no query), and membership is a single
+ * EXISTS-style probe on the join table's primary key instead of walking the
+ * user's lazily loaded getTarefas()/getProjetos().
+ * <p>
+ * Decisions are memoized for the current request (a request that checks the
+ * same tarefa twice queries once) and kept for a short TTL per
+ * (user, resource), so a client paging through a project doesn't re-check it
+ * on every call. The services that change memberships evict what they
+ * touched; anything else (e.g. a direct SQL change) is picked up when the
+ * TTL runs out. A TTL of 0 turns the shared cache off, leaving only the
+ * per-request memo.
+ */
+@Service
+public class AccessDecisionService {
+
+    private static final String REQUEST_MEMO_ATTRIBUTE = AccessDecisionService.class.getName() + ".decisions";
+
+    private final CurrentUser currentUser;
+    private final TarefaRepository tarefaRepository;
+    private final ProjetoRepository projetoRepository;
+
+    private final ExpiringCache<DecisionKey, Boolean> decisions;
+
+    @Autowired
+    public AccessDecisionService(CurrentUser currentUser,
+                                 TarefaRepository tarefaRepository,
+                                 ProjetoRepository projetoRepository,
+                                 @Value("${security.access-decisions.cache-ttl-seconds:30}") long decisionTtlSeconds,
+                                 @Value("${security.access-decisions.max-entries:10000}") int maxEntries) {
+        this(currentUser, tarefaRepository, projetoRepository, Duration.ofSeconds(decisionTtlSeconds),
+                maxEntries, Clock.systemUTC());
+    }
+
+    AccessDecisionService(CurrentUser currentUser, TarefaRepository tarefaRepository,
+                          ProjetoRepository projetoRepository, Duration decisionTtl, int maxEntries, Clock clock) {
+        this.currentUser = currentUser;
+        this.tarefaRepository = tarefaRepository;
+        this.projetoRepository = projetoRepository;
+        this.decisions = new ExpiringCache<>(decisionTtl, maxEntries, clock);
+    }
+
+    /**
+     * True if the user is assigned to the tarefa and the tarefa isn't deleted.
+     */
+    public boolean canAccessTarefa(Long tarefaId, String email) {
+        Long userId = currentUser.idOf(email);
+        if (userId == null || tarefaId == null) {
+            return false;
+        }
+        return decide(new DecisionKey(ResourceType.TAREFA, tarefaId, userId),
+                () -> tarefaRepository.existsActiveAssignment(tarefaId, userId));
+    }
+
+    /**
+     * True if the user is a member of the projeto and the projeto isn't deleted.
+     */
+    public boolean canAccessProjeto(Long projetoId, String email) {
+        Long userId = currentUser.idOf(email);
+        if (userId == null || projetoId == null) {
+            return false;
+        }
+        return decide(new DecisionKey(ResourceType.PROJETO, projetoId, userId),
+                () -> projetoRepository.existsActiveMembership(projetoId, userId));
+    }
+
+    /**
+     * For @PreAuthorize: true if the authenticated user is the user with this
+     * id, e.g. {@code @accessDecisionService.isCurrentUser(authentication, #id)}.
+     * Compares ids, so it needs no query with a token carrying user_id.
+     */
+    public boolean isCurrentUser(Authentication authentication, Long userId) {
+        return userId != null && userId.equals(currentUser.idOf(authentication));
+    }
+
+    /**
+     * After the users assigned to a tarefa change, or the tarefa is deleted.
+     */
+    public void evictTarefa(Long tarefaId) {
+        evict(() -> decisions.removeKeysIf(key -> key.type() == ResourceType.TAREFA
+                && key.resourceId().equals(tarefaId)));
+    }
+
+    /**
+     * After the members of a projeto change, or the projeto is deleted.
+     */
+    public void evictProjeto(Long projetoId) {
+        evict(() -> decisions.removeKeysIf(key -> key.type() == ResourceType.PROJETO
+                && key.resourceId().equals(projetoId)));
+    }
+
+    /**
+     * After a user's email or memberships change in bulk (user update,
+     * deactivation, deletion): drops everything cached for them.
+     */
+    public void evictUser(Long userId) {
+        evict(() -> {
+            currentUser.forget(userId);
+            decisions.removeKeysIf(key -> key.userId().equals(userId));
+        });
+    }
+
+    // Evicts now and again after the surrounding transaction commits: a check running
+    // in between still sees the old rows and would otherwise cache the old decision.
+    private void evict(Runnable eviction) {
+        eviction.run();
+        forgetRequestMemo();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private boolean decide(DecisionKey key, Supplier<Boolean> query) {
+        Map<DecisionKey, Boolean> memo = requestMemo();
+        if (memo != null) {
+            Boolean memoized = memo.get(key);
+            if (memoized != null) {
+                return memoized;
+            }
+        }
+
+        Boolean decision = decisions.get(key);
+        if (decision == null) {
+            decision = query.get();
+            decisions.put(key, decision);
+        }
+        if (memo != null) {
+            memo.put(key, decision);
+        }
+        return decision;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<DecisionKey, Boolean> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;  // scheduler/async thread - no request to memoize for
+        }
+        Map<DecisionKey, Boolean> memo =
+                (Map<DecisionKey, Boolean>) attributes.getAttribute(REQUEST_MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(REQUEST_MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    private static void forgetRequestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(REQUEST_MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private enum ResourceType {TAREFA, PROJETO}
+
+    private record DecisionKey(ResourceType type, Long resourceId, Long userId) {
+    }
+}
@@ -10,6 +10,7 @@ import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -40,9 +41,10 @@ public class ClienteService {
         return page.map(ClienteDTO::new);
     }
 
+    // One keyset chunk of GET /clientes (see JsonArrayStreamer).
     @Transactional(readOnly = true)
-    public List<ClienteDTO> findAll() {
-        List<Cliente> list = clienteRepository.findAllActive();
+    public List<ClienteDTO> findAllChunk(long afterId, int limit) {
+        List<Cliente> list = clienteRepository.findActiveAfter(afterId, PageRequest.of(0, limit));
         return list.stream().map(ClienteDTO::new).toList();
     }
 
@@ -61,8 +63,12 @@ public class ClienteService {
     }
 
     @Transactional(readOnly = true)
-    public List<ClienteWithProjetosDTO> findAllWithProjetos() {
-        List<Cliente> list = clienteRepository.findAllWithProjetos();
+    public List<ClienteWithProjetosDTO> findAllWithProjetosChunk(long afterId, int limit) {
+        List<Long> ids = clienteRepository.findActiveIdsAfter(afterId, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Cliente> list = clienteRepository.findAllByIdInWithProjetos(ids);
         return list.stream().map(ClienteWithProjetosDTO::new).toList();
     }
 
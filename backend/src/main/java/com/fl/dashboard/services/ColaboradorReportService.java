@@ -1,5 +1,6 @@
 package com.fl.dashboard.services;
 
+import com.fl.dashboard.config.MetricsConfig;
 import com.fl.dashboard.dto.CollaboratorGlobalMetricsDTO;
 import com.fl.dashboard.entities.Projeto;
 import com.fl.dashboard.entities.Tarefa;
@@ -7,6 +8,7 @@ import com.fl.dashboard.entities.User;
 import com.fl.dashboard.enums.TarefaStatus;
 import com.fl.dashboard.repositories.TarefaRepository;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +24,7 @@ import java.util.Objects;
  * (as opposed to ProjetoMetricsService, which is scoped to a single project)
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ColaboradorReportService {
 
     private final TarefaRepository tarefaRepository;
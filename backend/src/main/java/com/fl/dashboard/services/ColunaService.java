@@ -6,8 +6,11 @@ import com.fl.dashboard.entities.Projeto;
 import com.fl.dashboard.repositories.ColunaRepository;
 import com.fl.dashboard.repositories.ProjetoRepository;
 import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,6 +30,15 @@ public class ColunaService {
         return colunas.stream().map(this::convertToDTO).collect(Collectors.toList());
     }
 
+    /**
+     * For GET /sync: the columns changed since the given time, of the
+     * projetos the user is a member of (every projeto when userId is null).
+     */
+    @Transactional(readOnly = true)
+    public List<ColunaWithProjetoDTO> findChangedSince(LocalDateTime since, Long userId, int limit) {
+        return colunaRepository.findChangedSince(since, userId, PageRequest.of(0, limit));
+    }
+
     public ColunaWithProjetoDTO createColumn(ColunaWithProjetoDTO colunaDTO) {
         Coluna coluna = convertToEntity(colunaDTO);
         Coluna savedColuna = colunaRepository.save(coluna);
@@ -0,0 +1,141 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Who is making the current request - id, email and authorities - read
+ * from the request's JWT instead of a userRepository.findByEmail per call.
+ * Access tokens carry a user_id claim (AuthorizationServerConfig#tokenCustomizer);
+ * tokens issued before it, and emails of other users, are resolved through
+ * an id-only query cached for security.access-decisions.user-id-ttl-seconds.
+ * <p>
+ * A plain singleton reading the SecurityContext, so it works the same in a
+ * request thread and anywhere the context has been propagated to; with no
+ * authentication every getter returns null/empty.
+ */
+@Component
+public class CurrentUser {
+
+    public static final String USER_ID_CLAIM = "user_id";
+
+    private final UserRepository userRepository;
+    private final ExpiringCache<String, Long> userIdsByEmail;
+
+    @Autowired
+    public CurrentUser(UserRepository userRepository,
+                       @Value("${security.access-decisions.user-id-ttl-seconds:300}") long userIdTtlSeconds,
+                       @Value("${security.access-decisions.max-entries:10000}") int maxEntries) {
+        this(userRepository, Duration.ofSeconds(userIdTtlSeconds), maxEntries, Clock.systemUTC());
+    }
+
+    CurrentUser(UserRepository userRepository, Duration userIdTtl, int maxEntries, Clock clock) {
+        this.userRepository = userRepository;
+        this.userIdsByEmail = new ExpiringCache<>(userIdTtl, maxEntries, clock);
+    }
+
+    /**
+     * The email the token was issued to - the "email" claim of our JWTs, or
+     * the authentication name for anything else (tests, basic auth).
+     */
+    public static String emailOf(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof Jwt jwt) {
+            return jwt.getClaim("email");
+        }
+        return authentication.getName();
+    }
+
+    public String getEmail() {
+        return emailOf(authentication());
+    }
+
+    public Long getId() {
+        return idOf(authentication());
+    }
+
+    public Set<String> getAuthorities() {
+        Authentication authentication = authentication();
+        if (authentication == null) {
+            return Set.of();
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public boolean hasAuthority(String authority) {
+        Authentication authentication = authentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(granted -> granted.getAuthority().equals(authority));
+    }
+
+    /**
+     * The user id behind an authentication: its user_id claim, or the id
+     * of its email for tokens without one.
+     */
+    public Long idOf(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt
+                && jwt.getClaim(USER_ID_CLAIM) instanceof Number userId) {
+            return userId.longValue();
+        }
+        return lookupId(emailOf(authentication));
+    }
+
+    /**
+     * The id of the user with this email, or null if there is none. The
+     * services still receive the caller's email from the resources, so this
+     * is free when it's the current user's; anyone else's goes through the
+     * cache. Users that don't exist aren't cached, so a user created a
+     * moment ago is found on the next call.
+     */
+    public Long idOf(String email) {
+        if (email == null) {
+            return null;
+        }
+        Authentication authentication = authentication();
+        if (email.equals(emailOf(authentication))) {
+            return idOf(authentication);
+        }
+        return lookupId(email);
+    }
+
+    /**
+     * After a user's email changes or the user is deleted.
+     */
+    void forget(Long userId) {
+        userIdsByEmail.removeValuesIf(userId::equals);
+    }
+
+    private Long lookupId(String email) {
+        if (email == null) {
+            return null;
+        }
+        Long cached = userIdsByEmail.get(email);
+        if (cached != null) {
+            return cached;
+        }
+        Long userId = userRepository.findIdByEmail(email).orElse(null);
+        if (userId != null) {
+            userIdsByEmail.put(email, userId);
+        }
+        return userId;
+    }
+
+    private static Authentication authentication() {
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
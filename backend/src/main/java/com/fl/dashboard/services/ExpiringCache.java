@@ -0,0 +1,59 @@
+package com.fl.dashboard.services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Minimal TTL map: entries expire after a fixed time and the whole map is
+ * dropped when it reaches maxEntries (decisions are cheap to recompute,
+ * so there's no point in an LRU).
+ */
+final class ExpiringCache<K, V> {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    ExpiringCache(Duration ttl, int maxEntries, Clock clock) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= clock.millis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    void put(K key, V value) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+        entries.put(key, new Entry<>(value, clock.millis() + ttlMillis));
+    }
+
+    void removeKeysIf(Predicate<K> keyPredicate) {
+        entries.keySet().removeIf(keyPredicate);
+    }
+
+    void removeValuesIf(Predicate<V> valuePredicate) {
+        entries.values().removeIf(entry -> valuePredicate.test(entry.value()));
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
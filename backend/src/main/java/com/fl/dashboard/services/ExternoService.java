@@ -13,6 +13,7 @@ import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -44,9 +45,14 @@ public class ExternoService {
         return page.map(ExternoDTO::new);
     }
 
+    // One keyset chunk of GET /externos (see JsonArrayStreamer).
     @Transactional(readOnly = true)
-    public List<ExternoDTO> findAll() {
-        List<Externo> list = externoRepository.findAllActive();
+    public List<ExternoDTO> findAllChunk(long afterId, int limit) {
+        List<Long> ids = externoRepository.findActiveIdsAfter(afterId, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Externo> list = externoRepository.findAllByIdIn(ids);
         return list.stream().map(ExternoDTO::new).toList();
     }
 
@@ -65,8 +71,12 @@ public class ExternoService {
     }
 
     @Transactional(readOnly = true)
-    public List<ExternoWithProjetosDTO> findAllWithProjetos() {
-        List<Externo> list = externoRepository.findAllWithProjetos();
+    public List<ExternoWithProjetosDTO> findAllWithProjetosChunk(long afterId, int limit) {
+        List<Long> ids = externoRepository.findActiveIdsAfter(afterId, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Externo> list = externoRepository.findAllByIdInWithProjetos(ids);
         return list.stream().map(ExternoWithProjetosDTO::new).toList();
     }
 
@@ -1,32 +1,69 @@
 package com.fl.dashboard.services;
 
 import com.fl.dashboard.repositories.NotificationRepository;
+import com.fl.dashboard.repositories.SyncTombstoneRepository;
+import com.fl.dashboard.schedulers.LockedJob;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Service
 @EnableScheduling
-public class NotificationCleanupService {
+public class NotificationCleanupService implements LockedJob {
+
+    public static final String JOB_NAME = "notification-cleanup";
 
     private final NotificationRepository notificationRepository;
+    private final ScheduledJobService scheduledJobService;
+    private final SyncTombstoneRepository syncTombstoneRepository;
 
-    public NotificationCleanupService(NotificationRepository notificationRepository) {
+    public NotificationCleanupService(NotificationRepository notificationRepository,
+                                      ScheduledJobService scheduledJobService,
+                                      SyncTombstoneRepository syncTombstoneRepository) {
         this.notificationRepository = notificationRepository;
+        this.scheduledJobService = scheduledJobService;
+        this.syncTombstoneRepository = syncTombstoneRepository;
     }
 
     // fixedRate counts from application startup, not wall-clock time — with this app restarting
     // multiple times a day (deploys, OOM auto-restarts), a 5-day fixedRate effectively never
     // reached its threshold in production. cron runs against the clock regardless of restarts.
-    @Transactional
     @Scheduled(cron = "0 0 3 * * *") // Runs daily at 3am
     public void cleanupOldNotifications() {
-        notificationRepository.deleteByIsReadTrueAndCreatedAtBefore(LocalDateTime.now().minusDays(3));
+        scheduledJobService.runScheduled(JOB_NAME);
+    }
+
+    @Override
+    public String getJobName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public Duration getLockAtMostFor() {
+        return Duration.ofMinutes(15);
+    }
+
+    @Override
+    @Transactional
+    public int execute() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime readCutoff = now.minusDays(3);
         // Unread notifications previously had no expiry at all and accumulated indefinitely.
-        notificationRepository.deleteByIsReadFalseAndCreatedAtBefore(LocalDateTime.now().minusDays(30));
+        LocalDateTime unreadCutoff = now.minusDays(30);
+
+        syncTombstoneRepository.insertForExpiredNotifications(Timestamp.valueOf(readCutoff),
+                Timestamp.valueOf(unreadCutoff), now);
+        long deleted = notificationRepository.deleteByIsReadTrueAndCreatedAtBefore(readCutoff);
+        deleted += notificationRepository.deleteByIsReadFalseAndCreatedAtBefore(unreadCutoff);
+
+        // Past SyncService.TOKEN_MAX_AGE no client can ask for them any more
+        syncTombstoneRepository.deleteOlderThan(now.minus(SyncService.TOKEN_MAX_AGE));
+        return (int) deleted;
     }
 
 }
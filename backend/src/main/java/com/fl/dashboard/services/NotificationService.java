@@ -1,23 +1,29 @@
 package com.fl.dashboard.services;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fl.dashboard.config.MetricsConfig;
 import com.fl.dashboard.dto.*;
 import com.fl.dashboard.entities.Notification;
 import com.fl.dashboard.entities.Projeto;
 import com.fl.dashboard.entities.Tarefa;
 import com.fl.dashboard.entities.User;
 import com.fl.dashboard.enums.NotificationType;
+import com.fl.dashboard.projections.NotificationVersionRow;
 import com.fl.dashboard.projections.UnreadNotificationCountProjection;
 import com.fl.dashboard.repositories.NotificationRepository;
 import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.SyncTombstoneRepository;
 import com.fl.dashboard.repositories.TarefaRepository;
 import com.fl.dashboard.repositories.UserRepository;
 import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
+import com.fl.dashboard.utils.VersionTag;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
@@ -26,12 +32,16 @@ import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class NotificationService {
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
     private static final String TOPIC_NOTIFICATIONS = "/topic/notifications";
@@ -40,6 +50,7 @@ public class NotificationService {
     private static final String TOPIC_NOTIFICATIONS_NOTIFICATION_SENT = "Notification sent";
     private static final String USER_NOT_FOUND = "User not found";
     private static final String NOTIFICATION = "Notificação ";
+    private static final int CONTENT_MAX_LENGTH = 255;
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
@@ -47,6 +58,7 @@ public class NotificationService {
     private final ProjetoRepository projetoRepository;
     private final SimpMessagingTemplate messagingTemplate;
     private final SlackService slackService;
+    private final SyncTombstoneRepository syncTombstoneRepository;
 
     public NotificationService(
             NotificationRepository notificationRepository,
@@ -54,13 +66,15 @@ public class NotificationService {
             TarefaRepository tarefaRepository,
             ProjetoRepository projetoRepository,
             SimpMessagingTemplate messagingTemplate,
-            SlackService slackService) {
+            SlackService slackService,
+            SyncTombstoneRepository syncTombstoneRepository) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
         this.tarefaRepository = tarefaRepository;
         this.projetoRepository = projetoRepository;
         this.messagingTemplate = messagingTemplate;
         this.slackService = slackService;
+        this.syncTombstoneRepository = syncTombstoneRepository;
     }
 
     @PostConstruct
@@ -176,6 +190,31 @@ public class NotificationService {
         return page.map(this::convertToDTO);
     }
 
+    /**
+     * ETag of a findAllByUserIdWithDetails page, from the ids and versions of
+     * what it shows (VersionTag) - without loading the notifications.
+     */
+    @Transactional(readOnly = true)
+    public String findDetailsPageEtag(Long userId, Pageable pageable) {
+        Page<NotificationVersionRow> page = notificationRepository.findVersionsByUserId(userId, pageable);
+        VersionTag tag = VersionTag.of("notifications", userId, pageable, page.getTotalElements());
+        for (NotificationVersionRow row : page) {
+            tag.add(row.getId(), row.getVersion(), row.getUserVersion(), row.getProjetoId(), row.getProjetoVersion());
+        }
+        return tag.build();
+    }
+
+    /**
+     * For GET /sync: the user's notifications created or changed since the
+     * given time, at most limit of them.
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationResponseDTO> findChangedSince(Long userId, LocalDateTime since, int limit) {
+        return notificationRepository.findByUserIdChangedSince(userId, since, PageRequest.of(0, limit)).stream()
+                .map(this::convertToDTO)
+                .toList();
+    }
+
     @Transactional
     public NotificationResponseDTO insert(NotificationInsertDTO dto) {
         Notification notification = new Notification();
@@ -230,6 +269,8 @@ public class NotificationService {
                 case "PROJETO_ATUALIZADO" -> "Projeto Atualizado";
                 case "PROJETO_PRAZO_PROXIMO" -> "Prazo de Projeto Próximo";
                 case "PROJETO_CONCLUIDO" -> "Projeto Concluído";
+                case "PROJETO_STATUS_ALTERADO" -> "Estado de Projeto Alterado";
+                case "PROJETO_REMOVIDO" -> "Removido de Projeto";
                 case "NOTIFICACAO_GERAL" -> "Notificação";
                 default -> {
                     logger.warn("Unknown notification type: {}", type);
@@ -562,17 +603,167 @@ public class NotificationService {
         }
     }
 
+    /**
+     * One notification of the given type for each of the users, for a change
+     * to a project that is already loaded - no per-user lookups, and the rows
+     * go out in a single saveAll, so JDBC batching applies. The WebSocket
+     * pushes and a single grouped Slack message for the whole team are sent
+     * once the transaction commits.
+     */
+    @Transactional
+    public void createProjectNotifications(Projeto projeto, Collection<User> users, NotificationType type) {
+        if (users.isEmpty()) {
+            return;
+        }
+        String content = buildNotificationContent(type, projeto.getDesignacao());
+        Date now = new Date();
+
+        List<Notification> notifications = new ArrayList<>(users.size());
+        for (User user : users) {
+            Notification notification = new Notification();
+            notification.setType(type.name());
+            notification.setUser(user);
+            notification.setProjeto(projeto);
+            notification.setContent(content);
+            notification.setCreatedAt(now);
+            notification.setIsRead(false);
+            notifications.add(notification);
+        }
+
+        List<NotificationResponseDTO> saved = notificationRepository.saveAll(notifications).stream()
+                .map(this::convertToDTO)
+                .toList();
+        List<String> nomes = users.stream().map(User::getName).toList();
+        logger.info("Created {} {} notification(s) for project {}", saved.size(), type, projeto.getId());
+
+        runAfterCommit(() -> {
+            for (NotificationResponseDTO dto : saved) {
+                messagingTemplate.convertAndSend(TOPIC_NOTIFICATIONS + "/" + dto.getUser().getId(), dto);
+            }
+            sendGroupedProjectSlackNotification(type, projeto.getDesignacao(), nomes);
+        });
+    }
+
+    private void sendGroupedProjectSlackNotification(NotificationType type, String designacao, List<String> nomes) {
+        if (!slackService.isEnabled() || !slackService.shouldSendNotificationType(type.name())) {
+            return;
+        }
+        try {
+            String content = "*Projeto:* " + designacao + "\n\n*Colaboradores:* " + String.join(", ", nomes);
+            slackService.sendNotification(getTitleForNotificationType(type.name()), content,
+                    slackService.getColorForNotificationType(type.name()));
+        } catch (Exception e) {
+            logger.error("Error sending grouped Slack notification for project", e);
+        }
+    }
+
+    /**
+     * One notification of the given type per user for a change made to
+     * several tarefas at once (POST /tarefas/bulk), listing that user's
+     * tarefas after the resumo. The rows go out in a single saveAll; after
+     * commit each user gets the WebSocket push and one Slack message with
+     * their own list, rather than one of each per tarefa.
+     */
+    @Transactional
+    public void createTarefaBulkNotifications(Map<User, List<Tarefa>> tarefasByUser, NotificationType type,
+                                              String resumo) {
+        if (tarefasByUser.isEmpty()) {
+            return;
+        }
+        Date now = new Date();
+
+        List<Notification> notifications = new ArrayList<>(tarefasByUser.size());
+        tarefasByUser.forEach((user, tarefas) -> {
+            Notification notification = new Notification();
+            notification.setType(type.name());
+            notification.setUser(user);
+            notification.setContent(buildTarefaListContent(resumo, tarefas));
+            notification.setCreatedAt(now);
+            notification.setIsRead(false);
+            // Linked to a tarefa/projeto only when there is exactly one of it
+            if (tarefas.size() == 1) {
+                notification.setRelatedId(tarefas.get(0).getId());
+                if (isTaskRelatedNotification(type.name())) {
+                    notification.setTarefa(tarefas.get(0));
+                }
+            }
+            List<Projeto> projetos = tarefas.stream().map(Tarefa::getProjeto).distinct().toList();
+            if (projetos.size() == 1 && projetos.get(0) != null) {
+                notification.setProjeto(projetos.get(0));
+            }
+            notifications.add(notification);
+        });
+
+        List<NotificationResponseDTO> saved = notificationRepository.saveAll(notifications).stream()
+                .map(this::convertToDTO)
+                .toList();
+        logger.info("Created {} grouped {} notification(s) for a bulk tarefa change", saved.size(), type);
+
+        runAfterCommit(() -> {
+            for (NotificationResponseDTO dto : saved) {
+                messagingTemplate.convertAndSend(TOPIC_NOTIFICATIONS + "/" + dto.getUser().getId(), dto);
+                sendTarefaBulkSlackNotification(type, dto.getUser().getName(), dto.getContent());
+            }
+        });
+    }
+
+    // As many descricoes as fit in tb_notification.content, then "e mais N"
+    private static String buildTarefaListContent(String resumo, List<Tarefa> tarefas) {
+        StringBuilder content = new StringBuilder(resumo).append(": ");
+        for (int i = 0; i < tarefas.size(); i++) {
+            String item = (i > 0 ? ", " : "") + "'" + tarefas.get(i).getDescricao() + "'";
+            int reserved = i < tarefas.size() - 1 ? 12 : 0;
+            if (content.length() + item.length() + reserved > CONTENT_MAX_LENGTH) {
+                return i == 0
+                        ? resumo + " (" + tarefas.size() + " tarefas)"
+                        : content.append(" e mais ").append(tarefas.size() - i).toString();
+            }
+            content.append(item);
+        }
+        return content.toString();
+    }
+
+    private void sendTarefaBulkSlackNotification(NotificationType type, String nome, String content) {
+        if (!slackService.isEnabled() || !slackService.shouldSendNotificationType(type.name())) {
+            return;
+        }
+        try {
+            slackService.sendNotification(getTitleForNotificationType(type.name()),
+                    "*Colaborador:* " + nome + "\n\n" + content,
+                    slackService.getColorForNotificationType(type.name()));
+        } catch (Exception e) {
+            logger.error("Error sending grouped Slack notification for tarefas", e);
+        }
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private String buildNotificationContent(NotificationType type, String designacao) {
         return switch (type) {
             case PROJETO_ATRIBUIDO -> "Novo projeto atribuído: " + designacao;
             case PROJETO_ATUALIZADO -> "Projeto atualizado: " + designacao;
             case PROJETO_CONCLUIDO -> "Projeto concluído: " + designacao;
+            case PROJETO_REMOVIDO -> "Foi removido/a do projeto: " + designacao;
             default -> "Notificação do Projeto: " + designacao;
         };
     }
 
+    // Each delete leaves a SyncTombstone per notification first, so GET /sync can report it gone
+    @Transactional
     public void delete(Long id) {
         try {
+            syncTombstoneRepository.insertForNotification(id, LocalDateTime.now());
             notificationRepository.deleteById(id);
         } catch (EmptyResultDataAccessException e) {
             throw new ResourceNotFoundException("Id not found " + id);
@@ -587,6 +778,7 @@ public class NotificationService {
         }
 
         // Delete all notifications for this user
+        syncTombstoneRepository.insertForNotificationsOfUser(userId, false, LocalDateTime.now());
         notificationRepository.deleteAllByUserId(userId);
 
         logger.info("Deleted all notifications for user with ID: {}", userId);
@@ -598,6 +790,7 @@ public class NotificationService {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
 
+        syncTombstoneRepository.insertForNotificationsOfUser(userId, true, LocalDateTime.now());
         notificationRepository.deleteAllReadByUserId(userId);
 
         logger.info("Deleted all read notifications for user with ID: {}", userId);
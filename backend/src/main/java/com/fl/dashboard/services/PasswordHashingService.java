@@ -0,0 +1,161 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.services.exceptions.LoginCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt off the request threads. Every hash is computed on a fixed
+ * pool sized to the CPUs, so a burst of logins costs at most that many cores
+ * instead of one per Tomcat thread.
+ * <p>
+ * Logins are also capped: at most max-concurrent-logins can be hashing or
+ * waiting for the pool at once. Past that a login is refused immediately
+ * (the token endpoint answers 503) rather than parking yet another request
+ * thread behind the queue. Bulk hashing (resetAllPasswords) leaves one pool
+ * thread free, so logins keep going while it runs.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService executor;
+    private final Semaphore loginPermits;
+    private final Semaphore bulkPermits;
+    private final Duration loginTimeout;
+    private final AtomicInteger loginsInFlight = new AtomicInteger();
+    private final Counter rejectedLogins;
+
+    @Autowired
+    public PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+                                  @Value("${security.password-hashing.threads:0}") int threads,
+                                  @Value("${security.password-hashing.max-concurrent-logins:32}") int maxConcurrentLogins,
+                                  @Value("${security.password-hashing.login-timeout-ms:5000}") long loginTimeoutMs) {
+        this(passwordEncoder, meterRegistry,
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                maxConcurrentLogins, Duration.ofMillis(loginTimeoutMs));
+    }
+
+    PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+                           int threads, int maxConcurrentLogins, Duration loginTimeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.loginTimeout = loginTimeout;
+        this.loginPermits = new Semaphore(maxConcurrentLogins);
+        this.bulkPermits = new Semaphore(Math.max(1, threads - 1));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("auth.logins.in_flight", loginsInFlight, AtomicInteger::get)
+                .description("Logins a verificar a password (ou à espera do pool)")
+                .register(meterRegistry);
+        this.rejectedLogins = Counter.builder("auth.logins.rejected")
+                .description("Logins recusados por excesso de pedidos em simultâneo")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Checks a login's password against the stored hash. Returns null if it
+     * doesn't match; otherwise the hash to keep, which is a fresh one when
+     * the stored hash is outdated (older format or lower BCrypt strength) so
+     * the caller can save it.
+     *
+     * @throws LoginCapacityExceededException if too many logins are already
+     *                                        in flight, or the pool didn't get
+     *                                        to this one within the timeout
+     */
+    public String verifyLogin(String rawPassword, String encodedPassword) {
+        if (!loginPermits.tryAcquire()) {
+            rejectedLogins.increment();
+            throw new LoginCapacityExceededException("Demasiados pedidos de login em simultâneo. Tente novamente.");
+        }
+        loginsInFlight.incrementAndGet();
+        try {
+            return runForLogin(() -> {
+                if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                    return null;
+                }
+                return passwordEncoder.upgradeEncoding(encodedPassword)
+                        ? passwordEncoder.encode(rawPassword)
+                        : encodedPassword;
+            });
+        } finally {
+            loginsInFlight.decrementAndGet();
+            loginPermits.release();
+        }
+    }
+
+    /**
+     * count hashes of the same password, each with its own salt, computed in
+     * parallel on all but one of the pool's threads.
+     */
+    public List<String> encodeAll(String rawPassword, int count) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                bulkPermits.acquire();
+                hashes.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return passwordEncoder.encode(rawPassword);
+                    } finally {
+                        bulkPermits.release();
+                    }
+                }, executor));
+            }
+            return hashes.stream().map(CompletableFuture::join).toList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            hashes.forEach(hash -> hash.cancel(true));
+            throw new IllegalStateException("Interrompido durante o cálculo das passwords", e);
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private String runForLogin(Callable<String> verification) {
+        Future<String> result = executor.submit(verification);
+        try {
+            return result.get(loginTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            rejectedLogins.increment();
+            throw new LoginCapacityExceededException("O servidor está ocupado. Tente novamente.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new IllegalStateException("Interrompido durante a verificação da password", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+}
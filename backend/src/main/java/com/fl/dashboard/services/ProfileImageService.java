@@ -0,0 +1,268 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.entities.ProfileImage;
+import com.fl.dashboard.projections.ProfileImageDimensionsProjection;
+import com.fl.dashboard.repositories.ProfileImageRepository;
+import com.fl.dashboard.repositories.UserRepository;
+import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Profile images, stored apart from the users in tb_profile_image and
+ * addressed by the SHA-256 of the uploaded file. Every size is generated
+ * once at upload, so serving one is a primary-key read of bytes that never
+ * change - which is what lets GET /users/{id}/profile-image hand out strong
+ * ETags and, for a versioned URL, cache forever.
+ */
+@Service
+public class ProfileImageService {
+
+    // Longest side of each stored size, largest first. 180px is ~2x the largest display size
+    // (90x90 in the collaborators table), enough for high-DPI screens; 90 covers that table at 1x
+    // and 40 the avatars in headers and cards.
+    public static final List<Integer> SIZES = List.of(180, 90, 40);
+
+    private static final List<String> ALLOWED_CONTENT_TYPES = List.of("image/jpeg", "image/png");
+    private static final long MAX_FILE_SIZE = 2097152; // 2MB
+    private static final String STORED_CONTENT_TYPE = "image/jpeg";
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final ProfileImageRepository profileImageRepository;
+    private final UserRepository userRepository;
+
+    public ProfileImageService(ProfileImageRepository profileImageRepository, UserRepository userRepository) {
+        this.profileImageRepository = profileImageRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * A stored size of a user's image, resolved without reading its bytes.
+     */
+    public record Variant(String hash, int size) {
+
+        // Strong: the bytes behind a (hash, size) are written once and never change
+        public String etag() {
+            return "\"" + hash + "-" + size + "\"";
+        }
+    }
+
+    /**
+     * Validates an upload and stores it in every size, returning its hash
+     * for User#setProfileImageHash. Nothing is generated when the same file
+     * has been uploaded before.
+     */
+    @Transactional
+    public String store(MultipartFile file) {
+        if (!ALLOWED_CONTENT_TYPES.contains(file.getContentType())) {
+            throw new IllegalArgumentException("Ficheiro inválido. São permitidos JPEG e PNG");
+        }
+        if (file.getSize() > MAX_FILE_SIZE) {
+            throw new IllegalArgumentException("Tamanho do ficheiro excede o limite de 2MB.");
+        }
+        byte[] bytes;
+        try {
+            bytes = file.getBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Error processing image file", e);
+        }
+
+        String hash = sha256(bytes);
+        if (!profileImageRepository.findSizesByHash(hash).containsAll(SIZES)) {
+            profileImageRepository.saveAll(generateSizes(hash, bytes));
+        }
+        return hash;
+    }
+
+    /**
+     * The stored size closest to the requested one: the smallest at least
+     * that big, else the largest there is (and the largest when no size is
+     * asked for). Null if the user has no image.
+     */
+    @Transactional(readOnly = true)
+    public Variant findVariant(Long userId, Integer requestedSize) {
+        String hash = userRepository.findProfileImageHash(userId).orElse(null);
+        if (hash == null) {
+            return null;
+        }
+        List<Integer> sizes = profileImageRepository.findSizesByHash(hash);
+        if (sizes.isEmpty()) {
+            return null;
+        }
+        int size = sizes.get(sizes.size() - 1);
+        if (requestedSize != null) {
+            size = sizes.stream()
+                    .filter(available -> available >= requestedSize)
+                    .findFirst()
+                    .orElse(size);
+        }
+        return new Variant(hash, size);
+    }
+
+    @Transactional(readOnly = true)
+    public ProfileImage load(Variant variant) {
+        return profileImageRepository.findById(new ProfileImage.Key(variant.hash(), variant.size()))
+                .orElseThrow(() -> new ResourceNotFoundException("Imagem de perfil não encontrada"));
+    }
+
+    /**
+     * After a user's image was replaced or the user deleted: drops the old
+     * image unless another user still points at it.
+     */
+    @Transactional
+    public void release(String hash) {
+        if (hash != null) {
+            profileImageRepository.deleteIfUnreferenced(hash);
+        }
+    }
+
+    /**
+     * For a chunk of ProfileImageReprocessJob: of the given images, those
+     * that aren't stored in exactly the current SIZES at their target
+     * dimensions, as their largest stored size (the source to regenerate
+     * from). Decided from the dimensions alone - only the sources are read.
+     */
+    @Transactional(readOnly = true)
+    public List<ProfileImage> findSourcesToReprocess(Collection<String> hashes) {
+        Map<String, List<ProfileImageDimensionsProjection>> rowsByHash = profileImageRepository
+                .findDimensionsByHashIn(hashes).stream()
+                .collect(Collectors.groupingBy(ProfileImageDimensionsProjection::getHash));
+
+        List<ProfileImage.Key> sources = new ArrayList<>();
+        for (List<ProfileImageDimensionsProjection> rows : rowsByHash.values()) {
+            if (!isUpToDate(rows)) {
+                ProfileImageDimensionsProjection largest = Collections.max(rows,
+                        Comparator.comparing(ProfileImageDimensionsProjection::getSize));
+                sources.add(new ProfileImage.Key(largest.getHash(), largest.getSize()));
+            }
+        }
+        return sources.isEmpty() ? List.of() : profileImageRepository.findAllById(sources);
+    }
+
+    // Up to date: exactly the sizes in SIZES, each with recorded dimensions that fit it. Rows
+    // migrated from tb_user (V33) have no dimensions, and may well be bigger than their size.
+    static boolean isUpToDate(List<ProfileImageDimensionsProjection> rows) {
+        Set<Integer> sizes = rows.stream().map(ProfileImageDimensionsProjection::getSize).collect(Collectors.toSet());
+        if (!sizes.equals(Set.copyOf(SIZES))) {
+            return false;
+        }
+        return rows.stream().allMatch(row -> row.getWidth() != null && row.getHeight() != null
+                && Math.max(row.getWidth(), row.getHeight()) <= row.getSize());
+    }
+
+    /**
+     * Writes the regenerated sizes of a chunk of images in one short
+     * transaction, dropping any size no longer in SIZES.
+     */
+    @Transactional
+    public void replaceSizes(Map<String, List<ProfileImage>> sizesByHash) {
+        for (Map.Entry<String, List<ProfileImage>> entry : sizesByHash.entrySet()) {
+            profileImageRepository.saveAll(entry.getValue());
+            profileImageRepository.deleteOtherSizes(entry.getKey(), SIZES);
+        }
+    }
+
+    /**
+     * Decodes an image and encodes it in every size. CPU only - no database
+     * access - so the reprocessing job can run it on its own pool.
+     *
+     * @throws IllegalArgumentException if the bytes aren't an image ImageIO can read
+     */
+    public static List<ProfileImage> generateSizes(String hash, byte[] bytes) {
+        try {
+            BufferedImage original = ImageIO.read(new ByteArrayInputStream(bytes));
+            if (original == null) {
+                throw new IllegalArgumentException("Ficheiro de imagem inválido");
+            }
+            List<ProfileImage> images = new ArrayList<>(SIZES.size());
+            for (Integer size : SIZES) {
+                BufferedImage resized = resize(original, size);
+                images.add(new ProfileImage(hash, size, STORED_CONTENT_TYPE, encodeAsJpeg(resized),
+                        resized.getWidth(), resized.getHeight()));
+            }
+            return images;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Ficheiro de imagem inválido", e);
+        }
+    }
+
+    // Downscales (never upscales) so the longest side fits maxDimension. JPEG has no alpha
+    // channel, so the image is flattened onto white (covers transparent PNG uploads) in the
+    // same pass.
+    static BufferedImage resize(BufferedImage original, int maxDimension) {
+        int width = original.getWidth();
+        int height = original.getHeight();
+        double scale = Math.min(1.0, Math.min((double) maxDimension / width, (double) maxDimension / height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage resized = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = resized.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, targetWidth, targetHeight);
+            g.drawImage(original, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return resized;
+    }
+
+    private static byte[] encodeAsJpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg");
+        if (!writers.hasNext()) {
+            throw new IllegalStateException("No JPEG image writer available");
+        }
+        ImageWriter writer = writers.next();
+        try {
+            ImageWriteParam params = writer.getDefaultWriteParam();
+            params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            params.setCompressionQuality(JPEG_QUALITY);
+            try (ImageOutputStream ios = ImageIO.createImageOutputStream(output)) {
+                writer.setOutput(ios);
+                writer.write(null, new IIOImage(image, null, null), params);
+            }
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,16 +1,17 @@
 package com.fl.dashboard.services;
 
+import com.fl.dashboard.config.MetricsConfig;
 import com.fl.dashboard.dto.ProjetoMetricsDTO;
 import com.fl.dashboard.dto.ProjetoMetricsSnapshotDTO;
 import com.fl.dashboard.entities.Projeto;
 import com.fl.dashboard.entities.ProjetoMetricsSnapshot;
-import com.fl.dashboard.entities.User;
 import com.fl.dashboard.enums.SnapshotTriggerType;
 import com.fl.dashboard.repositories.ProjetoMetricsSnapshotRepository;
 import com.fl.dashboard.repositories.ProjetoRepository;
 import com.fl.dashboard.repositories.UserRepository;
 import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,22 +29,26 @@ import java.util.List;
  * numbers here can never drift from what the metrics page shows live.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ProjetoMetricsSnapshotService {
 
     private final ProjetoMetricsSnapshotRepository snapshotRepository;
     private final ProjetoMetricsService projetoMetricsService;
     private final ProjetoRepository projetoRepository;
     private final UserRepository userRepository;
+    private final CurrentUser currentUser;
 
     public ProjetoMetricsSnapshotService(
             ProjetoMetricsSnapshotRepository snapshotRepository,
             ProjetoMetricsService projetoMetricsService,
             ProjetoRepository projetoRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            CurrentUser currentUser) {
         this.snapshotRepository = snapshotRepository;
         this.projetoMetricsService = projetoMetricsService;
         this.projetoRepository = projetoRepository;
         this.userRepository = userRepository;
+        this.currentUser = currentUser;
     }
 
     @Transactional
@@ -65,9 +70,10 @@ public class ProjetoMetricsSnapshotService {
         snapshot.setTriggerType(SnapshotTriggerType.MANUAL);
         snapshot.setCreatedAt(LocalDateTime.now());
 
-        if (userEmail != null) {
-            User user = userRepository.findByEmail(userEmail);
-            snapshot.setTriggeredByUser(user);
+        Long userId = currentUser.idOf(userEmail);
+        if (userId != null) {
+            // Only the foreign key is written - a reference, not a findByEmail of the whole user
+            snapshot.setTriggeredByUser(userRepository.getReferenceById(userId));
         }
 
         ProjetoMetricsSnapshot saved = snapshotRepository.save(snapshot);
@@ -1,39 +1,68 @@
 package com.fl.dashboard.services;
 
+import com.fl.dashboard.config.MetricsConfig;
 import com.fl.dashboard.dto.*;
+import com.fl.dashboard.entities.Cliente;
 import com.fl.dashboard.entities.Externo;
 import com.fl.dashboard.entities.Projeto;
+import com.fl.dashboard.entities.SyncTombstone;
 import com.fl.dashboard.entities.Tarefa;
 import com.fl.dashboard.entities.User;
 import com.fl.dashboard.enums.NotificationType;
 import com.fl.dashboard.enums.ProjetoUserHistoryAction;
+import com.fl.dashboard.enums.SyncEntityType;
 import com.fl.dashboard.enums.TipoProjeto;
+import com.fl.dashboard.projections.EntityVersionRow;
+import com.fl.dashboard.projections.ProjetoBoardColunaRow;
+import com.fl.dashboard.projections.ProjetoExportRow;
+import com.fl.dashboard.projections.ProjetoExternoRow;
+import com.fl.dashboard.projections.ProjetoListRow;
+import com.fl.dashboard.projections.ProjetoUserRow;
+import com.fl.dashboard.projections.TarefaListRow;
+import com.fl.dashboard.projections.TarefaUserRow;
+import com.fl.dashboard.repositories.ClienteRepository;
 import com.fl.dashboard.repositories.ExternoRepository;
+import com.fl.dashboard.repositories.FetchPlanRepository;
 import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.SyncTombstoneRepository;
+import com.fl.dashboard.repositories.TarefaRepository;
 import com.fl.dashboard.repositories.UserRepository;
 import com.fl.dashboard.services.exceptions.DeadlineValidationException;
 import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
 import com.fl.dashboard.utils.ProjetoDTOMapper;
+import com.fl.dashboard.utils.VersionTag;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ProjetoService {
 
     private final ProjetoRepository projetoRepository;
     private final UserRepository userRepository;
     private final ExternoRepository externoRepository;
+    private final FetchPlanRepository fetchPlanRepository;
+    private final ClienteRepository clienteRepository;
     private final ProjetoDTOMapper projetoDTOMapper;
     private final NotificationService notificationService;
     private final ProjetoUserHistoryService projetoUserHistoryService;
+    private final AccessDecisionService accessDecisionService;
+    private final CurrentUser currentUser;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final TarefaRepository tarefaRepository;
 
     public ProjetoService(
             ProjetoRepository projetoRepository,
@@ -41,13 +70,25 @@ public class ProjetoService {
             ExternoRepository externoRepository,
             ProjetoDTOMapper projetoDTOMapper,
             NotificationService notificationService,
-            ProjetoUserHistoryService projetoUserHistoryService) {
+            ProjetoUserHistoryService projetoUserHistoryService,
+            FetchPlanRepository fetchPlanRepository,
+            ClienteRepository clienteRepository,
+            AccessDecisionService accessDecisionService,
+            CurrentUser currentUser,
+            SyncTombstoneRepository syncTombstoneRepository,
+            TarefaRepository tarefaRepository) {
         this.projetoRepository = projetoRepository;
         this.userRepository = userRepository;
         this.externoRepository = externoRepository;
         this.projetoDTOMapper = projetoDTOMapper;
         this.notificationService = notificationService;
         this.projetoUserHistoryService = projetoUserHistoryService;
+        this.fetchPlanRepository = fetchPlanRepository;
+        this.clienteRepository = clienteRepository;
+        this.accessDecisionService = accessDecisionService;
+        this.currentUser = currentUser;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.tarefaRepository = tarefaRepository;
     }
 
     @Transactional(readOnly = true)
@@ -59,18 +100,56 @@ public class ProjetoService {
 
     @Transactional(readOnly = true)
     public Page<ProjetoWithUsersDTO> findAllPaged(Pageable pageable) {
-        Page<Long> idsPage = projetoRepository.findAllActiveIds(pageable);
-        if (idsPage.isEmpty()) {
+        Page<ProjetoListRow> rows = projetoRepository.findActiveListRows(pageable);
+        if (rows.isEmpty()) {
             return Page.empty(pageable);
         }
-        Map<Long, Projeto> projetoById = projetoRepository.findAllByIdInWithDetails(idsPage.getContent()).stream()
-                .collect(Collectors.toMap(Projeto::getId, p -> p));
-        List<ProjetoWithUsersDTO> dtos = idsPage.getContent().stream()
-                .map(projetoById::get)
+        return new PageImpl<>(toProjetoWithUsersDTOs(rows.getContent()), pageable, rows.getTotalElements());
+    }
+
+    /**
+     * For GET /sync: the projetos changed since the given time that GET
+     * /projetos lists for the user (every one when userId is null), at most
+     * limit of them.
+     */
+    @Transactional(readOnly = true)
+    public List<ProjetoWithUsersDTO> findChangedSince(LocalDateTime since, Long userId, int limit) {
+        List<ProjetoListRow> rows = projetoRepository.findActiveListRowsChangedSince(since, userId,
+                PageRequest.of(0, limit));
+        return rows.isEmpty() ? List.of() : toProjetoWithUsersDTOs(rows);
+    }
+
+    // Builds the listing DTOs from scalar rows plus one grouped query per association (users,
+    // externos, clientes), instead of hydrating every Projeto with its collections.
+    private List<ProjetoWithUsersDTO> toProjetoWithUsersDTOs(List<ProjetoListRow> rows) {
+        List<Long> ids = rows.stream().map(ProjetoListRow::id).toList();
+
+        Map<Long, Set<UserSummaryDTO>> usersByProjeto = new HashMap<>(ids.size() * 2);
+        for (ProjetoUserRow row : projetoRepository.findUserRowsByProjetoIds(ids)) {
+            usersByProjeto.computeIfAbsent(row.projetoId(), id -> new HashSet<>())
+                    .add(new UserSummaryDTO(row.userId(), row.name(), row.funcao(), row.cargo(), row.email()));
+        }
+
+        Map<Long, Set<ExternoDTO>> externosByProjeto = new HashMap<>(ids.size() * 2);
+        for (ProjetoExternoRow row : projetoRepository.findExternoRowsByProjetoIds(ids)) {
+            externosByProjeto.computeIfAbsent(row.projetoId(), id -> new HashSet<>())
+                    .add(new ExternoDTO(row.externo()));
+        }
+
+        Set<Long> clienteIds = rows.stream()
+                .map(ProjetoListRow::clienteId)
                 .filter(Objects::nonNull)
-                .map(ProjetoWithUsersDTO::new)
+                .collect(Collectors.toSet());
+        Map<Long, ClienteDTO> clienteById = clienteIds.isEmpty() ? Map.of()
+                : clienteRepository.findAllById(clienteIds).stream()
+                .collect(Collectors.toMap(Cliente::getId, ClienteDTO::new));
+
+        return rows.stream()
+                .map(row -> new ProjetoWithUsersDTO(row,
+                        row.clienteId() != null ? clienteById.get(row.clienteId()) : null,
+                        usersByProjeto.getOrDefault(row.id(), new HashSet<>()),
+                        externosByProjeto.getOrDefault(row.id(), new HashSet<>())))
                 .toList();
-        return new PageImpl<>(dtos, pageable, idsPage.getTotalElements());
     }
 
     @Transactional(readOnly = true)
@@ -88,6 +167,73 @@ public class ProjetoService {
         return new ProjetoWithTarefasDTO(projeto);
     }
 
+    /**
+     * The Kanban board of a projeto in three queries whatever its size: the
+     * columns, the active cards in column order, and their assignees - the
+     * last one collected into the users dictionary the cards point into.
+     */
+    @Transactional(readOnly = true)
+    public ProjetoBoardDTO findBoard(Long id) {
+        List<ProjetoBoardColunaRow> colunaRows = projetoRepository.findBoardColunaRows(id);
+        if (colunaRows.isEmpty()) {
+            throw new ResourceNotFoundException("Projeto not found with id: " + id);
+        }
+
+        Map<Long, UserSummaryDTO> users = new TreeMap<>();
+        Map<Long, List<Long>> userIdsByTarefa = new HashMap<>();
+        for (TarefaUserRow row : tarefaRepository.findBoardUserRowsByProjetoId(id)) {
+            users.computeIfAbsent(row.userId(),
+                    userId -> new UserSummaryDTO(userId, row.name(), row.funcao(), row.cargo(), row.email()));
+            userIdsByTarefa.computeIfAbsent(row.tarefaId(), tarefaId -> new ArrayList<>()).add(row.userId());
+        }
+
+        // Keyed by id: two columns with the same status would otherwise list their cards twice
+        Map<Long, TarefaBoardCardDTO> cards = new LinkedHashMap<>();
+        for (TarefaListRow row : tarefaRepository.findBoardRowsByProjetoId(id)) {
+            cards.computeIfAbsent(row.id(), tarefaId -> new TarefaBoardCardDTO(row,
+                    userIdsByTarefa.getOrDefault(tarefaId, List.of()).stream().sorted().toList()));
+        }
+
+        ProjetoBoardColunaRow projeto = colunaRows.get(0);
+        ProjetoBoardDTO board = new ProjetoBoardDTO();
+        board.setId(projeto.projetoId());
+        board.setDesignacao(projeto.designacao());
+        board.setPrazo(projeto.prazo());
+        board.setColunas(colunaRows.stream()
+                .filter(row -> row.colunaId() != null)
+                .map(row -> new ColunaDTO(row.colunaId(), row.status(), row.titulo(), row.ordem(), null))
+                .toList());
+        board.setTarefas(new ArrayList<>(cards.values()));
+        board.setUsers(users);
+        return board;
+    }
+
+    // fields=/expand= variant of /projetos/{id}/full: only the selected associations are joined
+    // and mapped.
+    @Transactional(readOnly = true)
+    public ProjetoWithUsersAndTarefasDTO findProjetoWithUsersAndTarefas(Long id, FieldSelection selection) {
+        if (selection.isAll()) {
+            return findProjetoWithUsersAndTarefas(id);
+        }
+        Projeto projeto = fetchPlanRepository.findActiveProjetoById(id, selection.getExpansions())
+                .orElseThrow(() -> new ResourceNotFoundException("Projeto not found with id: " + id));
+        return new ProjetoWithUsersAndTarefasDTO(projeto, selection);
+    }
+
+    /**
+     * ETag of /projetos/{id}/full with the given fields/expand, from the
+     * versions of the rows it's built from (VersionTag) - without loading
+     * them. Null if the projeto doesn't exist.
+     */
+    @Transactional(readOnly = true)
+    public String findFullViewEtag(Long id, String fields, String expand) {
+        List<EntityVersionRow> rows = projetoRepository.findFullViewVersions(id);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        return VersionTag.of("projeto-full", id, fields, expand).addRows(rows).build();
+    }
+
     @Transactional(readOnly = true)
     public ProjetoWithUsersAndTarefasDTO findProjetoWithUsersAndTarefas(Long id) {
         Projeto projeto = projetoRepository.findByIdWithUsersAndTarefas(id)
@@ -129,14 +275,7 @@ public class ProjetoService {
 
         // Only create notification if project was saved successfully and has users
         if (savedEntity.getId() != null && !savedEntity.getUsers().isEmpty()) {
-            for (User user : savedEntity.getUsers()) {
-                notificationService.createProjectNotification(
-                        savedDTO,
-                        NotificationType.PROJETO_ATRIBUIDO,  // Already correct
-                        new UserSummaryDTO(user)
-                );
-            }
-            projetoUserHistoryService.registarEventos(savedEntity, savedEntity.getUsers(), ProjetoUserHistoryAction.ADDED);
+            registarAlteracoesEquipa(savedEntity, savedEntity.getUsers(), Set.of(), null);
         }
 
         return savedDTO;
@@ -208,49 +347,14 @@ public class ProjetoService {
             // Resto do código para notificações permanece o mesmo...
             NotificationType notificationType = determineNotificationType(oldStatus, savedEntity.getStatus());
 
-            // Find new users to notify about project assignment
-            Set<User> newUsers = new HashSet<>();
-            for (User user1 : savedEntity.getUsers()) {
-                if (!oldUsers.contains(user1)) {
-                    newUsers.add(user1);
-                }
-            }
+            Set<User> newUsers = new HashSet<>(savedEntity.getUsers());
+            newUsers.removeAll(oldUsers);
+            Set<User> removedUsers = new HashSet<>(oldUsers);
+            removedUsers.removeAll(savedEntity.getUsers());
 
-            // Notify new users about project assignment
-            for (User newUser : newUsers) {
-                notificationService.createProjectNotification(
-                        new ProjetoWithUsersDTO(savedEntity, savedEntity.getUsers()),
-                        NotificationType.PROJETO_ATRIBUIDO,
-                        new UserSummaryDTO(newUser)
-                );
-            }
-            projetoUserHistoryService.registarEventos(savedEntity, newUsers, ProjetoUserHistoryAction.ADDED);
-
-            Set<User> removedUsers = new HashSet<>();
-            for (User oldUser : oldUsers) {
-                if (!savedEntity.getUsers().contains(oldUser)) {
-                    NotificationInsertDTO notification = NotificationInsertDTO.builder()
-                            .type(NotificationType.PROJETO_REMOVIDO.name())
-                            .content("Foi removido/a do projeto: " + savedEntity.getDesignacao())
-                            .userId(oldUser.getId())
-                            .isRead(false)
-                            .createdAt(new Date())
-                            .projetoId(savedEntity.getId())
-                            .build();
-
-                    notificationService.processNotification(notification);
-                    removedUsers.add(oldUser);
-                }
-            }
-            projetoUserHistoryService.registarEventos(savedEntity, removedUsers, ProjetoUserHistoryAction.REMOVED);
-
-            // Notify all current users about project update
-            for (User user : savedEntity.getUsers()) {
-                notificationService.createProjectNotification(
-                        new ProjetoWithUsersDTO(savedEntity, savedEntity.getUsers()),
-                        notificationType,
-                        new UserSummaryDTO(user)
-                );
+            registarAlteracoesEquipa(savedEntity, newUsers, removedUsers, notificationType);
+            if (!newUsers.isEmpty() || !removedUsers.isEmpty()) {
+                accessDecisionService.evictProjeto(id);
             }
 
             return new ProjetoWithUsersDTO(savedEntity, savedEntity.getUsers());
@@ -259,6 +363,32 @@ public class ProjetoService {
         }
     }
 
+    /**
+     * Everything a membership change writes besides the project itself -
+     * history events and notifications for the users added and removed, then
+     * the update notification for the whole current team (when given) - as
+     * one set-based unit: each step is a single saveAll over all the users
+     * it concerns, so reassigning fifty people costs the same number of
+     * round trips as reassigning one.
+     */
+    private void registarAlteracoesEquipa(Projeto projeto, Collection<User> added, Collection<User> removed,
+                                          NotificationType updateType) {
+        notificationService.createProjectNotifications(projeto, added, NotificationType.PROJETO_ATRIBUIDO);
+        projetoUserHistoryService.registarEventos(projeto, added, ProjetoUserHistoryAction.ADDED);
+
+        notificationService.createProjectNotifications(projeto, removed, NotificationType.PROJETO_REMOVIDO);
+        projetoUserHistoryService.registarEventos(projeto, removed, ProjetoUserHistoryAction.REMOVED);
+        // Removed users stop seeing the projeto; GET /sync tells their clients (see SyncTombstone)
+        LocalDateTime now = LocalDateTime.now();
+        syncTombstoneRepository.saveAll(removed.stream()
+                .map(user -> new SyncTombstone(SyncEntityType.PROJETO, projeto.getId(), user.getId(), now))
+                .toList());
+
+        if (updateType != null) {
+            notificationService.createProjectNotifications(projeto, projeto.getUsers(), updateType);
+        }
+    }
+
     private NotificationType determineNotificationType(String oldStatus, String newStatus) {
         if ("CONCLUIDO".equals(newStatus) && !newStatus.equals(oldStatus)) {
             return NotificationType.PROJETO_CONCLUIDO;
@@ -279,13 +409,7 @@ public class ProjetoService {
                 ? NotificationType.PROJETO_CONCLUIDO
                 : NotificationType.PROJETO_STATUS_ALTERADO;  // Changed from PROJETO_ATUALIZADO
 
-        for (User user : savedEntity.getUsers()) {
-            notificationService.createProjectNotification(
-                    new ProjetoWithUsersDTO(savedEntity, savedEntity.getUsers()),
-                    notificationType,
-                    new UserSummaryDTO(user)
-            );
-        }
+        notificationService.createProjectNotifications(savedEntity, savedEntity.getUsers(), notificationType);
 
         return new ProjetoWithUsersDTO(savedEntity, savedEntity.getUsers());
     }
@@ -351,6 +475,8 @@ public class ProjetoService {
             projetoUserHistoryService.registarEventos(projeto, projeto.getUsers(), ProjetoUserHistoryAction.REMOVED);
             projeto.markAsDeleted();
             projetoRepository.save(projeto);
+            accessDecisionService.evictProjeto(id);
+            projeto.getTarefas().forEach(tarefa -> accessDecisionService.evictTarefa(tarefa.getId()));
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Id: " + id + " não foi encontrado");
         }
@@ -370,12 +496,11 @@ public class ProjetoService {
 
     @Transactional(readOnly = true)
     public List<ProjetoWithUsersDTO> findAll() {
-        List<ProjetoWithUsersDTO> list = new ArrayList<>();
-        for (Projeto projeto : projetoRepository.findAllActive()) {
-            ProjetoWithUsersDTO projetoWithUsersDTO = new ProjetoWithUsersDTO(projeto, projeto.getUsers());
-            list.add(projetoWithUsersDTO);
+        List<ProjetoListRow> rows = projetoRepository.findAllActiveListRows();
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
         }
-        return list;
+        return toProjetoWithUsersDTOs(rows);
     }
 
     @Transactional(readOnly = true)
@@ -394,6 +519,18 @@ public class ProjetoService {
             Date adjudicacaoEndDate,
             TipoProjeto tipo, Pageable pageable) {
 
+        return findByFilters(designacao, clienteId, clienteName, prioridade, startDate, endDate, status,
+                coordenadorId, propostaStartDate, propostaEndDate, adjudicacaoStartDate, adjudicacaoEndDate, tipo,
+                null, pageable);
+    }
+
+    // ProjetoRepository.FILTER_WHERE, for everyone (userEmail null) or one user's projects
+    private Page<ProjetoWithUsersDTO> findByFilters(
+            String designacao, Long clienteId, String clienteName, String prioridade, Date startDate, Date endDate,
+            String status, Long coordenadorId, Date propostaStartDate, Date propostaEndDate,
+            Date adjudicacaoStartDate, Date adjudicacaoEndDate, TipoProjeto tipo, String userEmail,
+            Pageable pageable) {
+
         // Adjust end dates to be inclusive
         Date adjustedEndDate = adjustEndDate(endDate);
         Date adjustedPropostaEndDate = adjustEndDate(propostaEndDate);
@@ -405,11 +542,39 @@ public class ProjetoService {
         Page<Projeto> result = projetoRepository.findByFilters(
                 designacao, clienteId, clienteName, prioridade, startDate, adjustedEndDate, statusFilter,
                 coordenadorId, propostaStartDate, adjustedPropostaEndDate,
-                adjudicacaoStartDate, adjustedAdjudicacaoEndDate, tipo, pageable);
+                adjudicacaoStartDate, adjustedAdjudicacaoEndDate, tipo, userEmail, pageable);
 
         return result.map(projeto -> new ProjetoWithUsersDTO(projeto, projeto.getUsers()));
     }
 
+    /**
+     * Rows of /projetos/filter/export: the {@link #filterProjetos} criteria as
+     * a forward-only cursor, limited to the user's own projects unless
+     * {@code userEmail} is null (VIEW_ALL_PROJECTS). Has to be consumed inside
+     * the caller's transaction (ExportService opens one).
+     */
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<ProjetoExportRow> streamExportRows(
+            String designacao,
+            Long clienteId,
+            String clienteName,
+            String prioridade,
+            Date startDate,
+            Date endDate,
+            String status,
+            Long coordenadorId,
+            Date propostaStartDate,
+            Date propostaEndDate,
+            Date adjudicacaoStartDate,
+            Date adjudicacaoEndDate,
+            TipoProjeto tipo, String userEmail) {
+        String statusFilter = (status != null && !status.equals("ALL")) ? status : null;
+        return projetoRepository.streamExportRows(
+                designacao, clienteId, clienteName, prioridade, startDate, adjustEndDate(endDate), statusFilter,
+                coordenadorId, propostaStartDate, adjustEndDate(propostaEndDate),
+                adjudicacaoStartDate, adjustEndDate(adjudicacaoEndDate), tipo, userEmail);
+    }
+
     private Date adjustEndDate(Date endDate) {
         if (endDate == null) return null;
         Calendar calendar = Calendar.getInstance();
@@ -446,19 +611,8 @@ public class ProjetoService {
     /**
      * Check if a project is NOT assigned to a specific user or is deleted
      */
-    @Transactional(readOnly = true)
     public boolean shouldDenyProjectAccess(Long projectId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail);
-        if (user == null) {
-            return true;  // Deny access if user not found
-        }
-
-        // Find all projects for this user
-        Set<Projeto> userProjetos = user.getProjetos();
-
-        // Return true to deny access if the project is not in user's projects or is deleted
-        return userProjetos.stream()
-                .noneMatch(projeto -> projeto.getId().equals(projectId) && !projeto.isDeleted());
+        return !accessDecisionService.canAccessProjeto(projectId, userEmail);
     }
 
     /**
@@ -466,22 +620,13 @@ public class ProjetoService {
      */
     @Transactional(readOnly = true)
     public Page<ProjetoWithUsersDTO> findProjectsByUserEmail(String email, Pageable pageable) {
-        User user = userRepository.findByEmail(email);
-        if (user == null) {
+        Long userId = currentUser.idOf(email);
+        if (userId == null) {
             throw new ResourceNotFoundException("User not found with email: " + email);
         }
 
-        // Get all projects for this user
-        List<Projeto> userProjects = new ArrayList<>(user.getProjetos());
-
-        // IMPORTANT: Filter out deleted projects
-        List<Projeto> list = new ArrayList<>();
-        for (Projeto userProject : userProjects) {
-            if (!userProject.isDeleted()) {
-                list.add(userProject);
-            }
-        }
-        userProjects = list;
+        // Active (non-deleted) projects for this user
+        List<Projeto> userProjects = projetoRepository.findActiveByUserId(userId);
 
         // Apply pagination manually (since we fetched from user entity)
         int start = (int) pageable.getOffset();
@@ -506,16 +651,15 @@ public class ProjetoService {
      */
     @Transactional(readOnly = true)
     public List<ProjetoWithUsersAndTarefasDTO> searchProjetosForUser(String query, String userEmail) {
-        User user = userRepository.findByEmail(userEmail);
-        if (user == null) {
+        Long userId = currentUser.idOf(userEmail);
+        if (userId == null) {
             throw new ResourceNotFoundException("User not found with email: " + userEmail);
         }
 
         //String searchQuery = "%" + query.toLowerCase() + "%";
 
         // Get all projects for this user that match the search query
-        List<Projeto> userProjects = user.getProjetos().stream()
-                .filter(projeto -> !projeto.isDeleted())
+        List<Projeto> userProjects = projetoRepository.findActiveByUserId(userId).stream()
                 .filter(projeto ->
                         projeto.getDesignacao().toLowerCase().contains(query.toLowerCase()) ||
                                 projeto.getEntidade().toLowerCase().contains(query.toLowerCase()))
@@ -530,7 +674,8 @@ public class ProjetoService {
     }
 
     /**
-     * Filter projects for a specific user
+     * {@link #filterProjetos} limited to the user's own projects - the same
+     * criteria as the export, in the database.
      */
     @Transactional(readOnly = true)
     public Page<ProjetoWithUsersDTO> filterProjetosForUser(
@@ -549,57 +694,14 @@ public class ProjetoService {
             TipoProjeto tipo, String userEmail,
             Pageable pageable) {
 
-        User user = userRepository.findByEmail(userEmail);
-        if (user == null) {
+        Long userId = currentUser.idOf(userEmail);
+        if (userId == null) {
             throw new ResourceNotFoundException("User not found with email: " + userEmail);
         }
 
-        // Get all projects for this user
-        Set<Projeto> userProjects = user.getProjetos();
-
-        // Adjust end dates to be inclusive
-        Date adjustedEndDate = adjustEndDate(endDate);
-        Date adjustedPropostaEndDate = adjustEndDate(propostaEndDate);
-        Date adjustedAdjudicacaoEndDate = adjustEndDate(adjudicacaoEndDate);
-
-        // Only pass status if it's not "ALL"
-        String statusFilter = (status != null && !status.equals("ALL")) ? status : null;
-
-        // Filter the user's projects manually
-        List<Projeto> filteredProjects = userProjects.stream()
-                .filter(projeto -> !projeto.isDeleted()) // Use isDeleted() method
-                .filter(projeto ->
-                        (designacao == null || projeto.getDesignacao().toLowerCase().contains(designacao.toLowerCase())) &&
-                                (clienteId == null || (projeto.getCliente() != null && projeto.getCliente().getId().equals(clienteId))) &&
-                                (clienteName == null || (projeto.getCliente() != null && projeto.getCliente().getName().toLowerCase().contains(clienteName.toLowerCase()))) &&
-                                (prioridade == null || projeto.getPrioridade().equals(prioridade)) &&
-                                (statusFilter == null || projeto.getStatus().equals(statusFilter)) &&
-                                (startDate == null || projeto.getDataAdjudicacao() == null || !projeto.getDataAdjudicacao().before(startDate)) &&
-                                (adjustedEndDate == null || projeto.getDataProposta() == null || !projeto.getDataProposta().after(adjustedEndDate)) &&
-                                (coordenadorId == null || (projeto.getCoordenador() != null && projeto.getCoordenador().getId().equals(coordenadorId))) &&
-                                (propostaStartDate == null || projeto.getDataProposta() == null || !projeto.getDataProposta().before(propostaStartDate)) &&
-                                (adjustedPropostaEndDate == null || projeto.getDataProposta() == null || !projeto.getDataProposta().after(adjustedPropostaEndDate)) &&
-                                (adjudicacaoStartDate == null || projeto.getDataAdjudicacao() == null || !projeto.getDataAdjudicacao().before(adjudicacaoStartDate)) &&
-                                (adjustedAdjudicacaoEndDate == null || projeto.getDataAdjudicacao() == null || !projeto.getDataAdjudicacao().after(adjustedAdjudicacaoEndDate))
-                )
-                .toList();
-
-        // Apply pagination manually
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filteredProjects.size());
-
-        List<Projeto> pagedProjects = (start <= end)
-                ? filteredProjects.subList(start, end)
-                : Collections.emptyList();
-
-        // Convert to DTOs
-        List<ProjetoWithUsersDTO> dtos = new ArrayList<>();
-        for (Projeto projeto : pagedProjects) {
-            ProjetoWithUsersDTO projetoWithUsersDTO = new ProjetoWithUsersDTO(projeto, projeto.getUsers());
-            dtos.add(projetoWithUsersDTO);
-        }
-
-        return new PageImpl<>(dtos, pageable, filteredProjects.size());
+        return findByFilters(designacao, clienteId, clienteName, prioridade, startDate, endDate, status,
+                coordenadorId, propostaStartDate, propostaEndDate, adjudicacaoStartDate, adjudicacaoEndDate, tipo,
+                userEmail, pageable);
     }
 
     @Transactional
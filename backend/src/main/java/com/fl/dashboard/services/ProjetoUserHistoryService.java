@@ -1,63 +1,107 @@
 package com.fl.dashboard.services;
 
+import com.fl.dashboard.dto.MonthlyAllocationDTO;
 import com.fl.dashboard.dto.MonthlyProjectCountDTO;
 import com.fl.dashboard.dto.ProjetoTimeSpentDTO;
 import com.fl.dashboard.dto.ProjetoUserHistoryEventDTO;
 import com.fl.dashboard.dto.ProjetoUserHistoryTimelineDTO;
 import com.fl.dashboard.entities.Projeto;
 import com.fl.dashboard.entities.ProjetoUserHistory;
+import com.fl.dashboard.entities.ProjetoUserSummary;
 import com.fl.dashboard.entities.User;
 import com.fl.dashboard.enums.ProjetoUserHistoryAction;
+import com.fl.dashboard.projections.ProjetoUserEventRow;
+import com.fl.dashboard.projections.ProjetoUserHistoryRow;
+import com.fl.dashboard.projections.ProjetoUserSummaryRow;
+import com.fl.dashboard.repositories.ProjetoRepository;
 import com.fl.dashboard.repositories.ProjetoUserHistoryRepository;
+import com.fl.dashboard.repositories.ProjetoUserSummaryRepository;
+import com.fl.dashboard.repositories.UserRepository;
+import com.fl.dashboard.services.exceptions.InvalidPeriodException;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Records and reads the ProjetoUserHistory audit trail (when a User was
  * added to/removed from a Projeto). Called from ProjetoService whenever
  * project membership actually changes - never reconstructs the past.
+ * <p>
+ * Each event also folds into the ProjetoUserSummary row of its (projeto,
+ * user) pair, which is what the time spent per project is read from.
  */
 @Service
 public class ProjetoUserHistoryService {
 
     private static final DateTimeFormatter YEAR_MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+    static final int MAX_ALLOCATION_MONTHS = 120;
 
     private final ProjetoUserHistoryRepository projetoUserHistoryRepository;
+    private final ProjetoUserSummaryRepository projetoUserSummaryRepository;
+    private final ProjetoRepository projetoRepository;
+    private final UserRepository userRepository;
 
-    public ProjetoUserHistoryService(ProjetoUserHistoryRepository projetoUserHistoryRepository) {
+    public ProjetoUserHistoryService(ProjetoUserHistoryRepository projetoUserHistoryRepository,
+                                     ProjetoUserSummaryRepository projetoUserSummaryRepository,
+                                     ProjetoRepository projetoRepository,
+                                     UserRepository userRepository) {
         this.projetoUserHistoryRepository = projetoUserHistoryRepository;
+        this.projetoUserSummaryRepository = projetoUserSummaryRepository;
+        this.projetoRepository = projetoRepository;
+        this.userRepository = userRepository;
     }
 
     @Transactional
     public void registarEvento(Projeto projeto, User user, ProjetoUserHistoryAction action) {
-        ProjetoUserHistory evento = new ProjetoUserHistory();
-        evento.setProjeto(projeto);
-        evento.setUser(user);
-        evento.setAction(action);
-        evento.setEventDate(LocalDateTime.now());
-        projetoUserHistoryRepository.save(evento);
+        registarEventos(projeto, List.of(user), action);
     }
 
     @Transactional
     public void registarEventos(Projeto projeto, Collection<User> users, ProjetoUserHistoryAction action) {
+        if (users.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ProjetoUserSummary> summaries = projetoUserSummaryRepository
+                .findByProjetoIdAndUserIdIn(projeto.getId(), users.stream().map(User::getId).toList()).stream()
+                .collect(Collectors.toMap(summary -> summary.getUser().getId(), Function.identity()));
+
+        List<ProjetoUserHistory> eventos = new ArrayList<>(users.size());
+        List<ProjetoUserSummary> changed = new ArrayList<>(users.size());
         for (User user : users) {
-            registarEvento(projeto, user, action);
+            ProjetoUserHistory evento = new ProjetoUserHistory();
+            evento.setProjeto(projeto);
+            evento.setUser(user);
+            evento.setAction(action);
+            evento.setEventDate(now);
+            eventos.add(evento);
+
+            ProjetoUserSummary summary = summaries.computeIfAbsent(user.getId(), id -> newSummary(projeto, user));
+            apply(summary, action, now);
+            changed.add(summary);
         }
+        projetoUserHistoryRepository.saveAll(eventos);
+        projetoUserSummaryRepository.saveAll(changed);
     }
 
     @Transactional(readOnly = true)
     public ProjetoUserHistoryTimelineDTO getHistoricoParaUser(Long userId) {
-        List<ProjetoUserHistory> eventos = projetoUserHistoryRepository.findByUserIdOrderByEventDateAsc(userId);
+        List<ProjetoUserHistoryRow> eventos = projetoUserHistoryRepository.findRowsByUserId(userId);
 
         List<ProjetoUserHistoryEventDTO> eventosDTO = eventos.stream()
                 .map(ProjetoUserHistoryEventDTO::new)
@@ -67,22 +111,118 @@ public class ProjetoUserHistoryService {
                 userId,
                 eventosDTO,
                 calculateMonthlyActiveProjects(eventos),
-                calculateTimeSpentPerProject(eventos));
+                timeSpentPerProject(projetoUserSummaryRepository.findRowsByUserId(userId)));
+    }
+
+    /**
+     * Team-wide allocation at the end of each month of [inicio, fim]: how
+     * many collaborators were on at least one project, how many projects
+     * had at least one collaborator, and how many (projeto, user)
+     * assignments there were. Replays the events in date order once.
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyAllocationDTO> getAlocacaoEquipa(YearMonth inicio, YearMonth fim) {
+        if (inicio.isAfter(fim)) {
+            throw new InvalidPeriodException("O mês de início não pode ser posterior ao mês de fim");
+        }
+        if (inicio.plusMonths(MAX_ALLOCATION_MONTHS).isBefore(fim)) {
+            throw new InvalidPeriodException("O período não pode exceder " + MAX_ALLOCATION_MONTHS + " meses");
+        }
+
+        List<MonthlyAllocationDTO> result = new ArrayList<>();
+        Set<Assignment> active = new HashSet<>();
+        YearMonth month = inicio;
+
+        try (Stream<ProjetoUserEventRow> eventos =
+                     projetoUserHistoryRepository.streamEventsBefore(fim.plusMonths(1).atDay(1).atStartOfDay())) {
+            for (ProjetoUserEventRow evento : (Iterable<ProjetoUserEventRow>) eventos::iterator) {
+                YearMonth eventMonth = YearMonth.from(evento.eventDate());
+                while (month.isBefore(eventMonth)) {
+                    result.add(snapshot(month, active));
+                    month = month.plusMonths(1);
+                }
+                Assignment assignment = new Assignment(evento.userId(), evento.projetoId());
+                if (evento.action() == ProjetoUserHistoryAction.ADDED) {
+                    active.add(assignment);
+                } else {
+                    active.remove(assignment);
+                }
+            }
+        }
+        while (!month.isAfter(fim)) {
+            result.add(snapshot(month, active));
+            month = month.plusMonths(1);
+        }
+        return result;
+    }
+
+    /**
+     * Recomputes every ProjetoUserSummary row from the full event history -
+     * for history written without going through registarEventos (imports,
+     * manual fixes). Same result as the backfill in V29.
+     */
+    @Transactional
+    public int rebuildSummaries() {
+        projetoUserSummaryRepository.deleteAllInBatch();
+
+        List<ProjetoUserSummary> summaries = new ArrayList<>();
+        try (Stream<ProjetoUserEventRow> eventos = projetoUserHistoryRepository.streamAllByPair()) {
+            ProjetoUserSummary current = null;
+            for (ProjetoUserEventRow evento : (Iterable<ProjetoUserEventRow>) eventos::iterator) {
+                if (current == null || !current.getUser().getId().equals(evento.userId())
+                        || !current.getProjeto().getId().equals(evento.projetoId())) {
+                    current = newSummary(projetoRepository.getReferenceById(evento.projetoId()),
+                            userRepository.getReferenceById(evento.userId()));
+                    summaries.add(current);
+                }
+                apply(current, evento.action(), evento.eventDate());
+            }
+        }
+        projetoUserSummaryRepository.saveAll(summaries);
+        return summaries.size();
+    }
+
+    private static ProjetoUserSummary newSummary(Projeto projeto, User user) {
+        ProjetoUserSummary summary = new ProjetoUserSummary();
+        summary.setProjeto(projeto);
+        summary.setUser(user);
+        return summary;
+    }
+
+    /**
+     * Folds one event into the running totals, pairing each ADDED with the
+     * REMOVED that follows it. A collaborator can join/leave the same
+     * project more than once, so every ADDED-to-REMOVED cycle is summed
+     * rather than just first-ADDED-to-last-REMOVED. A repeated ADDED
+     * restarts the open cycle; a REMOVED with no open cycle is ignored.
+     */
+    static void apply(ProjetoUserSummary summary, ProjetoUserHistoryAction action, LocalDateTime eventDate) {
+        if (action == ProjetoUserHistoryAction.ADDED) {
+            summary.setActiveSince(eventDate);
+        } else if (summary.getActiveSince() != null) {
+            long seconds = Duration.between(summary.getActiveSince(), eventDate).getSeconds();
+            summary.setTotalSeconds(summary.getTotalSeconds() + seconds);
+            summary.setActiveSince(null);
+        }
+        if (summary.getFirstEventDate() == null) {
+            summary.setFirstEventDate(eventDate);
+        }
+        summary.setLastEventDate(eventDate);
     }
 
     /**
      * Walks the (already chronologically sorted) events, keeping a running
      * ADDED/REMOVED tally, and keeps the last running value observed in each
-     * calendar month - a simple step-chart aggregation, no separate
-     * aggregate table needed.
+     * calendar month - a simple step-chart aggregation over the rows the
+     * response lists anyway.
      */
-    private List<MonthlyProjectCountDTO> calculateMonthlyActiveProjects(List<ProjetoUserHistory> eventos) {
+    private List<MonthlyProjectCountDTO> calculateMonthlyActiveProjects(List<ProjetoUserHistoryRow> eventos) {
         Map<String, Integer> countByMonth = new LinkedHashMap<>();
         int running = 0;
 
-        for (ProjetoUserHistory evento : eventos) {
-            running += evento.getAction() == ProjetoUserHistoryAction.ADDED ? 1 : -1;
-            String yearMonth = evento.getEventDate().format(YEAR_MONTH_FORMATTER);
+        for (ProjetoUserHistoryRow evento : eventos) {
+            running += evento.action() == ProjetoUserHistoryAction.ADDED ? 1 : -1;
+            String yearMonth = evento.eventDate().format(YEAR_MONTH_FORMATTER);
             countByMonth.put(yearMonth, Math.max(running, 0));
         }
 
@@ -92,47 +232,37 @@ public class ProjetoUserHistoryService {
     }
 
     /**
-     * Pairs each ADDED event with the REMOVED that follows it (same
-     * projeto), summing the elapsed time between them. A collaborator can
-     * join/leave the same project more than once, so this sums every
-     * ADDED-to-REMOVED cycle rather than just first-ADDED-to-last-REMOVED.
-     * An ADDED with no matching REMOVED means the assignment is still
-     * ongoing - counted up to now and flagged as active.
+     * One entry per project, from the summary rows. An open cycle means the
+     * assignment is still ongoing - counted up to now and flagged as active.
      */
-    private List<ProjetoTimeSpentDTO> calculateTimeSpentPerProject(List<ProjetoUserHistory> eventos) {
-        Map<Long, List<ProjetoUserHistory>> eventosPorProjeto = new LinkedHashMap<>();
-        for (ProjetoUserHistory evento : eventos) {
-            eventosPorProjeto
-                    .computeIfAbsent(evento.getProjeto().getId(), k -> new ArrayList<>())
-                    .add(evento);
-        }
-
-        List<ProjetoTimeSpentDTO> result = new ArrayList<>();
+    private List<ProjetoTimeSpentDTO> timeSpentPerProject(List<ProjetoUserSummaryRow> summaries) {
         LocalDateTime now = LocalDateTime.now();
+        List<ProjetoTimeSpentDTO> result = new ArrayList<>(summaries.size());
 
-        for (List<ProjetoUserHistory> projetoEventos : eventosPorProjeto.values()) {
-            Duration total = Duration.ZERO;
-            LocalDateTime pendingAdded = null;
-
-            for (ProjetoUserHistory evento : projetoEventos) {
-                if (evento.getAction() == ProjetoUserHistoryAction.ADDED) {
-                    pendingAdded = evento.getEventDate();
-                } else if (pendingAdded != null) {
-                    total = total.plus(Duration.between(pendingAdded, evento.getEventDate()));
-                    pendingAdded = null;
-                }
-            }
-
-            boolean ativo = pendingAdded != null;
+        for (ProjetoUserSummaryRow summary : summaries) {
+            Duration total = Duration.ofSeconds(summary.totalSeconds());
+            boolean ativo = summary.activeSince() != null;
             if (ativo) {
-                total = total.plus(Duration.between(pendingAdded, now));
+                total = total.plus(Duration.between(summary.activeSince(), now));
             }
-
-            Projeto projeto = projetoEventos.get(0).getProjeto();
             double totalDias = total.toMinutes() / (60.0 * 24);
-            result.add(new ProjetoTimeSpentDTO(projeto.getId(), projeto.getDesignacao(), totalDias, ativo));
+            result.add(new ProjetoTimeSpentDTO(summary.projetoId(), summary.projetoDesignacao(), totalDias, ativo));
         }
 
         return result;
     }
+
+    private static MonthlyAllocationDTO snapshot(YearMonth month, Set<Assignment> active) {
+        Set<Long> colaboradores = new HashSet<>();
+        Set<Long> projetos = new HashSet<>();
+        for (Assignment assignment : active) {
+            colaboradores.add(assignment.userId());
+            projetos.add(assignment.projetoId());
+        }
+        return new MonthlyAllocationDTO(month.format(YEAR_MONTH_FORMATTER), colaboradores.size(), projetos.size(),
+                active.size());
+    }
+
+    private record Assignment(Long userId, Long projetoId) {
+    }
 }
@@ -0,0 +1,236 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.dto.ScheduledJobRunDTO;
+import com.fl.dashboard.dto.ScheduledJobStatusDTO;
+import com.fl.dashboard.entities.ScheduledJobRun;
+import com.fl.dashboard.entities.SchedulerLock;
+import com.fl.dashboard.enums.JobRunStatus;
+import com.fl.dashboard.repositories.ScheduledJobRunRepository;
+import com.fl.dashboard.schedulers.LockedJob;
+import com.fl.dashboard.services.exceptions.JobAlreadyRunningException;
+import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs LockedJob beans under their SchedulerLock and keeps the
+ * ScheduledJobRun history. Entry point for both the cron ticks (each
+ * scheduler's @Scheduled method calls {@link #runScheduled(String)}) and the
+ * manual triggers from /admin/jobs.
+ */
+@Service
+public class ScheduledJobService implements ApplicationContextAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledJobService.class);
+    private static final String TRIGGERED_BY_SCHEDULER = "SCHEDULER";
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    // Extends the lease of whichever jobs are running on this replica. Its own thread rather than the
+    // shared Spring scheduler, so a beat never queues behind the very job it keeps alive.
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor();
+
+    private final SchedulerLockService schedulerLockService;
+    private final ScheduledJobRunRepository scheduledJobRunRepository;
+    private final MeterRegistry meterRegistry;
+    private ApplicationContext applicationContext;
+    private volatile Map<String, LockedJob> jobsByName;
+
+    public ScheduledJobService(SchedulerLockService schedulerLockService,
+                               ScheduledJobRunRepository scheduledJobRunRepository,
+                               MeterRegistry meterRegistry) {
+        this.schedulerLockService = schedulerLockService;
+        this.scheduledJobRunRepository = scheduledJobRunRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void setApplicationContext(@NonNull ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+    }
+
+    // Looked up lazily (same reason as SlackNotificationManagerService#getTarefaService): the jobs
+    // themselves depend on this service, so they can't be constructor-injected here. Going through
+    // the context also hands back the Spring proxies, so @Transactional on execute() is honored.
+    private Map<String, LockedJob> getJobsByName() {
+        if (jobsByName == null) {
+            jobsByName = applicationContext.getBeansOfType(LockedJob.class).values().stream()
+                    .collect(Collectors.toMap(LockedJob::getJobName, Function.identity()));
+        }
+        return jobsByName;
+    }
+
+    private LockedJob findJob(String jobName) {
+        LockedJob job = getJobsByName().get(jobName);
+        if (job == null) {
+            throw new ResourceNotFoundException("Job não encontrado: " + jobName);
+        }
+        return job;
+    }
+
+    /**
+     * Called from the cron tick on every replica; only the one that wins the
+     * lock actually runs the job. Failures are recorded in the run history
+     * and logged, never rethrown into the scheduler thread.
+     */
+    public Optional<ScheduledJobRunDTO> runScheduled(String jobName) {
+        LockedJob job = findJob(jobName);
+        Optional<ScheduledJobRunDTO> run = execute(job, TRIGGERED_BY_SCHEDULER, job.getLockAtLeastFor());
+        if (run.isEmpty()) {
+            logger.info("Job '{}' ignorado nesta instância ({}): lock detido por outra instância",
+                    jobName, schedulerLockService.getInstanceId());
+        }
+        return run;
+    }
+
+    /**
+     * Manual run from /admin/jobs. Skips lockAtLeastFor on release - it only
+     * exists to absorb clock skew between replicas on the same cron tick, and
+     * would otherwise block the admin from re-running right after a fix.
+     */
+    public ScheduledJobRunDTO trigger(String jobName, String userEmail) {
+        LockedJob job = findJob(jobName);
+        String triggeredBy = userEmail != null ? userEmail : "unknown";
+        return execute(job, triggeredBy, Duration.ZERO)
+                .orElseThrow(() -> new JobAlreadyRunningException(
+                        "O job '" + jobName + "' está a ser executado noutra instância ou terminou há pouco tempo"));
+    }
+
+    private Optional<ScheduledJobRunDTO> execute(LockedJob job, String triggeredBy, Duration lockAtLeastFor) {
+        String jobName = job.getJobName();
+        Duration lease = job.getLockAtMostFor();
+        LocalDateTime lockedAt = LocalDateTime.now();
+
+        if (!acquireLock(jobName, lockedAt, lockedAt.plus(lease))) {
+            return Optional.empty();
+        }
+
+        ScheduledJobRun run = new ScheduledJobRun();
+        run.setJobName(jobName);
+        run.setInstanceId(schedulerLockService.getInstanceId());
+        run.setTriggeredBy(triggeredBy);
+        run.setStatus(JobRunStatus.RUNNING);
+        run.setStartedAt(lockedAt);
+
+        ScheduledFuture<?> heartbeat = startHeartbeat(jobName, lockedAt, lease);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            run = scheduledJobRunRepository.save(run);
+
+            int rowsAffected = job.execute();
+            run.setRowsAffected(rowsAffected);
+            run.setStatus(JobRunStatus.SUCCEEDED);
+        } catch (Exception e) {
+            logger.error("Job '{}' falhou: {}", jobName, e.getMessage(), e);
+            run.setStatus(JobRunStatus.FAILED);
+            run.setErrorMessage(truncate(e.getClass().getSimpleName() + ": " + e.getMessage()));
+        } finally {
+            heartbeat.cancel(false);
+            sample.stop(Timer.builder("scheduled.job")
+                    .description("Duração das execuções de jobs agendados (apenas a instância que obteve o lock)")
+                    .tag("job", jobName)
+                    .tag("status", run.getStatus().name())
+                    .tag("trigger", TRIGGERED_BY_SCHEDULER.equals(triggeredBy) ? "scheduler" : "manual")
+                    .register(meterRegistry));
+            LocalDateTime finishedAt = LocalDateTime.now();
+            run.setFinishedAt(finishedAt);
+
+            LocalDateTime holdUntil = lockedAt.plus(lockAtLeastFor);
+            schedulerLockService.release(jobName, lockedAt, holdUntil.isAfter(finishedAt) ? holdUntil : finishedAt);
+        }
+
+        run = scheduledJobRunRepository.save(run);
+        logger.info("Job '{}' terminado com estado {} ({} registo(s) afetado(s))",
+                jobName, run.getStatus(), run.getRowsAffected());
+        return Optional.of(new ScheduledJobRunDTO(run));
+    }
+
+    private boolean acquireLock(String jobName, LocalDateTime now, LocalDateTime lockedUntil) {
+        if (schedulerLockService.tryAcquire(jobName, now, lockedUntil)) {
+            return true;
+        }
+        if (schedulerLockService.find(jobName).isPresent()) {
+            return false;
+        }
+        try {
+            schedulerLockService.createLock(jobName);
+        } catch (DataIntegrityViolationException e) {
+            // Another replica created the row first - fall through and compete for it normally.
+        }
+        return schedulerLockService.tryAcquire(jobName, now, lockedUntil);
+    }
+
+    // Heartbeats at a third of the lease, so a single missed/slow beat never lets the lease lapse
+    // under a job that's still running.
+    private ScheduledFuture<?> startHeartbeat(String jobName, LocalDateTime lockedAt, Duration lease) {
+        long periodMillis = Math.max(lease.toMillis() / 3, 1000);
+        return heartbeatExecutor.scheduleAtFixedRate(() -> {
+            try {
+                if (!schedulerLockService.extend(jobName, lockedAt, LocalDateTime.now().plus(lease))) {
+                    logger.warn("Job '{}': lock perdido durante a execução (lease expirado)", jobName);
+                }
+            } catch (Exception e) {
+                logger.warn("Job '{}': falha ao renovar o lock: {}", jobName, e.getMessage());
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_MESSAGE_LENGTH ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH) : message;
+    }
+
+    public List<ScheduledJobStatusDTO> listJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        return getJobsByName().values().stream()
+                .sorted(Comparator.comparing(LockedJob::getJobName))
+                .map(job -> {
+                    Optional<SchedulerLock> lock = schedulerLockService.find(job.getJobName());
+                    ScheduledJobRunDTO lastRun = scheduledJobRunRepository
+                            .findFirstByJobNameOrderByStartedAtDesc(job.getJobName())
+                            .map(ScheduledJobRunDTO::new)
+                            .orElse(null);
+                    return new ScheduledJobStatusDTO(
+                            job.getJobName(),
+                            job.getLockAtMostFor().toSeconds(),
+                            lock.map(l -> l.getLockedUntil().isAfter(now)).orElse(false),
+                            lock.map(SchedulerLock::getLockedUntil).orElse(null),
+                            lock.map(SchedulerLock::getLockedBy).orElse(null),
+                            lastRun);
+                })
+                .toList();
+    }
+
+    public Page<ScheduledJobRunDTO> findRuns(String jobName, Pageable pageable) {
+        findJob(jobName);
+        return scheduledJobRunRepository.findByJobNameOrderByStartedAtDesc(jobName, pageable)
+                .map(ScheduledJobRunDTO::new);
+    }
+}
@@ -0,0 +1,75 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.entities.SchedulerLock;
+import com.fl.dashboard.repositories.SchedulerLockRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Thin transactional wrapper around tb_scheduler_lock. Every method runs in
+ * its own REQUIRES_NEW transaction so that lock state is committed (and thus
+ * visible to the other replicas) immediately, never held back until the
+ * end of whatever the job itself is doing.
+ */
+@Service
+public class SchedulerLockService {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final String instanceId;
+
+    public SchedulerLockService(SchedulerLockRepository schedulerLockRepository) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.instanceId = resolveHostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean tryAcquire(String name, LocalDateTime now, LocalDateTime lockedUntil) {
+        return schedulerLockRepository.tryAcquire(name, instanceId, now, lockedUntil) == 1;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean extend(String name, LocalDateTime lockedAt, LocalDateTime lockedUntil) {
+        return schedulerLockRepository.updateLockedUntil(name, instanceId, lockedAt, lockedUntil) == 1;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(String name, LocalDateTime lockedAt, LocalDateTime lockedUntil) {
+        schedulerLockRepository.updateLockedUntil(name, instanceId, lockedAt, lockedUntil);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Optional<SchedulerLock> find(String name) {
+        return schedulerLockRepository.findById(name);
+    }
+
+    // Only reached for a job with no seeded row (see V27). If two replicas race here, the loser's
+    // insert fails on the primary key - the caller treats that the same as "row already exists".
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void createLock(String name) {
+        SchedulerLock lock = new SchedulerLock();
+        lock.setName(name);
+        lock.setLockedUntil(LocalDateTime.of(1970, 1, 1, 0, 0));
+        lock.setLockedAt(LocalDateTime.of(1970, 1, 1, 0, 0));
+        lock.setLockedBy("");
+        schedulerLockRepository.saveAndFlush(lock);
+    }
+}
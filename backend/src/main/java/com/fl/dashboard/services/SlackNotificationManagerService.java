@@ -8,34 +8,31 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
-import org.springframework.stereotype.Service;
 import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 public class SlackNotificationManagerService implements ApplicationContextAware {
     private static final Logger logger = LoggerFactory.getLogger(SlackNotificationManagerService.class);
-    // Mapa para armazenar notificações pendentes por tarefa e tipo
+    // Mapa para armazenar notificações pendentes por tarefa e tipo. Só é alterado através de
+    // compute/remove, atómicos por chave, em vez de um lock global à volta do mapa. Tudo o que bloqueia
+    // (leitura da tarefa/projeto, envio ao Slack) fica fora do compute, o que importa com virtual
+    // threads: bloquear dentro de um monitor prende a carrier thread.
     private final Map<String, SlackGroupedNotificationDTO> pendingNotifications = new ConcurrentHashMap<>();
-    // Scheduler para enviar notificações pendentes
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
     private ApplicationContext applicationContext;
 
     private final SlackService slackService;
 
     public SlackNotificationManagerService(SlackService slackService) {
         this.slackService = slackService;
-        // Iniciar o processador que envia as notificações a cada 3 segundos
-        scheduler.scheduleAtFixedRate(this::processPendingNotifications, 3, 3, TimeUnit.SECONDS);
     }
 
     @Override
@@ -130,29 +127,18 @@ public class SlackNotificationManagerService implements ApplicationContextAware
             // Criar uma chave única para esta tarefa e tipo de notificação
             String key = generateNotificationKey(tarefa.getId(), type);
 
-            // Sincronizar acesso ao mapa de notificações pendentes
-            synchronized (pendingNotifications) {
-                // Verificar se já existe uma notificação pendente para esta tarefa e tipo
-                SlackGroupedNotificationDTO notification = pendingNotifications.get(key);
-
+            // Juntar à notificação pendente para esta tarefa e tipo (ou criá-la), atomicamente
+            pendingNotifications.compute(key, (k, notification) -> {
                 if (notification == null) {
-                    // Criar uma notificação
-                    notification = new SlackGroupedNotificationDTO(type, title, tarefaDTO);
-
-                    // Adicionar o projeto se disponível
-                    if (projeto != null) {
-                        notification.setProjeto(projeto);
-                        logger.debug("Projeto definido na notificação: {}", projeto.getDesignacao());
-                    }
-
-                    pendingNotifications.put(key, notification);
+                    notification = newPendingNotification(type, title, tarefaDTO, projeto);
                 }
 
                 // O user já deve estar incluído na tarefa, mas por segurança:
                 if (user != null) {
                     notification.addUser(new UserSummaryDTO(user));
                 }
-            }
+                return notification;
+            });
 
             logger.debug("Added notification for task {} and user {} of type {}",
                     tarefa.getId(), user != null ? user.getId() : "null", type);
@@ -233,22 +219,10 @@ public class SlackNotificationManagerService implements ApplicationContextAware
             // Criar uma chave única para esta tarefa e tipo de notificação
             String key = generateNotificationKey(tarefa.getId(), type);
 
-            // Sincronizar acesso ao mapa de notificações pendentes
-            synchronized (pendingNotifications) {
-                // Verificar se já existe uma notificação pendente para esta tarefa e tipo
-                SlackGroupedNotificationDTO notification = pendingNotifications.get(key);
-
+            // Juntar à notificação pendente para esta tarefa e tipo (ou criá-la), atomicamente
+            pendingNotifications.compute(key, (k, notification) -> {
                 if (notification == null) {
-                    // Criar uma notificação
-                    notification = new SlackGroupedNotificationDTO(type, title, tarefaDTO);
-
-                    // Adicionar o projeto se disponível
-                    if (projeto != null) {
-                        notification.setProjeto(projeto);
-                        logger.debug("Projeto definido na notificação: {}", projeto.getDesignacao());
-                    }
-
-                    pendingNotifications.put(key, notification);
+                    notification = newPendingNotification(type, title, tarefaDTO, projeto);
                 }
 
                 // Adicionar qualquer user adicional que possa não estar na tarefa
@@ -258,7 +232,8 @@ public class SlackNotificationManagerService implements ApplicationContextAware
                             .collect(Collectors.toList());
                     notification.addUsers(userDTOs);
                 }
-            }
+                return notification;
+            });
 
             logger.debug("Added notification for task {} and {} users of type {}",
                     tarefa.getId(), users != null ? users.size() : 0, type);
@@ -318,29 +293,18 @@ public class SlackNotificationManagerService implements ApplicationContextAware
             // Criar uma chave única para esta tarefa e tipo de notificação
             String key = generateNotificationKey(tarefaId, type);
 
-            // Sincronizar acesso ao mapa de notificações pendentes
-            synchronized (pendingNotifications) {
-                // Verificar se já existe uma notificação pendente para esta tarefa e tipo
-                SlackGroupedNotificationDTO notification = pendingNotifications.get(key);
-
+            // Juntar à notificação pendente para esta tarefa e tipo (ou criá-la), atomicamente
+            pendingNotifications.compute(key, (k, notification) -> {
                 if (notification == null) {
-                    // Criar notificação
-                    notification = new SlackGroupedNotificationDTO(type, title, tarefaDTO);
-
-                    // Adicionar o projeto se disponível
-                    if (projeto != null) {
-                        notification.setProjeto(projeto);
-                        logger.debug("Projeto definido na notificação: {}", projeto.getDesignacao());
-                    }
-
-                    pendingNotifications.put(key, notification);
+                    notification = newPendingNotification(type, title, tarefaDTO, projeto);
                 }
 
                 // Adicionar users adicionais se fornecidos
                 if (additionalUsers != null && !additionalUsers.isEmpty()) {
                     notification.addUsers(additionalUsers);
                 }
-            }
+                return notification;
+            });
 
             logger.debug("Added notification for task {} of type {}", tarefaId, type);
         } catch (Exception e) {
@@ -398,27 +362,16 @@ public class SlackNotificationManagerService implements ApplicationContextAware
             // Criar uma chave única para esta tarefa e tipo de notificação
             String key = generateNotificationKey(tarefaId, type);
 
-            // Sincronizar acesso ao mapa de notificações pendentes
-            synchronized (pendingNotifications) {
-                // Verificar se já existe uma notificação pendente para esta tarefa e tipo
-                SlackGroupedNotificationDTO notification = pendingNotifications.get(key);
-
+            // Juntar à notificação pendente para esta tarefa e tipo (ou criá-la), atomicamente
+            pendingNotifications.compute(key, (k, notification) -> {
                 if (notification == null) {
-                    // Criar uma notificação
-                    notification = new SlackGroupedNotificationDTO(type, title, tarefaDTO);
-
-                    // Adicionar o projeto se disponível
-                    if (projeto != null) {
-                        notification.setProjeto(projeto);
-                        logger.debug("Projeto definido na notificação: {}", projeto.getDesignacao());
-                    }
-
-                    pendingNotifications.put(key, notification);
+                    notification = newPendingNotification(type, title, tarefaDTO, projeto);
                 }
 
                 // Adicionar o conteúdo adicional
                 notification.setAdditionalContent(additionalContent);
-            }
+                return notification;
+            });
 
             logger.debug("Added content to notification for task {} of type {}", tarefaId, type);
         } catch (Exception e) {
@@ -426,25 +379,40 @@ public class SlackNotificationManagerService implements ApplicationContextAware
         }
     }
 
+    private SlackGroupedNotificationDTO newPendingNotification(String type, String title, TarefaWithUsersDTO tarefaDTO,
+                                                               ProjetoDTO projeto) {
+        SlackGroupedNotificationDTO notification = new SlackGroupedNotificationDTO(type, title, tarefaDTO);
+
+        // Adicionar o projeto se disponível
+        if (projeto != null) {
+            notification.setProjeto(projeto);
+            logger.debug("Projeto definido na notificação: {}", projeto.getDesignacao());
+        }
+        return notification;
+    }
+
     /**
-     * Processa as notificações pendentes e envia para o Slack.
+     * Processa as notificações pendentes e envia para o Slack. Corre a cada
+     * 3 segundos no scheduler do Spring.
      */
-    private void processPendingNotifications() {
-        // Capturar as notificações pendentes para processamento
-        Map<String, SlackGroupedNotificationDTO> notificationsToProcess;
+    @Scheduled(fixedDelay = 3000, initialDelay = 3000)
+    void processPendingNotifications() {
+        if (pendingNotifications.isEmpty()) {
+            return;
+        }
 
-        synchronized (pendingNotifications) {
-            if (pendingNotifications.isEmpty()) {
-                return;
+        // Retirar as notificações pendentes uma a uma: remove() é atómico, por isso uma notificação
+        // que chegue entretanto ou fica para a próxima execução ou é enviada agora - nunca se perde.
+        List<SlackGroupedNotificationDTO> notificationsToProcess = new ArrayList<>();
+        for (String key : pendingNotifications.keySet()) {
+            SlackGroupedNotificationDTO notification = pendingNotifications.remove(key);
+            if (notification != null) {
+                notificationsToProcess.add(notification);
             }
-
-            // Criar uma cópia do mapa atual usando o construtor parametrizado
-            notificationsToProcess = new HashMap<>(pendingNotifications);
-            pendingNotifications.clear();
         }
 
         // Processar cada notificação
-        for (SlackGroupedNotificationDTO notification : notificationsToProcess.values()) {
+        for (SlackGroupedNotificationDTO notification : notificationsToProcess) {
             try {
                 // Pular notificações vazias
                 if (notification.getUsers() == null || notification.getUsers().isEmpty()) {
@@ -489,9 +457,7 @@ public class SlackNotificationManagerService implements ApplicationContextAware
      * Para fins de teste ou debug, retorna o número de notificações pendentes.
      */
     public int getPendingNotificationsCount() {
-        synchronized (pendingNotifications) {
-            return pendingNotifications.size();
-        }
+        return pendingNotifications.size();
     }
 
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
@@ -15,13 +16,12 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -29,15 +29,19 @@ import java.util.stream.Collectors;
 public class SlackService {
 
     private static final Logger logger = LoggerFactory.getLogger(SlackService.class);
+    // Sends block the calling thread (a request thread for the immediate notifications), so a slow or
+    // unreachable webhook must not hold it indefinitely.
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
 
     // Mapa para rastrear notificações recentes e evitar duplicatas
     private final ConcurrentHashMap<String, Long> recentNotifications = new ConcurrentHashMap<>();
 
-    // Scheduler para limpar notificações antigas periodicamente
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-
     @Value("${slack.webhook-url:}")
     private String webhookUrl;
 
@@ -88,15 +92,14 @@ public class SlackService {
         if (webhookUrl != null && (webhookUrl.startsWith(" ") || webhookUrl.endsWith(" "))) {
             webhookUrl = webhookUrl.trim();
         }
-
-        // Configurar limpeza periódica de notificações antigas a cada 5 minutos
-        scheduler.scheduleAtFixedRate(this::cleanupOldNotifications, 5, 5, TimeUnit.MINUTES);
     }
 
     /**
-     * Limpa notificações antigas do registo para evitar crescimento ilimitado do mapa
+     * Limpa notificações antigas do registo para evitar crescimento ilimitado do mapa.
+     * Corre a cada 5 minutos no scheduler do Spring.
      */
-    private void cleanupOldNotifications() {
+    @Scheduled(fixedRate = 5, initialDelay = 5, timeUnit = TimeUnit.MINUTES)
+    void cleanupOldNotifications() {
         try {
             long currentTime = System.currentTimeMillis();
             int beforeSize = recentNotifications.size();
@@ -251,6 +254,7 @@ public class SlackService {
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(webhookUrl))
                 .header("Content-Type", "application/json")
+                .timeout(REQUEST_TIMEOUT)
                 .POST(HttpRequest.BodyPublishers.ofString(jsonPayload))
                 .build();
 
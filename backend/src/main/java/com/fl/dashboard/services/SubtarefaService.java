@@ -8,6 +8,7 @@ import com.fl.dashboard.entities.Tarefa;
 import com.fl.dashboard.entities.User;
 import com.fl.dashboard.enums.NotificationType;
 import com.fl.dashboard.enums.TarefaStatus;
+import com.fl.dashboard.projections.SubtarefaProgressRow;
 import com.fl.dashboard.repositories.SubtarefaRepository;
 import com.fl.dashboard.repositories.TarefaRepository;
 import com.fl.dashboard.repositories.UserRepository;
@@ -22,12 +23,14 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class SubtarefaService {
@@ -36,13 +39,16 @@ public class SubtarefaService {
     private final TarefaRepository tarefaRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final CurrentUser currentUser;
 
     public SubtarefaService(SubtarefaRepository subtarefaRepository, TarefaRepository tarefaRepository,
-                             UserRepository userRepository, NotificationService notificationService) {
+                             UserRepository userRepository, NotificationService notificationService,
+                             CurrentUser currentUser) {
         this.subtarefaRepository = subtarefaRepository;
         this.tarefaRepository = tarefaRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.currentUser = currentUser;
     }
 
     @Transactional(readOnly = true)
@@ -180,10 +186,10 @@ public class SubtarefaService {
 
     @Transactional(readOnly = true)
     public boolean isOwnerOfSubtarefa(Long tarefaId, Long subtarefaId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail);
-        if (user == null) return false;
+        Long userId = currentUser.idOf(userEmail);
+        if (userId == null) return false;
         return subtarefaRepository.findByIdAndTarefaId(subtarefaId, tarefaId)
-                .map(s -> s.getUser().getId().equals(user.getId()))
+                .map(s -> s.getUser().getId().equals(userId))
                 .orElse(false);
     }
 
@@ -220,4 +226,37 @@ public class SubtarefaService {
         }
     }
 
+    /**
+     * The concluded percentual of each of the given tarefas that has been
+     * divided into subtarefas, in one grouped query; tarefas that were not
+     * divided are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> findProgressByTarefaIds(Collection<Long> tarefaIds) {
+        if (tarefaIds.isEmpty()) {
+            return Map.of();
+        }
+        return subtarefaRepository.findProgressByTarefaIds(tarefaIds).stream()
+                .collect(Collectors.toMap(SubtarefaProgressRow::tarefaId, SubtarefaProgressRow::percentualConcluido));
+    }
+
+    // assertCanTransitionStatus for a whole set of tarefas, naming every one that is not there yet
+    @Transactional(readOnly = true)
+    public void assertCanTransitionStatus(Collection<Long> tarefaIds, TarefaStatus newStatus) {
+        if (newStatus != TarefaStatus.IN_REVIEW && newStatus != TarefaStatus.DONE) {
+            return;
+        }
+        BigDecimal cem = new BigDecimal("100.00");
+        String incompletas = findProgressByTarefaIds(tarefaIds).entrySet().stream()
+                .filter(e -> e.getValue().compareTo(cem) < 0)
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> "#" + e.getKey() + " (" + e.getValue() + "%)")
+                .collect(Collectors.joining(", "));
+        if (!incompletas.isEmpty()) {
+            throw new SubtarefasIncompletasException(
+                    "Não é possível alterar o estado das tarefas: as subtarefas ainda não estão 100% concluídas em "
+                            + incompletas + ".");
+        }
+    }
+
 }
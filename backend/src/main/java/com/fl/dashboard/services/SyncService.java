@@ -0,0 +1,172 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.dto.ProjetoWithUsersDTO;
+import com.fl.dashboard.dto.SyncDTO;
+import com.fl.dashboard.dto.TarefaDTO;
+import com.fl.dashboard.enums.SyncEntityType;
+import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.SyncTombstoneRepository;
+import com.fl.dashboard.repositories.TarefaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * GET /sync: the tarefas, projetos, colunas and notifications a user sees
+ * that were created, changed or deleted since their last sync, so a client
+ * nudged over the WebSocket refreshes by the size of the change rather than
+ * of the lists.
+ * <p>
+ * Changes are found through updated_at (set by each entity on every write),
+ * deletions through the soft-delete deleted_at and, for what leaves no row
+ * behind, SyncTombstone. The token is the server time of the sync; each
+ * call reads from a little before it (OVERLAP), so a transaction that
+ * stamped its rows before the previous sync but committed after it isn't
+ * missed. Rows in that window come twice, which merging by id absorbs.
+ */
+@Service
+public class SyncService {
+
+    // Tombstones are kept this long (NotificationCleanupService); older tokens get a reset
+    public static final Duration TOKEN_MAX_AGE = Duration.ofDays(7);
+
+    static final Duration OVERLAP = Duration.ofSeconds(10);
+
+    private final TarefaService tarefaService;
+    private final ProjetoService projetoService;
+    private final ColunaService colunaService;
+    private final NotificationService notificationService;
+    private final TarefaRepository tarefaRepository;
+    private final ProjetoRepository projetoRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final int maxChanges;
+    private final Clock clock;
+
+    @Autowired
+    public SyncService(TarefaService tarefaService, ProjetoService projetoService, ColunaService colunaService,
+                       NotificationService notificationService, TarefaRepository tarefaRepository,
+                       ProjetoRepository projetoRepository, SyncTombstoneRepository syncTombstoneRepository,
+                       @Value("${sync.max-changes:500}") int maxChanges) {
+        this(tarefaService, projetoService, colunaService, notificationService, tarefaRepository, projetoRepository,
+                syncTombstoneRepository, maxChanges, Clock.systemDefaultZone());
+    }
+
+    SyncService(TarefaService tarefaService, ProjetoService projetoService, ColunaService colunaService,
+                NotificationService notificationService, TarefaRepository tarefaRepository,
+                ProjetoRepository projetoRepository, SyncTombstoneRepository syncTombstoneRepository,
+                int maxChanges, Clock clock) {
+        this.tarefaService = tarefaService;
+        this.projetoService = projetoService;
+        this.colunaService = colunaService;
+        this.notificationService = notificationService;
+        this.tarefaRepository = tarefaRepository;
+        this.projetoRepository = projetoRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.maxChanges = maxChanges;
+        this.clock = clock;
+    }
+
+    /**
+     * The changes since the given token for this user, scoped like the list
+     * endpoints: every tarefa/projeto with VIEW_ALL_TASKS/VIEW_ALL_PROJECTS,
+     * otherwise those they're assigned to / a member of. Any list longer
+     * than sync.max-changes turns the whole answer into a reset.
+     */
+    @Transactional(readOnly = true)
+    public SyncDTO findChangesSince(String token, Long userId, boolean viewAllTarefas, boolean viewAllProjetos) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        String nextToken = encodeToken(now);
+        LocalDateTime since = decodeToken(token);
+        if (since == null || since.isAfter(now) || since.isBefore(now.minus(TOKEN_MAX_AGE))) {
+            return SyncDTO.reset(nextToken);
+        }
+
+        LocalDateTime from = since.minus(OVERLAP);
+        Long tarefaScope = viewAllTarefas ? null : userId;
+        Long projetoScope = viewAllProjetos ? null : userId;
+        int limit = maxChanges + 1;
+        Pageable firstPage = PageRequest.of(0, limit);
+
+        SyncDTO changes = new SyncDTO();
+        changes.setToken(nextToken);
+
+        changes.setTarefas(tarefaService.findChangedSince(from, tarefaScope, limit));
+        changes.setProjetos(projetoService.findChangedSince(from, projetoScope, limit));
+        changes.setColunas(colunaService.findChangedSince(from, projetoScope, limit));
+        changes.setNotifications(notificationService.findChangedSince(userId, from, limit));
+        if (tooMany(changes.getTarefas()) || tooMany(changes.getProjetos())
+                || tooMany(changes.getColunas()) || tooMany(changes.getNotifications())) {
+            return SyncDTO.reset(nextToken);
+        }
+
+        changes.setDeletedTarefas(deletedIds(
+                tarefaRepository.findDeletedIdsChangedSince(from, tarefaScope, firstPage),
+                viewAllTarefas ? List.of() : tombstones(userId, SyncEntityType.TAREFA, from, firstPage),
+                ids(changes.getTarefas(), TarefaDTO::getId)));
+        changes.setDeletedProjetos(deletedIds(
+                projetoRepository.findDeletedIdsChangedSince(from, projetoScope, firstPage),
+                viewAllProjetos ? List.of() : tombstones(userId, SyncEntityType.PROJETO, from, firstPage),
+                ids(changes.getProjetos(), ProjetoWithUsersDTO::getId)));
+        changes.setDeletedNotifications(deletedIds(
+                List.of(),
+                tombstones(userId, SyncEntityType.NOTIFICATION, from, firstPage),
+                Set.of()));
+        if (tooMany(changes.getDeletedTarefas()) || tooMany(changes.getDeletedProjetos())
+                || tooMany(changes.getDeletedNotifications())) {
+            return SyncDTO.reset(nextToken);
+        }
+        return changes;
+    }
+
+    private List<Long> tombstones(Long userId, SyncEntityType type, LocalDateTime from, Pageable pageable) {
+        return syncTombstoneRepository.findEntityIdsSince(userId, type, from, pageable);
+    }
+
+    // Soft-deleted rows plus tombstones, minus anything that is (again) in the changed list - a
+    // user removed from a tarefa and added back since the last sync still sees it.
+    private static List<Long> deletedIds(List<Long> softDeleted, List<Long> tombstones, Set<Long> changed) {
+        Set<Long> ids = new LinkedHashSet<>(softDeleted);
+        ids.addAll(tombstones);
+        ids.removeAll(changed);
+        return List.copyOf(ids);
+    }
+
+    private static <T> Set<Long> ids(Collection<T> dtos, Function<T, Long> id) {
+        return dtos.stream().map(id).collect(Collectors.toSet());
+    }
+
+    private boolean tooMany(Collection<?> list) {
+        return list.size() > maxChanges;
+    }
+
+    // Opaque to clients: the server's clock at the sync, in epoch milliseconds
+    String encodeToken(LocalDateTime time) {
+        return Long.toString(time.atZone(clock.getZone()).toInstant().toEpochMilli());
+    }
+
+    LocalDateTime decodeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(token)), clock.getZone());
+        } catch (NumberFormatException | DateTimeException e) {
+            return null;
+        }
+    }
+}
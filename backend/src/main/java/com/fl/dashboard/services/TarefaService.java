@@ -1,55 +1,81 @@
 package com.fl.dashboard.services;
 
+import com.fl.dashboard.config.MetricsConfig;
 import com.fl.dashboard.dto.*;
 import com.fl.dashboard.entities.Externo;
 import com.fl.dashboard.entities.Projeto;
+import com.fl.dashboard.entities.SyncTombstone;
 import com.fl.dashboard.entities.Tarefa;
 import com.fl.dashboard.entities.User;
 import com.fl.dashboard.enums.FrequenciaRecorrencia;
 import com.fl.dashboard.enums.NotificationType;
+import com.fl.dashboard.enums.SyncEntityType;
+import com.fl.dashboard.enums.TarefaBulkOperacao;
 import com.fl.dashboard.enums.TarefaStatus;
+import com.fl.dashboard.projections.TarefaExportRow;
 import com.fl.dashboard.repositories.ExternoRepository;
+import com.fl.dashboard.repositories.FetchPlanRepository;
 import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.SyncTombstoneRepository;
 import com.fl.dashboard.repositories.TarefaRepository;
 import com.fl.dashboard.repositories.UserRepository;
 import com.fl.dashboard.services.exceptions.DeadlineValidationException;
+import com.fl.dashboard.services.exceptions.InvalidBulkOperationException;
 import com.fl.dashboard.services.exceptions.OptimisticLockConflictException;
 import com.fl.dashboard.services.exceptions.RecorrenciaInvalidaException;
 import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
 import com.fl.dashboard.services.exceptions.SubtarefaDivisaoInvalidaException;
 import com.fl.dashboard.services.exceptions.TarefaArquivamentoInvalidoException;
+import com.fl.dashboard.utils.VersionTag;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class TarefaService {
 
     //private static final Logger logger = LoggerFactory.getLogger(SlackService.class);
 
+    // What a full TarefaWithUserAndProjetoDTO reads (externos comes in @BatchSize'd).
+    private static final Set<String> FULL_GRAPH = Set.of("users", "projeto");
+
     private final TarefaRepository tarefaRepository;
     private final ProjetoRepository projetoRepository;
     private final UserRepository userRepository;
     private final ExternoRepository externoRepository;
+    private final FetchPlanRepository fetchPlanRepository;
     private final NotificationService notificationService;
     private final SlackNotificationManagerService slackNotificationManagerService;
     private final SubtarefaService subtarefaService;
+    private final WorkingDaysCalendar workingDaysCalendar;
+    private final AccessDecisionService accessDecisionService;
+    private final CurrentUser currentUser;
+    private final SyncTombstoneRepository syncTombstoneRepository;
 
     public TarefaService(TarefaRepository tarefaRepository, ProjetoRepository projetoRepository,
                          UserRepository userRepository, ExternoRepository externoRepository,
                          NotificationService notificationService, SlackNotificationManagerService slackNotificationManagerService,
-                         SubtarefaService subtarefaService) {
+                         SubtarefaService subtarefaService, WorkingDaysCalendar workingDaysCalendar,
+                         FetchPlanRepository fetchPlanRepository, AccessDecisionService accessDecisionService,
+                         CurrentUser currentUser, SyncTombstoneRepository syncTombstoneRepository) {
         this.tarefaRepository = tarefaRepository;
         this.projetoRepository = projetoRepository;
         this.userRepository = userRepository;
@@ -57,43 +83,11 @@ public class TarefaService {
         this.notificationService = notificationService;
         this.slackNotificationManagerService = slackNotificationManagerService;
         this.subtarefaService = subtarefaService;
-    }
-
-    // Method to calculate working days
-    private Integer calculateWorkingDays(Date startDate, Date endDate) {
-        if (startDate == null || endDate == null) {
-            return null;
-        }
-
-        Calendar start = Calendar.getInstance();
-        start.setTime(startDate);
-
-        Calendar end = Calendar.getInstance();
-        end.setTime(endDate);
-
-        int workingDays = 0;
-
-        // Set both calendars to midnight to ensure we're only comparing dates
-        start.set(Calendar.HOUR_OF_DAY, 0);
-        start.set(Calendar.MINUTE, 0);
-        start.set(Calendar.SECOND, 0);
-        start.set(Calendar.MILLISECOND, 0);
-
-        end.set(Calendar.HOUR_OF_DAY, 0);
-        end.set(Calendar.MINUTE, 0);
-        end.set(Calendar.SECOND, 0);
-        end.set(Calendar.MILLISECOND, 0);
-
-        // Count working days
-        while (!start.after(end)) {
-            int dayOfWeek = start.get(Calendar.DAY_OF_WEEK);
-            if (dayOfWeek != Calendar.SATURDAY && dayOfWeek != Calendar.SUNDAY) {
-                workingDays++;
-            }
-            start.add(Calendar.DATE, 1);
-        }
-
-        return workingDays;
+        this.workingDaysCalendar = workingDaysCalendar;
+        this.fetchPlanRepository = fetchPlanRepository;
+        this.accessDecisionService = accessDecisionService;
+        this.currentUser = currentUser;
+        this.syncTombstoneRepository = syncTombstoneRepository;
     }
 
     // Advances a Date by one period of the given recurrence frequency, via LocalDate arithmetic
@@ -140,16 +134,53 @@ public class TarefaService {
         }
     }
 
+    // A user taken off a tarefa stops seeing it in GET /tarefas although the row itself may not
+    // change for anyone else; GET /sync tells their client through this tombstone.
+    private void recordRemoval(Tarefa tarefa, User user) {
+        syncTombstoneRepository.save(new SyncTombstone(SyncEntityType.TAREFA, tarefa.getId(), user.getId(),
+                LocalDateTime.now()));
+    }
+
+    /**
+     * For GET /sync: the tarefas changed since the given time that GET
+     * /tarefas lists for the user (every one when userId is null), at most
+     * limit of them.
+     */
     @Transactional(readOnly = true)
-    public List<TarefaDTO> findAll() {
-        List<Tarefa> list = tarefaRepository.findAllActive();
-        return list.stream().map(TarefaDTO::new).toList();
+    public List<TarefaDTO> findChangedSince(LocalDateTime since, Long userId, int limit) {
+        return tarefaRepository.findActiveListRowsChangedSince(since, userId, PageRequest.of(0, limit)).stream()
+                .map(TarefaDTO::new)
+                .toList();
     }
 
+    // One keyset chunk of GET /tarefas (see JsonArrayStreamer); each call is its own short
+    // read-only transaction, so the persistence context never holds more than one chunk.
     @Transactional(readOnly = true)
-    public List<TarefaWithUserAndProjetoDTO> findAllWithUsersAndProjeto() {
-        List<Tarefa> list = tarefaRepository.findAllActive();
-        return list.stream().map(TarefaWithUserAndProjetoDTO::new).toList();
+    public List<TarefaDTO> findAllChunk(long afterId, int limit) {
+        return tarefaRepository.findActiveListRowsAfter(afterId, PageRequest.of(0, limit)).stream()
+                .map(TarefaDTO::new)
+                .toList();
+    }
+
+    // One keyset chunk of /tarefas/full. externos is left out of the fetch graph on purpose:
+    // joining a second collection multiplies the rows, and Tarefa.externos is already @BatchSize'd.
+    @Transactional(readOnly = true)
+    public List<TarefaWithUserAndProjetoDTO> findAllWithUsersAndProjetoChunk(long afterId, int limit,
+                                                                           FieldSelection selection) {
+        List<Long> ids = tarefaRepository.findActiveIdsAfter(afterId, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (selection.isAll()) {
+            return fetchPlanRepository.findTarefasByIds(ids, FULL_GRAPH).stream()
+                    .map(TarefaWithUserAndProjetoDTO::new)
+                    .toList();
+        }
+        Set<String> graph = new HashSet<>(selection.getExpansions());
+        graph.remove("externos");
+        return fetchPlanRepository.findTarefasByIds(ids, graph).stream()
+                .map(tarefa -> new TarefaWithUserAndProjetoDTO(tarefa, selection))
+                .toList();
     }
 
     /*
@@ -194,7 +225,7 @@ public class TarefaService {
 
         // Calculate working days if both dates are available
         if (entity.getPrazoEstimado() != null && entity.getPrazoReal() != null) {
-            entity.setWorkingDays(calculateWorkingDays(entity.getPrazoEstimado(), entity.getPrazoReal()));
+            entity.setWorkingDays(workingDaysCalendar.calculateWorkingDays(entity.getPrazoEstimado(), entity.getPrazoReal()));
         }
 
         // Validate deadline against project if applicable
@@ -213,7 +244,7 @@ public class TarefaService {
 
             // Calculate working days if both dates are available
             if (entity.getPrazoEstimado() != null && entity.getPrazoReal() != null) {
-                entity.setWorkingDays(calculateWorkingDays(entity.getPrazoEstimado(), entity.getPrazoReal()));
+                entity.setWorkingDays(workingDaysCalendar.calculateWorkingDays(entity.getPrazoEstimado(), entity.getPrazoReal()));
             }
 
             // Validate deadline against project
@@ -271,6 +302,7 @@ public class TarefaService {
 
         previousUsers.forEach(user -> {
             if (!userIds.contains(user.getId())) {
+                recordRemoval(tarefa, user);
                 NotificationInsertDTO notification = NotificationInsertDTO.builder()
                         .type("TAREFA_REMOVIDA")
                         .content("Foi removido/a da tarefa: " + tarefa.getDescricao())
@@ -285,6 +317,7 @@ public class TarefaService {
         });
 
         tarefaRepository.save(tarefa);
+        accessDecisionService.evictTarefa(tarefaId);
     }
 
     @Transactional
@@ -303,6 +336,147 @@ public class TarefaService {
         tarefaRepository.save(tarefa);
     }
 
+    /**
+     * POST /tarefas/bulk: one operation over a set of tarefas, all or nothing
+     * in a single transaction. The tarefas are read in one query and checked
+     * as a set (versions, subtarefa progress, archive state) before anything
+     * changes; the UPDATEs are then flushed together in JDBC batches, each
+     * still guarded by its version. Each affected user gets one notification
+     * (and Slack message) covering all of their tarefas.
+     */
+    @Transactional
+    public List<TarefaDTO> applyBulkOperation(TarefaBulkOperationDTO dto) {
+        Map<Long, Long> versions = new LinkedHashMap<>();
+        dto.getTarefas().forEach(item -> versions.put(item.getId(), item.getVersion()));
+
+        List<Tarefa> tarefas = new ArrayList<>(tarefaRepository.findAllActiveByIdInForBulk(versions.keySet()));
+        if (tarefas.size() != versions.size()) {
+            Set<Long> found = tarefas.stream().map(Tarefa::getId).collect(Collectors.toSet());
+            throw new ResourceNotFoundException("Tarefas não encontradas: " + versions.keySet().stream()
+                    .filter(id -> !found.contains(id))
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(", ")));
+        }
+        tarefas.sort(Comparator.comparingLong(Tarefa::getId));
+
+        String stale = tarefas.stream()
+                .filter(t -> versions.get(t.getId()) != null && !versions.get(t.getId()).equals(t.getVersion()))
+                .map(t -> "#" + t.getId())
+                .collect(Collectors.joining(", "));
+        if (!stale.isEmpty()) {
+            throw new OptimisticLockConflictException("As tarefas " + stale
+                    + " foram alteradas por outra pessoa entretanto. Recarregue-as antes de repetir a operação.");
+        }
+
+        switch (dto.getOperacao()) {
+            case STATUS -> bulkUpdateStatus(tarefas, dto.getStatus());
+            case REASSIGN -> bulkUpdateUsers(tarefas, dto.getUserIds());
+            case ARCHIVE -> bulkArquivar(tarefas);
+            case MOVE_PROJETO -> bulkUpdateProjeto(tarefas, dto.getProjetoId());
+        }
+
+        // Flushed here rather than at commit, so the DTOs carry the new versions
+        return tarefaRepository.saveAllAndFlush(tarefas).stream()
+                .map(TarefaDTO::new)
+                .toList();
+    }
+
+    private void bulkUpdateStatus(List<Tarefa> tarefas, TarefaStatus newStatus) {
+        if (newStatus == null) {
+            throw new InvalidBulkOperationException("Indique o novo estado das tarefas");
+        }
+        subtarefaService.assertCanTransitionStatus(tarefas.stream().map(Tarefa::getId).toList(), newStatus);
+
+        // Same audience as updateStatus: the assigned users plus the projeto's coordenador
+        Map<User, List<Tarefa>> notified = new LinkedHashMap<>();
+        for (Tarefa tarefa : tarefas) {
+            if (tarefa.getStatus() == newStatus) {
+                continue;
+            }
+            tarefa.setStatus(newStatus);
+            Set<User> audience = new LinkedHashSet<>(tarefa.getUsers());
+            if (tarefa.getProjeto() != null && tarefa.getProjeto().getCoordenador() != null) {
+                audience.add(tarefa.getProjeto().getCoordenador());
+            }
+            audience.forEach(user -> notified.computeIfAbsent(user, u -> new ArrayList<>()).add(tarefa));
+        }
+
+        notificationService.createTarefaBulkNotifications(notified, NotificationType.TAREFA_STATUS_ALTERADO,
+                "Estado alterado para " + newStatus);
+    }
+
+    private void bulkUpdateUsers(List<Tarefa> tarefas, Set<Long> userIds) {
+        if (userIds == null) {
+            throw new InvalidBulkOperationException("Indique os colaboradores das tarefas");
+        }
+        String divididas = subtarefaService.findProgressByTarefaIds(tarefas.stream().map(Tarefa::getId).toList())
+                .keySet().stream()
+                .sorted()
+                .map(id -> "#" + id)
+                .collect(Collectors.joining(", "));
+        if (!divididas.isEmpty()) {
+            throw new SubtarefaDivisaoInvalidaException("Não é possível alterar os colaboradores: as tarefas "
+                    + divididas + " já foram divididas em subtarefas.");
+        }
+        List<User> users = userRepository.findAllById(userIds);
+        if (users.size() != userIds.size()) {
+            throw new ResourceNotFoundException("Utilizador não foi encontrado");
+        }
+
+        Map<User, List<Tarefa>> added = new LinkedHashMap<>();
+        Map<User, List<Tarefa>> removed = new LinkedHashMap<>();
+        List<SyncTombstone> tombstones = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Tarefa tarefa : tarefas) {
+            Set<User> previousUsers = new HashSet<>(tarefa.getUsers());
+            tarefa.getUsers().clear();
+            tarefa.getUsers().addAll(users);
+
+            users.stream()
+                    .filter(user -> !previousUsers.contains(user))
+                    .forEach(user -> added.computeIfAbsent(user, u -> new ArrayList<>()).add(tarefa));
+            previousUsers.stream()
+                    .filter(user -> !userIds.contains(user.getId()))
+                    .forEach(user -> {
+                        tombstones.add(new SyncTombstone(SyncEntityType.TAREFA, tarefa.getId(), user.getId(), now));
+                        removed.computeIfAbsent(user, u -> new ArrayList<>()).add(tarefa);
+                    });
+            accessDecisionService.evictTarefa(tarefa.getId());
+        }
+        syncTombstoneRepository.saveAll(tombstones);
+
+        notificationService.createTarefaBulkNotifications(added, NotificationType.TAREFA_ATRIBUIDA,
+                "Foram-lhe atribuídas as tarefas");
+        notificationService.createTarefaBulkNotifications(removed, NotificationType.TAREFA_REMOVIDA,
+                "Foi removido/a das tarefas");
+    }
+
+    // Like arquivar, one tarefa that cannot be archived stops the whole operation
+    private void bulkArquivar(List<Tarefa> tarefas) {
+        String naoConcluidas = tarefas.stream()
+                .filter(t -> t.getStatus() != TarefaStatus.DONE)
+                .map(t -> "#" + t.getId())
+                .collect(Collectors.joining(", "));
+        if (!naoConcluidas.isEmpty()) {
+            throw new TarefaArquivamentoInvalidoException(
+                    "Só é possível arquivar tarefas com estado Concluído (" + naoConcluidas + ")");
+        }
+        String arquivadas = tarefas.stream()
+                .filter(Tarefa::isArquivada)
+                .map(t -> "#" + t.getId())
+                .collect(Collectors.joining(", "));
+        if (!arquivadas.isEmpty()) {
+            throw new TarefaArquivamentoInvalidoException("Estas tarefas já estão arquivadas: " + arquivadas);
+        }
+        tarefas.forEach(Tarefa::markAsArquivada);
+    }
+
+    private void bulkUpdateProjeto(List<Tarefa> tarefas, Long projetoId) {
+        Projeto projeto = projetoId == null ? null : projetoRepository.findById(projetoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Projeto não foi encontrado"));
+        tarefas.forEach(tarefa -> tarefa.setProjeto(projeto));
+    }
+
     @Transactional
     public TarefaWithUserAndProjetoDTO updateWithAssociations(TarefaUpdateDTO dto) {
         Tarefa tarefa = tarefaRepository.findByIdActive(dto.getId())
@@ -323,7 +497,7 @@ public class TarefaService {
 
         // Calculate working days if both dates are available
         if (tarefa.getPrazoEstimado() != null && tarefa.getPrazoReal() != null) {
-            tarefa.setWorkingDays(calculateWorkingDays(tarefa.getPrazoEstimado(), tarefa.getPrazoReal()));
+            tarefa.setWorkingDays(workingDaysCalendar.calculateWorkingDays(tarefa.getPrazoEstimado(), tarefa.getPrazoReal()));
         }
 
         applyRecorrencia(tarefa, dto.getRecorrente(), dto.getFrequenciaRecorrencia(), dto.getDataFimRecorrencia());
@@ -376,6 +550,7 @@ public class TarefaService {
         // Notify users who were removed
         previousUsers.forEach(user -> {
             if (dto.getUserIds() == null || !dto.getUserIds().contains(user.getId())) {
+                recordRemoval(tarefa, user);
                 NotificationInsertDTO notification = NotificationInsertDTO.builder()
                         .type("TAREFA_REMOVIDA")
                         .content("Foi removido/a da tarefa: " + tarefa.getDescricao())
@@ -406,6 +581,9 @@ public class TarefaService {
         });
 
         Tarefa savedTarefa = tarefaRepository.save(tarefa);
+        if (!previousUsers.equals(savedTarefa.getUsers())) {
+            accessDecisionService.evictTarefa(savedTarefa.getId());
+        }
         return new TarefaWithUserAndProjetoDTO(savedTarefa);
     }
 
@@ -427,7 +605,7 @@ public class TarefaService {
         }
         // Otherwise, calculate working days if both dates are available
         else if (tarefa.getPrazoEstimado() != null && tarefa.getPrazoReal() != null) {
-            tarefa.setWorkingDays(calculateWorkingDays(tarefa.getPrazoEstimado(), tarefa.getPrazoReal()));
+            tarefa.setWorkingDays(workingDaysCalendar.calculateWorkingDays(tarefa.getPrazoEstimado(), tarefa.getPrazoReal()));
         }
 
         applyRecorrencia(tarefa, dto.getRecorrente(), dto.getFrequenciaRecorrencia(), dto.getDataFimRecorrencia());
@@ -552,7 +730,7 @@ public class TarefaService {
         nova.setTarefaOrigemId(template.getId());
         nova.setRecorrente(false);
         if (novaPrazoReal != null) {
-            nova.setWorkingDays(calculateWorkingDays(novaPrazoEstimado, novaPrazoReal));
+            nova.setWorkingDays(workingDaysCalendar.calculateWorkingDays(novaPrazoEstimado, novaPrazoReal));
         }
 
         Tarefa savedNova = tarefaRepository.save(nova);
@@ -715,7 +893,7 @@ public class TarefaService {
 
         // Calculate working days if not provided and both dates are available
         if (entity.getWorkingDays() == null && entity.getPrazoEstimado() != null && entity.getPrazoReal() != null) {
-            entity.setWorkingDays(calculateWorkingDays(entity.getPrazoEstimado(), entity.getPrazoReal()));
+            entity.setWorkingDays(workingDaysCalendar.calculateWorkingDays(entity.getPrazoEstimado(), entity.getPrazoReal()));
         }
 
         // Check for changes and notify users
@@ -764,6 +942,7 @@ public class TarefaService {
 
             tarefa.markAsDeleted();
             tarefaRepository.save(tarefa);
+            accessDecisionService.evictTarefa(id);
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Id: " + id + " não foi encontrado");
         }
@@ -857,10 +1036,9 @@ public class TarefaService {
             return new PageImpl<>(dtos, pageRequest, idsPage.getTotalElements());
         } else {
             // Filter for non-privileged users
-            User user = userRepository.findByEmail(userEmail);
-            if (user == null || startDate == null || endDate == null) return Page.empty(pageRequest);
-            List<Tarefa> tarefas = user.getTarefas().stream()
-                    .filter(tarefa -> !tarefa.isDeleted() && !tarefa.isArquivada())
+            Long userId = currentUser.idOf(userEmail);
+            if (userId == null || startDate == null || endDate == null) return Page.empty(pageRequest);
+            List<Tarefa> tarefas = tarefaRepository.findAllActiveByUserId(userId).stream()
                     .filter(tarefa -> {
                         Date date = "prazoEstimado".equals(dateField) ? tarefa.getPrazoEstimado() : tarefa.getPrazoReal();
                         return date != null && !date.before(startDate) && !date.after(endDate);
@@ -892,10 +1070,9 @@ public class TarefaService {
                     .toList();
             return new PageImpl<>(dtos, pageRequest, idsPage.getTotalElements());
         } else {
-            User user = userRepository.findByEmail(userEmail);
-            if (user == null) return Page.empty(pageRequest);
-            List<Tarefa> tarefas = user.getTarefas().stream()
-                    .filter(tarefa -> !tarefa.isDeleted() && !tarefa.isArquivada())
+            Long userId = currentUser.idOf(userEmail);
+            if (userId == null) return Page.empty(pageRequest);
+            List<Tarefa> tarefas = tarefaRepository.findAllActiveByUserId(userId).stream()
                     .sorted((a, b) -> {
                         if ("id".equals(sortField)) {
                             return sortDirection.equalsIgnoreCase("ASC") ?
@@ -932,7 +1109,7 @@ public class TarefaService {
                 .orElseThrow(() -> new ResourceNotFoundException("Tarefa não foi encontrada"));
 
         if (tarefa.getPrazoEstimado() != null && tarefa.getPrazoReal() != null) {
-            tarefa.setWorkingDays(calculateWorkingDays(tarefa.getPrazoEstimado(), tarefa.getPrazoReal()));
+            tarefa.setWorkingDays(workingDaysCalendar.calculateWorkingDays(tarefa.getPrazoEstimado(), tarefa.getPrazoReal()));
             tarefaRepository.save(tarefa);
         }
     }
@@ -1021,6 +1198,42 @@ public class TarefaService {
         return true;
     }
 
+    private static Date adjustEndDate(Date endDate) {
+        if (endDate == null) return null;
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(endDate);
+        calendar.add(Calendar.DATE, 1);
+        return calendar.getTime();
+    }
+
+    /**
+     * Rows of /tarefas/filter/export: the same criteria and permission scoping
+     * as {@link #findWithFilters}, as a forward-only cursor. Has to be consumed
+     * inside the caller's transaction (ExportService opens one).
+     */
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<TarefaExportRow> streamExportRows(TarefaFilterDTO filterDTO, String userEmail, boolean canViewAll) {
+        if (!canViewAll && userEmail == null) {
+            return Stream.empty();
+        }
+        return tarefaRepository.streamExportRows(
+                filterDTO.getDescricao(),
+                filterDTO.getStatus(),
+                filterDTO.getProjetoId(),
+                filterDTO.getPrioridade(),
+                filterDTO.getRecorrente(),
+                filterDTO.getDateField(),
+                filterDTO.getStartDate(),
+                adjustEndDate(filterDTO.getEndDate()),
+                canViewAll ? null : userEmail);
+    }
+
+    /**
+     * @param notModified called with the page's ETag (VersionTag) once its
+     *                    tarefa ids are known - WebRequest#checkNotModified.
+     *                    When it returns true the page isn't built and null
+     *                    is returned.
+     */
     @Transactional(readOnly = true)
     public Page<TarefaWithUserAndProjetoDTO> findWithFilters(
             TarefaFilterDTO filterDTO,
@@ -1029,15 +1242,10 @@ public class TarefaService {
             String sortField,
             String sortDirection,
             String userEmail,
-            boolean canViewAll) {
-
-        Date adjustedEndDate = null;
-        if (filterDTO.getEndDate() != null) {
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(filterDTO.getEndDate());
-            calendar.add(Calendar.DATE, 1);
-            adjustedEndDate = calendar.getTime();
-        }
+            boolean canViewAll,
+            Predicate<String> notModified) {
+
+        Date adjustedEndDate = adjustEndDate(filterDTO.getEndDate());
 
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortField);
         PageRequest pageRequest = PageRequest.of(page, size, sort);
@@ -1057,15 +1265,18 @@ public class TarefaService {
             if (idsPage.isEmpty()) {
                 return Page.empty(pageRequest);
             }
+            if (notModified.test(pageEtag(idsPage.getContent(), idsPage.getTotalElements(), pageRequest))) {
+                return null;
+            }
             List<TarefaWithUserAndProjetoDTO> dtos = fetchTarefasByIdsInOrder(idsPage.getContent()).stream()
                     .map(TarefaWithUserAndProjetoDTO::new)
                     .toList();
             return new PageImpl<>(dtos, pageRequest, idsPage.getTotalElements());
         } else {
-            User user = userRepository.findByEmail(userEmail);
-            if (user == null) return Page.empty(pageRequest);
+            Long userId = currentUser.idOf(userEmail);
+            if (userId == null) return Page.empty(pageRequest);
             final Date finalAdjustedEndDate = adjustedEndDate;
-            List<Tarefa> tarefas = user.getTarefas().stream()
+            List<Tarefa> tarefas = tarefaRepository.findAllActiveByUserId(userId).stream()
                     .filter(tarefa -> matchesFilter(tarefa, filterDTO, finalAdjustedEndDate))
                     .sorted((a, b) -> {
                         if ("id".equals(sortField)) {
@@ -1078,34 +1289,38 @@ public class TarefaService {
                     .toList();
             int start = Math.min(page * size, tarefas.size());
             int end = Math.min(start + size, tarefas.size());
-            List<TarefaWithUserAndProjetoDTO> dtos = tarefas.subList(start, end).stream()
+            List<Tarefa> pageTarefas = tarefas.subList(start, end);
+            if (!pageTarefas.isEmpty() && notModified.test(
+                    pageEtag(pageTarefas.stream().map(Tarefa::getId).toList(), tarefas.size(), pageRequest))) {
+                return null;
+            }
+            List<TarefaWithUserAndProjetoDTO> dtos = pageTarefas.stream()
                     .map(TarefaWithUserAndProjetoDTO::new)
                     .toList();
             return new PageImpl<>(dtos, pageRequest, tarefas.size());
         }
     }
 
-    @Transactional(readOnly = true)
+    // The ids in page order and the total cover what the filter selected; the version rows cover
+    // what each TarefaWithUserAndProjetoDTO shows.
+    private String pageEtag(List<Long> ids, long total, Pageable pageable) {
+        return VersionTag.of("tarefas", pageable, total, ids)
+                .addRows(tarefaRepository.findViewVersionsByIds(ids))
+                .build();
+    }
+
     public boolean shouldDenyTaskAccess(Long tarefaId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail);
-        if (user == null) return true;
-        Tarefa tarefa = tarefaRepository.findByIdActive(tarefaId).orElse(null);
-        if (tarefa == null || tarefa.isDeleted()) return true;
-        return tarefa.getUsers().stream().noneMatch(u -> u.getId().equals(user.getId()));
+        return !accessDecisionService.canAccessTarefa(tarefaId, userEmail);
     }
 
+    // GET /tarefas without VIEW_ALL_TASKS, streamed in keyset chunks like findAllChunk.
     @Transactional(readOnly = true)
-    public List<TarefaDTO> findAllAssignedToUser(String userEmail) {
-        User user = userRepository.findByEmail(userEmail);
-        if (user == null) return Collections.emptyList();
-        List<TarefaDTO> list = new ArrayList<>();
-        for (Tarefa tarefa : user.getTarefas()) {
-            if (!tarefa.isDeleted()) {
-                TarefaDTO tarefaDTO = new TarefaDTO(tarefa);
-                list.add(tarefaDTO);
-            }
-        }
-        return list;
+    public List<TarefaDTO> findAssignedToUserChunk(String userEmail, long afterId, int limit) {
+        if (userEmail == null) return Collections.emptyList();
+        return tarefaRepository.findActiveListRowsByUserEmailAfter(userEmail, afterId, PageRequest.of(0, limit))
+                .stream()
+                .map(TarefaDTO::new)
+                .toList();
     }
 
     private void validateTarefaDeadline(Tarefa tarefa) {
@@ -4,13 +4,18 @@ import com.fl.dashboard.dto.UserExtraHoursDTO;
 import com.fl.dashboard.dto.UserExtraHoursSummaryDTO;
 import com.fl.dashboard.entities.User;
 import com.fl.dashboard.entities.UserExtraHours;
+import com.fl.dashboard.projections.ExtraHoursPeriodRow;
+import com.fl.dashboard.projections.ExtraHoursUserTotalRow;
 import com.fl.dashboard.repositories.UserExtraHoursRepository;
 import com.fl.dashboard.repositories.UserRepository;
+import com.fl.dashboard.services.exceptions.InvalidPeriodException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.temporal.WeekFields;
-import java.util.*;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 @Service
 public class UserExtraHoursService {
@@ -65,52 +70,45 @@ public class UserExtraHoursService {
         extraHoursRepository.deleteById(id);
     }
 
+    // Summed in SQL over the calendar year, ordered by period.
     @Transactional(readOnly = true)
     public List<UserExtraHoursSummaryDTO> getMonthlySummary(Long userId, int year) {
-        List<UserExtraHours> entries = extraHoursRepository.findByUserId(userId);
-        Map<String, Double> monthTotals = new HashMap<>();
-
-        for (UserExtraHours entry : entries) {
-            if (entry.getDate().getYear() == year) {
-                String month = entry.getDate().getYear() + "-" + String.format("%02d", entry.getDate().getMonthValue());
-                monthTotals.put(month, monthTotals.getOrDefault(month, 0.0) + entry.getHours());
-            }
-        }
-
-        List<UserExtraHoursSummaryDTO> result = new ArrayList<>();
-        for (Map.Entry<String, Double> e : monthTotals.entrySet()) {
-            UserExtraHoursSummaryDTO dto = new UserExtraHoursSummaryDTO();
-            dto.setUserId(userId);
-            dto.setPeriod(e.getKey());
-            dto.setTotalHours(e.getValue());
-            result.add(dto);
-        }
-        return result;
+        LocalDate start = LocalDate.of(year, 1, 1);
+        return extraHoursRepository.sumByMonth(userId, start, start.with(TemporalAdjusters.lastDayOfYear())).stream()
+                .map(row -> toSummaryDTO(userId, year + "-" + String.format("%02d", row.period()), row))
+                .toList();
     }
 
+    // ISO week numbers of the calendar year, so the last days of December can fall in week 01.
     @Transactional(readOnly = true)
     public List<UserExtraHoursSummaryDTO> getWeeklySummary(Long userId, int year) {
-        List<UserExtraHours> entries = extraHoursRepository.findByUserId(userId);
-        Map<String, Double> weekTotals = new HashMap<>();
-        WeekFields weekFields = WeekFields.ISO;
-
-        for (UserExtraHours entry : entries) {
-            if (entry.getDate().getYear() == year) {
-                int week = entry.getDate().get(weekFields.weekOfWeekBasedYear());
-                String period = entry.getDate().getYear() + "-Semana" + String.format("%02d", week);
-                weekTotals.put(period, weekTotals.getOrDefault(period, 0.0) + entry.getHours());
-            }
-        }
+        LocalDate start = LocalDate.of(year, 1, 1);
+        return extraHoursRepository.sumByIsoWeek(userId, start, start.with(TemporalAdjusters.lastDayOfYear())).stream()
+                .map(row -> toSummaryDTO(userId, year + "-Semana" + String.format("%02d", row.period()), row))
+                .toList();
+    }
 
-        List<UserExtraHoursSummaryDTO> result = new ArrayList<>();
-        for (Map.Entry<String, Double> e : weekTotals.entrySet()) {
-            UserExtraHoursSummaryDTO dto = new UserExtraHoursSummaryDTO();
-            dto.setUserId(userId);
-            dto.setPeriod(e.getKey());
-            dto.setTotalHours(e.getValue());
-            result.add(dto);
+    /**
+     * Totals of every user with entries in [start, end], in one query - the
+     * payroll view of a month or any other period.
+     */
+    @Transactional(readOnly = true)
+    public List<ExtraHoursUserTotalRow> getTeamSummary(LocalDate start, LocalDate end) {
+        if (start == null || end == null) {
+            throw new InvalidPeriodException("Indique a data de início e de fim do período");
+        }
+        if (start.isAfter(end)) {
+            throw new InvalidPeriodException("A data de início não pode ser posterior à data de fim");
         }
-        return result;
+        return extraHoursRepository.sumByUser(start, end);
+    }
+
+    private static UserExtraHoursSummaryDTO toSummaryDTO(Long userId, String period, ExtraHoursPeriodRow row) {
+        UserExtraHoursSummaryDTO dto = new UserExtraHoursSummaryDTO();
+        dto.setUserId(userId);
+        dto.setPeriod(period);
+        dto.setTotalHours(row.totalHours());
+        return dto;
     }
 
     private UserExtraHoursDTO toDTO(UserExtraHours entity) {
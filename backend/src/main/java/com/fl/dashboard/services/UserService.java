@@ -1,6 +1,8 @@
 package com.fl.dashboard.services;
 
 import com.fl.dashboard.config.PermissionMapper;
+import com.fl.dashboard.customgrant.AuthenticatedUser;
+import com.fl.dashboard.dto.FieldSelection;
 import com.fl.dashboard.dto.TarefaDTO;
 import com.fl.dashboard.dto.UserDTO;
 import com.fl.dashboard.dto.UserWithProjetosDTO;
@@ -11,6 +13,7 @@ import com.fl.dashboard.entities.Tarefa;
 import com.fl.dashboard.entities.User;
 import com.fl.dashboard.enums.RoleType;
 import com.fl.dashboard.projections.UserDetailsProjection;
+import com.fl.dashboard.repositories.FetchPlanRepository;
 import com.fl.dashboard.repositories.NotificationRepository;
 import com.fl.dashboard.repositories.ProjetoRepository;
 import com.fl.dashboard.repositories.RoleRepository;
@@ -23,33 +26,24 @@ import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.IIOImage;
-import javax.imageio.ImageIO;
-import javax.imageio.ImageWriteParam;
-import javax.imageio.ImageWriter;
-import javax.imageio.stream.ImageOutputStream;
-import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.RenderingHints;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -57,16 +51,10 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
-public class UserService implements UserDetailsService {
-
-    private static final List<String> ALLOWED_CONTENT_TYPES = List.of("image/jpeg", "image/png");
-    private static final long MAX_FILE_SIZE = 2097152; // 2MB
-    // Profile photos are only ever displayed as small thumbnails (e.g. 90x90 in the collaborators
-    // table); storing/serving them at upload resolution meant a single avatar fetch could transfer
-    // a couple of MB. 180px is ~2x the largest current display size (90px), enough headroom for
-    // retina/high-DPI screens without shipping far more pixels than will ever be shown.
-    private static final int MAX_PROFILE_IMAGE_DIMENSION = 180;
-    private static final float PROFILE_IMAGE_JPEG_QUALITY = 0.8f;
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
+
+    // Users per resetAllPasswords chunk: hashed in parallel, then written in one transaction
+    private static final int PASSWORD_RESET_CHUNK_SIZE = 100;
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
@@ -74,15 +62,30 @@ public class UserService implements UserDetailsService {
     private final NotificationRepository notificationRepository;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
+    private final FetchPlanRepository fetchPlanRepository;
+    private final AccessDecisionService accessDecisionService;
+    private final CurrentUser currentUser;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ProfileImageService profileImageService;
 
     public UserService(UserRepository userRepository, ProjetoRepository projetoRepository,
                        NotificationRepository notificationRepository, PasswordEncoder passwordEncoder,
-                       RoleRepository roleRepository) {
+                       RoleRepository roleRepository, FetchPlanRepository fetchPlanRepository,
+                       AccessDecisionService accessDecisionService, CurrentUser currentUser,
+                       PasswordHashingService passwordHashingService, PlatformTransactionManager transactionManager,
+                       ProfileImageService profileImageService) {
         this.userRepository = userRepository;
         this.projetoRepository = projetoRepository;
         this.notificationRepository = notificationRepository;
         this.passwordEncoder = passwordEncoder;
         this.roleRepository = roleRepository;
+        this.fetchPlanRepository = fetchPlanRepository;
+        this.accessDecisionService = accessDecisionService;
+        this.currentUser = currentUser;
+        this.passwordHashingService = passwordHashingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.profileImageService = profileImageService;
     }
 
 
@@ -144,13 +147,23 @@ public class UserService implements UserDetailsService {
         return list.stream().map(UserDTO::new).toList();
     }
 
+    // One keyset chunk of /users/with-projetos (see JsonArrayStreamer). projetos has to be in the
+    // graph: lazily loaded, every user pays for its own unbatched query. With a fields=/expand=
+    // selection that leaves projetos out it's a plain user list.
     @Transactional(readOnly = true)
-    public List<UserWithProjetosDTO> findAllWithProjetos() {
-        // Was calling plain findAll() — projetos was never eagerly fetched, so every user paid for
-        // its own lazy-load query (unbatched, since only Projeto.externos/Tarefa.externos carry
-        // @BatchSize). findAllWithProjetos() actually uses the {"projetos"} EntityGraph.
-        List<User> list = userRepository.findAllWithProjetos();
-        return list.stream().map(UserWithProjetosDTO::new).toList();
+    public List<UserWithProjetosDTO> findAllWithProjetosChunk(long afterId, int limit, FieldSelection selection) {
+        List<Long> ids = userRepository.findIdsAfter(afterId, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (selection.isAll()) {
+            return fetchPlanRepository.findUsersByIds(ids, Set.of("projetos")).stream()
+                    .map(UserWithProjetosDTO::new)
+                    .toList();
+        }
+        return fetchPlanRepository.findUsersByIds(ids, selection.getExpansions()).stream()
+                .map(user -> new UserWithProjetosDTO(user, selection))
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -191,11 +204,6 @@ public class UserService implements UserDetailsService {
                 .map(userById::get)
                 .filter(Objects::nonNull)
                 .map(UserWithRolesDTO::new)
-                // profileImage can be a couple hundred KB per user; embedding it in every row of a
-                // paginated list (rather than lazily via GET /users/{id}/profile-image) turned a
-                // 10-row page into several MB of JSON. Single-user fetches (findById, used by the
-                // edit modal) still include it.
-                .peek(dto -> dto.setProfileImage(null))
                 .toList();
         return new PageImpl<>(dtos, pageable, idsPage.getTotalElements());
     }
@@ -213,20 +221,10 @@ public class UserService implements UserDetailsService {
             UserDTO dto = new UserDTO(user);
             // Remove sensitive information for non-admin users
             dto.setPassword(null);
-            // See findAllPagedWithRoles: profileImage belongs behind GET /users/{id}/profile-image,
-            // not embedded in every row of a paginated list.
-            dto.setProfileImage(null);
             return dto;
         });
     }
 
-    @Transactional(readOnly = true)
-    public byte[] getProfileImage(Long id) {
-        User user = userRepository.findById(id).orElseThrow(
-                () -> new ResourceNotFoundException("Utilizador com o id: " + id + " não encontrado"));
-        return user.getProfileImage();
-    }
-
     @Transactional
     public List<TarefaDTO> getTarefasByUser(Long userId) {
         User user = userRepository.findById(userId)
@@ -253,7 +251,7 @@ public class UserService implements UserDetailsService {
         assignDefaultRole(entity);
 
         if (imageFile != null && !imageFile.isEmpty()) {
-            processImageFile(entity, imageFile);
+            entity.setProfileImageHash(profileImageService.store(imageFile));
         }
         entity = userRepository.save(entity);
         return new UserWithProjetosDTO(entity);
@@ -273,11 +271,7 @@ public class UserService implements UserDetailsService {
         assignDefaultRole(entity);
 
         if (imageFile != null && !imageFile.isEmpty()) {
-            try {
-                entity.setProfileImage(imageFile.getBytes());
-            } catch (IOException e) {
-                throw new RuntimeException("Error processing image file", e);
-            }
+            entity.setProfileImageHash(profileImageService.store(imageFile));
         }
         entity = userRepository.save(entity);
         return new UserDTO(entity);
@@ -285,16 +279,7 @@ public class UserService implements UserDetailsService {
 
     @Transactional
     public UserDTO update(Long id, UserDTO userDTO, MultipartFile imageFile) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String email = null;
-        if (auth instanceof JwtAuthenticationToken jwtToken) {
-            email = jwtToken.getToken().getClaimAsString("email");
-        } else {
-            email = auth.getName();
-        }
-        User currentUser = userRepository.findByEmail(email);
-        boolean isManager = currentUser.getRoles().stream()
-                .anyMatch(role -> "ROLE_MANAGER".equals(role.getAuthority()));
+        boolean isManager = currentUser.hasAuthority("ROLE_MANAGER");
 
         User entity = userRepository.getReferenceById(id);
         boolean isTargetAdmin = entity.getRoles().stream()
@@ -312,12 +297,15 @@ public class UserService implements UserDetailsService {
             } else {
                 entity.setPassword(currentPassword);
             }
+            String previousImageHash = entity.getProfileImageHash();
             if (imageFile != null && !imageFile.isEmpty()) {
-                entity.setProfileImage(imageFile.getBytes());
+                entity.setProfileImageHash(profileImageService.store(imageFile));
             }
             entity = userRepository.save(entity);
+            releaseReplacedImage(previousImageHash, entity.getProfileImageHash());
+            accessDecisionService.evictUser(id);
             return new UserDTO(entity);
-        } catch (EntityNotFoundException | IOException e) {
+        } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Id: " + id + " não foi encontrado");
         }
     }
@@ -337,12 +325,15 @@ public class UserService implements UserDetailsService {
             userRepository.deleteProjetoUserAssociationsByUserId(id);
             // Un-assign this user as coordenador wherever they hold that role
             userRepository.clearCoordenadorByUserId(id);
+            String imageHash = userRepository.findProfileImageHash(id).orElse(null);
             // Finally delete the user
             userRepository.deleteById(id);
             // Force the DELETE to hit the DB now, inside this try block, instead of letting
             // Hibernate defer the flush to transaction commit (which happens after this method
             // returns and would let a FK violation escape uncaught as a raw 500).
             userRepository.flush();
+            profileImageService.release(imageHash);
+            accessDecisionService.evictUser(id);
         } catch (DataIntegrityViolationException e) {
             throw new DatabaseException("Não é possível apagar: existem registos associados a este utilizador " +
                     "(tarefas, subtarefas ou histórico de projetos). Considere desativar em vez de apagar.");
@@ -351,7 +342,7 @@ public class UserService implements UserDetailsService {
 
     @Transactional
     public UserDTO deactivate(Long id) {
-        if (getCurrentAuthenticatedUser().getId().equals(id)) {
+        if (id.equals(currentUser.getId())) {
             throw new DatabaseException("Não pode desativar a sua própria conta.");
         }
         User entity = getExistingUser(id);
@@ -376,9 +367,7 @@ public class UserService implements UserDetailsService {
     }
 
     private void guardManagerCannotTargetAdmin(Long targetId) {
-        User currentUser = getCurrentAuthenticatedUser();
-        boolean isManager = currentUser.getRoles().stream()
-                .anyMatch(role -> "ROLE_MANAGER".equals(role.getAuthority()));
+        boolean isManager = currentUser.hasAuthority("ROLE_MANAGER");
 
         User entity = userRepository.getReferenceById(targetId);
         boolean isTargetAdmin = entity.getRoles().stream()
@@ -389,24 +378,19 @@ public class UserService implements UserDetailsService {
         }
     }
 
-    private User getCurrentAuthenticatedUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String email;
-        if (auth instanceof JwtAuthenticationToken jwtToken) {
-            email = jwtToken.getToken().getClaimAsString("email");
-        } else {
-            email = auth.getName();
-        }
-        return userRepository.findByEmail(email);
-    }
-
     private void copyDTOtoEntity(UserDTO userDTO, User entity) {
         entity.setName(userDTO.getName());
         entity.setFuncao(userDTO.getFuncao());
         entity.setCargo(userDTO.getCargo());
         entity.setEmail(userDTO.getEmail());
         entity.setPassword(userDTO.getPassword());
-        entity.setProfileImage(userDTO.getProfileImage());
+    }
+
+    // The photo stays in tb_profile_image while another user still uses the same one
+    private void releaseReplacedImage(String previousHash, String currentHash) {
+        if (previousHash != null && !previousHash.equals(currentHash)) {
+            profileImageService.release(previousHash);
+        }
     }
 
     private void copyProjetosToEntity(UserWithProjetosDTO userDTO, User entity) {
@@ -437,114 +421,19 @@ public class UserService implements UserDetailsService {
             }
 
             copyProjetosToEntity(userDTO, entity);
+            String previousImageHash = entity.getProfileImageHash();
             if (imageFile != null && !imageFile.isEmpty()) {
-                processImageFile(entity, imageFile);
+                entity.setProfileImageHash(profileImageService.store(imageFile));
             }
             entity = userRepository.save(entity);
+            releaseReplacedImage(previousImageHash, entity.getProfileImageHash());
+            accessDecisionService.evictUser(id);
             return new UserWithProjetosDTO(entity);
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Id: " + id + " não foi encontrado");
         }
     }
 
-    private void processImageFile(User entity, MultipartFile imageFile) {
-        if (imageFile != null && !imageFile.isEmpty()) {
-            try {
-                validateImage(imageFile);
-                entity.setProfileImage(resizeProfileImage(imageFile.getBytes()));
-            } catch (IOException e) {
-                throw new RuntimeException("Error processing image file", e);
-            }
-        }
-    }
-
-    private void validateImage(MultipartFile imageFile) {
-        if (!ALLOWED_CONTENT_TYPES.contains(imageFile.getContentType())) {
-            throw new IllegalArgumentException("Ficheiro inválido. São permitidos JPEG e PNG");
-        }
-        if (imageFile.getSize() > MAX_FILE_SIZE) {
-            throw new IllegalArgumentException("Tamanho do ficheiro excede o limite de 2MB.");
-        }
-    }
-
-    // Downscales to a small thumbnail and re-encodes as JPEG, regardless of the source format/size,
-    // so every stored profile image is cheap to serve.
-    private byte[] resizeProfileImage(byte[] originalBytes) throws IOException {
-        BufferedImage original = ImageIO.read(new ByteArrayInputStream(originalBytes));
-        if (original == null) {
-            throw new IllegalArgumentException("Ficheiro de imagem inválido");
-        }
-
-        int width = original.getWidth();
-        int height = original.getHeight();
-        double scale = Math.min(
-                1.0,
-                Math.min((double) MAX_PROFILE_IMAGE_DIMENSION / width, (double) MAX_PROFILE_IMAGE_DIMENSION / height));
-        int targetWidth = Math.max(1, (int) Math.round(width * scale));
-        int targetHeight = Math.max(1, (int) Math.round(height * scale));
-
-        // JPEG has no alpha channel, so flatten onto white (covers transparent PNG uploads) while
-        // scaling down in the same pass.
-        BufferedImage resized = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g = resized.createGraphics();
-        try {
-            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g.setColor(Color.WHITE);
-            g.fillRect(0, 0, targetWidth, targetHeight);
-            g.drawImage(original, 0, 0, targetWidth, targetHeight, null);
-        } finally {
-            g.dispose();
-        }
-
-        return encodeAsJpeg(resized);
-    }
-
-    private byte[] encodeAsJpeg(BufferedImage image) throws IOException {
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg");
-        if (!writers.hasNext()) {
-            throw new IllegalStateException("No JPEG image writer available");
-        }
-        ImageWriter writer = writers.next();
-        try {
-            ImageWriteParam params = writer.getDefaultWriteParam();
-            params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-            params.setCompressionQuality(PROFILE_IMAGE_JPEG_QUALITY);
-            try (ImageOutputStream ios = ImageIO.createImageOutputStream(output)) {
-                writer.setOutput(ios);
-                writer.write(null, new IIOImage(image, null, null), params);
-            }
-        } finally {
-            writer.dispose();
-        }
-        return output.toByteArray();
-    }
-
-    // One-off maintenance pass to shrink profile images that were uploaded before resizing was
-    // added — resizeProfileImage only applies to new uploads. Safe to call repeatedly: already-small
-    // images are re-encoded but not meaningfully changed.
-    @Transactional
-    public int reprocessAllProfileImages() {
-        List<User> users = userRepository.findAll();
-        int processed = 0;
-        for (User user : users) {
-            byte[] image = user.getProfileImage();
-            if (image == null || image.length == 0) {
-                continue;
-            }
-            try {
-                user.setProfileImage(resizeProfileImage(image));
-                userRepository.save(user);
-                processed++;
-            } catch (IOException | IllegalArgumentException e) {
-                logger.warn("Could not reprocess profile image for user {}: {}", user.getId(), e.getMessage());
-            }
-        }
-        return processed;
-    }
-
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         List<UserDetailsProjection> result = userRepository.searchUserAndRolesByEmail(username);
         if (result.isEmpty()) {
@@ -552,6 +441,7 @@ public class UserService implements UserDetailsService {
         }
 
         User user = new User();
+        user.setId(result.get(0).getUserId());
         user.setEmail(result.get(0).getUsername());
         user.setPassword(result.get(0).getPassword());
         boolean ativo = !Boolean.FALSE.equals(result.get(0).getAtivo());
@@ -584,10 +474,11 @@ public class UserService implements UserDetailsService {
         }
 
         // Return a UserDetails object with both roles and permissions as authorities
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthenticatedUser(
+                user.getId(),
                 user.getEmail(),
                 user.getPassword(),
-                ativo, true, true, true,
+                ativo,
                 authorities
         );
     }
@@ -614,25 +505,57 @@ public class UserService implements UserDetailsService {
         userRepository.save(user);
     }
 
+    // Chunked by id so the user table is never loaded whole: each chunk's hashes are computed in
+    // parallel on PasswordHashingService's pool, then written in a single transaction. A chunk that
+    // fails to save is logged and skipped; the ones already written stay.
     public int resetAllPasswords(String newPassword) {
         if (newPassword == null || newPassword.length() < 6) {
             throw new IllegalArgumentException("A senha deve ter pelo menos 6 caracteres");
         }
 
-        List<User> users = userRepository.findAll();
         int successCount = 0;
-
-        for (User user : users) {
+        long afterId = 0L;
+        List<Long> chunk;
+        do {
+            chunk = userRepository.findIdsAfter(afterId, PageRequest.of(0, PASSWORD_RESET_CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            List<Long> userIds = chunk;
+            List<String> hashes = passwordHashingService.encodeAll(newPassword, userIds.size());
             try {
-                resetPassword(user.getId(), newPassword);
-                successCount++;
-            } catch (Exception e) {
-                logger.error("Falha ao redefinir password para o utilizador id={}, email={}: {}",
-                        user.getId(), user.getEmail(), e.getMessage());
+                Integer updated = transactionTemplate.execute(status -> {
+                    int count = 0;
+                    for (int i = 0; i < userIds.size(); i++) {
+                        count += userRepository.updatePassword(userIds.get(i), hashes.get(i));
+                    }
+                    return count;
+                });
+                successCount += updated != null ? updated : 0;
+            } catch (RuntimeException e) {
+                logger.error("Falha ao redefinir passwords para os utilizadores id={}..{}: {}",
+                        userIds.get(0), userIds.get(userIds.size() - 1), e.getMessage());
             }
-        }
+            afterId = userIds.get(userIds.size() - 1);
+        } while (chunk.size() == PASSWORD_RESET_CHUNK_SIZE);
 
         return successCount;
     }
 
+    // Called by the password grant with a re-computed hash when the stored one is outdated
+    // (see AppConfig#passwordEncoder), so hashes move to the current format and strength as
+    // users log in.
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Long userId = user instanceof AuthenticatedUser authenticated && authenticated.getUserId() != null
+                ? authenticated.getUserId()
+                : userRepository.findIdByEmail(user.getUsername()).orElse(null);
+        if (userId == null || userRepository.updatePassword(userId, newPassword) == 0) {
+            return user;
+        }
+        return new AuthenticatedUser(userId, user.getUsername(), newPassword, user.isEnabled(),
+                user.getAuthorities());
+    }
+
 }
@@ -0,0 +1,131 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.repositories.HolidayRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counts working days (Mon-Fri, minus the holidays in tb_holiday) between two
+ * dates, inclusive on both ends - the same convention the old day-by-day
+ * Calendar loop in TarefaService used, so existing working_days values only
+ * change where a holiday falls inside the range.
+ *
+ * <p>Constant time apart from the holiday lookup: whole weeks contribute 5
+ * days each and the 0-6 leftover days come from a precomputed table indexed
+ * by the start weekday. Holidays are kept as a sorted array of epoch days
+ * (weekend holidays dropped up front) and the ones inside the range are
+ * counted with two binary searches.
+ */
+@Component
+public class WorkingDaysCalendar {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkingDaysCalendar.class);
+
+    // REMAINDER_WORKING_DAYS[startDow][n] = working days among the n days starting on startDow
+    // (startDow 0 = Monday ... 6 = Sunday, n = 0..6).
+    private static final int[][] REMAINDER_WORKING_DAYS = new int[7][7];
+
+    static {
+        for (int startDow = 0; startDow < 7; startDow++) {
+            for (int n = 1; n < 7; n++) {
+                int dow = (startDow + n - 1) % 7;
+                REMAINDER_WORKING_DAYS[startDow][n] = REMAINDER_WORKING_DAYS[startDow][n - 1] + (dow < 5 ? 1 : 0);
+            }
+        }
+    }
+
+    private final HolidayRepository holidayRepository;
+
+    // Weekday holidays as epoch days, ascending. Replaced wholesale on reload, never mutated.
+    private volatile long[] holidayEpochDays;
+
+    // Guards the lazy first load, which queries the database: a ReentrantLock rather than synchronized,
+    // so a virtual thread waiting on it (or on the query) doesn't pin its carrier thread.
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public WorkingDaysCalendar(HolidayRepository holidayRepository) {
+        this.holidayRepository = holidayRepository;
+    }
+
+    /**
+     * Re-reads tb_holiday. Called lazily on first use and by the
+     * working-days recalculation job after the table is edited.
+     */
+    public void reload() {
+        setHolidays(holidayRepository.findAllDatesOrdered());
+        logger.info("Calendário de dias úteis carregado: {} feriado(s) em dia de semana", holidayEpochDays.length);
+    }
+
+    void setHolidays(Collection<LocalDate> holidays) {
+        holidayEpochDays = holidays.stream()
+                .filter(date -> date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY)
+                .mapToLong(LocalDate::toEpochDay)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    private long[] getHolidayEpochDays() {
+        if (holidayEpochDays == null) {
+            loadLock.lock();
+            try {
+                if (holidayEpochDays == null) {
+                    reload();
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return holidayEpochDays;
+    }
+
+    /**
+     * Same contract as the old TarefaService#calculateWorkingDays: null when
+     * either date is missing, 0 when the end is before the start.
+     */
+    public Integer calculateWorkingDays(Date startDate, Date endDate) {
+        if (startDate == null || endDate == null) {
+            return null;
+        }
+        return calculateWorkingDays(toLocalDate(startDate), toLocalDate(endDate));
+    }
+
+    public int calculateWorkingDays(LocalDate start, LocalDate end) {
+        long startDay = start.toEpochDay();
+        long endDay = end.toEpochDay();
+        if (endDay < startDay) {
+            return 0;
+        }
+
+        long totalDays = endDay - startDay + 1;
+        long weekdays = (totalDays / 7) * 5
+                + REMAINDER_WORKING_DAYS[start.getDayOfWeek().ordinal()][(int) (totalDays % 7)];
+
+        long[] holidays = getHolidayEpochDays();
+        int holidaysInRange = insertionPoint(holidays, endDay + 1) - insertionPoint(holidays, startDay);
+
+        return (int) (weekdays - holidaysInRange);
+    }
+
+    // Index of the first element >= key.
+    private static int insertionPoint(long[] sorted, long key) {
+        int idx = Arrays.binarySearch(sorted, key);
+        return idx >= 0 ? idx : -idx - 1;
+    }
+
+    // Goes through epoch millis rather than Date#toInstant: prazoEstimado/prazoReal come back
+    // from Hibernate as java.sql.Timestamp/java.sql.Date, and java.sql.Date#toInstant throws.
+    private static LocalDate toLocalDate(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
@@ -0,0 +1,11 @@
+package com.fl.dashboard.services.exceptions;
+
+public class InvalidBulkOperationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidBulkOperationException(String msg) {
+        super(msg);
+    }
+
+}
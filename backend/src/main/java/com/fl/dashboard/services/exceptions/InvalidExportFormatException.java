@@ -0,0 +1,11 @@
+package com.fl.dashboard.services.exceptions;
+
+public class InvalidExportFormatException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidExportFormatException(String msg) {
+        super(msg);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.fl.dashboard.services.exceptions;
+
+public class InvalidFieldSelectionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidFieldSelectionException(String msg) {
+        super(msg);
+    }
+
+}
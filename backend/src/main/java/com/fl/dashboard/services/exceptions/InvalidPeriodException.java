@@ -0,0 +1,11 @@
+package com.fl.dashboard.services.exceptions;
+
+public class InvalidPeriodException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidPeriodException(String msg) {
+        super(msg);
+    }
+
+}
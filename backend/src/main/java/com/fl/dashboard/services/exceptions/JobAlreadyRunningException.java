@@ -0,0 +1,11 @@
+package com.fl.dashboard.services.exceptions;
+
+public class JobAlreadyRunningException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public JobAlreadyRunningException(String msg) {
+        super(msg);
+    }
+
+}
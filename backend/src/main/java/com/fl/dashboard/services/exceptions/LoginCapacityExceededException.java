@@ -0,0 +1,11 @@
+package com.fl.dashboard.services.exceptions;
+
+public class LoginCapacityExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LoginCapacityExceededException(String msg) {
+        super(msg);
+    }
+
+}
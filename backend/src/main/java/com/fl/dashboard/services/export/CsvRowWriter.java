@@ -0,0 +1,50 @@
+package com.fl.dashboard.services.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 quoting with ';' as the separator and a UTF-8 BOM, which is what a
+ * Portuguese-locale Excel expects when the file is simply double-clicked.
+ */
+class CsvRowWriter implements RowWriter {
+
+    private static final char SEPARATOR = ';';
+    private static final char BOM = '\uFEFF';
+
+    private final Writer writer;
+
+    CsvRowWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(BOM);
+    }
+
+    @Override
+    public void writeRow(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writer.write(escape(ExportValues.format(values.get(i))));
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(SEPARATOR) < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
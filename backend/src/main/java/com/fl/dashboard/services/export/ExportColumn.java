@@ -0,0 +1,9 @@
+package com.fl.dashboard.services.export;
+
+import java.util.function.Function;
+
+/**
+ * One column of an export: its header and how to read the cell from a row.
+ */
+public record ExportColumn<T>(String header, Function<T, ?> value) {
+}
@@ -0,0 +1,70 @@
+package com.fl.dashboard.services.export;
+
+import com.fl.dashboard.dto.CollaboratorGlobalMetricsDTO;
+import com.fl.dashboard.dto.UserExtraHoursSummaryDTO;
+import com.fl.dashboard.projections.ExtraHoursUserTotalRow;
+import com.fl.dashboard.projections.ProjetoExportRow;
+import com.fl.dashboard.projections.TarefaExportRow;
+
+import java.util.List;
+
+/**
+ * The column layout of each export.
+ */
+public final class ExportColumns {
+
+    public static final List<ExportColumn<TarefaExportRow>> TAREFAS = List.of(
+            new ExportColumn<>("ID", TarefaExportRow::id),
+            new ExportColumn<>("Descrição", TarefaExportRow::descricao),
+            new ExportColumn<>("Projeto", TarefaExportRow::projetoDesignacao),
+            new ExportColumn<>("Estado", TarefaExportRow::status),
+            new ExportColumn<>("Prioridade", TarefaExportRow::prioridade),
+            new ExportColumn<>("Prazo estimado", TarefaExportRow::prazoEstimado),
+            new ExportColumn<>("Prazo real", TarefaExportRow::prazoReal),
+            new ExportColumn<>("Dias úteis", TarefaExportRow::workingDays),
+            new ExportColumn<>("Recorrente", TarefaExportRow::recorrente),
+            new ExportColumn<>("Responsáveis", TarefaExportRow::responsaveis));
+
+    public static final List<ExportColumn<ProjetoExportRow>> PROJETOS = List.of(
+            new ExportColumn<>("ID", ProjetoExportRow::id),
+            new ExportColumn<>("Ano", ProjetoExportRow::projetoAno),
+            new ExportColumn<>("Designação", ProjetoExportRow::designacao),
+            new ExportColumn<>("Entidade", ProjetoExportRow::entidade),
+            new ExportColumn<>("Cliente", ProjetoExportRow::clienteName),
+            new ExportColumn<>("Coordenador", ProjetoExportRow::coordenadorName),
+            new ExportColumn<>("Tipo", ProjetoExportRow::tipo),
+            new ExportColumn<>("Estado", ProjetoExportRow::status),
+            new ExportColumn<>("Prioridade", ProjetoExportRow::prioridade),
+            new ExportColumn<>("Prazo", ProjetoExportRow::prazo),
+            new ExportColumn<>("Data da proposta", ProjetoExportRow::dataProposta),
+            new ExportColumn<>("Data de adjudicação", ProjetoExportRow::dataAdjudicacao),
+            new ExportColumn<>("Colaboradores", ProjetoExportRow::colaboradores));
+
+    public static final List<ExportColumn<CollaboratorGlobalMetricsDTO>> COLABORADORES = List.of(
+            new ExportColumn<>("ID", CollaboratorGlobalMetricsDTO::getColaboradorId),
+            new ExportColumn<>("Colaborador", CollaboratorGlobalMetricsDTO::getColaboradorNome),
+            new ExportColumn<>("Projetos", CollaboratorGlobalMetricsDTO::getTotalProjetos),
+            new ExportColumn<>("Tarefas", CollaboratorGlobalMetricsDTO::getTotalTarefas),
+            new ExportColumn<>("Concluídas", CollaboratorGlobalMetricsDTO::getTarefasConcluidas),
+            new ExportColumn<>("Em progresso", CollaboratorGlobalMetricsDTO::getTarefasEmProgresso),
+            new ExportColumn<>("Pendentes", CollaboratorGlobalMetricsDTO::getTarefasPendentes),
+            new ExportColumn<>("Tempo médio (dias)", CollaboratorGlobalMetricsDTO::getTempoMedioDias),
+            new ExportColumn<>("Taxa de conclusão (%)", CollaboratorGlobalMetricsDTO::getTaxaConclusao));
+
+    public static final List<ExportColumn<UserExtraHoursSummaryDTO>> HORAS_EXTRA = List.of(
+            new ExportColumn<>("Utilizador (ID)", UserExtraHoursSummaryDTO::getUserId),
+            new ExportColumn<>("Período", UserExtraHoursSummaryDTO::getPeriod),
+            new ExportColumn<>("Total de horas", UserExtraHoursSummaryDTO::getTotalHours));
+
+    public static final List<ExportColumn<ExtraHoursUserTotalRow>> HORAS_EXTRA_EQUIPA = List.of(
+            new ExportColumn<>("Utilizador (ID)", ExtraHoursUserTotalRow::userId),
+            new ExportColumn<>("Nome", ExtraHoursUserTotalRow::name),
+            new ExportColumn<>("Email", ExtraHoursUserTotalRow::email),
+            new ExportColumn<>("Horas extra", ExtraHoursUserTotalRow::extraHours),
+            new ExportColumn<>("Horas em falta", ExtraHoursUserTotalRow::owedHours),
+            new ExportColumn<>("Saldo", ExtraHoursUserTotalRow::totalHours),
+            new ExportColumn<>("Registos", ExtraHoursUserTotalRow::entries));
+
+    private ExportColumns() {
+    }
+}
@@ -0,0 +1,44 @@
+package com.fl.dashboard.services.export;
+
+import com.fl.dashboard.services.exceptions.InvalidExportFormatException;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * The {@code format} query parameter of the export endpoints, case-insensitive.
+     */
+    public static ExportFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidExportFormatException("Formato desconhecido: '" + value + "'. Valores possíveis: "
+                    + Arrays.stream(values()).map(ExportFormat::getExtension).collect(Collectors.joining(", ")));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.fl.dashboard.services.export;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams CSV/XLSX downloads. Rows go from the source straight to the
+ * response as they're read, so memory stays flat however many there are.
+ * <p>
+ * The body is written after the controller returns, on the MVC async
+ * executor, so the source is opened there inside its own read-only
+ * transaction - a repository {@code Stream<>} (forward-only cursor) stays
+ * open exactly as long as the download. Permission scoping has to be
+ * resolved by the caller beforehand: there's no request or security context
+ * by the time the rows are read.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @param baseName file name without date or extension, e.g. "tarefas"
+     * @param rows     opened on the streaming thread and always closed
+     */
+    public <T> ResponseEntity<StreamingResponseBody> export(String baseName, ExportFormat format,
+                                                            List<ExportColumn<T>> columns,
+                                                            Supplier<Stream<T>> rows) {
+        String fileName = baseName + "-" + LocalDate.now() + "." + format.getExtension();
+        StreamingResponseBody body = out -> write(out, format, baseName, columns, rows);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    <T> void write(OutputStream out, ExportFormat format, String sheetName, List<ExportColumn<T>> columns,
+                   Supplier<Stream<T>> rows) throws IOException {
+        RowWriter writer = format == ExportFormat.XLSX ? new XlsxRowWriter(out, sheetName) : new CsvRowWriter(out);
+        try {
+            writer.writeRow(columns.stream().map(ExportColumn::header).toList());
+            long count = readOnlyTransaction.execute(status -> {
+                try (Stream<T> stream = rows.get()) {
+                    long written = 0;
+                    for (T row : (Iterable<T>) stream::iterator) {
+                        writer.writeRow(values(row, columns));
+                        written++;
+                    }
+                    return written;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+            logger.info("Exportação '{}' ({}) concluída: {} linha(s)", sheetName, format, count);
+        } catch (UncheckedIOException e) {
+            // Usually the client giving up on the download.
+            throw e.getCause();
+        } finally {
+            writer.discard();
+        }
+    }
+
+    private static <T> List<Object> values(T row, List<ExportColumn<T>> columns) {
+        List<Object> values = new ArrayList<>(columns.size());
+        for (ExportColumn<T> column : columns) {
+            values.add(column.value().apply(row));
+        }
+        return values;
+    }
+}
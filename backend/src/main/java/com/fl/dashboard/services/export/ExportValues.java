@@ -0,0 +1,49 @@
+package com.fl.dashboard.services.export;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * How cell values are rendered as text (CSV, and XLSX cells that aren't
+ * numbers or dates).
+ */
+final class ExportValues {
+
+    static final String DATE_PATTERN = "yyyy-MM-dd";
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN);
+
+    private ExportValues() {
+    }
+
+    // Via the epoch millis: java.sql.Date (what Hibernate hands back for DATE columns) throws on toInstant().
+    static LocalDate toLocalDate(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Boolean b) {
+            return b ? "Sim" : "Não";
+        }
+        if (value instanceof Date date) {
+            return toLocalDate(date).format(DATE_FORMATTER);
+        }
+        if (value instanceof LocalDate date) {
+            return date.format(DATE_FORMATTER);
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.format(DATE_FORMATTER);
+        }
+        if (value instanceof Enum<?> e) {
+            return e.name();
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,24 @@
+package com.fl.dashboard.services.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes an export one row at a time; implementations keep at most a small,
+ * fixed window of rows in memory.
+ */
+interface RowWriter {
+
+    void writeRow(List<?> values) throws IOException;
+
+    /**
+     * Completes the file on the output stream. Does not close the stream.
+     */
+    void finish() throws IOException;
+
+    /**
+     * Releases whatever the writer holds (temp files), whether or not it finished.
+     */
+    default void discard() {
+    }
+}
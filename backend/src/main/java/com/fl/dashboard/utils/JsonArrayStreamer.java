@@ -0,0 +1,82 @@
+package com.fl.dashboard.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Writes a list endpoint's JSON array straight to the response, one keyset
+ * chunk at a time ({@code id > lastId ORDER BY id LIMIT n}), so neither the
+ * heap nor the persistence context grows with the table. Each chunk is loaded
+ * through its own read-only transaction - no connection is held while the
+ * client reads - and flushed before the next one is fetched.
+ * <p>
+ * Runs on the request thread on purpose: QueryStatsFilter still sees the
+ * queries, and a failure in the first chunk (nothing written yet) goes
+ * through ResourceExceptionHandler like any other request.
+ */
+@Component
+public class JsonArrayStreamer {
+
+    public static final int CHUNK_SIZE = 500;
+
+    /**
+     * Loads up to {@code limit} rows with an id greater than {@code afterId},
+     * ordered by id.
+     */
+    @FunctionalInterface
+    public interface ChunkLoader<T> {
+        List<T> load(long afterId, int limit);
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    public JsonArrayStreamer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // The default flushes after every element; one flush per chunk is enough.
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public <T> void write(HttpServletResponse response, ChunkLoader<T> loader, ToLongFunction<T> idOf)
+            throws IOException {
+        write(response, loader, idOf, Function.identity());
+    }
+
+    /**
+     * @param view what actually gets serialized per element, e.g. the
+     *             FieldSelection-pruned tree of the DTO
+     */
+    public <T> void write(HttpServletResponse response, ChunkLoader<T> loader, ToLongFunction<T> idOf,
+                          Function<T, ?> view) throws IOException {
+        // Loaded before anything is written, so an error here still gets a proper status code.
+        List<T> chunk = loader.load(0L, CHUNK_SIZE);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            while (true) {
+                for (T element : chunk) {
+                    writer.writeValue(generator, view.apply(element));
+                }
+                generator.flush();
+                if (chunk.size() < CHUNK_SIZE) {
+                    break;
+                }
+                chunk = loader.load(idOf.applyAsLong(chunk.get(chunk.size() - 1)), CHUNK_SIZE);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.fl.dashboard.utils;
+
+import com.fl.dashboard.projections.EntityVersionRow;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Weak ETag for a JSON view, derived from the ids and @Version counters of
+ * the rows it is built from instead of from the serialized body. Computing
+ * it takes one narrow query, so a matching If-None-Match is answered with a
+ * 304 before the entities are loaded, mapped to DTOs or serialized.
+ * <p>
+ * Weak because the body isn't byte-for-byte stable (the DTOs hold HashSets),
+ * only semantically equivalent.
+ */
+public final class VersionTag {
+
+    private final MessageDigest digest;
+
+    private VersionTag() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @param parts what else the view depends on: its path variables and
+     *              query parameters (page, sort, fields=...)
+     */
+    public static VersionTag of(Object... parts) {
+        return new VersionTag().add(parts);
+    }
+
+    public VersionTag add(Object... parts) {
+        for (Object part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return this;
+    }
+
+    public VersionTag addRows(List<EntityVersionRow> rows) {
+        for (EntityVersionRow row : rows) {
+            add(row.getKind(), row.getOwnerId(), row.getId(), row.getVersion(), row.getDerived());
+        }
+        return this;
+    }
+
+    public String build() {
+        return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+}
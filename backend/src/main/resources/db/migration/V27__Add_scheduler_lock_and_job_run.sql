@@ -0,0 +1,36 @@
+-- V27__Add_scheduler_lock_and_job_run.sql
+-- Adds tb_scheduler_lock: one row per @Scheduled job, used as a lease-based lock so that
+-- when the backend runs on more than one replica only one of them executes each cron tick
+-- (previously every replica sent its own copy of the deadline notifications, generated its
+-- own recurring-task occurrence, etc.). locked_until is the lease expiry - a replica that
+-- dies mid-run simply lets it lapse, so the next tick can take over.
+-- Adds tb_scheduled_job_run: per-execution history (start/end, rows affected, failure message).
+
+CREATE TABLE IF NOT EXISTS `tb_scheduler_lock` (
+  `name` varchar(64) NOT NULL,
+  `locked_until` datetime(6) NOT NULL,
+  `locked_at` datetime(6) NOT NULL,
+  `locked_by` varchar(255) NOT NULL,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Seed the known jobs so acquiring the lock is always a single conditional UPDATE; a job
+-- added later without a row here gets one inserted on first run.
+INSERT INTO tb_scheduler_lock (name, locked_until, locked_at, locked_by) VALUES
+  ('deadline-notifications', '1970-01-01 00:00:00', '1970-01-01 00:00:00', ''),
+  ('tarefa-recorrencia', '1970-01-01 00:00:00', '1970-01-01 00:00:00', ''),
+  ('notification-cleanup', '1970-01-01 00:00:00', '1970-01-01 00:00:00', '');
+
+CREATE TABLE IF NOT EXISTS `tb_scheduled_job_run` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `job_name` varchar(64) NOT NULL,
+  `instance_id` varchar(255) NOT NULL,
+  `triggered_by` varchar(255) NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `started_at` datetime(6) NOT NULL,
+  `finished_at` datetime(6) DEFAULT NULL,
+  `rows_affected` int DEFAULT NULL,
+  `error_message` varchar(1000) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_scheduled_job_run_job_started` (`job_name`, `started_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
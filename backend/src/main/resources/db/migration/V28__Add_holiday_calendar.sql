@@ -0,0 +1,74 @@
+-- V28__Add_holiday_calendar.sql
+-- Adds tb_holiday: non-working days (Portuguese national public holidays, plus any company
+-- closures the admins want to add) that WorkingDaysCalendar subtracts when computing
+-- tb_tarefa.working_days. Previously only weekends were excluded, so a task spanning e.g.
+-- 25 de Abril reported one working day too many.
+-- Holidays on a weekend are harmless (the calendar ignores them); Páscoa is listed anyway so
+-- the table reads as the official calendar.
+-- The calendar is loaded once into memory - after editing this table, run the
+-- 'working-days-recalc' job from /admin/jobs, which reloads it and recomputes every tarefa.
+
+CREATE TABLE IF NOT EXISTS `tb_holiday` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `holiday_date` date NOT NULL,
+  `description` varchar(255) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_holiday_date` (`holiday_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO tb_holiday (holiday_date, description) VALUES
+  ('2024-01-01', 'Ano Novo'),
+  ('2024-03-29', 'Sexta-feira Santa'),
+  ('2024-03-31', 'Páscoa'),
+  ('2024-04-25', 'Dia da Liberdade'),
+  ('2024-05-01', 'Dia do Trabalhador'),
+  ('2024-05-30', 'Corpo de Deus'),
+  ('2024-06-10', 'Dia de Portugal'),
+  ('2024-08-15', 'Assunção de Nossa Senhora'),
+  ('2024-10-05', 'Implantação da República'),
+  ('2024-11-01', 'Dia de Todos os Santos'),
+  ('2024-12-01', 'Restauração da Independência'),
+  ('2024-12-08', 'Imaculada Conceição'),
+  ('2024-12-25', 'Natal'),
+  ('2025-01-01', 'Ano Novo'),
+  ('2025-04-18', 'Sexta-feira Santa'),
+  ('2025-04-20', 'Páscoa'),
+  ('2025-04-25', 'Dia da Liberdade'),
+  ('2025-05-01', 'Dia do Trabalhador'),
+  ('2025-06-10', 'Dia de Portugal'),
+  ('2025-06-19', 'Corpo de Deus'),
+  ('2025-08-15', 'Assunção de Nossa Senhora'),
+  ('2025-10-05', 'Implantação da República'),
+  ('2025-11-01', 'Dia de Todos os Santos'),
+  ('2025-12-01', 'Restauração da Independência'),
+  ('2025-12-08', 'Imaculada Conceição'),
+  ('2025-12-25', 'Natal'),
+  ('2026-01-01', 'Ano Novo'),
+  ('2026-04-03', 'Sexta-feira Santa'),
+  ('2026-04-05', 'Páscoa'),
+  ('2026-04-25', 'Dia da Liberdade'),
+  ('2026-05-01', 'Dia do Trabalhador'),
+  ('2026-06-04', 'Corpo de Deus'),
+  ('2026-06-10', 'Dia de Portugal'),
+  ('2026-08-15', 'Assunção de Nossa Senhora'),
+  ('2026-10-05', 'Implantação da República'),
+  ('2026-11-01', 'Dia de Todos os Santos'),
+  ('2026-12-01', 'Restauração da Independência'),
+  ('2026-12-08', 'Imaculada Conceição'),
+  ('2026-12-25', 'Natal'),
+  ('2027-01-01', 'Ano Novo'),
+  ('2027-03-26', 'Sexta-feira Santa'),
+  ('2027-03-28', 'Páscoa'),
+  ('2027-04-25', 'Dia da Liberdade'),
+  ('2027-05-01', 'Dia do Trabalhador'),
+  ('2027-05-27', 'Corpo de Deus'),
+  ('2027-06-10', 'Dia de Portugal'),
+  ('2027-08-15', 'Assunção de Nossa Senhora'),
+  ('2027-10-05', 'Implantação da República'),
+  ('2027-11-01', 'Dia de Todos os Santos'),
+  ('2027-12-01', 'Restauração da Independência'),
+  ('2027-12-08', 'Imaculada Conceição'),
+  ('2027-12-25', 'Natal');
+
+INSERT INTO tb_scheduler_lock (name, locked_until, locked_at, locked_by) VALUES
+  ('working-days-recalc', '1970-01-01 00:00:00', '1970-01-01 00:00:00', '');
@@ -0,0 +1,41 @@
+-- V29__Add_projeto_user_summary.sql
+-- Adds tb_projeto_user_summary: running totals of the tb_projeto_user_history events of each
+-- (projeto, user) pair, maintained by ProjetoUserHistoryService#registarEventos. The time a
+-- collaborator spent on each project is read from here (one row per project) instead of being
+-- replayed from every event. total_seconds covers closed ADDED-to-REMOVED cycles; active_since
+-- is the date of the open ADDED, if any.
+
+CREATE TABLE IF NOT EXISTS `tb_projeto_user_summary` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `projeto_id` bigint NOT NULL,
+  `user_id` bigint NOT NULL,
+  `total_seconds` bigint NOT NULL DEFAULT 0,
+  `active_since` datetime(6) DEFAULT NULL,
+  `first_event_date` datetime(6) NOT NULL,
+  `last_event_date` datetime(6) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `UK_projeto_user_summary` (`user_id`, `projeto_id`),
+  KEY `idx_projeto_user_summary_projeto` (`projeto_id`),
+  CONSTRAINT `FK_projeto_user_summary_projeto` FOREIGN KEY (`projeto_id`) REFERENCES `tb_projeto` (`id`),
+  CONSTRAINT `FK_projeto_user_summary_user` FOREIGN KEY (`user_id`) REFERENCES `tb_user` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Backfill from the existing history with the same pairing rules as the service: an ADDED
+-- directly followed by a REMOVED closes a cycle, a repeated ADDED restarts it, a stray REMOVED
+-- is ignored, and a trailing ADDED is the open cycle.
+INSERT INTO tb_projeto_user_summary (projeto_id, user_id, total_seconds, active_since, first_event_date, last_event_date)
+SELECT projeto_id,
+       user_id,
+       COALESCE(SUM(CASE WHEN action = 'ADDED' AND next_action = 'REMOVED'
+                         THEN TIMESTAMPDIFF(SECOND, event_date, next_date) END), 0),
+       MAX(CASE WHEN action = 'ADDED' AND next_action IS NULL THEN event_date END),
+       MIN(event_date),
+       MAX(event_date)
+FROM (
+  SELECT h.projeto_id, h.user_id, h.action, h.event_date,
+         LEAD(h.action) OVER w AS next_action,
+         LEAD(h.event_date) OVER w AS next_date
+  FROM tb_projeto_user_history h
+  WINDOW w AS (PARTITION BY h.user_id, h.projeto_id ORDER BY h.event_date, h.id)
+) paired
+GROUP BY projeto_id, user_id;
@@ -0,0 +1,30 @@
+-- V30__Add_id_generator_table.sql
+-- Adds tb_id_generator, the backing table of the pooled id generators (IdGenerators) used by the
+-- entities that are inserted in bulk: tarefas, subtarefas, notifications, project membership
+-- history/summaries and extra hours. Hibernate reserves blocks of 50 ids per row update instead
+-- of reading back an AUTO_INCREMENT value after every INSERT, which is what lets saveAll go out
+-- as JDBC batches.
+--
+-- With the pooled-lo optimizer next_val is the last id already reserved: the next block starts
+-- at next_val + 1, so each segment is seeded with the highest existing id. The AUTO_INCREMENT attribute of the id columns is kept
+-- (changing it means dropping and re-creating every foreign key that points at them); rows are
+-- only ever inserted through JPA, which now always supplies the id.
+
+CREATE TABLE IF NOT EXISTS `tb_id_generator` (
+  `sequence_name` varchar(255) NOT NULL,
+  `next_val` bigint DEFAULT NULL,
+  PRIMARY KEY (`sequence_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `tb_id_generator` (`sequence_name`, `next_val`)
+SELECT 'tarefa', COALESCE(MAX(`id`), 0) FROM `tb_tarefa`
+UNION ALL
+SELECT 'subtarefa', COALESCE(MAX(`id`), 0) FROM `tb_subtarefa`
+UNION ALL
+SELECT 'notification', COALESCE(MAX(`id`), 0) FROM `tb_notification`
+UNION ALL
+SELECT 'projeto_user_history', COALESCE(MAX(`id`), 0) FROM `tb_projeto_user_history`
+UNION ALL
+SELECT 'projeto_user_summary', COALESCE(MAX(`id`), 0) FROM `tb_projeto_user_summary`
+UNION ALL
+SELECT 'user_extra_hours', COALESCE(MAX(`id`), 0) FROM `tb_user_extra_hours`;
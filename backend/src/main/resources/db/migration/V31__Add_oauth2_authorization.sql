@@ -0,0 +1,37 @@
+-- V31__Add_oauth2_authorization.sql
+-- Adds tb_oauth2_authorization, the store behind JpaOAuth2AuthorizationService
+-- (security.authorization-store.type=jdbc): one row per login, updated on every refresh, so
+-- refresh tokens survive a restart and work on any replica. Only the SHA-256 of each token is
+-- stored (access_token_hash / refresh_token_hash, fixed-length indexed columns), never the token
+-- itself: a backup or replica of this table can't be replayed, and the token value comes from the
+-- client presenting it. expires_at - when the last token of the
+-- row expires - is what the purge job (AuthorizationPurgeScheduler) deletes by. Times in UTC.
+-- Unused (and empty) with the default in-memory store.
+
+CREATE TABLE IF NOT EXISTS `tb_oauth2_authorization` (
+  `id` varchar(100) NOT NULL,
+  `registered_client_id` varchar(100) NOT NULL,
+  `principal_name` varchar(200) NOT NULL,
+  `authorization_grant_type` varchar(100) NOT NULL,
+  `authorized_scopes` varchar(1000) DEFAULT NULL,
+  `user_email` varchar(255) NOT NULL,
+  `user_authorities` varchar(1000) DEFAULT NULL,
+  `access_token_hash` varchar(64) DEFAULT NULL,
+  `access_token_issued_at` datetime(6) DEFAULT NULL,
+  `access_token_expires_at` datetime(6) DEFAULT NULL,
+  `access_token_scopes` varchar(1000) DEFAULT NULL,
+  `access_token_invalidated` BOOLEAN NOT NULL DEFAULT FALSE,
+  `refresh_token_hash` varchar(64) DEFAULT NULL,
+  `refresh_token_issued_at` datetime(6) DEFAULT NULL,
+  `refresh_token_expires_at` datetime(6) DEFAULT NULL,
+  `refresh_token_invalidated` BOOLEAN NOT NULL DEFAULT FALSE,
+  `expires_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `UK_oauth2_authorization_access_token` (`access_token_hash`),
+  UNIQUE KEY `UK_oauth2_authorization_refresh_token` (`refresh_token_hash`),
+  KEY `idx_oauth2_authorization_expires_at` (`expires_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- The purge job runs under the scheduler lock like the other jobs.
+INSERT INTO tb_scheduler_lock (name, locked_until, locked_at, locked_by) VALUES
+  ('oauth2-authorization-purge', '1970-01-01 00:00:00', '1970-01-01 00:00:00', '');
@@ -0,0 +1,8 @@
+-- V32__Add_user_id_to_oauth2_authorization.sql
+-- Access tokens now carry a user_id claim (read by CurrentUser instead of a findByEmail per
+-- request). A refreshed token is built from the stored authorization, so the id has to be
+-- kept next to user_email. Nullable: rows written before this migration simply refresh into
+-- tokens without the claim, which CurrentUser resolves by email as before.
+
+ALTER TABLE `tb_oauth2_authorization`
+  ADD COLUMN `user_id` bigint DEFAULT NULL AFTER `user_email`;
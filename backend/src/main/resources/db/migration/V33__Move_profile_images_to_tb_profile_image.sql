@@ -0,0 +1,37 @@
+-- V33__Move_profile_images_to_tb_profile_image.sql
+-- Moves profile images out of tb_user.profile_image (a MEDIUMBLOB read with every User) into
+-- tb_profile_image, keyed by the SHA-256 of the image and the size in pixels of its longest
+-- side. Users point at their image through tb_user.profile_image_hash; identical images are
+-- stored once. New uploads are stored by ProfileImageService in every size it serves.
+--
+-- The existing images are copied as they are, as size 180 (the size uploads were resized to,
+-- although images saved through the plain PUT /users/{id} were kept at upload size). The
+-- smaller sizes are generated by POST /admin/resize-profile-images; until then every request
+-- gets the 180 one. Older uploads could be PNG, recognized by their signature.
+
+CREATE TABLE IF NOT EXISTS `tb_profile_image` (
+  `hash` char(64) NOT NULL,
+  `size` int NOT NULL,
+  `content_type` varchar(50) NOT NULL,
+  `data` mediumblob NOT NULL,
+  `created_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`hash`, `size`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+ALTER TABLE tb_user ADD COLUMN profile_image_hash char(64) DEFAULT NULL AFTER profile_image;
+
+UPDATE tb_user
+SET profile_image_hash = SHA2(profile_image, 256)
+WHERE profile_image IS NOT NULL AND LENGTH(profile_image) > 0;
+
+-- IGNORE: users sharing the same image yield the same (hash, size)
+INSERT IGNORE INTO tb_profile_image (hash, size, content_type, data, created_at)
+SELECT profile_image_hash,
+       180,
+       CASE WHEN HEX(LEFT(profile_image, 4)) = '89504E47' THEN 'image/png' ELSE 'image/jpeg' END,
+       profile_image,
+       NOW(6)
+FROM tb_user
+WHERE profile_image_hash IS NOT NULL;
+
+ALTER TABLE tb_user DROP COLUMN profile_image;
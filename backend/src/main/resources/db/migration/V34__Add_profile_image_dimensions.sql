@@ -0,0 +1,16 @@
+-- V34__Add_profile_image_dimensions.sql
+-- Records the pixel dimensions of each stored profile image size, so the reprocessing job
+-- (ProfileImageReprocessJob) can tell from the primary-key rows alone which images are
+-- already at their target sizes and skip them without reading or decoding any bytes.
+-- Rows migrated from tb_user (V33) have no dimensions and are regenerated on the first run.
+
+ALTER TABLE tb_profile_image
+  ADD COLUMN width int DEFAULT NULL AFTER content_type,
+  ADD COLUMN height int DEFAULT NULL AFTER width;
+
+-- The job pages through the distinct hashes in use; also serves the NOT EXISTS in
+-- ProfileImageRepository#deleteIfUnreferenced
+CREATE INDEX idx_user_profile_image_hash ON tb_user (profile_image_hash);
+
+INSERT INTO tb_scheduler_lock (name, locked_until, locked_at, locked_by) VALUES
+  ('profile-image-reprocess', '1970-01-01 00:00:00', '1970-01-01 00:00:00', '');
@@ -0,0 +1,12 @@
+-- V35__Add_version_to_projeto_user_cliente_externo_notification.sql
+-- Adds Hibernate @Version counters (as V23 did for tb_tarefa) to the other entities whose
+-- fields end up in the large JSON views. The ETags of /projetos/{id}/full, /tarefas/filter and
+-- /notifications/user/{id}/details are derived from the ids and versions of every row in the
+-- response, so a 304 can be answered without loading the rows themselves. Existing rows
+-- default to 0 rather than NULL, which @Version doesn't accept.
+
+ALTER TABLE tb_projeto ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tb_user ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tb_cliente ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tb_externo ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tb_notification ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,33 @@
+-- V36__Add_updated_at_and_sync_tombstones.sql
+-- Backs GET /sync, which returns the tarefas, projetos, colunas and notifications that changed
+-- since a client's last sync token instead of the whole lists.
+--
+-- updated_at is set by the entities on every insert and update (@PrePersist/@PreUpdate), and by
+-- the bulk working_days UPDATE. Rows that exist before this migration stay NULL: no client holds
+-- a token older than the endpoint itself.
+-- Soft deletes (deleted_at) set it too, which makes them their own tombstones.
+--
+-- tb_sync_tombstone covers what leaves no row behind: notifications are deleted outright, and a
+-- user removed from a tarefa or projeto loses sight of it while it stays unchanged for everyone
+-- else (user_id = who it disappeared for). Pruned by the notification cleanup job.
+
+ALTER TABLE tb_tarefa ADD COLUMN updated_at datetime(6) DEFAULT NULL;
+ALTER TABLE tb_projeto ADD COLUMN updated_at datetime(6) DEFAULT NULL;
+ALTER TABLE tb_coluna ADD COLUMN updated_at datetime(6) DEFAULT NULL;
+ALTER TABLE tb_notification ADD COLUMN updated_at datetime(6) DEFAULT NULL;
+
+CREATE INDEX idx_tarefa_updated_at ON tb_tarefa (updated_at);
+CREATE INDEX idx_projeto_updated_at ON tb_projeto (updated_at);
+CREATE INDEX idx_coluna_updated_at ON tb_coluna (updated_at);
+CREATE INDEX idx_notification_user_updated_at ON tb_notification (user_id, updated_at);
+
+CREATE TABLE IF NOT EXISTS `tb_sync_tombstone` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `entity_type` varchar(20) NOT NULL,
+  `entity_id` bigint NOT NULL,
+  `user_id` bigint NOT NULL,
+  `deleted_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_sync_tombstone_user_deleted_at` (`user_id`, `deleted_at`),
+  KEY `idx_sync_tombstone_deleted_at` (`deleted_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,207 @@
+package com.fl.dashboard.config;
+
+import com.fl.dashboard.customgrant.CustomUserAuthorities;
+import com.fl.dashboard.entities.StoredAuthorization;
+import com.fl.dashboard.repositories.StoredAuthorizationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
+import org.springframework.security.oauth2.server.authorization.client.InMemoryRegisteredClientRepository;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+import java.security.Principal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+@DisplayName("OAuth2 Authorization Store Tests")
+class OAuth2AuthorizationStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-02T10:00:00Z");
+    private static final Duration ACCESS_TTL = Duration.ofHours(2);
+    private static final Duration REFRESH_TTL = Duration.ofDays(7);
+
+    private static final RegisteredClient CLIENT = RegisteredClient.withId("myclientid")
+            .clientId("myclientid")
+            .clientSecret("secret")
+            .authorizationGrantType(new AuthorizationGrantType("password"))
+            .authorizationGrantType(AuthorizationGrantType.REFRESH_TOKEN)
+            .scope("read")
+            .build();
+
+    private static OAuth2Authorization authorization(String id, Instant issuedAt) {
+        OAuth2ClientAuthenticationToken principal = new OAuth2ClientAuthenticationToken(CLIENT,
+                ClientAuthenticationMethod.CLIENT_SECRET_BASIC, null);
+        principal.setDetails(new CustomUserAuthorities("ana@fl.pt", 42L,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN", "VIEW_REPORTS")));
+        return OAuth2Authorization.withRegisteredClient(CLIENT)
+                .id(id)
+                .principalName(CLIENT.getClientId())
+                .authorizationGrantType(new AuthorizationGrantType("password"))
+                .authorizedScopes(Set.of("read"))
+                .attribute(Principal.class.getName(), principal)
+                .accessToken(new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-" + id,
+                        issuedAt, issuedAt.plus(ACCESS_TTL), Set.of("read")))
+                .refreshToken(new OAuth2RefreshToken("refresh-" + id, issuedAt, issuedAt.plus(REFRESH_TTL)))
+                .build();
+    }
+
+    private static BoundedOAuth2AuthorizationService boundedStore(int maxEntries, Instant now) {
+        return new BoundedOAuth2AuthorizationService(maxEntries, new SimpleMeterRegistry(),
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("bounded store should find an authorization by either token, respecting the token type")
+    void boundedStoreShouldFindByToken() {
+        BoundedOAuth2AuthorizationService store = boundedStore(10, NOW);
+        OAuth2Authorization authorization = authorization("a", NOW);
+        store.save(authorization);
+
+        assertSame(authorization, store.findByToken("access-a", OAuth2TokenType.ACCESS_TOKEN));
+        assertSame(authorization, store.findByToken("refresh-a", OAuth2TokenType.REFRESH_TOKEN));
+        assertSame(authorization, store.findByToken("refresh-a", null));
+        assertNull(store.findByToken("refresh-a", OAuth2TokenType.ACCESS_TOKEN));
+        assertNull(store.findByToken("unknown", null));
+
+        store.remove(authorization);
+        assertNull(store.findById("a"));
+        assertNull(store.findByToken("access-a", null));
+    }
+
+    @Test
+    @DisplayName("bounded store should evict the oldest authorizations past its capacity")
+    void boundedStoreShouldEvictOldestPastCapacity() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BoundedOAuth2AuthorizationService store = new BoundedOAuth2AuthorizationService(2, registry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        store.save(authorization("a", NOW));
+        store.save(authorization("b", NOW));
+        // A refresh re-saves "a", which makes "b" the oldest
+        store.save(authorization("a", NOW));
+        store.save(authorization("c", NOW));
+
+        assertEquals(2, store.size());
+        assertNull(store.findById("b"));
+        assertNull(store.findByToken("refresh-b", null));
+        assertNotNull(store.findById("a"));
+        assertEquals(1.0, registry.get("oauth2.authorizations.evicted").tag("reason", "capacity").counter().count());
+        assertEquals(2.0, registry.get("oauth2.authorizations.stored").gauge().value());
+    }
+
+    @Test
+    @DisplayName("bounded store should drop authorizations once their refresh token has expired")
+    void boundedStoreShouldDropExpired() {
+        BoundedOAuth2AuthorizationService store = boundedStore(10, NOW);
+        store.save(authorization("old", NOW.minus(REFRESH_TTL).minusSeconds(1)));
+        store.save(authorization("recent", NOW.minus(Duration.ofDays(1))));
+
+        assertEquals(1, store.size());
+        assertNull(store.findByToken("refresh-old", OAuth2TokenType.REFRESH_TOKEN));
+        // The access token has expired but the refresh token hasn't - still needed to refresh
+        assertNotNull(store.findByToken("refresh-recent", OAuth2TokenType.REFRESH_TOKEN));
+    }
+
+    @Test
+    @DisplayName("database store should round-trip tokens, invalidation and the user behind the principal")
+    void jpaStoreShouldRoundTrip() {
+        StoredAuthorizationRepository repository = mock(StoredAuthorizationRepository.class);
+        AtomicReference<StoredAuthorization> saved = new AtomicReference<>();
+        when(repository.save(any())).thenAnswer(inv -> {
+            saved.set(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        JpaOAuth2AuthorizationService store = new JpaOAuth2AuthorizationService(repository,
+                new InMemoryRegisteredClientRepository(CLIENT));
+
+        OAuth2Authorization original = authorization("a", NOW);
+        OAuth2Authorization invalidated = OAuth2Authorization.from(original)
+                .token(original.getAccessToken().getToken(), metadata ->
+                        metadata.put(OAuth2Authorization.Token.INVALIDATED_METADATA_NAME, true))
+                .build();
+        store.save(invalidated);
+
+        StoredAuthorization row = saved.get();
+        assertEquals(OAuth2AuthorizationSupport.hash("refresh-a"), row.getRefreshTokenHash());
+        assertEquals(NOW.plus(REFRESH_TTL), row.getExpiresAt().toInstant(ZoneOffset.UTC));
+
+        when(repository.findByRefreshTokenHash(OAuth2AuthorizationSupport.hash("refresh-a")))
+                .thenReturn(Optional.of(row));
+        OAuth2Authorization loaded = store.findByToken("refresh-a", OAuth2TokenType.REFRESH_TOKEN);
+
+        assertNotNull(loaded);
+        assertEquals("a", loaded.getId());
+        assertEquals(Set.of("read"), loaded.getAuthorizedScopes());
+        assertTrue(loaded.getAccessToken().isInvalidated());
+        assertFalse(loaded.getRefreshToken().isInvalidated());
+        assertEquals(NOW.plus(REFRESH_TTL), loaded.getRefreshToken().getToken().getExpiresAt());
+
+        OAuth2ClientAuthenticationToken principal = loaded.getAttribute(Principal.class.getName());
+        CustomUserAuthorities user = (CustomUserAuthorities) principal.getDetails();
+        assertEquals("ana@fl.pt", user.getUsername());
+        assertEquals(42L, user.getUserId());
+        assertEquals(2, user.getAuthorities().size());
+        assertSame(CLIENT, principal.getRegisteredClient());
+    }
+
+    @Test
+    @DisplayName("database store should keep only token hashes and rebuild the presented token")
+    void jpaStoreShouldNotKeepTokenValues() {
+        StoredAuthorizationRepository repository = mock(StoredAuthorizationRepository.class);
+        AtomicReference<StoredAuthorization> saved = new AtomicReference<>();
+        when(repository.save(any())).thenAnswer(inv -> {
+            saved.set(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        JpaOAuth2AuthorizationService store = new JpaOAuth2AuthorizationService(repository,
+                new InMemoryRegisteredClientRepository(CLIENT));
+        store.save(authorization("a", NOW));
+        StoredAuthorization row = saved.get();
+        String accessHash = row.getAccessTokenHash();
+        when(repository.findByRefreshTokenHash(OAuth2AuthorizationSupport.hash("refresh-a")))
+                .thenReturn(Optional.of(row));
+        when(repository.findById("a")).thenReturn(Optional.of(row));
+
+        // Found by the refresh token: that one is the presented value, the access token only a placeholder
+        OAuth2Authorization loaded = store.findByToken("refresh-a", OAuth2TokenType.REFRESH_TOKEN);
+        assertEquals("refresh-a", loaded.getRefreshToken().getToken().getTokenValue());
+        String placeholder = loaded.getAccessToken().getToken().getTokenValue();
+        assertEquals(JpaOAuth2AuthorizationService.STORED_HASH_PREFIX + accessHash, placeholder);
+        assertNull(store.findByToken(placeholder, null));
+
+        // Revoking the refresh token invalidates the access token too; its hash must survive the save
+        store.save(OAuth2Authorization.from(loaded)
+                .token(loaded.getRefreshToken().getToken(), metadata ->
+                        metadata.put(OAuth2Authorization.Token.INVALIDATED_METADATA_NAME, true))
+                .token(loaded.getAccessToken().getToken(), metadata ->
+                        metadata.put(OAuth2Authorization.Token.INVALIDATED_METADATA_NAME, true))
+                .build());
+        assertEquals(accessHash, saved.get().getAccessTokenHash());
+        assertEquals(OAuth2AuthorizationSupport.hash("refresh-a"), saved.get().getRefreshTokenHash());
+        assertTrue(saved.get().isAccessTokenInvalidated());
+
+        // By id neither value is known
+        OAuth2Authorization byId = store.findById("a");
+        assertTrue(byId.getRefreshToken().getToken().getTokenValue()
+                .startsWith(JpaOAuth2AuthorizationService.STORED_HASH_PREFIX));
+    }
+}
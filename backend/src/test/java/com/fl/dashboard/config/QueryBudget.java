@@ -0,0 +1,57 @@
+package com.fl.dashboard.config;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query budgets for tests, so an N+1 introduced later fails the build instead
+ * of being found in production. Two flavours:
+ *
+ * <pre>
+ *   // MockMvc, against the X-Sql-Statements header (query-stats.response-headers=true in "test")
+ *   mockMvc.perform(get("/projetos/1/full")).andExpect(QueryBudget.atMost(4));
+ *
+ *   // Any code on the current thread (service/repository tests)
+ *   List&lt;TarefaDTO&gt; result = QueryBudget.atMost(3, () -&gt; tarefaService.findAllChunk(0, 500));
+ * </pre>
+ *
+ * QueryBudgetResourceTest holds the budgets of the endpoints whose N+1s were fixed.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher atMost(long maxStatements) {
+        return result -> {
+            String header = result.getResponse().getHeader(QueryStatsFilter.STATEMENTS_HEADER);
+            assertNotNull(header, "No " + QueryStatsFilter.STATEMENTS_HEADER
+                    + " header - is query-stats.response-headers enabled for this profile?");
+            long statements = Long.parseLong(header);
+            assertTrue(statements <= maxStatements, () -> result.getRequest().getMethod() + " "
+                    + result.getRequest().getRequestURI() + " executed " + statements
+                    + " SQL statements, budget is " + maxStatements);
+        };
+    }
+
+    public static <T> T atMost(long maxStatements, Supplier<T> action) {
+        try (QueryStats.Scope scope = QueryStats.open()) {
+            T value = action.get();
+            long statements = scope.getStatements();
+            assertTrue(statements <= maxStatements,
+                    () -> "Executed " + statements + " SQL statements, budget is " + maxStatements);
+            return value;
+        }
+    }
+
+    public static void atMost(long maxStatements, Runnable action) {
+        atMost(maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.fl.dashboard.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+@DisplayName("Query Stats Tests")
+class QueryStatsTest {
+
+    @AfterEach
+    void tearDown() {
+        while (QueryStats.current() != null) {
+            QueryStats.current().close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should count nothing when no scope is open")
+    void shouldIgnoreEventsOutsideScope() {
+        QueryStats.statementPrepared();
+        QueryStats.rowsFetched(10);
+        QueryStats.entityLoaded();
+
+        assertNull(QueryStats.current());
+    }
+
+    @Test
+    @DisplayName("Should count statements, rows and entities inside a scope")
+    void shouldCountInsideScope() {
+        try (QueryStats.Scope scope = QueryStats.open()) {
+            QueryStats.statementPrepared();
+            QueryStats.statementPrepared();
+            QueryStats.rowsFetched(7);
+            QueryStats.entityLoaded();
+
+            assertEquals(2, scope.getStatements());
+            assertEquals(7, scope.getRows());
+            assertEquals(1, scope.getEntities());
+        }
+        assertNull(QueryStats.current());
+    }
+
+    @Test
+    @DisplayName("Should roll nested scope totals up into the enclosing scope")
+    void shouldRollUpNestedScopes() {
+        try (QueryStats.Scope outer = QueryStats.open()) {
+            QueryStats.statementPrepared();
+            try (QueryStats.Scope inner = QueryStats.open()) {
+                QueryStats.statementPrepared();
+                QueryStats.statementPrepared();
+                assertEquals(2, inner.getStatements());
+            }
+            assertSame(outer, QueryStats.current());
+            assertEquals(3, outer.getStatements());
+        }
+    }
+
+    @Test
+    @DisplayName("QueryBudget should fail when the budget is exceeded")
+    void queryBudgetShouldFailWhenExceeded() {
+        assertEquals("ok", QueryBudget.atMost(2, () -> {
+            QueryStats.statementPrepared();
+            return "ok";
+        }));
+
+        assertThrows(AssertionFailedError.class, () -> QueryBudget.atMost(1, () -> {
+            QueryStats.statementPrepared();
+            QueryStats.statementPrepared();
+        }));
+        assertNull(QueryStats.current());
+    }
+}
@@ -0,0 +1,98 @@
+package com.fl.dashboard.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fl.dashboard.entities.Projeto;
+import com.fl.dashboard.entities.Tarefa;
+import com.fl.dashboard.services.exceptions.InvalidFieldSelectionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+@DisplayName("Field Selection Tests")
+class FieldSelectionTest {
+
+    private static final Set<String> ASSOCIATIONS = ProjetoWithUsersAndTarefasDTO.ASSOCIATIONS;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("parse without fields or expand should select everything")
+    void parseWithoutParametersShouldSelectAll() {
+        FieldSelection selection = FieldSelection.parse(null, " ", ASSOCIATIONS);
+
+        assertTrue(selection.isAll());
+        assertTrue(selection.expands("users"));
+        assertTrue(selection.includesNested("tarefas", "status"));
+    }
+
+    @Test
+    @DisplayName("associations named in fields should be expanded implicitly, in a stable order")
+    void fieldsShouldImplyExpansions() {
+        FieldSelection selection = FieldSelection.parse("id,tarefas.status,users", null, ASSOCIATIONS);
+
+        assertFalse(selection.isAll());
+        assertEquals(Set.of("tarefas", "users"), selection.getExpansions());
+        assertFalse(selection.expands("externos"));
+        assertTrue(selection.includesNested("tarefas", "status"));
+        assertFalse(selection.includesNested("tarefas", "descricao"));
+        assertTrue(selection.includesNested("users", "name"));
+    }
+
+    @Test
+    @DisplayName("unknown associations should be rejected")
+    void unknownAssociationShouldBeRejected() {
+        assertThrows(InvalidFieldSelectionException.class,
+                () -> FieldSelection.parse(null, "users,subtarefas", ASSOCIATIONS));
+        assertThrows(InvalidFieldSelectionException.class,
+                () -> FieldSelection.parse("cliente.nome", null, ASSOCIATIONS));
+    }
+
+    @Test
+    @DisplayName("apply should keep only the selected scalar and nested fields")
+    void applyShouldPruneUnselectedFields() {
+        Projeto projeto = new Projeto();
+        projeto.setId(1L);
+        projeto.setDesignacao("Ponte");
+        projeto.setStatus("ATIVO");
+        Tarefa tarefa = new Tarefa();
+        tarefa.setId(5L);
+        tarefa.setDescricao("Cálculo");
+        projeto.getTarefas().add(tarefa);
+
+        FieldSelection selection = FieldSelection.parse("id,designacao,tarefas.id", null, ASSOCIATIONS);
+        JsonNode json = selection.apply(new ProjetoWithUsersAndTarefasDTO(projeto, selection), objectMapper);
+
+        assertEquals(1L, json.get("id").asLong());
+        assertEquals("Ponte", json.get("designacao").asText());
+        assertFalse(json.has("status"));
+        assertFalse(json.has("users"));
+        assertFalse(json.has("externos"));
+        assertEquals(1, json.get("tarefas").size());
+        assertEquals(5L, json.get("tarefas").get(0).get("id").asLong());
+        assertFalse(json.get("tarefas").get(0).has("descricao"));
+    }
+
+    @Test
+    @DisplayName("expand alone should keep every scalar field and only the expanded associations")
+    void expandAloneShouldKeepScalars() {
+        Projeto projeto = new Projeto();
+        projeto.setId(1L);
+        projeto.setStatus("ATIVO");
+
+        FieldSelection selection = FieldSelection.parse(null, "users", ASSOCIATIONS);
+        ProjetoWithUsersAndTarefasDTO dto = new ProjetoWithUsersAndTarefasDTO(projeto, selection);
+        JsonNode json = selection.apply(dto, objectMapper);
+
+        assertNull(dto.getTarefas());
+        assertNull(dto.getExternos());
+        assertEquals("ATIVO", json.get("status").asText());
+        assertTrue(json.has("users"));
+        assertFalse(json.has("tarefas"));
+    }
+}
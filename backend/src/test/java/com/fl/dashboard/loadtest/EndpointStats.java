@@ -0,0 +1,51 @@
+package com.fl.dashboard.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency/throughput figures for one endpoint of a load-test run.
+ */
+public record EndpointStats(String name, int requests, int errors, double throughputPerSecond,
+                            double p50Millis, double p95Millis, double p99Millis, double maxMillis,
+                            long statementsPerRequest, long responseBytes, long heapHighWaterMarkMb) {
+
+    static EndpointStats from(String name, long[] latenciesNanos, int errors, long wallClockNanos,
+                              long statementsPerRequest, long responseBytes, long heapHighWaterMarkBytes) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        return new EndpointStats(
+                name,
+                sorted.length,
+                errors,
+                sorted.length / (wallClockNanos / 1_000_000_000.0),
+                percentile(sorted, 50),
+                percentile(sorted, 95),
+                percentile(sorted, 99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0,
+                statementsPerRequest,
+                responseBytes,
+                heapHighWaterMarkBytes / (1024 * 1024));
+    }
+
+    // Nearest-rank percentile.
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    static String header() {
+        return String.format("%-40s %8s %6s %9s %9s %9s %9s %9s %6s %9s %8s",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "SQL/r", "Bytes/r",
+                "Heap MB");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-40s %8d %6d %9.1f %9.2f %9.2f %9.2f %9.2f %6d %9d %8d",
+                name, requests, errors, throughputPerSecond, p50Millis, p95Millis, p99Millis, maxMillis,
+                statementsPerRequest, responseBytes, heapHighWaterMarkMb);
+    }
+}
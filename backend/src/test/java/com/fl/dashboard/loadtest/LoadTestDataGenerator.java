@@ -0,0 +1,211 @@
+package com.fl.dashboard.loadtest;
+
+import com.fl.dashboard.entities.Coluna;
+import com.fl.dashboard.entities.Notification;
+import com.fl.dashboard.entities.Projeto;
+import com.fl.dashboard.entities.ProjetoUserHistory;
+import com.fl.dashboard.entities.Tarefa;
+import com.fl.dashboard.entities.User;
+import com.fl.dashboard.entities.UserExtraHours;
+import com.fl.dashboard.enums.NotificationType;
+import com.fl.dashboard.enums.ProjetoUserHistoryAction;
+import com.fl.dashboard.enums.TarefaStatus;
+import com.fl.dashboard.repositories.NotificationRepository;
+import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.ProjetoUserHistoryRepository;
+import com.fl.dashboard.repositories.TarefaRepository;
+import com.fl.dashboard.repositories.UserExtraHoursRepository;
+import com.fl.dashboard.repositories.UserRepository;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Seeds a synthetic but production-shaped data set through the repositories
+ * (so the same entity mappings/cascades the app uses are exercised). Every
+ * choice comes from one seeded Random, so the same {@link Scale} always
+ * produces the same rows - runs are comparable across commits.
+ */
+public class LoadTestDataGenerator {
+
+    // Hashed once and shared - hashing per user would dominate seeding time at larger scales.
+    private static final String PASSWORD_HASH = new BCryptPasswordEncoder().encode("loadtest");
+
+    private static final TarefaStatus[] STATUSES = TarefaStatus.values();
+    private static final String[] PRIORIDADES = {"BAIXA", "MEDIA", "ALTA", "URGENTE"};
+    private static final String[] PROJETO_STATUSES = {"ATIVO", "EM_PROGRESSO", "SUSPENSO", "CONCLUIDO"};
+    private static final LocalDate BASE_DATE = LocalDate.of(2023, 1, 2);
+
+    /**
+     * Size of the generated data set. Defaults mirror a few years of the
+     * real installation; bump them to reproduce the large-table OOMs.
+     */
+    public record Scale(int users, int projetos, int tarefasPerProjeto, int usersPerProjeto,
+                        int notificationsPerUser, int historyEventsPerUser, int extraHoursPerUser, long seed) {
+    }
+
+    public record Summary(List<Long> userIds, List<Long> projetoIds, long tarefas, long notifications,
+                          long historyEvents, long extraHours) {
+    }
+
+    private final UserRepository userRepository;
+    private final ProjetoRepository projetoRepository;
+    private final TarefaRepository tarefaRepository;
+    private final NotificationRepository notificationRepository;
+    private final ProjetoUserHistoryRepository projetoUserHistoryRepository;
+    private final UserExtraHoursRepository userExtraHoursRepository;
+
+    public LoadTestDataGenerator(UserRepository userRepository, ProjetoRepository projetoRepository,
+                                 TarefaRepository tarefaRepository, NotificationRepository notificationRepository,
+                                 ProjetoUserHistoryRepository projetoUserHistoryRepository,
+                                 UserExtraHoursRepository userExtraHoursRepository) {
+        this.userRepository = userRepository;
+        this.projetoRepository = projetoRepository;
+        this.tarefaRepository = tarefaRepository;
+        this.notificationRepository = notificationRepository;
+        this.projetoUserHistoryRepository = projetoUserHistoryRepository;
+        this.userExtraHoursRepository = userExtraHoursRepository;
+    }
+
+    public Summary generate(Scale scale) {
+        Random random = new Random(scale.seed());
+
+        List<User> users = new ArrayList<>(scale.users());
+        for (int i = 1; i <= scale.users(); i++) {
+            User user = new User();
+            user.setName("Colaborador " + i);
+            user.setEmail("colaborador" + i + "@loadtest.local");
+            user.setPassword(PASSWORD_HASH);
+            user.setFuncao("Técnico");
+            user.setCargo(i % 10 == 0 ? "Coordenador" : "Colaborador");
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<Long> projetoIds = new ArrayList<>(scale.projetos());
+        long tarefaCount = 0;
+        List<ProjetoUserHistory> history = new ArrayList<>();
+        for (int p = 1; p <= scale.projetos(); p++) {
+            Projeto projeto = new Projeto();
+            projeto.setProjetoAno(BASE_DATE.getYear() + random.nextInt(3));
+            projeto.setDesignacao("Projeto " + p);
+            projeto.setEntidade("Entidade " + (1 + random.nextInt(40)));
+            projeto.setPrioridade(PRIORIDADES[random.nextInt(PRIORIDADES.length)]);
+            projeto.setStatus(PROJETO_STATUSES[random.nextInt(PROJETO_STATUSES.length)]);
+            projeto.setPrazo(toDate(BASE_DATE.plusDays(random.nextInt(1000))));
+            projeto.setCoordenador(users.get(random.nextInt(users.size())));
+
+            List<User> team = pick(users, scale.usersPerProjeto(), random);
+            projeto.getUsers().addAll(team);
+            // One column per status, as the Kanban board shows them
+            for (TarefaStatus status : STATUSES) {
+                Coluna coluna = new Coluna(null, status, status.name(), status.ordinal());
+                coluna.setProjeto(projeto);
+                projeto.getColunas().add(coluna);
+            }
+            projeto = projetoRepository.save(projeto);
+            projetoIds.add(projeto.getId());
+
+            List<Tarefa> tarefas = new ArrayList<>(scale.tarefasPerProjeto());
+            for (int t = 1; t <= scale.tarefasPerProjeto(); t++) {
+                Tarefa tarefa = new Tarefa();
+                tarefa.setDescricao("Tarefa " + t + " do projeto " + p);
+                tarefa.setPrioridade(PRIORIDADES[random.nextInt(PRIORIDADES.length)]);
+                tarefa.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+                LocalDate start = BASE_DATE.plusDays(random.nextInt(900));
+                tarefa.setPrazoEstimado(toDate(start));
+                tarefa.setPrazoReal(toDate(start.plusDays(1 + random.nextInt(90))));
+                tarefa.setWorkingDays(1 + random.nextInt(65));
+                tarefa.setProjeto(projeto);
+                tarefa.getUsers().addAll(pick(team, 1 + random.nextInt(3), random));
+                tarefas.add(tarefa);
+            }
+            tarefaRepository.saveAll(tarefas);
+            tarefaCount += tarefas.size();
+
+            for (User member : team) {
+                history.add(historyEvent(projeto, member, ProjetoUserHistoryAction.ADDED,
+                        BASE_DATE.plusDays(random.nextInt(900)).atTime(9, 0)));
+            }
+        }
+
+        // Extra ADDED/REMOVED churn per user on top of the initial team assignments.
+        for (User user : users) {
+            for (int e = 0; e < scale.historyEventsPerUser(); e++) {
+                Projeto projeto = projetoRepository.getReferenceById(projetoIds.get(random.nextInt(projetoIds.size())));
+                ProjetoUserHistoryAction action = e % 2 == 0 ? ProjetoUserHistoryAction.ADDED : ProjetoUserHistoryAction.REMOVED;
+                history.add(historyEvent(projeto, user, action, BASE_DATE.plusDays(random.nextInt(900)).atTime(10, 0)));
+            }
+        }
+        projetoUserHistoryRepository.saveAll(history);
+
+        List<Notification> notifications = new ArrayList<>();
+        NotificationType[] types = NotificationType.values();
+        for (User user : users) {
+            for (int n = 0; n < scale.notificationsPerUser(); n++) {
+                Notification notification = new Notification();
+                notification.setType(types[random.nextInt(types.length)].name());
+                notification.setContent("Notificação " + n + " para " + user.getName());
+                notification.setIsRead(random.nextInt(4) != 0);
+                notification.setCreatedAt(toDate(BASE_DATE.plusDays(random.nextInt(900))));
+                notification.setUser(user);
+                notification.setProjeto(projetoRepository.getReferenceById(projetoIds.get(random.nextInt(projetoIds.size()))));
+                notifications.add(notification);
+            }
+        }
+        notificationRepository.saveAll(notifications);
+
+        // Spread over the current year up to today (one entry per user and day), so the weekly summary
+        // of this year and the team summary of this month aggregate real rows.
+        LocalDate yearStart = LocalDate.now().withDayOfYear(1);
+        int daysSoFar = LocalDate.now().getDayOfYear();
+        List<UserExtraHours> extraHours = new ArrayList<>();
+        for (User user : users) {
+            List<Integer> days = pick(IntStream.range(0, daysSoFar).boxed().toList(),
+                    scale.extraHoursPerUser(), random);
+            for (int day : days) {
+                // -2h to +4h in half hours - mostly extra, sometimes less
+                double hours = (random.nextInt(13) - 4) / 2.0;
+                extraHours.add(new UserExtraHours(null, user, yearStart.plusDays(day),
+                        hours == 0 ? 0.5 : hours, null));
+            }
+        }
+        userExtraHoursRepository.saveAll(extraHours);
+
+        return new Summary(users.stream().map(User::getId).toList(), projetoIds, tarefaCount,
+                notifications.size(), history.size(), extraHours.size());
+    }
+
+    private static ProjetoUserHistory historyEvent(Projeto projeto, User user, ProjetoUserHistoryAction action,
+                                                   LocalDateTime when) {
+        ProjetoUserHistory event = new ProjetoUserHistory();
+        event.setProjeto(projeto);
+        event.setUser(user);
+        event.setAction(action);
+        event.setEventDate(when);
+        return event;
+    }
+
+    private static <T> List<T> pick(List<T> source, int count, Random random) {
+        List<T> copy = new ArrayList<>(source);
+        int n = Math.min(count, copy.size());
+        for (int i = 0; i < n; i++) {
+            int j = i + random.nextInt(copy.size() - i);
+            T tmp = copy.get(i);
+            copy.set(i, copy.get(j));
+            copy.set(j, tmp);
+        }
+        return new ArrayList<>(copy.subList(0, n));
+    }
+
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,418 @@
+package com.fl.dashboard.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fl.dashboard.config.QueryStats;
+import com.fl.dashboard.config.QueryStatsFilter;
+import com.fl.dashboard.enums.Permission;
+import com.fl.dashboard.repositories.NotificationRepository;
+import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.ProjetoUserHistoryRepository;
+import com.fl.dashboard.repositories.TarefaRepository;
+import com.fl.dashboard.repositories.UserExtraHoursRepository;
+import com.fl.dashboard.repositories.UserRepository;
+import com.fl.dashboard.services.ProjetoUserHistoryService;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds a synthetic data set (LoadTestDataGenerator) and drives the main
+ * read endpoints concurrently over real HTTP, reporting p50/p95/p99 latency,
+ * throughput, SQL statements and (uncompressed) bytes per request and the
+ * heap high-water mark per endpoint. It also loads one Kanban board both the
+ * way the frontend does today and through /projetos/{id}/board, and reports
+ * the requests, SQL statements and bytes each takes, and does the same for
+ * changing the status of that board's tarefas one PUT at a time against one
+ * POST /tarefas/bulk. Excluded from the normal build; run with
+ *
+ * <pre>
+ *   mvn -Ploadtest test
+ *   mvn -Ploadtest test -Dloadtest.projetos=2000 -Dloadtest.concurrency=32
+ * </pre>
+ *
+ * Runs against in-memory H2 by default (application-loadtest.properties). To use
+ * a MySQL container as the stand-in instead (e.g. the "db" service from
+ * docker-compose.yml, exposed on 3307), also pass
+ * -Dspring.datasource.url=jdbc:mysql://localhost:3307/loadtest?createDatabaseIfNotExist=true
+ * -Dspring.datasource.username=root -Dspring.datasource.password=... -Dspring.flyway.enabled=true
+ * -Dspring.jpa.hibernate.ddl-auto=validate, so the real migrations build the schema.
+ *
+ * To compare platform and virtual request threads, run the same scale on a
+ * Java 21 JDK twice, raising the concurrency past Tomcat's 200 threads, e.g.
+ * -Dloadtest.concurrency=400, once with -Dspring.threads.virtual.enabled=true.
+ * With virtual threads the connection pool (-Dspring.datasource.hikari.maximum-pool-size)
+ * becomes the limit; both settings are recorded in the report.
+ *
+ * The report is printed and written to target/loadtest/loadtest-report.json.
+ */
+@Tag("loadtest")
+@DisplayName("REST endpoint load test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "loadtest"})
+class RestEndpointLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ProjetoUserHistoryRepository projetoUserHistoryRepository;
+
+    @Autowired
+    private UserExtraHoursRepository userExtraHoursRepository;
+
+    @Autowired
+    private ProjetoUserHistoryService projetoUserHistoryService;
+
+    @Autowired
+    private JWKSource<SecurityContext> jwkSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.seed}")
+    private long seed;
+    @Value("${loadtest.users}")
+    private int users;
+    @Value("${loadtest.projetos}")
+    private int projetos;
+    @Value("${loadtest.tarefas-per-projeto}")
+    private int tarefasPerProjeto;
+    @Value("${loadtest.users-per-projeto}")
+    private int usersPerProjeto;
+    @Value("${loadtest.notifications-per-user}")
+    private int notificationsPerUser;
+    @Value("${loadtest.history-events-per-user}")
+    private int historyEventsPerUser;
+    @Value("${loadtest.extra-hours-per-user}")
+    private int extraHoursPerUser;
+    @Value("${loadtest.concurrency}")
+    private int concurrency;
+    @Value("${loadtest.requests-per-endpoint}")
+    private int requestsPerEndpoint;
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+    @Value("${spring.datasource.hikari.maximum-pool-size}")
+    private int dbPoolSize;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    @Test
+    @DisplayName("Main read endpoints under concurrent load")
+    void mainReadEndpointsUnderLoad() throws Exception {
+        LoadTestDataGenerator.Scale scale = new LoadTestDataGenerator.Scale(users, projetos, tarefasPerProjeto,
+                usersPerProjeto, notificationsPerUser, historyEventsPerUser, extraHoursPerUser, seed);
+        long seedStart = System.nanoTime();
+        LoadTestDataGenerator.Summary data;
+        long seedStatements;
+        // The seed is mostly saveAll of tarefas/notifications/history - the bulk insert path.
+        try (QueryStats.Scope seedStats = QueryStats.open()) {
+            data = new LoadTestDataGenerator(userRepository, projetoRepository, tarefaRepository,
+                    notificationRepository, projetoUserHistoryRepository, userExtraHoursRepository).generate(scale);
+            seedStatements = seedStats.getStatements();
+        }
+        long seedMillis = (System.nanoTime() - seedStart) / 1_000_000;
+        System.out.printf("Seeded %d users, %d projetos, %d tarefas, %d notifications, %d history events, "
+                        + "%d extra hours in %d ms (%d JDBC statements)%n",
+                data.userIds().size(), data.projetoIds().size(), data.tarefas(), data.notifications(),
+                data.historyEvents(), data.extraHours(), seedMillis, seedStatements);
+        // The generator backdates history rows directly, so fold them into the summaries afterwards.
+        projetoUserHistoryService.rebuildSummaries();
+
+        Long userId = data.userIds().get(0);
+        Long projetoId = data.projetoIds().get(0);
+        String token = adminToken("colaborador1@loadtest.local");
+
+        Map<String, String> endpoints = new LinkedHashMap<>();
+        endpoints.put("GET /projetos", "/projetos?page=0&size=20");
+        endpoints.put("GET /projetos/{id}/full", "/projetos/" + projetoId + "/full");
+        endpoints.put("GET /projetos/{id}/full?fields", "/projetos/" + projetoId + "/full?fields=id,designacao,tarefas.status");
+        endpoints.put("GET /projetos/{id}/board", "/projetos/" + projetoId + "/board");
+        endpoints.put("GET /projetos/{id}/metrics", "/projetos/" + projetoId + "/metrics");
+        endpoints.put("GET /tarefas", "/tarefas");
+        endpoints.put("GET /tarefas/user/{id}/full", "/tarefas/user/" + userId + "/full");
+        endpoints.put("GET /tarefas/full?expand", "/tarefas/full?expand=projeto&fields=id,status,projeto.designacao");
+        endpoints.put("GET /users", "/users?page=0&size=20");
+        endpoints.put("GET /users/with-projetos?fields", "/users/with-projetos?fields=id,name,projetos.designacao");
+        endpoints.put("GET /notifications/user/{id}", "/notifications/user/" + userId + "?page=0&size=20");
+        endpoints.put("GET /users/{id}/projeto-history", "/users/" + userId + "/projeto-history");
+        endpoints.put("GET /relatorios/colaboradores", "/relatorios/colaboradores");
+        endpoints.put("GET /relatorios/alocacao", "/relatorios/alocacao?inicio=2023-01&fim=2025-12");
+        endpoints.put("GET /tarefas/filter/export", "/tarefas/filter/export?format=csv");
+        endpoints.put("GET /projetos/filter/export", "/projetos/filter/export?format=xlsx");
+        endpoints.put("GET /api/user-extra-hours/user/{id}/weekly-summary/{year}",
+                "/api/user-extra-hours/user/" + userId + "/weekly-summary/" + LocalDate.now().getYear());
+        endpoints.put("GET /api/user-extra-hours/summary", "/api/user-extra-hours/summary?start="
+                + LocalDate.now().withDayOfMonth(1) + "&end=" + LocalDate.now());
+
+        List<EndpointStats> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            for (Map.Entry<String, String> endpoint : endpoints.entrySet()) {
+                results.add(run(endpoint.getKey(), endpoint.getValue(), token, executor));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, PageLoad> boardLoads = compareBoardLoads(projetoId, token);
+        Map<String, PageLoad> statusChanges = compareStatusChanges(projetoId, token);
+
+        System.out.println();
+        System.out.println(EndpointStats.header());
+        results.forEach(System.out::println);
+        System.out.println();
+        System.out.println(PageLoad.header());
+        boardLoads.forEach((name, load) -> System.out.println(load.format(name)));
+        statusChanges.forEach((name, load) -> System.out.println(load.format(name)));
+        writeReport(scale, Map.of("millis", seedMillis, "statements", seedStatements), results, boardLoads,
+                statusChanges);
+
+        List<String> failing = results.stream().filter(r -> r.errors() > 0).map(EndpointStats::name).toList();
+        assertTrue(failing.isEmpty(), "Endpoints with failed requests: " + failing);
+    }
+
+    private EndpointStats run(String name, String path, String token, ExecutorService executor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        // Warm-up; the last response's X-Sql-Statements header (QueryStatsFilter) gives the per-request
+        // count, its body the size (uncompressed - HttpClient doesn't ask for gzip).
+        HttpResponse<byte[]> warmUp = null;
+        for (int i = 0; i < Math.max(1, requestsPerEndpoint / 10); i++) {
+            warmUp = send(request, HttpResponse.BodyHandlers.ofByteArray());
+        }
+        long statementsPerRequest = warmUp == null ? -1 : warmUp.headers()
+                .firstValueAsLong(QueryStatsFilter.STATEMENTS_HEADER).orElse(-1);
+        long responseBytes = warmUp == null ? -1 : warmUp.body().length;
+
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long[] latencies = new long[requestsPerEndpoint];
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(requestsPerEndpoint);
+        long start = System.nanoTime();
+        for (int i = 0; i < requestsPerEndpoint; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                long begin = System.nanoTime();
+                HttpResponse<Void> response = send(request, HttpResponse.BodyHandlers.discarding());
+                latencies[index] = System.nanoTime() - begin;
+                if (response == null || response.statusCode() < 200 || response.statusCode() >= 300) {
+                    errors.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long wallClock = System.nanoTime() - start;
+        long heapPeak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+        return EndpointStats.from(name, latencies, errors.get(), wallClock, statementsPerRequest, responseBytes,
+                heapPeak);
+    }
+
+    // The board as ProjetoKanbanBoard loads it (/full, /colunas/projeto/{id}, then /tarefas/{id}/with-users
+    // for every card) against the one GET /projetos/{id}/board, each run once after the load above.
+    private Map<String, PageLoad> compareBoardLoads(Long projetoId, String token) throws IOException {
+        PageLoad perCard = new PageLoad();
+        JsonNode full = objectMapper.readTree(perCard.get(this, "/projetos/" + projetoId + "/full", token));
+        perCard.get(this, "/colunas/projeto/" + projetoId, token);
+        for (JsonNode tarefa : full.path("tarefas")) {
+            perCard.get(this, "/tarefas/" + tarefa.path("id").asLong() + "/with-users", token);
+        }
+
+        PageLoad board = new PageLoad();
+        board.get(this, "/projetos/" + projetoId + "/board", token);
+
+        Map<String, PageLoad> loads = new LinkedHashMap<>();
+        loads.put("Kanban board, per-card calls", perCard);
+        loads.put("Kanban board, GET /projetos/{id}/board", board);
+        return loads;
+    }
+
+    // Every tarefa of the board moved to IN_PROGRESS with PUT /tarefas/{id}/status, then all of them
+    // to DONE (so the subtarefa check runs too) with a single POST /tarefas/bulk carrying the versions
+    // the board shows.
+    private Map<String, PageLoad> compareStatusChanges(Long projetoId, String token) throws IOException {
+        PageLoad perCard = new PageLoad();
+        for (JsonNode tarefa : readBoardTarefas(projetoId, token)) {
+            perCard.send(this, "PUT", "/tarefas/" + tarefa.path("id").asLong() + "/status",
+                    "{\"status\":\"IN_PROGRESS\"}", token);
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (JsonNode tarefa : readBoardTarefas(projetoId, token)) {
+            items.add(Map.of("id", tarefa.path("id").asLong(), "version", tarefa.path("version").asLong()));
+        }
+        PageLoad bulk = new PageLoad();
+        bulk.send(this, "POST", "/tarefas/bulk", objectMapper.writeValueAsString(
+                Map.of("operacao", "STATUS", "status", "DONE", "tarefas", items)), token);
+
+        Map<String, PageLoad> loads = new LinkedHashMap<>();
+        loads.put("Status change, per-card PUTs", perCard);
+        loads.put("Status change, POST /tarefas/bulk", bulk);
+        return loads;
+    }
+
+    private JsonNode readBoardTarefas(Long projetoId, String token) throws IOException {
+        return objectMapper.readTree(new PageLoad().get(this, "/projetos/" + projetoId + "/board", token))
+                .path("tarefas");
+    }
+
+    /**
+     * Requests, SQL statements and bytes it took to load one page (or make one change).
+     */
+    static final class PageLoad {
+        int requests;
+        long statements;
+        long bytes;
+
+        byte[] get(RestEndpointLoadTest test, String path, String token) {
+            return send(test, "GET", path, null, token);
+        }
+
+        byte[] send(RestEndpointLoadTest test, String method, String path, String json, String token) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + test.port + path))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(60))
+                    .method(method, json == null ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+            HttpResponse<byte[]> response = test.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals(200, response == null ? -1 : response.statusCode(), method + " " + path);
+            requests++;
+            statements += response.headers().firstValueAsLong(QueryStatsFilter.STATEMENTS_HEADER).orElse(0);
+            bytes += response.body().length;
+            return response.body();
+        }
+
+        public int getRequests() {
+            return requests;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        static String header() {
+            return String.format("%-40s %8s %8s %9s", "Page load", "Requests", "SQL", "Bytes");
+        }
+
+        String format(String name) {
+            return String.format("%-40s %8d %8d %9d", name, requests, statements, bytes);
+        }
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
+        try {
+            return httpClient.send(request, bodyHandler);
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // Signed with the application's own key, carrying every permission, so every endpoint takes its
+    // "view all" path - the expensive one the production OOMs came from.
+    private String adminToken(String email) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(email)
+                .issuedAt(now)
+                .expiresAt(now.plus(Duration.ofHours(2)))
+                .claim("username", email)
+                .claim("email", email)
+                .claim("authorities", Arrays.stream(Permission.values()).map(Enum::name).toList())
+                .build();
+        return new NimbusJwtEncoder(jwkSource)
+                .encode(JwtEncoderParameters.from(JwsHeader.with(SignatureAlgorithm.RS256).build(), claims))
+                .getTokenValue();
+    }
+
+    private void writeReport(LoadTestDataGenerator.Scale scale, Map<String, Long> seed, List<EndpointStats> results,
+                             Map<String, PageLoad> boardLoads, Map<String, PageLoad> statusChanges)
+            throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("scale", scale);
+        report.put("seed", seed);
+        report.put("concurrency", concurrency);
+        report.put("requestsPerEndpoint", requestsPerEndpoint);
+        // The property is ignored below Java 21
+        report.put("virtualThreads", virtualThreadsEnabled && Runtime.version().feature() >= 21);
+        report.put("dbPoolSize", dbPoolSize);
+        report.put("endpoints", results);
+        report.put("kanbanBoard", boardLoads);
+        report.put("statusChange", statusChanges);
+
+        Path output = Path.of("target", "loadtest", "loadtest-report.json");
+        Files.createDirectories(output.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        System.out.println("Report written to " + output.toAbsolutePath());
+    }
+}
@@ -0,0 +1,138 @@
+package com.fl.dashboard.resources;
+
+import com.fl.dashboard.entities.Projeto;
+import com.fl.dashboard.entities.Tarefa;
+import com.fl.dashboard.loadtest.LoadTestDataGenerator;
+import com.fl.dashboard.repositories.NotificationRepository;
+import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.ProjetoUserHistoryRepository;
+import com.fl.dashboard.repositories.TarefaRepository;
+import com.fl.dashboard.repositories.UserExtraHoursRepository;
+import com.fl.dashboard.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs of the ETag endpoints, end to end: the ETag of a
+ * response gets a 304 until one of the rows the view is built from
+ * changes, then a 200 with a new ETag.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "querybudget"})
+// Own database, so the seed doesn't clash with QueryBudgetResourceTest's
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:conditionalget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Conditional GET tests")
+class ConditionalGetResourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ProjetoUserHistoryRepository projetoUserHistoryRepository;
+
+    @Autowired
+    private UserExtraHoursRepository userExtraHoursRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long projetoId;
+
+    @BeforeAll
+    void seed() {
+        LoadTestDataGenerator.Summary data = new LoadTestDataGenerator(userRepository, projetoRepository,
+                tarefaRepository, notificationRepository, projetoUserHistoryRepository, userExtraHoursRepository)
+                .generate(new LoadTestDataGenerator.Scale(4, 3, 5, 2, 2, 1, 0, 42L));
+        projetoId = data.projetoIds().get(0);
+    }
+
+    private static RequestPostProcessor admin() {
+        return jwt().jwt(jwt -> jwt.claim("email", "colaborador1@loadtest.local"))
+                .authorities(new SimpleGrantedAuthority("VIEW_ALL_PROJECTS"),
+                        new SimpleGrantedAuthority("VIEW_ALL_TASKS"));
+    }
+
+    @Test
+    @DisplayName("GET /projetos/{id}/full should answer 304 until the projeto changes")
+    void projetoFullShouldRevalidateAgainstVersions() throws Exception {
+        String url = "/projetos/" + projetoId + "/full";
+        String etag = mockMvc.perform(get(url).with(admin()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get(url).with(admin()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            Projeto projeto = projetoRepository.findById(projetoId).orElseThrow();
+            projeto.setDesignacao(projeto.getDesignacao() + " (revisto)");
+        });
+
+        String newEtag = mockMvc.perform(get(url).with(admin()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(newEtag);
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    @DisplayName("GET /tarefas/filter should answer 304 until a tarefa on the page changes")
+    void tarefasFilterShouldRevalidateAgainstVersions() throws Exception {
+        String url = "/tarefas/filter?page=0&size=5";
+        String etag = mockMvc.perform(get(url).with(admin()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get(url).with(admin()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            // The first page is sorted by id
+            Tarefa tarefa = tarefaRepository.findAll(Sort.by("id")).get(0);
+            tarefa.setDescricao(tarefa.getDescricao() + " (revista)");
+        });
+
+        String newEtag = mockMvc.perform(get(url).with(admin()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(newEtag);
+        assertNotEquals(etag, newEtag);
+    }
+}
@@ -0,0 +1,135 @@
+package com.fl.dashboard.resources;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fl.dashboard.loadtest.LoadTestDataGenerator;
+import com.fl.dashboard.repositories.NotificationRepository;
+import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.ProjetoUserHistoryRepository;
+import com.fl.dashboard.repositories.TarefaRepository;
+import com.fl.dashboard.repositories.UserExtraHoursRepository;
+import com.fl.dashboard.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /projetos/filter and /projetos/filter/export must return the same projects
+ * for the same parameters. Run as a user without VIEW_ALL_PROJECTS, where
+ * both are limited to the user's own projects.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "querybudget"})
+// Own database, so the seed doesn't clash with the other H2 resource tests
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:projetofilterexport;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Projeto filter/export consistency tests")
+class ProjetoFilterExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ProjetoUserHistoryRepository projetoUserHistoryRepository;
+
+    @Autowired
+    private UserExtraHoursRepository userExtraHoursRepository;
+
+    @BeforeAll
+    void seed() {
+        new LoadTestDataGenerator(userRepository, projetoRepository, tarefaRepository, notificationRepository,
+                projetoUserHistoryRepository, userExtraHoursRepository)
+                .generate(new LoadTestDataGenerator.Scale(4, 40, 1, 2, 0, 0, 0, 7L));
+    }
+
+    // No VIEW_ALL_PROJECTS: both endpoints only see this user's projects
+    private static RequestPostProcessor colaborador() {
+        return jwt().jwt(jwt -> jwt.claim("email", "colaborador1@loadtest.local"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "startDate=2023-06-01&endDate=2024-06-30",
+            "endDate=2023-12-31",
+            "prioridade=ALTA",
+            "status=ATIVO",
+            "status=ALL&prioridade=MEDIA&startDate=2023-03-01"
+    })
+    @DisplayName("Export should contain exactly the projects /projetos/filter lists")
+    void exportShouldMatchFilterForUser(String query) throws Exception {
+        Set<Long> listed = filterIds(query);
+        Set<Long> exported = exportIds(query);
+
+        assertEquals(listed, exported, "for ?" + query);
+        if (query.isEmpty()) {
+            assertFalse(listed.isEmpty());
+        }
+    }
+
+    private Set<Long> filterIds(String query) throws Exception {
+        String body = mockMvc.perform(get("/projetos/filter?size=1000&" + query).with(colaborador()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        Set<Long> ids = new TreeSet<>();
+        for (JsonNode projeto : objectMapper.readTree(body).get("content")) {
+            ids.add(projeto.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private Set<Long> exportIds(String query) throws Exception {
+        MvcResult started = mockMvc.perform(get("/projetos/filter/export?format=csv&" + query).with(colaborador()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        // Header first; the ID is the first column
+        return Arrays.stream(csv.split("\r?\n"))
+                .skip(1)
+                .filter(line -> !line.isBlank())
+                .map(line -> Long.valueOf(line.substring(0, line.indexOf(';'))))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -0,0 +1,129 @@
+package com.fl.dashboard.resources;
+
+import com.fl.dashboard.config.QueryBudget;
+import com.fl.dashboard.loadtest.LoadTestDataGenerator;
+import com.fl.dashboard.repositories.NotificationRepository;
+import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.ProjetoUserHistoryRepository;
+import com.fl.dashboard.repositories.TarefaRepository;
+import com.fl.dashboard.repositories.UserExtraHoursRepository;
+import com.fl.dashboard.repositories.UserRepository;
+import com.fl.dashboard.services.TarefaService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Puts a query budget on the endpoints whose N+1s have been fixed, against
+ * real queries: a small LoadTestDataGenerator data set in H2, counted by
+ * QueryStatsStatisticsFactory and reported by QueryStatsFilter. Budgets are
+ * the statement counts today - raise one only together with the change that
+ * needs it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "querybudget"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Query budget tests")
+class QueryBudgetResourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private TarefaRepository tarefaRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ProjetoUserHistoryRepository projetoUserHistoryRepository;
+
+    @Autowired
+    private UserExtraHoursRepository userExtraHoursRepository;
+
+    @Autowired
+    private TarefaService tarefaService;
+
+    private Long projetoId;
+
+    @BeforeAll
+    void seed() {
+        LoadTestDataGenerator.Summary data = new LoadTestDataGenerator(userRepository, projetoRepository,
+                tarefaRepository, notificationRepository, projetoUserHistoryRepository, userExtraHoursRepository)
+                .generate(new LoadTestDataGenerator.Scale(8, 6, 10, 4, 5, 3, 0, 42L));
+        projetoId = data.projetoIds().get(0);
+    }
+
+    // Every permission's "view all" path - the one that loads the most
+    private static RequestPostProcessor admin() {
+        return jwt().jwt(jwt -> jwt.claim("email", "colaborador1@loadtest.local"))
+                .authorities(new SimpleGrantedAuthority("VIEW_ALL_PROJECTS"),
+                        new SimpleGrantedAuthority("VIEW_ALL_TASKS"));
+    }
+
+    @Test
+    @DisplayName("GET /projetos should stay within its budget")
+    void projetosPage() throws Exception {
+        mockMvc.perform(get("/projetos?page=0&size=20").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(3));
+    }
+
+    @Test
+    @DisplayName("GET /projetos/{id}/full should stay within its budget")
+    void projetoFull() throws Exception {
+        mockMvc.perform(get("/projetos/" + projetoId + "/full").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(4));
+    }
+
+    @Test
+    @DisplayName("GET /projetos/{id}/board should stay within its budget")
+    void projetoBoard() throws Exception {
+        mockMvc.perform(get("/projetos/" + projetoId + "/board").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(3));
+    }
+
+    @Test
+    @DisplayName("GET /tarefas/filter should stay within its budget")
+    void tarefasFilter() throws Exception {
+        // ids, count, ETag versions and the page itself, then the batched externos (projeto and tarefa)
+        // and what each of the page's 2 projetos drags in eagerly: its Proposta (an inverse one-to-one,
+        // so one query per projeto) and the coordenador.
+        mockMvc.perform(get("/tarefas/filter?page=0&size=20").with(admin()))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(9));
+    }
+
+    // The service-level flavour, on the thread's own QueryStats scope
+    @Test
+    @DisplayName("QueryBudget should fail a call that goes over its budget")
+    void budgetShouldCatchRealQueries() {
+        assertEquals(10, QueryBudget.atMost(2, () -> tarefaService.findAllChunk(0, 10)).size());
+
+        assertThrows(AssertionError.class,
+                () -> QueryBudget.atMost(0, () -> tarefaService.findAllChunk(0, 10)));
+    }
+}
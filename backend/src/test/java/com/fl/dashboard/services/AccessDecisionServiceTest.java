@@ -0,0 +1,138 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.TarefaRepository;
+import com.fl.dashboard.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Access Decision Service Tests")
+class AccessDecisionServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TarefaRepository tarefaRepository;
+
+    @Mock
+    private ProjetoRepository projetoRepository;
+
+    private AccessDecisionService service(Duration decisionTtl) {
+        Clock clock = Clock.fixed(Instant.parse("2026-03-02T10:00:00Z"), ZoneOffset.UTC);
+        CurrentUser currentUser = new CurrentUser(userRepository, Duration.ofMinutes(5), 100, clock);
+        return new AccessDecisionService(currentUser, tarefaRepository, projetoRepository, decisionTtl, 100, clock);
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findIdByEmail("ana@fl.pt")).thenReturn(Optional.of(1L));
+        when(tarefaRepository.existsActiveAssignment(10L, 1L)).thenReturn(true);
+        when(projetoRepository.existsActiveMembership(20L, 1L)).thenReturn(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("repeated checks should reuse the cached user id and decision")
+    void shouldCacheDecisions() {
+        AccessDecisionService service = service(Duration.ofSeconds(30));
+
+        assertTrue(service.canAccessTarefa(10L, "ana@fl.pt"));
+        assertTrue(service.canAccessTarefa(10L, "ana@fl.pt"));
+        assertFalse(service.canAccessProjeto(20L, "ana@fl.pt"));
+        assertFalse(service.canAccessTarefa(10L, "unknown@fl.pt"));
+
+        verify(userRepository, times(1)).findIdByEmail("ana@fl.pt");
+        verify(tarefaRepository, times(1)).existsActiveAssignment(10L, 1L);
+        verify(projetoRepository, times(1)).existsActiveMembership(20L, 1L);
+    }
+
+    @Test
+    @DisplayName("evicting a tarefa should make the next check query again")
+    void evictTarefaShouldForceRequery() {
+        AccessDecisionService service = service(Duration.ofSeconds(30));
+        assertTrue(service.canAccessTarefa(10L, "ana@fl.pt"));
+
+        when(tarefaRepository.existsActiveAssignment(10L, 1L)).thenReturn(false);
+        service.evictTarefa(10L);
+
+        assertFalse(service.canAccessTarefa(10L, "ana@fl.pt"));
+        verify(tarefaRepository, times(2)).existsActiveAssignment(10L, 1L);
+    }
+
+    @Test
+    @DisplayName("with the cache disabled, checks should still be memoized within a request")
+    void shouldMemoizeWithinRequestWhenCacheDisabled() {
+        AccessDecisionService service = service(Duration.ZERO);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertTrue(service.canAccessTarefa(10L, "ana@fl.pt"));
+        assertTrue(service.canAccessTarefa(10L, "ana@fl.pt"));
+        verify(tarefaRepository, times(1)).existsActiveAssignment(10L, 1L);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertTrue(service.canAccessTarefa(10L, "ana@fl.pt"));
+        verify(tarefaRepository, times(2)).existsActiveAssignment(10L, 1L);
+    }
+
+    @Test
+    @DisplayName("isCurrentUser should compare the authenticated user's id with the path id")
+    void isCurrentUserShouldCompareIds() {
+        AccessDecisionService service = service(Duration.ofSeconds(30));
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken("ana@fl.pt", null);
+
+        assertTrue(service.isCurrentUser(authentication, 1L));
+        assertFalse(service.isCurrentUser(authentication, 2L));
+        assertFalse(service.isCurrentUser(null, 1L));
+    }
+
+    @Test
+    @DisplayName("a token with a user_id claim should be resolved without querying the user")
+    void shouldTakeUserIdFromTokenClaim() {
+        AccessDecisionService service = service(Duration.ofSeconds(30));
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("email", "ana@fl.pt")
+                .claim(CurrentUser.USER_ID_CLAIM, 1L)
+                .build();
+        JwtAuthenticationToken authentication = new JwtAuthenticationToken(jwt);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        assertTrue(service.isCurrentUser(authentication, 1L));
+        assertTrue(service.canAccessTarefa(10L, "ana@fl.pt"));
+        verify(userRepository, never()).findIdByEmail(any());
+    }
+}
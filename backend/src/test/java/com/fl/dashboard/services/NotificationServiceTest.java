@@ -8,12 +8,14 @@ import com.fl.dashboard.entities.User;
 import com.fl.dashboard.enums.NotificationType;
 import com.fl.dashboard.repositories.NotificationRepository;
 import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.SyncTombstoneRepository;
 import com.fl.dashboard.repositories.TarefaRepository;
 import com.fl.dashboard.repositories.UserRepository;
 import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -23,6 +25,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
@@ -57,6 +60,12 @@ class NotificationServiceTest {
     @Mock
     private SimpMessagingTemplate messagingTemplate;
 
+    @Mock
+    private SlackService slackService;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
     @InjectMocks
     private NotificationService notificationService;
 
@@ -618,4 +627,39 @@ class NotificationServiceTest {
         assertEquals(notificationType, result.getType());
     }
 
+    @Test
+    @DisplayName("createProjectNotifications should save every user's notification in one saveAll without lookups, and push after commit with one grouped Slack message")
+    @SuppressWarnings("unchecked")
+    void createProjectNotificationsShouldWriteInOneBatch() {
+        User other = new User();
+        other.setId(2L);
+        other.setName("Other User");
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(slackService.isEnabled()).thenReturn(true);
+        when(slackService.shouldSendNotificationType(NotificationType.PROJETO_ATRIBUIDO.name())).thenReturn(true);
+
+        notificationService.createProjectNotifications(projeto, List.of(user, other), NotificationType.PROJETO_ATRIBUIDO);
+        verifyNoInteractions(messagingTemplate);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository, times(1)).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals("Novo projeto atribuído: Test Project", captor.getValue().get(1).getContent());
+        verify(userRepository, never()).findById(any());
+        verify(projetoRepository, never()).findById(any());
+        verify(messagingTemplate).convertAndSend(eq("/topic/notifications/1"), any(NotificationResponseDTO.class));
+        verify(messagingTemplate).convertAndSend(eq("/topic/notifications/2"), any(NotificationResponseDTO.class));
+        verify(slackService, times(1)).sendNotification(anyString(), contains("Test User, Other User"), any());
+    }
+
+    @Test
+    @DisplayName("createProjectNotifications should do nothing for an empty set of users")
+    void createProjectNotificationsShouldSkipEmptyUsers() {
+        notificationService.createProjectNotifications(projeto, List.of(), NotificationType.PROJETO_REMOVIDO);
+
+        verify(notificationRepository, never()).saveAll(any());
+        verifyNoInteractions(messagingTemplate, slackService);
+    }
+
 }
@@ -0,0 +1,92 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.config.AppConfig;
+import com.fl.dashboard.services.exceptions.LoginCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Tag("unit")
+@DisplayName("Password Hashing Service Tests")
+class PasswordHashingServiceTest {
+
+    // Lowest BCrypt cost, to keep the tests fast
+    private final PasswordEncoder passwordEncoder = new AppConfig().passwordEncoder(4);
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("verifyLogin should keep current hashes, reject wrong passwords and re-hash outdated ones")
+    void verifyLoginShouldUpgradeOutdatedHashes() {
+        service = new PasswordHashingService(passwordEncoder, new SimpleMeterRegistry(), 2, 4, Duration.ofSeconds(5));
+        String current = passwordEncoder.encode("segredo");
+        String legacy = new BCryptPasswordEncoder(4).encode("segredo");
+
+        assertEquals(current, service.verifyLogin("segredo", current));
+        assertNull(service.verifyLogin("errada", current));
+        assertNull(service.verifyLogin("errada", legacy));
+
+        String upgraded = service.verifyLogin("segredo", legacy);
+        assertNotEquals(legacy, upgraded);
+        assertTrue(upgraded.startsWith("{bcrypt}"));
+        assertTrue(passwordEncoder.matches("segredo", upgraded));
+    }
+
+    @Test
+    @DisplayName("verifyLogin should refuse logins past the concurrency limit without waiting")
+    void verifyLoginShouldRefuseLoginsPastTheLimit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+        when(slowEncoder.matches(any(), any())).thenAnswer(inv -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service = new PasswordHashingService(slowEncoder, registry, 1, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> service.verifyLogin("a", "hash"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(LoginCapacityExceededException.class, () -> service.verifyLogin("b", "hash"));
+        assertEquals(1.0, registry.get("auth.logins.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash", first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("encodeAll should return one salted hash per user")
+    void encodeAllShouldSaltEachHash() {
+        service = new PasswordHashingService(passwordEncoder, new SimpleMeterRegistry(), 3, 4, Duration.ofSeconds(5));
+
+        List<String> hashes = service.encodeAll("nova-senha", 10);
+
+        assertEquals(10, hashes.size());
+        assertEquals(10, new HashSet<>(hashes).size());
+        assertTrue(hashes.stream().allMatch(hash -> passwordEncoder.matches("nova-senha", hash)));
+    }
+}
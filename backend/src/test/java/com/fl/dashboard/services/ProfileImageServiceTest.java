@@ -0,0 +1,151 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.entities.ProfileImage;
+import com.fl.dashboard.projections.ProfileImageDimensionsProjection;
+import com.fl.dashboard.repositories.ProfileImageRepository;
+import com.fl.dashboard.repositories.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Profile Image Service Tests")
+class ProfileImageServiceTest {
+
+    @Mock
+    private ProfileImageRepository profileImageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private ProfileImageService profileImageService;
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", output);
+        return output.toByteArray();
+    }
+
+    private static ProfileImageDimensionsProjection dimensions(String hash, int size, Integer width, Integer height) {
+        return new ProfileImageDimensionsProjection() {
+            public String getHash() { return hash; }
+            public Integer getSize() { return size; }
+            public Integer getWidth() { return width; }
+            public Integer getHeight() { return height; }
+        };
+    }
+
+    @Test
+    @DisplayName("store should save every size under the SHA-256 of the upload")
+    @SuppressWarnings("unchecked")
+    void storeShouldSaveEverySize() throws IOException {
+        byte[] upload = png(600, 300);
+        when(profileImageRepository.findSizesByHash(any())).thenReturn(List.of());
+
+        String hash = profileImageService.store(new MockMultipartFile("image", "foto.png", "image/png", upload));
+
+        assertEquals(ProfileImageService.sha256(upload), hash);
+        ArgumentCaptor<List<ProfileImage>> saved = ArgumentCaptor.forClass(List.class);
+        verify(profileImageRepository).saveAll(saved.capture());
+        assertEquals(ProfileImageService.SIZES, saved.getValue().stream().map(ProfileImage::getSize).toList());
+        for (ProfileImage image : saved.getValue()) {
+            assertEquals(hash, image.getHash());
+            assertEquals("image/jpeg", image.getContentType());
+            BufferedImage stored = ImageIO.read(new ByteArrayInputStream(image.getData()));
+            assertEquals(image.getSize(), stored.getWidth());
+            assertEquals(image.getSize() / 2, stored.getHeight());
+            assertEquals(stored.getWidth(), image.getWidth());
+            assertEquals(stored.getHeight(), image.getHeight());
+        }
+    }
+
+    @Test
+    @DisplayName("store should reuse an image that was already uploaded")
+    void storeShouldReuseExistingImage() throws IOException {
+        when(profileImageRepository.findSizesByHash(any())).thenReturn(List.of(40, 90, 180));
+
+        profileImageService.store(new MockMultipartFile("image", "foto.png", "image/png", png(50, 50)));
+
+        verify(profileImageRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("store should reject files that aren't JPEG or PNG")
+    void storeShouldRejectOtherContentTypes() {
+        MockMultipartFile gif = new MockMultipartFile("image", "foto.gif", "image/gif", new byte[]{1, 2, 3});
+
+        assertThrows(IllegalArgumentException.class, () -> profileImageService.store(gif));
+        verifyNoInteractions(profileImageRepository);
+    }
+
+    @Test
+    @DisplayName("findVariant should pick the smallest stored size at least as big as requested")
+    void findVariantShouldPickClosestSize() {
+        when(userRepository.findProfileImageHash(1L)).thenReturn(Optional.of("abc"));
+        when(profileImageRepository.findSizesByHash("abc")).thenReturn(List.of(40, 90, 180));
+        when(userRepository.findProfileImageHash(2L)).thenReturn(Optional.empty());
+
+        assertEquals(new ProfileImageService.Variant("abc", 90), profileImageService.findVariant(1L, 64));
+        assertEquals(new ProfileImageService.Variant("abc", 180), profileImageService.findVariant(1L, null));
+        assertEquals(new ProfileImageService.Variant("abc", 180), profileImageService.findVariant(1L, 500));
+        assertEquals("\"abc-40\"", profileImageService.findVariant(1L, 40).etag());
+        assertNull(profileImageService.findVariant(2L, 90));
+    }
+
+    @Test
+    @DisplayName("findSourcesToReprocess should skip images already at their target dimensions")
+    @SuppressWarnings("unchecked")
+    void findSourcesToReprocessShouldSkipUpToDateImages() {
+        when(profileImageRepository.findDimensionsByHashIn(any())).thenReturn(List.of(
+                // Up to date, smaller than 180 to begin with
+                dimensions("done", 180, 120, 100), dimensions("done", 90, 90, 75), dimensions("done", 40, 40, 33),
+                // Migrated from tb_user (V33): one size, no dimensions
+                dimensions("legacy", 180, null, null),
+                // All sizes, but one bigger than it should be
+                dimensions("big", 180, 400, 300), dimensions("big", 90, 90, 68), dimensions("big", 40, 40, 30)));
+        when(profileImageRepository.findAllById(any())).thenReturn(List.of());
+
+        profileImageService.findSourcesToReprocess(List.of("done", "legacy", "big"));
+
+        ArgumentCaptor<Iterable<ProfileImage.Key>> keys = ArgumentCaptor.forClass(Iterable.class);
+        verify(profileImageRepository).findAllById(keys.capture());
+        assertEquals(Set.of(new ProfileImage.Key("legacy", 180), new ProfileImage.Key("big", 180)),
+                new HashSet<>((Collection<ProfileImage.Key>) keys.getValue()));
+    }
+
+    @Test
+    @DisplayName("findSourcesToReprocess should not read any bytes when every image is up to date")
+    void findSourcesToReprocessShouldNotLoadWhenNothingToDo() {
+        when(profileImageRepository.findDimensionsByHashIn(any())).thenReturn(List.of(
+                dimensions("done", 180, 180, 180), dimensions("done", 90, 90, 90), dimensions("done", 40, 40, 40)));
+
+        assertTrue(profileImageService.findSourcesToReprocess(List.of("done")).isEmpty());
+        verify(profileImageRepository, never()).findAllById(any());
+    }
+}
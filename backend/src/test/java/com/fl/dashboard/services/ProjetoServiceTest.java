@@ -1,11 +1,30 @@
 package com.fl.dashboard.services;
 
+import com.fl.dashboard.dto.ColunaDTO;
+import com.fl.dashboard.dto.FieldSelection;
+import com.fl.dashboard.dto.ProjetoBoardDTO;
+import com.fl.dashboard.dto.TarefaBoardCardDTO;
+import com.fl.dashboard.dto.ProjetoWithUsersAndTarefasDTO;
+import com.fl.dashboard.dto.ProjetoWithUsersDTO;
 import com.fl.dashboard.entities.Projeto;
 import com.fl.dashboard.entities.User;
+import com.fl.dashboard.enums.NotificationType;
+import com.fl.dashboard.enums.ProjetoUserHistoryAction;
+import com.fl.dashboard.enums.TarefaStatus;
+import com.fl.dashboard.projections.ProjetoBoardColunaRow;
+import com.fl.dashboard.projections.ProjetoListRow;
+import com.fl.dashboard.projections.ProjetoUserRow;
+import com.fl.dashboard.projections.TarefaListRow;
+import com.fl.dashboard.projections.TarefaUserRow;
+import com.fl.dashboard.repositories.ClienteRepository;
 import com.fl.dashboard.repositories.ExternoRepository;
+import com.fl.dashboard.repositories.FetchPlanRepository;
 import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.SyncTombstoneRepository;
+import com.fl.dashboard.repositories.TarefaRepository;
 import com.fl.dashboard.repositories.UserRepository;
 import com.fl.dashboard.services.exceptions.DeadlineValidationException;
+import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
 import com.fl.dashboard.utils.ProjetoDTOMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,14 +35,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -52,6 +76,24 @@ class ProjetoServiceTest {
     @Mock
     private ProjetoUserHistoryService projetoUserHistoryService;
 
+    @Mock
+    private FetchPlanRepository fetchPlanRepository;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private AccessDecisionService accessDecisionService;
+
+    @Mock
+    private CurrentUser currentUser;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Mock
+    private TarefaRepository tarefaRepository;
+
     @InjectMocks
     private ProjetoService projetoService;
 
@@ -88,6 +130,90 @@ class ProjetoServiceTest {
         when(projetoRepository.save(any(Projeto.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
+    @Test
+    @DisplayName("findProjetoWithUsersAndTarefas with a field selection fetches only the expanded associations")
+    void findProjetoWithUsersAndTarefas_fetchesOnlySelectedAssociations() {
+        when(fetchPlanRepository.findActiveProjetoById(eq(10L), any())).thenReturn(Optional.of(projeto));
+        FieldSelection selection = FieldSelection.parse("id,users.name", null, ProjetoWithUsersAndTarefasDTO.ASSOCIATIONS);
+
+        ProjetoWithUsersAndTarefasDTO dto = projetoService.findProjetoWithUsersAndTarefas(10L, selection);
+
+        verify(fetchPlanRepository).findActiveProjetoById(10L, Set.of("users"));
+        verify(projetoRepository, never()).findByIdWithUsersAndTarefas(any());
+        assertEquals(2, dto.getUsers().size());
+        assertNull(dto.getTarefas());
+        assertNull(dto.getExternos());
+        assertNull(dto.getExternoIds());
+    }
+
+    @Test
+    @DisplayName("findAllPaged assembles the listing from row projections and one grouped users query")
+    void findAllPaged_buildsDtosFromRows() {
+        PageRequest pageable = PageRequest.of(0, 20);
+        ProjetoListRow first = new ProjetoListRow(10L, 2026, "Ponte", null, "ALTA", null, prazoAtual, "ATIVO",
+                null, null, null, 1L, "Coordenador", "Eng.", null, "coord@fl.pt", null);
+        ProjetoListRow second = new ProjetoListRow(11L, 2026, "Túnel", null, "BAIXA", null, prazoAtual, "ATIVO",
+                null, null, null, null, null, null, null, null, null);
+        when(projetoRepository.findActiveListRows(pageable)).thenReturn(new PageImpl<>(List.of(first, second), pageable, 2));
+        when(projetoRepository.findUserRowsByProjetoIds(List.of(10L, 11L))).thenReturn(List.of(
+                new ProjetoUserRow(10L, 1L, "Coordenador", "Eng.", null, "coord@fl.pt"),
+                new ProjetoUserRow(10L, 2L, "Membro", null, null, "membro@fl.pt")));
+        when(projetoRepository.findExternoRowsByProjetoIds(any())).thenReturn(List.of());
+
+        Page<ProjetoWithUsersDTO> page = projetoService.findAllPaged(pageable);
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of(10L, 11L), page.getContent().stream().map(ProjetoWithUsersDTO::getId).toList());
+        assertEquals(2, page.getContent().get(0).getUsers().size());
+        assertEquals("coord@fl.pt", page.getContent().get(0).getCoordenador().getEmail());
+        assertEquals(0, page.getContent().get(1).getUsers().size());
+        assertNull(page.getContent().get(1).getCoordenador());
+        verify(clienteRepository, never()).findAllById(any());
+        verify(projetoRepository, never()).findById(any());
+    }
+
+    private static TarefaListRow tarefaRow(Long id, TarefaStatus status) {
+        return new TarefaListRow(id, "Tarefa " + id, "ALTA", null, null, status, null, null, 0L, false,
+                null, null, null, null);
+    }
+
+    @Test
+    @DisplayName("findBoard sends each assignee once, with the cards referencing them by id")
+    void findBoard_normalizesAssignees() {
+        when(projetoRepository.findBoardColunaRows(10L)).thenReturn(List.of(
+                new ProjetoBoardColunaRow(10L, "Ponte", prazoAtual, 100L, TarefaStatus.TODO, "A fazer", 0),
+                new ProjetoBoardColunaRow(10L, "Ponte", prazoAtual, 101L, TarefaStatus.DONE, "Feito", 1)));
+        when(tarefaRepository.findBoardRowsByProjetoId(10L)).thenReturn(List.of(
+                tarefaRow(1L, TarefaStatus.TODO), tarefaRow(3L, TarefaStatus.TODO), tarefaRow(2L, TarefaStatus.DONE)));
+        when(tarefaRepository.findBoardUserRowsByProjetoId(10L)).thenReturn(List.of(
+                new TarefaUserRow(1L, 7L, "Ana", null, null, "ana@fl.pt"),
+                new TarefaUserRow(2L, 7L, "Ana", null, null, "ana@fl.pt"),
+                new TarefaUserRow(2L, 5L, "Rui", null, null, "rui@fl.pt")));
+
+        ProjetoBoardDTO board = projetoService.findBoard(10L);
+
+        assertEquals("Ponte", board.getDesignacao());
+        assertEquals(List.of(100L, 101L), board.getColunas().stream().map(ColunaDTO::getId).toList());
+        assertEquals(List.of(1L, 3L, 2L), board.getTarefas().stream().map(TarefaBoardCardDTO::getId).toList());
+        assertEquals(List.of(7L), board.getTarefas().get(0).getUserIds());
+        assertEquals(List.of(), board.getTarefas().get(1).getUserIds());
+        assertEquals(List.of(5L, 7L), board.getTarefas().get(2).getUserIds());
+        assertEquals(Set.of(5L, 7L), board.getUsers().keySet());
+        assertEquals("Ana", board.getUsers().get(7L).getName());
+        verify(projetoRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("findBoard of a projeto without columns, and of one that doesn't exist")
+    void findBoard_withoutColumnsOrProjeto() {
+        when(projetoRepository.findBoardColunaRows(10L)).thenReturn(List.of(
+                new ProjetoBoardColunaRow(10L, "Ponte", prazoAtual, null, null, null, null)));
+        when(projetoRepository.findBoardColunaRows(99L)).thenReturn(List.of());
+
+        assertEquals(List.of(), projetoService.findBoard(10L).getColunas());
+        assertThrows(ResourceNotFoundException.class, () -> projetoService.findBoard(99L));
+    }
+
     @Test
     @DisplayName("extendPrazo notifies every project team member, not just the coordinator")
     void extendPrazo_notifiesWholeTeam() {
@@ -132,4 +258,33 @@ class ProjetoServiceTest {
         assertEquals(novoPrazo, projeto.getPrazo());
         verify(projetoRepository).save(projeto);
     }
+
+    @Test
+    @DisplayName("update writes the history and notifications of a bulk reassignment as one set-based call per step")
+    void update_reassignmentIsSetBased() {
+        Set<User> newTeam = new HashSet<>();
+        for (long id = 100; id < 150; id++) {
+            User user = new User();
+            user.setId(id);
+            newTeam.add(user);
+        }
+        doAnswer(invocation -> {
+            Projeto entity = invocation.getArgument(1);
+            entity.getUsers().clear();
+            entity.getUsers().add(coordenador);
+            entity.getUsers().addAll(newTeam);
+            return null;
+        }).when(projetoDTOMapper).copyDTOtoEntity(any(), any());
+        projeto.setStatus("EM_PROGRESSO");
+
+        projetoService.update(10L, new ProjetoWithUsersDTO());
+
+        verify(notificationService).createProjectNotifications(projeto, newTeam, NotificationType.PROJETO_ATRIBUIDO);
+        verify(projetoUserHistoryService).registarEventos(projeto, newTeam, ProjetoUserHistoryAction.ADDED);
+        verify(notificationService).createProjectNotifications(projeto, Set.of(teamMember), NotificationType.PROJETO_REMOVIDO);
+        verify(projetoUserHistoryService).registarEventos(projeto, Set.of(teamMember), ProjetoUserHistoryAction.REMOVED);
+        verify(notificationService).createProjectNotifications(projeto, projeto.getUsers(), NotificationType.PROJETO_EDITADO);
+        verify(notificationService, never()).createProjectNotification(any(), any(), any());
+        verify(notificationService, never()).processNotification(any());
+    }
 }
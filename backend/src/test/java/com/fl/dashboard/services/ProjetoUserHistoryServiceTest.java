@@ -0,0 +1,199 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.dto.MonthlyAllocationDTO;
+import com.fl.dashboard.dto.ProjetoTimeSpentDTO;
+import com.fl.dashboard.dto.ProjetoUserHistoryTimelineDTO;
+import com.fl.dashboard.entities.Projeto;
+import com.fl.dashboard.entities.ProjetoUserHistory;
+import com.fl.dashboard.entities.ProjetoUserSummary;
+import com.fl.dashboard.entities.User;
+import com.fl.dashboard.enums.ProjetoUserHistoryAction;
+import com.fl.dashboard.projections.ProjetoUserEventRow;
+import com.fl.dashboard.projections.ProjetoUserHistoryRow;
+import com.fl.dashboard.projections.ProjetoUserSummaryRow;
+import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.ProjetoUserHistoryRepository;
+import com.fl.dashboard.repositories.ProjetoUserSummaryRepository;
+import com.fl.dashboard.repositories.UserRepository;
+import com.fl.dashboard.services.exceptions.InvalidPeriodException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Projeto User History Service Tests")
+class ProjetoUserHistoryServiceTest {
+
+    @Mock
+    private ProjetoUserHistoryRepository projetoUserHistoryRepository;
+
+    @Mock
+    private ProjetoUserSummaryRepository projetoUserSummaryRepository;
+
+    @Mock
+    private ProjetoRepository projetoRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private ProjetoUserHistoryService service;
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 10, 9, 0);
+
+    private static Projeto projeto(long id) {
+        Projeto projeto = new Projeto();
+        projeto.setId(id);
+        return projeto;
+    }
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static ProjetoUserSummary summary(Projeto projeto, User user) {
+        ProjetoUserSummary summary = new ProjetoUserSummary();
+        summary.setProjeto(projeto);
+        summary.setUser(user);
+        return summary;
+    }
+
+    @Test
+    @DisplayName("apply should sum every ADDED-to-REMOVED cycle and keep the open one apart")
+    void applyShouldPairCycles() {
+        ProjetoUserSummary summary = summary(projeto(1), user(1));
+
+        ProjetoUserHistoryService.apply(summary, ProjetoUserHistoryAction.ADDED, T0);
+        ProjetoUserHistoryService.apply(summary, ProjetoUserHistoryAction.REMOVED, T0.plusDays(2));
+        ProjetoUserHistoryService.apply(summary, ProjetoUserHistoryAction.REMOVED, T0.plusDays(3));
+        ProjetoUserHistoryService.apply(summary, ProjetoUserHistoryAction.ADDED, T0.plusDays(5));
+        ProjetoUserHistoryService.apply(summary, ProjetoUserHistoryAction.ADDED, T0.plusDays(6));
+
+        assertEquals(2 * 86_400L, summary.getTotalSeconds());
+        assertEquals(T0.plusDays(6), summary.getActiveSince());
+        assertEquals(T0, summary.getFirstEventDate());
+        assertEquals(T0.plusDays(6), summary.getLastEventDate());
+    }
+
+    @Test
+    @DisplayName("registarEventos should load the summaries of all users in one query and save events and summaries together")
+    @SuppressWarnings("unchecked")
+    void registarEventosShouldUpdateSummaries() {
+        Projeto projeto = projeto(10);
+        User existing = user(1);
+        User novo = user(2);
+        ProjetoUserSummary existingSummary = summary(projeto, existing);
+        existingSummary.setTotalSeconds(100L);
+        existingSummary.setFirstEventDate(T0);
+        when(projetoUserSummaryRepository.findByProjetoIdAndUserIdIn(eq(10L), anyCollection()))
+                .thenReturn(List.of(existingSummary));
+
+        service.registarEventos(projeto, List.of(existing, novo), ProjetoUserHistoryAction.ADDED);
+
+        verify(projetoUserSummaryRepository, times(1)).findByProjetoIdAndUserIdIn(eq(10L), anyCollection());
+        ArgumentCaptor<List<ProjetoUserHistory>> eventos = ArgumentCaptor.forClass(List.class);
+        verify(projetoUserHistoryRepository).saveAll(eventos.capture());
+        assertEquals(2, eventos.getValue().size());
+
+        ArgumentCaptor<List<ProjetoUserSummary>> summaries = ArgumentCaptor.forClass(List.class);
+        verify(projetoUserSummaryRepository).saveAll(summaries.capture());
+        assertSame(existingSummary, summaries.getValue().get(0));
+        assertEquals(100L, existingSummary.getTotalSeconds());
+        assertNotNull(existingSummary.getActiveSince());
+        assertSame(novo, summaries.getValue().get(1).getUser());
+        assertEquals(0L, summaries.getValue().get(1).getTotalSeconds());
+    }
+
+    @Test
+    @DisplayName("getHistoricoParaUser should read time spent from the summary rows without loading projects")
+    void timelineShouldUseSummaries() {
+        when(projetoUserHistoryRepository.findRowsByUserId(1L)).thenReturn(List.of(
+                new ProjetoUserHistoryRow(1L, 10L, "Projeto A", ProjetoUserHistoryAction.ADDED, T0),
+                new ProjetoUserHistoryRow(2L, 10L, "Projeto A", ProjetoUserHistoryAction.REMOVED, T0.plusMonths(1))));
+        when(projetoUserSummaryRepository.findRowsByUserId(1L)).thenReturn(List.of(
+                new ProjetoUserSummaryRow(10L, "Projeto A", 3 * 86_400L, null),
+                new ProjetoUserSummaryRow(20L, "Projeto B", 0L, LocalDateTime.now().minusDays(1))));
+
+        ProjetoUserHistoryTimelineDTO timeline = service.getHistoricoParaUser(1L);
+
+        assertEquals("Projeto A", timeline.getEventos().get(0).getProjetoDesignacao());
+        assertEquals(List.of("2026-01", "2026-02"),
+                timeline.getProjetosAtivosPorMes().stream().map(m -> m.getYearMonth()).toList());
+        List<ProjetoTimeSpentDTO> tempo = timeline.getTempoPorProjeto();
+        assertEquals(3.0, tempo.get(0).getTotalDias());
+        assertFalse(tempo.get(0).isAtivo());
+        assertTrue(tempo.get(1).isAtivo());
+        assertEquals(1.0, tempo.get(1).getTotalDias(), 0.01);
+    }
+
+    @Test
+    @DisplayName("getAlocacaoEquipa should report the allocation at the end of every month of the period")
+    void alocacaoShouldReplayEvents() {
+        when(projetoUserHistoryRepository.streamEventsBefore(LocalDateTime.of(2026, 4, 1, 0, 0))).thenReturn(Stream.of(
+                new ProjetoUserEventRow(1L, 10L, ProjetoUserHistoryAction.ADDED, LocalDateTime.of(2025, 12, 1, 9, 0)),
+                new ProjetoUserEventRow(2L, 10L, ProjetoUserHistoryAction.ADDED, LocalDateTime.of(2026, 2, 3, 9, 0)),
+                new ProjetoUserEventRow(2L, 20L, ProjetoUserHistoryAction.ADDED, LocalDateTime.of(2026, 2, 4, 9, 0)),
+                new ProjetoUserEventRow(1L, 10L, ProjetoUserHistoryAction.REMOVED, LocalDateTime.of(2026, 3, 5, 9, 0))));
+
+        List<MonthlyAllocationDTO> result = service.getAlocacaoEquipa(YearMonth.of(2026, 1), YearMonth.of(2026, 3));
+
+        assertEquals(List.of("2026-01", "2026-02", "2026-03"),
+                result.stream().map(MonthlyAllocationDTO::getYearMonth).toList());
+        assertEquals(List.of(1, 2, 1), result.stream().map(MonthlyAllocationDTO::getColaboradores).toList());
+        assertEquals(List.of(1, 2, 2), result.stream().map(MonthlyAllocationDTO::getProjetos).toList());
+        assertEquals(List.of(1, 3, 2), result.stream().map(MonthlyAllocationDTO::getAlocacoes).toList());
+    }
+
+    @Test
+    @DisplayName("getAlocacaoEquipa should reject a reversed period")
+    void alocacaoShouldRejectReversedPeriod() {
+        assertThrows(InvalidPeriodException.class,
+                () -> service.getAlocacaoEquipa(YearMonth.of(2026, 5), YearMonth.of(2026, 1)));
+        verify(projetoUserHistoryRepository, never()).streamEventsBefore(any());
+    }
+
+    @Test
+    @DisplayName("rebuildSummaries should create one summary per (projeto, user) pair")
+    @SuppressWarnings("unchecked")
+    void rebuildShouldGroupByPair() {
+        when(projetoRepository.getReferenceById(anyLong())).thenAnswer(inv -> projeto(inv.getArgument(0)));
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(inv -> user(inv.getArgument(0)));
+        when(projetoUserHistoryRepository.streamAllByPair()).thenReturn(Stream.of(
+                new ProjetoUserEventRow(1L, 10L, ProjetoUserHistoryAction.ADDED, T0),
+                new ProjetoUserEventRow(1L, 10L, ProjetoUserHistoryAction.REMOVED, T0.plusHours(1)),
+                new ProjetoUserEventRow(1L, 20L, ProjetoUserHistoryAction.ADDED, T0),
+                new ProjetoUserEventRow(2L, 20L, ProjetoUserHistoryAction.ADDED, T0)));
+
+        assertEquals(3, service.rebuildSummaries());
+
+        verify(projetoUserSummaryRepository).deleteAllInBatch();
+        ArgumentCaptor<List<ProjetoUserSummary>> summaries = ArgumentCaptor.forClass(List.class);
+        verify(projetoUserSummaryRepository).saveAll(summaries.capture());
+        assertEquals(3600L, summaries.getValue().get(0).getTotalSeconds());
+        assertNull(summaries.getValue().get(0).getActiveSince());
+        assertEquals(T0, summaries.getValue().get(2).getActiveSince());
+    }
+}
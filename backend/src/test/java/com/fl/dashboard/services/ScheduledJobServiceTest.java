@@ -0,0 +1,172 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.dto.ScheduledJobRunDTO;
+import com.fl.dashboard.entities.ScheduledJobRun;
+import com.fl.dashboard.entities.SchedulerLock;
+import com.fl.dashboard.enums.JobRunStatus;
+import com.fl.dashboard.repositories.ScheduledJobRunRepository;
+import com.fl.dashboard.schedulers.LockedJob;
+import com.fl.dashboard.services.exceptions.JobAlreadyRunningException;
+import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+@DisplayName("Scheduled Job Service Tests")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ScheduledJobServiceTest {
+
+    private static final String JOB_NAME = "test-job";
+
+    @Mock
+    private SchedulerLockService schedulerLockService;
+
+    @Mock
+    private ScheduledJobRunRepository scheduledJobRunRepository;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private LockedJob job;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ScheduledJobService scheduledJobService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduledJobService = new ScheduledJobService(schedulerLockService, scheduledJobRunRepository, meterRegistry);
+        scheduledJobService.setApplicationContext(applicationContext);
+
+        when(job.getJobName()).thenReturn(JOB_NAME);
+        when(job.getLockAtMostFor()).thenReturn(Duration.ofMinutes(30));
+        when(job.getLockAtLeastFor()).thenReturn(Duration.ofMinutes(5));
+        when(applicationContext.getBeansOfType(LockedJob.class)).thenReturn(Map.of("testJob", job));
+        when(schedulerLockService.getInstanceId()).thenReturn("host:abcd1234");
+        when(scheduledJobRunRepository.save(any(ScheduledJobRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduledJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("runScheduled should skip the job when another instance holds the lock")
+    void runScheduledShouldSkipWhenLockHeld() {
+        when(schedulerLockService.tryAcquire(eq(JOB_NAME), any(), any())).thenReturn(false);
+        when(schedulerLockService.find(JOB_NAME)).thenReturn(Optional.of(new SchedulerLock()));
+
+        Optional<ScheduledJobRunDTO> result = scheduledJobService.runScheduled(JOB_NAME);
+
+        assertTrue(result.isEmpty());
+        verify(job, never()).execute();
+        verify(scheduledJobRunRepository, never()).save(any());
+        verify(schedulerLockService, never()).release(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("runScheduled should record rows affected and release the lock after lockAtLeastFor")
+    void runScheduledShouldRecordSuccessAndRelease() {
+        when(schedulerLockService.tryAcquire(eq(JOB_NAME), any(), any())).thenReturn(true);
+        when(job.execute()).thenReturn(7);
+
+        Optional<ScheduledJobRunDTO> result = scheduledJobService.runScheduled(JOB_NAME);
+
+        assertTrue(result.isPresent());
+        assertEquals(JobRunStatus.SUCCEEDED, result.get().getStatus());
+        assertEquals(Integer.valueOf(7), result.get().getRowsAffected());
+        assertEquals("SCHEDULER", result.get().getTriggeredBy());
+
+        ArgumentCaptor<LocalDateTime> lockedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> lockedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(schedulerLockService).release(eq(JOB_NAME), lockedAt.capture(), lockedUntil.capture());
+        assertEquals(lockedAt.getValue().plusMinutes(5), lockedUntil.getValue());
+        assertEquals(1, meterRegistry.get("scheduled.job")
+                .tags("job", JOB_NAME, "status", "SUCCEEDED", "trigger", "scheduler").timer().count());
+    }
+
+    @Test
+    @DisplayName("runScheduled should record the failure and still release the lock")
+    void runScheduledShouldRecordFailure() {
+        when(schedulerLockService.tryAcquire(eq(JOB_NAME), any(), any())).thenReturn(true);
+        when(job.execute()).thenThrow(new IllegalStateException("boom"));
+
+        Optional<ScheduledJobRunDTO> result = scheduledJobService.runScheduled(JOB_NAME);
+
+        assertTrue(result.isPresent());
+        assertEquals(JobRunStatus.FAILED, result.get().getStatus());
+        assertEquals("IllegalStateException: boom", result.get().getErrorMessage());
+        assertNotNull(result.get().getFinishedAt());
+        verify(schedulerLockService).release(eq(JOB_NAME), any(), any());
+        assertEquals(1, meterRegistry.get("scheduled.job").tag("status", "FAILED").timer().count());
+    }
+
+    @Test
+    @DisplayName("runScheduled should create a missing lock row and then acquire it")
+    void runScheduledShouldCreateMissingLockRow() {
+        when(schedulerLockService.tryAcquire(eq(JOB_NAME), any(), any())).thenReturn(false, true);
+        when(schedulerLockService.find(JOB_NAME)).thenReturn(Optional.empty());
+        when(job.execute()).thenReturn(0);
+
+        Optional<ScheduledJobRunDTO> result = scheduledJobService.runScheduled(JOB_NAME);
+
+        assertTrue(result.isPresent());
+        verify(schedulerLockService).createLock(JOB_NAME);
+        verify(job).execute();
+    }
+
+    @Test
+    @DisplayName("trigger should throw JobAlreadyRunningException when the lock is held")
+    void triggerShouldThrowWhenLockHeld() {
+        when(schedulerLockService.tryAcquire(eq(JOB_NAME), any(), any())).thenReturn(false);
+        when(schedulerLockService.find(JOB_NAME)).thenReturn(Optional.of(new SchedulerLock()));
+
+        assertThrows(JobAlreadyRunningException.class, () -> scheduledJobService.trigger(JOB_NAME, "admin@fl.pt"));
+        verify(job, never()).execute();
+    }
+
+    @Test
+    @DisplayName("trigger should record the requesting user and release the lock immediately")
+    void triggerShouldRecordUserAndReleaseImmediately() {
+        when(schedulerLockService.tryAcquire(eq(JOB_NAME), any(), any())).thenReturn(true);
+        when(job.execute()).thenReturn(3);
+
+        ScheduledJobRunDTO result = scheduledJobService.trigger(JOB_NAME, "admin@fl.pt");
+
+        assertEquals("admin@fl.pt", result.getTriggeredBy());
+        ArgumentCaptor<LocalDateTime> lockedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(schedulerLockService).release(eq(JOB_NAME), any(), lockedUntil.capture());
+        assertEquals(result.getFinishedAt(), lockedUntil.getValue());
+    }
+
+    @Test
+    @DisplayName("trigger should throw ResourceNotFoundException for unknown jobs")
+    void triggerShouldThrowForUnknownJob() {
+        assertThrows(ResourceNotFoundException.class, () -> scheduledJobService.trigger("unknown", "admin@fl.pt"));
+    }
+}
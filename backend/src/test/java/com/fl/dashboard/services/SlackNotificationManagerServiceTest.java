@@ -0,0 +1,93 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.dto.SlackGroupedNotificationDTO;
+import com.fl.dashboard.dto.TarefaWithUsersDTO;
+import com.fl.dashboard.dto.UserSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationContext;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Slack Notification Manager Service Tests")
+class SlackNotificationManagerServiceTest {
+
+    @Mock
+    private SlackService slackService;
+
+    @Mock
+    private TarefaService tarefaService;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private SlackNotificationManagerService service;
+
+    private static UserSummaryDTO user(long id) {
+        return new UserSummaryDTO(id, "User " + id, null, null, "user" + id + "@fl.pt");
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(slackService.isEnabled()).thenReturn(true);
+        when(slackService.shouldSendNotificationType(anyString())).thenReturn(true);
+        when(slackService.sendGroupedNotification(any())).thenReturn(true);
+        when(applicationContext.getBean(TarefaService.class)).thenReturn(tarefaService);
+
+        TarefaWithUsersDTO tarefa = mock(TarefaWithUsersDTO.class);
+        when(tarefa.getId()).thenReturn(7L);
+        when(tarefa.getUsers()).thenReturn(Set.of(user(1)));
+        when(tarefaService.findByIdWithUsers(7L)).thenReturn(tarefa);
+
+        service = new SlackNotificationManagerService(slackService);
+        service.setApplicationContext(applicationContext);
+    }
+
+    @Test
+    @DisplayName("notifications for the same task and type should be grouped until the next flush")
+    void shouldGroupPendingNotifications() {
+        service.addNotification("TAREFA_ATRIBUIDA", "Tarefa atribuída", 7L, List.of(user(2)));
+        service.addNotification("TAREFA_ATRIBUIDA", "Tarefa atribuída", 7L, List.of(user(3)));
+        service.addContentToNotification("TAREFA_ATRIBUIDA", "Tarefa atribuída", 7L, "Prazo: amanhã");
+
+        assertEquals(1, service.getPendingNotificationsCount());
+        verify(slackService, never()).sendGroupedNotification(any());
+
+        service.processPendingNotifications();
+
+        ArgumentCaptor<SlackGroupedNotificationDTO> sent = ArgumentCaptor.forClass(SlackGroupedNotificationDTO.class);
+        verify(slackService, times(1)).sendGroupedNotification(sent.capture());
+        assertEquals(3, sent.getValue().getAllUsers().size());
+        assertEquals("Prazo: amanhã", sent.getValue().getAdditionalContent());
+        assertEquals(0, service.getPendingNotificationsCount());
+    }
+
+    @Test
+    @DisplayName("status changes should be sent immediately and never queued")
+    void shouldSendStatusChangesImmediately() {
+        service.addNotification("TAREFA_STATUS_ALTERADO", "Estado alterado", 7L, List.of(user(2)));
+
+        verify(slackService, times(1)).sendGroupedNotification(any());
+        assertEquals(0, service.getPendingNotificationsCount());
+
+        service.processPendingNotifications();
+        verify(slackService, times(1)).sendGroupedNotification(any());
+    }
+}
@@ -6,6 +6,7 @@ import com.fl.dashboard.entities.Subtarefa;
 import com.fl.dashboard.entities.Tarefa;
 import com.fl.dashboard.entities.User;
 import com.fl.dashboard.enums.TarefaStatus;
+import com.fl.dashboard.projections.SubtarefaProgressRow;
 import com.fl.dashboard.repositories.SubtarefaRepository;
 import com.fl.dashboard.repositories.TarefaRepository;
 import com.fl.dashboard.repositories.UserRepository;
@@ -58,6 +59,9 @@ class SubtarefaServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private CurrentUser currentUser;
+
     @InjectMocks
     private SubtarefaService subtarefaService;
 
@@ -334,7 +338,7 @@ class SubtarefaServiceTest {
 
     @Test
     void isOwnerOfSubtarefaShouldReturnFalseWhenUserDoesNotExist() {
-        when(userRepository.findByEmail("ghost@test.local")).thenReturn(null);
+        when(currentUser.idOf("ghost@test.local")).thenReturn(null);
 
         assertFalse(subtarefaService.isOwnerOfSubtarefa(1L, 10L, "ghost@test.local"));
         verify(subtarefaRepository, never()).findByIdAndTarefaId(anyLong(), anyLong());
@@ -342,9 +346,7 @@ class SubtarefaServiceTest {
 
     @Test
     void isOwnerOfSubtarefaShouldReturnFalseWhenSubtarefaDoesNotExist() {
-        User requester = user(1L);
-        requester.setEmail("owner@test.local");
-        when(userRepository.findByEmail("owner@test.local")).thenReturn(requester);
+        when(currentUser.idOf("owner@test.local")).thenReturn(1L);
         when(subtarefaRepository.findByIdAndTarefaId(10L, 1L)).thenReturn(Optional.empty());
 
         assertFalse(subtarefaService.isOwnerOfSubtarefa(1L, 10L, "owner@test.local"));
@@ -353,9 +355,8 @@ class SubtarefaServiceTest {
     @Test
     void isOwnerOfSubtarefaShouldReturnTrueWhenRequesterIsTheAssignedUser() {
         User owner = user(1L);
-        owner.setEmail("owner@test.local");
         Subtarefa subtarefa = buildSubtarefa(10L, owner, new BigDecimal("50.00"), false);
-        when(userRepository.findByEmail("owner@test.local")).thenReturn(owner);
+        when(currentUser.idOf("owner@test.local")).thenReturn(1L);
         when(subtarefaRepository.findByIdAndTarefaId(10L, 1L)).thenReturn(Optional.of(subtarefa));
 
         assertTrue(subtarefaService.isOwnerOfSubtarefa(1L, 10L, "owner@test.local"));
@@ -364,10 +365,8 @@ class SubtarefaServiceTest {
     @Test
     void isOwnerOfSubtarefaShouldReturnFalseWhenRequesterIsAnotherCollaborator() {
         User owner = user(1L);
-        User someoneElse = user(2L);
-        someoneElse.setEmail("other@test.local");
         Subtarefa subtarefa = buildSubtarefa(10L, owner, new BigDecimal("50.00"), false);
-        when(userRepository.findByEmail("other@test.local")).thenReturn(someoneElse);
+        when(currentUser.idOf("other@test.local")).thenReturn(2L);
         when(subtarefaRepository.findByIdAndTarefaId(10L, 1L)).thenReturn(Optional.of(subtarefa));
 
         assertFalse(subtarefaService.isOwnerOfSubtarefa(1L, 10L, "other@test.local"));
@@ -417,6 +416,18 @@ class SubtarefaServiceTest {
         verify(subtarefaRepository, never()).existsByTarefaId(anyLong());
     }
 
+    @Test
+    void assertCanTransitionStatusForManyShouldNameEveryIncompleteTarefaFromOneGroupedQuery() {
+        when(subtarefaRepository.findProgressByTarefaIds(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new SubtarefaProgressRow(1L, new BigDecimal("100.00")),
+                new SubtarefaProgressRow(3L, new BigDecimal("40.00"))));
+
+        SubtarefasIncompletasException ex = assertThrows(SubtarefasIncompletasException.class,
+                () -> subtarefaService.assertCanTransitionStatus(List.of(1L, 2L, 3L), TarefaStatus.DONE));
+        assertTrue(ex.getMessage().contains("#3 (40.00%)"));
+        assertFalse(ex.getMessage().contains("#1"));
+        verify(subtarefaRepository, never()).existsByTarefaId(anyLong());
+    }
 
     // --- findByTarefaId ---
 
@@ -0,0 +1,122 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.dto.SyncDTO;
+import com.fl.dashboard.dto.TarefaDTO;
+import com.fl.dashboard.enums.SyncEntityType;
+import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.SyncTombstoneRepository;
+import com.fl.dashboard.repositories.TarefaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Sync Service Tests")
+class SyncServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-02T10:00:00Z");
+
+    @Mock
+    private TarefaService tarefaService;
+
+    @Mock
+    private ProjetoService projetoService;
+
+    @Mock
+    private ColunaService colunaService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private TarefaRepository tarefaRepository;
+
+    @Mock
+    private ProjetoRepository projetoRepository;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    private SyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new SyncService(tarefaService, projetoService, colunaService, notificationService,
+                tarefaRepository, projetoRepository, syncTombstoneRepository, 2, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static String tokenAt(Instant instant) {
+        return Long.toString(instant.toEpochMilli());
+    }
+
+    private static TarefaDTO tarefa(Long id) {
+        TarefaDTO dto = new TarefaDTO();
+        dto.setId(id);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("a missing, unreadable or expired token should get a reset with a fresh token")
+    void shouldResetWithoutUsableToken() {
+        for (String token : new String[]{null, "abc", tokenAt(NOW.minus(SyncService.TOKEN_MAX_AGE).minusSeconds(1))}) {
+            SyncDTO changes = syncService.findChangesSince(token, 1L, false, false);
+
+            assertTrue(changes.isReset());
+            assertEquals(tokenAt(NOW), changes.getToken());
+        }
+        verifyNoInteractions(tarefaService, tarefaRepository, syncTombstoneRepository);
+    }
+
+    @Test
+    @DisplayName("changes should be read from shortly before the token and scoped to the user")
+    void shouldReadChangesScopedToUser() {
+        Instant last = NOW.minusSeconds(60);
+        LocalDateTime from = LocalDateTime.ofInstant(last.minus(SyncService.OVERLAP), ZoneOffset.UTC);
+        when(tarefaService.findChangedSince(from, 1L, 3)).thenReturn(List.of(tarefa(10L)));
+        when(tarefaRepository.findDeletedIdsChangedSince(eq(from), eq(1L), any())).thenReturn(List.of(11L));
+        // Removed from 10 and added back since: it's in the changed list, not the deleted one
+        when(syncTombstoneRepository.findEntityIdsSince(eq(1L), eq(SyncEntityType.TAREFA), eq(from), any()))
+                .thenReturn(List.of(10L, 12L, 12L));
+
+        SyncDTO changes = syncService.findChangesSince(tokenAt(last), 1L, false, true);
+
+        assertFalse(changes.isReset());
+        assertEquals(tokenAt(NOW), changes.getToken());
+        assertEquals(List.of(10L), changes.getTarefas().stream().map(TarefaDTO::getId).toList());
+        assertEquals(List.of(11L, 12L), changes.getDeletedTarefas());
+        verify(projetoService).findChangedSince(eq(from), isNull(), eq(3));
+        verify(syncTombstoneRepository, never()).findEntityIdsSince(any(), eq(SyncEntityType.PROJETO), any(), any());
+    }
+
+    @Test
+    @DisplayName("more changes than sync.max-changes should turn into a reset")
+    void shouldResetWhenTooManyChanges() {
+        when(tarefaService.findChangedSince(any(), any(), anyInt()))
+                .thenReturn(List.of(tarefa(1L), tarefa(2L), tarefa(3L)));
+
+        SyncDTO changes = syncService.findChangesSince(tokenAt(NOW.minusSeconds(60)), 1L, true, true);
+
+        assertTrue(changes.isReset());
+        assertNull(changes.getTarefas());
+    }
+}
@@ -1,13 +1,21 @@
 package com.fl.dashboard.services;
 
+import com.fl.dashboard.entities.Projeto;
 import com.fl.dashboard.entities.Tarefa;
 import com.fl.dashboard.entities.User;
+import com.fl.dashboard.dto.TarefaBulkOperationDTO;
+import com.fl.dashboard.dto.TarefaFilterDTO;
 import com.fl.dashboard.dto.TarefaInsertDTO;
+import com.fl.dashboard.enums.NotificationType;
+import com.fl.dashboard.enums.TarefaBulkOperacao;
 import com.fl.dashboard.enums.TarefaStatus;
 import com.fl.dashboard.repositories.ExternoRepository;
 import com.fl.dashboard.repositories.ProjetoRepository;
+import com.fl.dashboard.repositories.SyncTombstoneRepository;
 import com.fl.dashboard.repositories.TarefaRepository;
 import com.fl.dashboard.repositories.UserRepository;
+import com.fl.dashboard.services.exceptions.OptimisticLockConflictException;
+import com.fl.dashboard.services.exceptions.ResourceNotFoundException;
 import com.fl.dashboard.services.exceptions.SubtarefaDivisaoInvalidaException;
 import com.fl.dashboard.services.exceptions.TarefaArquivamentoInvalidoException;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,12 +30,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @Tag("unit")
@@ -57,6 +72,18 @@ class TarefaServiceTest {
     @Mock
     private SubtarefaService subtarefaService;
 
+    @Mock
+    private WorkingDaysCalendar workingDaysCalendar;
+
+    @Mock
+    private AccessDecisionService accessDecisionService;
+
+    @Mock
+    private CurrentUser currentUser;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
     @InjectMocks
     private TarefaService tarefaService;
 
@@ -180,4 +207,146 @@ class TarefaServiceTest {
         assertNull(captor.getValue().getArquivadaEm());
     }
 
+    // --- applyBulkOperation ---
+
+    private Tarefa bulkTarefa(Long id, TarefaStatus status, User... users) {
+        Tarefa bulk = new Tarefa();
+        bulk.setId(id);
+        bulk.setDescricao("Tarefa " + id);
+        bulk.setStatus(status);
+        bulk.setVersion(0L);
+        bulk.setUsers(new HashSet<>(Set.of(users)));
+        return bulk;
+    }
+
+    private TarefaBulkOperationDTO bulkOperation(TarefaBulkOperacao operacao, Tarefa... tarefas) {
+        TarefaBulkOperationDTO dto = new TarefaBulkOperationDTO();
+        dto.setOperacao(operacao);
+        List<TarefaBulkOperationDTO.Item> items = new ArrayList<>();
+        for (Tarefa t : tarefas) {
+            TarefaBulkOperationDTO.Item item = new TarefaBulkOperationDTO.Item();
+            item.setId(t.getId());
+            item.setVersion(t.getVersion());
+            items.add(item);
+        }
+        dto.setTarefas(items);
+        when(tarefaRepository.findAllActiveByIdInForBulk(any())).thenReturn(List.of(tarefas));
+        when(tarefaRepository.saveAllAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        return dto;
+    }
+
+    @Test
+    @DisplayName("bulk operation should change nothing when a tarefa's version is stale")
+    void applyBulkOperationShouldRejectStaleVersions() {
+        Tarefa first = bulkTarefa(10L, TarefaStatus.TODO);
+        Tarefa second = bulkTarefa(11L, TarefaStatus.TODO);
+        TarefaBulkOperationDTO dto = bulkOperation(TarefaBulkOperacao.STATUS, first, second);
+        dto.setStatus(TarefaStatus.IN_PROGRESS);
+        second.setVersion(3L);
+
+        OptimisticLockConflictException ex = assertThrows(OptimisticLockConflictException.class,
+                () -> tarefaService.applyBulkOperation(dto));
+
+        assertTrue(ex.getMessage().contains("#11"));
+        assertEquals(TarefaStatus.TODO, first.getStatus());
+        verify(tarefaRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("bulk operation should report the ids that do not exist")
+    void applyBulkOperationShouldRejectMissingTarefas() {
+        Tarefa found = bulkTarefa(10L, TarefaStatus.DONE);
+        TarefaBulkOperationDTO dto = bulkOperation(TarefaBulkOperacao.ARCHIVE, found);
+        TarefaBulkOperationDTO.Item missing = new TarefaBulkOperationDTO.Item();
+        missing.setId(99L);
+        dto.getTarefas().add(missing);
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> tarefaService.applyBulkOperation(dto));
+
+        assertTrue(ex.getMessage().contains("99"));
+        assertNull(found.getArquivadaEm());
+    }
+
+    @Test
+    @DisplayName("bulk status change should send each user one notification with all of their tarefas")
+    void applyBulkStatusShouldAggregateNotificationsPerUser() {
+        User ana = user(2L);
+        User rui = user(3L);
+        User coordenador = user(4L);
+        Projeto projeto = new Projeto();
+        projeto.setCoordenador(coordenador);
+        Tarefa first = bulkTarefa(10L, TarefaStatus.TODO, ana);
+        Tarefa second = bulkTarefa(11L, TarefaStatus.TODO, ana, rui);
+        second.setProjeto(projeto);
+        TarefaBulkOperationDTO dto = bulkOperation(TarefaBulkOperacao.STATUS, first, second);
+        dto.setStatus(TarefaStatus.DONE);
+
+        tarefaService.applyBulkOperation(dto);
+
+        verify(subtarefaService).assertCanTransitionStatus(List.of(10L, 11L), TarefaStatus.DONE);
+        ArgumentCaptor<Map<User, List<Tarefa>>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(notificationService).createTarefaBulkNotifications(captor.capture(),
+                eq(NotificationType.TAREFA_STATUS_ALTERADO), anyString());
+        assertEquals(List.of(first, second), captor.getValue().get(ana));
+        assertEquals(List.of(second), captor.getValue().get(rui));
+        assertEquals(List.of(second), captor.getValue().get(coordenador));
+        assertEquals(TarefaStatus.DONE, first.getStatus());
+        verify(notificationService, never()).processNotification(any());
+        verifyNoInteractions(slackNotificationManagerService);
+    }
+
+    @Test
+    @DisplayName("bulk reassign should be refused when any tarefa was divided into subtarefas")
+    void applyBulkReassignShouldRejectDividedTarefas() {
+        Tarefa first = bulkTarefa(10L, TarefaStatus.TODO, user(2L));
+        Tarefa second = bulkTarefa(11L, TarefaStatus.TODO);
+        TarefaBulkOperationDTO dto = bulkOperation(TarefaBulkOperacao.REASSIGN, first, second);
+        dto.setUserIds(Set.of(3L));
+        when(subtarefaService.findProgressByTarefaIds(List.of(10L, 11L)))
+                .thenReturn(Map.of(11L, new BigDecimal("20.00")));
+
+        SubtarefaDivisaoInvalidaException ex = assertThrows(SubtarefaDivisaoInvalidaException.class,
+                () -> tarefaService.applyBulkOperation(dto));
+
+        assertTrue(ex.getMessage().contains("#11"));
+        assertEquals(Set.of(user(2L)), first.getUsers());
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("bulk archive should name every tarefa that is not concluded")
+    void applyBulkArchiveShouldRejectTarefasNotDone() {
+        Tarefa done = bulkTarefa(10L, TarefaStatus.DONE);
+        Tarefa inProgress = bulkTarefa(11L, TarefaStatus.IN_PROGRESS);
+        TarefaBulkOperationDTO dto = bulkOperation(TarefaBulkOperacao.ARCHIVE, done, inProgress);
+
+        TarefaArquivamentoInvalidoException ex = assertThrows(TarefaArquivamentoInvalidoException.class,
+                () -> tarefaService.applyBulkOperation(dto));
+
+        assertTrue(ex.getMessage().contains("#11"));
+        assertNull(done.getArquivadaEm());
+    }
+
+    // --- streamExportRows ---
+
+    @Test
+    void streamExportRowsShouldScopeToUserWithoutViewAll() {
+        TarefaFilterDTO filter = new TarefaFilterDTO();
+        filter.setStatus(TarefaStatus.DONE);
+        when(tarefaRepository.streamExportRows(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Stream.empty());
+
+        tarefaService.streamExportRows(filter, "ana@fl.pt", false);
+        tarefaService.streamExportRows(filter, "ana@fl.pt", true);
+
+        verify(tarefaRepository).streamExportRows(null, TarefaStatus.DONE, null, null, null, null, null, null, "ana@fl.pt");
+        verify(tarefaRepository).streamExportRows(null, TarefaStatus.DONE, null, null, null, null, null, null, null);
+    }
+
+    @Test
+    void streamExportRowsShouldBeEmptyWithoutViewAllOrEmail() {
+        assertEquals(0, tarefaService.streamExportRows(new TarefaFilterDTO(), null, false).count());
+        verify(tarefaRepository, never()).streamExportRows(any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
 }
@@ -0,0 +1,89 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.dto.UserExtraHoursSummaryDTO;
+import com.fl.dashboard.projections.ExtraHoursPeriodRow;
+import com.fl.dashboard.projections.ExtraHoursUserTotalRow;
+import com.fl.dashboard.repositories.UserExtraHoursRepository;
+import com.fl.dashboard.repositories.UserRepository;
+import com.fl.dashboard.services.exceptions.InvalidPeriodException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("User Extra Hours Service Tests")
+class UserExtraHoursServiceTest {
+
+    @Mock
+    private UserExtraHoursRepository extraHoursRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserExtraHoursService service;
+
+    @Test
+    @DisplayName("getMonthlySummary should aggregate over the calendar year in SQL and label months in order")
+    void monthlySummaryShouldQueryTheYearRange() {
+        when(extraHoursRepository.sumByMonth(7L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)))
+                .thenReturn(List.of(new ExtraHoursPeriodRow(2, 3.5), new ExtraHoursPeriodRow(11, -1.0)));
+
+        List<UserExtraHoursSummaryDTO> result = service.getMonthlySummary(7L, 2026);
+
+        assertEquals(List.of("2026-02", "2026-11"), result.stream().map(UserExtraHoursSummaryDTO::getPeriod).toList());
+        assertEquals(3.5, result.get(0).getTotalHours());
+        assertEquals(7L, result.get(1).getUserId());
+        verify(extraHoursRepository, never()).findByUserId(any());
+    }
+
+    @Test
+    @DisplayName("getWeeklySummary should label ISO weeks with two digits")
+    void weeklySummaryShouldLabelIsoWeeks() {
+        when(extraHoursRepository.sumByIsoWeek(7L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)))
+                .thenReturn(List.of(new ExtraHoursPeriodRow(1, 2.0), new ExtraHoursPeriodRow(42, 1.5)));
+
+        List<UserExtraHoursSummaryDTO> result = service.getWeeklySummary(7L, 2026);
+
+        assertEquals(List.of("2026-Semana01", "2026-Semana42"),
+                result.stream().map(UserExtraHoursSummaryDTO::getPeriod).toList());
+    }
+
+    @Test
+    @DisplayName("getTeamSummary should return the per-user totals of the period from a single query")
+    void teamSummaryShouldUseOneQuery() {
+        LocalDate start = LocalDate.of(2026, 9, 1);
+        LocalDate end = LocalDate.of(2026, 9, 30);
+        List<ExtraHoursUserTotalRow> rows = List.of(
+                new ExtraHoursUserTotalRow(1L, "Ana", "ana@fl.pt", 2.0, 4.0, -2.0, 3L));
+        when(extraHoursRepository.sumByUser(start, end)).thenReturn(rows);
+
+        assertEquals(rows, service.getTeamSummary(start, end));
+        verify(extraHoursRepository, times(1)).sumByUser(start, end);
+    }
+
+    @Test
+    @DisplayName("getTeamSummary should reject a missing or reversed period")
+    void teamSummaryShouldRejectInvalidPeriod() {
+        LocalDate day = LocalDate.of(2026, 9, 1);
+
+        assertThrows(InvalidPeriodException.class, () -> service.getTeamSummary(null, day));
+        assertThrows(InvalidPeriodException.class, () -> service.getTeamSummary(day.plusDays(1), day));
+        verifyNoInteractions(extraHoursRepository);
+    }
+}
@@ -0,0 +1,121 @@
+package com.fl.dashboard.services;
+
+import com.fl.dashboard.repositories.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Tag("unit")
+@DisplayName("Working Days Calendar Tests")
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WorkingDaysCalendarTest {
+
+    @Mock
+    private HolidayRepository holidayRepository;
+
+    private WorkingDaysCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        when(holidayRepository.findAllDatesOrdered()).thenReturn(List.of());
+        calendar = new WorkingDaysCalendar(holidayRepository);
+    }
+
+    // The day-by-day Calendar loop TarefaService used before - kept here as the reference the
+    // arithmetic version must agree with when there are no holidays.
+    private static int legacyWorkingDays(Date startDate, Date endDate) {
+        Calendar start = Calendar.getInstance();
+        start.setTime(startDate);
+        Calendar end = Calendar.getInstance();
+        end.setTime(endDate);
+        int workingDays = 0;
+        while (!start.after(end)) {
+            int dayOfWeek = start.get(Calendar.DAY_OF_WEEK);
+            if (dayOfWeek != Calendar.SATURDAY && dayOfWeek != Calendar.SUNDAY) {
+                workingDays++;
+            }
+            start.add(Calendar.DATE, 1);
+        }
+        return workingDays;
+    }
+
+    private static Date date(LocalDate localDate) {
+        return Timestamp.valueOf(localDate.atStartOfDay());
+    }
+
+    @Test
+    @DisplayName("Should match the legacy day-by-day loop for arbitrary ranges")
+    void shouldMatchLegacyLoop() {
+        Random random = new Random(42);
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < 2000; i++) {
+            LocalDate start = base.plusDays(random.nextInt(2000));
+            LocalDate end = start.plusDays(random.nextInt(400) - 10);
+            assertEquals(legacyWorkingDays(date(start), date(end)),
+                    calendar.calculateWorkingDays(date(start), date(end)),
+                    () -> start + " -> " + end);
+        }
+    }
+
+    @Test
+    @DisplayName("Should count both ends of the range")
+    void shouldBeInclusive() {
+        // Monday to Friday of the same week
+        assertEquals(5, calendar.calculateWorkingDays(LocalDate.of(2026, 10, 19), LocalDate.of(2026, 10, 23)));
+        // Saturday to Sunday
+        assertEquals(0, calendar.calculateWorkingDays(LocalDate.of(2026, 10, 24), LocalDate.of(2026, 10, 25)));
+        // Same day
+        assertEquals(1, calendar.calculateWorkingDays(LocalDate.of(2026, 10, 19), LocalDate.of(2026, 10, 19)));
+    }
+
+    @Test
+    @DisplayName("Should return null when a date is missing and 0 when the range is reversed")
+    void shouldHandleMissingAndReversedDates() {
+        assertNull(calendar.calculateWorkingDays(null, new Date()));
+        assertNull(calendar.calculateWorkingDays(new Date(), null));
+        assertEquals(0, calendar.calculateWorkingDays(LocalDate.of(2026, 10, 23), LocalDate.of(2026, 10, 19)));
+    }
+
+    @Test
+    @DisplayName("Should subtract weekday holidays inside the range only")
+    void shouldSubtractHolidays() {
+        calendar.setHolidays(List.of(
+                LocalDate.of(2026, 4, 3),   // Sexta-feira Santa (Friday)
+                LocalDate.of(2026, 4, 5),   // Páscoa (Sunday - ignored)
+                LocalDate.of(2026, 4, 25),  // 25 de Abril (Saturday - ignored)
+                LocalDate.of(2026, 5, 1),   // Dia do Trabalhador (Friday)
+                LocalDate.of(2026, 6, 4)    // Corpo de Deus (outside range)
+        ));
+
+        // 22 weekdays in April 2026 plus Friday May 1st, minus the two weekday holidays
+        assertEquals(21, calendar.calculateWorkingDays(LocalDate.of(2026, 4, 1), LocalDate.of(2026, 5, 1)));
+        assertEquals(0, calendar.calculateWorkingDays(LocalDate.of(2026, 4, 3), LocalDate.of(2026, 4, 3)));
+    }
+
+    @Test
+    @DisplayName("Should load holidays from the repository once, on first use")
+    void shouldLoadHolidaysLazily() {
+        when(holidayRepository.findAllDatesOrdered()).thenReturn(List.of(LocalDate.of(2026, 12, 25)));
+
+        assertEquals(4, calendar.calculateWorkingDays(LocalDate.of(2026, 12, 21), LocalDate.of(2026, 12, 25)));
+        assertEquals(4, calendar.calculateWorkingDays(LocalDate.of(2026, 12, 21), LocalDate.of(2026, 12, 25)));
+        verify(holidayRepository, times(1)).findAllDatesOrdered();
+    }
+}
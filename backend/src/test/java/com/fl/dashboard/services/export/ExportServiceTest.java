@@ -0,0 +1,105 @@
+package com.fl.dashboard.services.export;
+
+import com.fl.dashboard.enums.TarefaStatus;
+import com.fl.dashboard.projections.TarefaExportRow;
+import com.fl.dashboard.services.exceptions.InvalidExportFormatException;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@Tag("unit")
+@DisplayName("Export Service Tests")
+class ExportServiceTest {
+
+    private final ExportService exportService = new ExportService(mock(PlatformTransactionManager.class));
+
+    private static final Date PRAZO = Date.from(LocalDate.of(2026, 3, 9).atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+    private static TarefaExportRow row(long id, String descricao) {
+        return new TarefaExportRow(id, descricao, "ALTA", TarefaStatus.DONE, PRAZO, null, 4, true,
+                "Projeto X", "Ana, Rui");
+    }
+
+    private byte[] write(ExportFormat format, Stream<TarefaExportRow> rows) throws Exception {
+        ResponseEntity<StreamingResponseBody> response =
+                exportService.export("tarefas", format, ExportColumns.TAREFAS, () -> rows);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    @DisplayName("CSV export should write a BOM, a header and quote values containing the separator")
+    void csvShouldEscapeValues() throws Exception {
+        String csv = new String(write(ExportFormat.CSV, Stream.of(row(1, "Rever; \"final\""))), StandardCharsets.UTF_8);
+
+        String[] lines = csv.split("\r\n");
+        assertTrue(lines[0].startsWith("\uFEFFID;Descrição;Projeto;"));
+        assertEquals("1;\"Rever; \"\"final\"\"\";Projeto X;DONE;ALTA;2026-03-09;;4;Sim;Ana, Rui", lines[1]);
+        assertEquals(2, lines.length);
+    }
+
+    @Test
+    @DisplayName("XLSX export should write typed cells for every row")
+    void xlsxShouldWriteTypedCells() throws Exception {
+        Stream<TarefaExportRow> rows = LongStream.rangeClosed(1, 250).mapToObj(id -> row(id, "Tarefa " + id));
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(write(ExportFormat.XLSX, rows)))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("tarefas", sheet.getSheetName());
+            assertEquals(250, sheet.getLastRowNum());
+            assertEquals("Descrição", sheet.getRow(0).getCell(1).getStringCellValue());
+
+            Row last = sheet.getRow(250);
+            assertEquals(250.0, last.getCell(0).getNumericCellValue());
+            assertTrue(DateUtil.isCellDateFormatted(last.getCell(5)));
+            assertEquals(LocalDate.of(2026, 3, 9), last.getCell(5).getLocalDateTimeCellValue().toLocalDate());
+            assertEquals(CellType.BLANK, last.getCell(6).getCellType());
+        }
+    }
+
+    @Test
+    @DisplayName("export should name the attachment after the export and format, and close the source")
+    void exportShouldSetAttachmentAndCloseSource() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        ResponseEntity<StreamingResponseBody> response = exportService.export("projetos", ExportFormat.XLSX,
+                ExportColumns.TAREFAS, () -> Stream.of(row(1, "a")).onClose(() -> closed.set(true)));
+
+        assertEquals(ExportFormat.XLSX.getContentType(), response.getHeaders().getContentType().toString());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)
+                .contains("projetos-" + LocalDate.now() + ".xlsx"));
+
+        response.getBody().writeTo(new ByteArrayOutputStream());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    @DisplayName("format should default to CSV, be case-insensitive and reject unknown values")
+    void formatShouldBeParsedLeniently() {
+        assertEquals(ExportFormat.CSV, ExportFormat.from(null));
+        assertEquals(ExportFormat.XLSX, ExportFormat.from("xlsx"));
+        assertThrows(InvalidExportFormatException.class, () -> ExportFormat.from("pdf"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.fl.dashboard.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+@DisplayName("JSON Array Streamer Tests")
+class JsonArrayStreamerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonArrayStreamer streamer = new JsonArrayStreamer(objectMapper);
+
+    private record Row(long id, String name) {
+    }
+
+    // Stands in for a keyset query over ids 1..total.
+    private static List<Row> rows(long total, long afterId, int limit) {
+        return LongStream.rangeClosed(afterId + 1, Math.min(total, afterId + limit))
+                .mapToObj(id -> new Row(id, "row-" + id))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("write should page through every chunk, keyed on the last id of the previous one")
+    void writeShouldStreamAllChunks() throws Exception {
+        long total = JsonArrayStreamer.CHUNK_SIZE * 2L + 3;
+        List<Long> afterIds = new ArrayList<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        streamer.write(response, (afterId, limit) -> {
+            afterIds.add(afterId);
+            return rows(total, afterId, limit);
+        }, Row::id);
+
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        assertTrue(body.isArray());
+        assertEquals(total, body.size());
+        assertEquals(1, body.get(0).get("id").asLong());
+        assertEquals(total, body.get(body.size() - 1).get("id").asLong());
+        assertEquals(List.of(0L, (long) JsonArrayStreamer.CHUNK_SIZE, JsonArrayStreamer.CHUNK_SIZE * 2L), afterIds);
+        assertEquals("application/json", response.getContentType().split(";")[0]);
+    }
+
+    @Test
+    @DisplayName("write should stop after a full last chunk once the next one comes back empty")
+    void writeShouldHandleExactMultipleOfChunkSize() throws Exception {
+        long total = JsonArrayStreamer.CHUNK_SIZE;
+        List<Long> afterIds = new ArrayList<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        streamer.write(response, (afterId, limit) -> {
+            afterIds.add(afterId);
+            return rows(total, afterId, limit);
+        }, Row::id);
+
+        assertEquals(total, objectMapper.readTree(response.getContentAsString()).size());
+        assertEquals(2, afterIds.size());
+    }
+
+    @Test
+    @DisplayName("write should produce an empty array when there are no rows")
+    void writeShouldProduceEmptyArray() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        streamer.write(response, (afterId, limit) -> List.<Row>of(), Row::id);
+
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("write should serialize the view of each element when one is given")
+    void writeShouldApplyView() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        streamer.write(response, (afterId, limit) -> rows(2, afterId, limit), Row::id,
+                row -> Map.of("id", row.id()));
+
+        JsonNode body = objectMapper.readTree(response.getContentAsString());
+        assertEquals(2, body.size());
+        assertFalse(body.get(0).has("name"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.fl.dashboard.utils;
+
+import com.fl.dashboard.projections.EntityVersionRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+@DisplayName("Version Tag Tests")
+class VersionTagTest {
+
+    private record Row(String getKind, Long getOwnerId, Long getId, Long getVersion, Long getDerived)
+            implements EntityVersionRow {
+    }
+
+    private static String tag(List<EntityVersionRow> rows) {
+        return VersionTag.of("projeto-full", 1L, null, null).addRows(rows).build();
+    }
+
+    @Test
+    @DisplayName("build should give a weak ETag that only depends on its inputs")
+    void buildShouldBeStableWeakEtag() {
+        List<EntityVersionRow> rows = List.of(new Row("P", 1L, 1L, 3L, 0L), new Row("T", 1L, 7L, 2L, 5L));
+
+        String etag = tag(rows);
+
+        assertTrue(etag.matches("W/\"[0-9a-f]{32}\""), etag);
+        assertEquals(etag, tag(List.of(new Row("P", 1L, 1L, 3L, 0L), new Row("T", 1L, 7L, 2L, 5L))));
+    }
+
+    @Test
+    @DisplayName("build should change with any version, membership row, derived column or parameter")
+    void buildShouldChangeWithEveryInput() {
+        String etag = tag(List.of(new Row("P", 1L, 1L, 3L, 0L), new Row("T", 1L, 7L, 2L, 5L)));
+
+        assertNotEquals(etag, tag(List.of(new Row("P", 1L, 1L, 4L, 0L), new Row("T", 1L, 7L, 2L, 5L))));
+        assertNotEquals(etag, tag(List.of(new Row("P", 1L, 1L, 3L, 0L), new Row("T", 1L, 7L, 2L, 6L))));
+        assertNotEquals(etag, tag(List.of(new Row("P", 1L, 1L, 3L, 0L))));
+        assertNotEquals(etag, tag(List.of(new Row("P", 1L, 1L, 3L, 0L), new Row("T", 1L, 7L, 2L, 5L),
+                new Row("U", 1L, 9L, 0L, 0L))));
+        assertNotEquals(etag, VersionTag.of("projeto-full", 1L, "id", null)
+                .addRows(List.of(new Row("P", 1L, 1L, 3L, 0L), new Row("T", 1L, 7L, 2L, 5L))).build());
+    }
+
+    @Test
+    @DisplayName("add should keep adjacent values apart")
+    void addShouldSeparateValues() {
+        assertNotEquals(VersionTag.of(12, 3).build(), VersionTag.of(1, 23).build());
+    }
+}
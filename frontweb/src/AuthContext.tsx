@@ -112,12 +112,7 @@ export const AuthProvider: React.FC<{ children: ReactNode }> = ({
           // Try to get user with roles first
           const userData = await getCurrentUserWithRoles();
           console.log('Initialized user with roles:', userData);
-          setUser({
-            ...userData,
-            profileImage: userData.profileImage
-              ? `data:image/jpeg;base64,${userData.profileImage}`
-              : userData.profileImage,
-          });
+          setUser(userData);
         } catch (error) {
           console.warn(
             'Failed to initialize user with roles, falling back:',
@@ -130,10 +125,7 @@ export const AuthProvider: React.FC<{ children: ReactNode }> = ({
           const currentUser = users?.find((u: User) => u.email === email);
 
           if (currentUser) {
-            setUser({
-              ...currentUser,
-              profileImage: `data:image/jpeg;base64,${currentUser.profileImage}`,
-            });
+            setUser(currentUser);
           } else {
             // Clear invalid session
             clearTokenData();
@@ -178,12 +170,7 @@ export const AuthProvider: React.FC<{ children: ReactNode }> = ({
       try {
         const userData = await getCurrentUserWithRoles();
         console.log('User data with roles:', userData);
-        setUser({
-          ...userData,
-          profileImage: userData.profileImage
-            ? `data:image/jpeg;base64,${userData.profileImage}`
-            : userData.profileImage,
-        });
+        setUser(userData);
         navigate(`/users/${userData.id}/tarefas`);
       } catch (error) {
         console.warn(
@@ -196,10 +183,7 @@ export const AuthProvider: React.FC<{ children: ReactNode }> = ({
         const currentUser = users?.find((u: User) => u.email === email);
 
         if (currentUser) {
-          setUser({
-            ...currentUser,
-            profileImage: `data:image/jpeg;base64,${currentUser.profileImage}`,
-          });
+          setUser(currentUser);
           navigate(`/users/${currentUser.id}/tarefas`);
         } else {
           throw new Error('User not found');
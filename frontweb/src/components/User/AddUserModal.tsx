@@ -26,7 +26,6 @@ const AddUserModal: React.FC<AddUserModalProps> = ({
     cargo: '',
     email: '',
     password: '',
-    profileImage: '',
     ativo: true,
   });
   const [profileImage, setProfileImage] = useState<File | null>(null);
@@ -42,7 +41,6 @@ const AddUserModal: React.FC<AddUserModalProps> = ({
         cargo: '',
         email: '',
         password: '',
-        profileImage: '',
         ativo: true,
       });
       setProfileImage(null);
@@ -95,9 +93,9 @@ const AddUserModal: React.FC<AddUserModalProps> = ({
 
     const formDataObj = new FormData();
 
-    // Append all form data except profileImage
+    // Append all form data
     Object.entries(formData).forEach(([key, value]) => {
-      if (key !== 'profileImage' && value !== undefined) {
+      if (value !== undefined) {
         formDataObj.append(key, value.toString());
       }
     });
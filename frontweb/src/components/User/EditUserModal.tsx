@@ -3,6 +3,7 @@ import React, { useEffect, useState } from 'react';
 import { Modal, Form, Button } from 'react-bootstrap';
 import { User } from 'types/user';
 import { updateUserAPI } from 'api/requestsApi';
+import { useProfileImage } from 'hooks/useProfileImage';
 
 interface EditUserModalProps {
   show: boolean;
@@ -28,18 +29,18 @@ const EditUserModal: React.FC<EditUserModalProps> = ({
     cargo: '',
     email: '',
     password: '',
-    profileImage: '',
     ativo: true,
   });
   const [profileImage, setProfileImage] = useState<File | null>(null);
   const [errors, setErrors] = useState<FormErrors>({});
+  const currentImageUrl = useProfileImage(
+    user?.id,
+    user?.profileImageHash,
+    180
+  );
 
   useEffect(() => {
     if (user) {
-      const formattedProfileImage = user.profileImage
-        ? `data:image/jpeg;base64,${user.profileImage}`
-        : '';
-
       setFormData({
         id: user.id,
         name: user.name,
@@ -47,7 +48,6 @@ const EditUserModal: React.FC<EditUserModalProps> = ({
         cargo: user.cargo,
         email: user.email,
         password: user.password,
-        profileImage: formattedProfileImage || user.profileImage,
         ativo: user.ativo,
       });
       setProfileImage(null);
@@ -91,28 +91,17 @@ const EditUserModal: React.FC<EditUserModalProps> = ({
 
     const formDataObj = new FormData();
 
-    // Append all form data except profileImage
+    // Append all form data
     Object.entries(formData).forEach(([key, value]) => {
-      if (key !== 'profileImage' && value !== undefined) {
+      if (value !== undefined) {
         formDataObj.append(key, value.toString());
       }
     });
 
-    // If a new profileImage is selected, append it to formDataObj
+    // Only a newly selected image is sent; without one the backend keeps
+    // the current image
     if (profileImage) {
       formDataObj.append('image', profileImage);
-    } else if (formData.profileImage) {
-      // If no new profileImage is selected, convert the existing profileImage to a File object and append it
-      const base64Data = formData.profileImage.split(',')[1];
-      const binaryData = atob(base64Data);
-      const bytes = new Uint8Array(binaryData.length);
-      for (let i = 0; i < binaryData.length; i++) {
-        bytes[i] = binaryData.charCodeAt(i);
-      }
-      const file = new File([bytes], 'existing-image.jpg', {
-        type: 'image/jpeg',
-      });
-      formDataObj.append('image', file);
     }
 
     try {
@@ -185,6 +174,20 @@ const EditUserModal: React.FC<EditUserModalProps> = ({
 
           <Form.Group controlId="formProfileImage">
             <Form.Label>Imagem de Perfil</Form.Label>
+            {currentImageUrl && !profileImage && (
+              <div className="mb-2">
+                <img
+                  src={currentImageUrl}
+                  alt={formData.name}
+                  style={{
+                    width: '90px',
+                    height: '90px',
+                    objectFit: 'cover',
+                    borderRadius: '50%',
+                  }}
+                />
+              </div>
+            )}
             <Form.Control type="file" onChange={handleImageUpload} />
           </Form.Group>
         </Form>
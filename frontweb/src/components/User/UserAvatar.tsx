@@ -1,9 +1,10 @@
-import React, { useEffect, useState } from 'react';
-import axios from 'api/apiConfig';
+import React from 'react';
+import { useProfileImage } from 'hooks/useProfileImage';
 
 interface UserAvatarProps {
   userId: number;
   name: string;
+  profileImageHash?: string | null;
 }
 
 // Deterministic per-name color so the same person always gets the same placeholder color.
@@ -35,43 +36,16 @@ const getColorForName = (name: string): string => {
   return AVATAR_COLORS[Math.abs(hash) % AVATAR_COLORS.length];
 };
 
-// Fetched on demand (and cached by the browser via Cache-Control) instead of being embedded as
-// base64 in the users list response. Shows an initials placeholder immediately — both while the
+// Fetched on demand (and cached by the browser until the photo changes) instead of being embedded
+// as base64 in the users list response. Shows an initials placeholder immediately — both while the
 // photo is loading and as the permanent fallback when there is none — so the cell is never blank
 // while waiting on the network.
-const UserAvatar: React.FC<UserAvatarProps> = ({ userId, name }) => {
-  const [imageUrl, setImageUrl] = useState<string | null>(null);
-
-  useEffect(() => {
-    let objectUrl: string | null = null;
-    let cancelled = false;
-
-    const loadImage = async () => {
-      try {
-        const response = await axios.get(`/users/${userId}/profile-image`, {
-          responseType: 'blob',
-        });
-        if (!cancelled) {
-          objectUrl = URL.createObjectURL(response.data);
-          setImageUrl(objectUrl);
-        }
-      } catch {
-        // No image (404) or failed to load — keep showing the initials placeholder.
-        if (!cancelled) {
-          setImageUrl(null);
-        }
-      }
-    };
-
-    loadImage();
-
-    return () => {
-      cancelled = true;
-      if (objectUrl) {
-        URL.revokeObjectURL(objectUrl);
-      }
-    };
-  }, [userId]);
+const UserAvatar: React.FC<UserAvatarProps> = ({
+  userId,
+  name,
+  profileImageHash,
+}) => {
+  const imageUrl = useProfileImage(userId, profileImageHash, 90);
 
   if (imageUrl) {
     return (
@@ -2,11 +2,17 @@ import React from 'react';
 import { useAuth } from '../../AuthContext';
 import { Button, Nav } from 'react-bootstrap';
 import defaultAvatarImage from '../../assets/images/user-avatar-test.png';
+import { useProfileImage } from '../../hooks/useProfileImage';
 
 import './userInfo.css';
 
 const UserInfo: React.FC = () => {
   const { user, logout } = useAuth();
+  const profileImageUrl = useProfileImage(
+    user?.id,
+    user?.profileImageHash,
+    40
+  );
 
   if (!user) {
     return null;
@@ -29,7 +35,7 @@ const UserInfo: React.FC = () => {
           style={{ width: '35px', height: '35px' }}
         >
           <img
-            src={user.profileImage || defaultAvatarImage}
+            src={profileImageUrl || defaultAvatarImage}
             alt="User Avatar"
             className="w-100 h-100"
           />
@@ -150,7 +150,11 @@ const UserTable: React.FC<UserTableProps> = ({
                     <td className="d-none d-md-table-cell">{rowUser.cargo}</td>
                     <td className="d-none d-lg-table-cell">{rowUser.email}</td>
                     <td className="d-none d-lg-table-cell">
-                      <UserAvatar userId={rowUser.id} name={rowUser.name} />
+                      <UserAvatar
+                        userId={rowUser.id}
+                        name={rowUser.name}
+                        profileImageHash={rowUser.profileImageHash}
+                      />
                     </td>
                     <td>
                       <div className="action-icons">
@@ -0,0 +1,68 @@
+import { useEffect, useState } from 'react';
+import axios from '../api/apiConfig';
+
+// Sizes stored by the backend (ProfileImageService.SIZES): ask for the smallest one that covers
+// the displayed size.
+export type ProfileImageSize = 40 | 90 | 180;
+
+// ?v=<profileImageHash> makes the response immutable, so the browser caches it for a year and a
+// new photo (new hash) is a new URL.
+export const profileImagePath = (
+  userId: number,
+  profileImageHash: string,
+  size: ProfileImageSize
+): string =>
+  `/users/${userId}/profile-image?v=${encodeURIComponent(profileImageHash)}&size=${size}`;
+
+/**
+ * Object URL of a user's profile image, or null while it loads, when it
+ * fails and when the user has none (no profileImageHash - no request is made).
+ * Fetched through axios rather than an <img src> so the request carries the
+ * Authorization header.
+ */
+export const useProfileImage = (
+  userId: number | undefined,
+  profileImageHash: string | null | undefined,
+  size: ProfileImageSize
+): string | null => {
+  const [imageUrl, setImageUrl] = useState<string | null>(null);
+
+  useEffect(() => {
+    setImageUrl(null);
+    if (!userId || !profileImageHash) {
+      return;
+    }
+
+    let objectUrl: string | null = null;
+    let cancelled = false;
+
+    const loadImage = async () => {
+      try {
+        const response = await axios.get(
+          profileImagePath(userId, profileImageHash, size),
+          { responseType: 'blob' }
+        );
+        if (!cancelled) {
+          objectUrl = URL.createObjectURL(response.data);
+          setImageUrl(objectUrl);
+        }
+      } catch {
+        // Failed to load - callers keep showing their fallback.
+        if (!cancelled) {
+          setImageUrl(null);
+        }
+      }
+    };
+
+    loadImage();
+
+    return () => {
+      cancelled = true;
+      if (objectUrl) {
+        URL.revokeObjectURL(objectUrl);
+      }
+    };
+  }, [userId, profileImageHash, size]);
+
+  return imageUrl;
+};
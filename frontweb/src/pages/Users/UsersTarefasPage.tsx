@@ -18,6 +18,7 @@ import TarefaModal from 'components/Tarefa/TarefaModal';
 import Button from 'react-bootstrap/Button';
 import { useAuth } from '../../AuthContext'; // Add this import
 import { useUserTarefaFilters } from 'hooks/useFilterState';
+import { useProfileImage } from 'hooks/useProfileImage';
 import { toast } from 'react-toastify';
 import './userStyles.scss';
 
@@ -28,6 +29,11 @@ const UsersTarefasPage: React.FC = () => {
   const { userId } = useParams<{ userId: string }>();
   const { user: currentUser } = useAuth(); // Get current user from context
   const [user, setUser] = useState<User | null>(null);
+  const profileImageUrl = useProfileImage(
+    user?.id,
+    user?.profileImageHash,
+    180
+  );
   const [tarefas, setTarefas] = useState<TarefaWithUserAndProjetoDTO[]>([]);
   const [loading, setLoading] = useState<boolean>(true);
   const [tasksLoading, setTasksLoading] = useState<boolean>(true);
@@ -98,13 +104,7 @@ const UsersTarefasPage: React.FC = () => {
           userData = await getUserById(parsedUserId);
         }
 
-        setUser({
-          ...userData,
-          profileImage:
-            userData.profileImage && userData.profileImage.trim() !== ''
-              ? userData.profileImage
-              : '',
-        });
+        setUser(userData);
       } catch (err) {
         setError('Failed to fetch user data or tarefas');
         console.error('Error fetching data:', err);
@@ -244,9 +244,9 @@ const UsersTarefasPage: React.FC = () => {
               className="user-image-container"
               style={{ marginRight: '1.5rem' }}
             >
-              {user.profileImage && user.profileImage.trim() !== '' ? (
+              {profileImageUrl ? (
                 <img
-                  src={`data:image/jpeg;base64,${user.profileImage}`}
+                  src={profileImageUrl}
                   alt={`${user.name}`}
                   className="user-profile-image"
                   style={{
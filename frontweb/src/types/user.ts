@@ -12,7 +12,8 @@ export type User = {
   cargo: string;
   email: string;
   password: string;
-  profileImage: string; // ou Blob, se aceitarmos ficheiros maiores
+  // Current photo, loaded from /users/{id}/profile-image (useProfileImage); null without one
+  profileImageHash?: string | null;
   ativo: boolean;
   roles?: Role[];
 };
@@ -24,7 +25,7 @@ export type UserDTO = {
   cargo: string;
   email: string;
   password: string;
-  profileImage: string;
+  profileImageHash?: string | null;
   ativo: boolean;
   projetos: any[]; // Replaced ProjetoDTO with any[] since ProjetoDTO is not defined
   roles?: Role[];
@@ -0,0 +1,88 @@
+#!/usr/bin/env python3
+"""Compares two JMH JSON result files (-rf json) and flags regressions.
+
+Usage: compare-benchmarks.py <baseline.json> <current.json> [--threshold PERCENT]
+
+A benchmark counts as a regression when it got worse by more than the threshold
+(default 10%) AND the difference is larger than the two runs' combined error
+margin, so noisy single-fork runs don't cause false alarms. "Worse" depends on
+the mode: lower is better for avgt/sample/ss, higher is better for thrpt.
+Exits with status 1 if any regression was found.
+"""
+import argparse
+import json
+import math
+import sys
+
+HIGHER_IS_BETTER = {"thrpt"}
+
+
+def load(path):
+    with open(path) as f:
+        results = json.load(f)
+    by_key = {}
+    for r in results:
+        params = ",".join(f"{k}={v}" for k, v in sorted((r.get("params") or {}).items()))
+        key = f"{r['benchmark']}({params})" if params else r["benchmark"]
+        metric = r["primaryMetric"]
+        error = metric.get("scoreError")
+        if error is None or (isinstance(error, float) and math.isnan(error)) or error == "NaN":
+            error = 0.0
+        by_key[key] = (r["mode"], float(metric["score"]), float(error), metric["scoreUnit"])
+    return by_key
+
+
+def short_name(key):
+    # com.fl.dashboard.services.WorkingDaysBenchmark.legacyCalendarLoop(...) -> WorkingDaysBenchmark.legacyCalendarLoop(...)
+    name, _, params = key.partition("(")
+    parts = name.split(".")
+    return ".".join(parts[-2:]) + (f"({params}" if params else "")
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0, help="regression threshold in percent")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+
+    regressions = 0
+    print(f"{'Benchmark':<70} {'Baseline':>14} {'Current':>14} {'Change':>9}")
+    for key in sorted(set(baseline) | set(current)):
+        if key not in baseline:
+            print(f"{short_name(key):<70} {'-':>14} {current[key][1]:>14.3f} {'new':>9}")
+            continue
+        if key not in current:
+            print(f"{short_name(key):<70} {baseline[key][1]:>14.3f} {'-':>14} {'removed':>9}")
+            continue
+
+        mode, base_score, base_error, unit = baseline[key]
+        _, cur_score, cur_error, _ = current[key]
+        if base_score == 0:
+            continue
+
+        change = (cur_score - base_score) / base_score * 100
+        worse = -change if mode in HIGHER_IS_BETTER else change
+        beyond_noise = abs(cur_score - base_score) > (base_error + cur_error)
+
+        flag = ""
+        if worse > args.threshold and beyond_noise:
+            flag = "  REGRESSION"
+            regressions += 1
+        elif -worse > args.threshold and beyond_noise:
+            flag = "  improved"
+
+        print(f"{short_name(key):<70} {base_score:>14.3f} {cur_score:>14.3f} {change:>+8.1f}%{flag}  {unit}")
+
+    if regressions:
+        print(f"\n{regressions} regression(s) above {args.threshold:.0f}%.")
+        return 1
+    print("\nNo regressions.")
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
@@ -0,0 +1,47 @@
+#!/bin/bash
+# Runs the JMH benchmarks (backend "benchmark" Maven profile), stores the JSON result as
+# benchmark-results/<commit>.json and, when a baseline is given, compares against it.
+#
+# Usage:
+#   scripts/run-benchmarks.sh                      # run, store result for HEAD
+#   scripts/run-benchmarks.sh <baseline-commit>    # ... and compare with that commit's stored result
+#   JMH_ARGS="-f 1 -i 3 WorkingDaysBenchmark" scripts/run-benchmarks.sh
+#   THRESHOLD=5 scripts/run-benchmarks.sh main     # regression threshold in % (default 10)
+
+SCRIPT_DIR="$( cd "$( dirname "${BASH_SOURCE[0]}" )" &> /dev/null && pwd )"
+PROJECT_ROOT="$( cd "$SCRIPT_DIR/.." &> /dev/null && pwd )"
+RESULTS_DIR="$PROJECT_ROOT/benchmark-results"
+
+cd "$PROJECT_ROOT"
+COMMIT=$(git rev-parse --short HEAD)
+if [ -n "$(git status --porcelain -- backend/src backend/pom.xml)" ]; then
+  COMMIT="$COMMIT-dirty"
+fi
+
+mkdir -p "$RESULTS_DIR"
+RESULT_FILE="$RESULTS_DIR/$COMMIT.json"
+
+cd "$PROJECT_ROOT/backend"
+MVN_ARGS=(-B -Pbenchmark -DskipTests verify "-Djmh.result=$RESULT_FILE")
+if [ -n "$JMH_ARGS" ]; then
+  MVN_ARGS+=("-Djmh.args=$JMH_ARGS")
+fi
+mvn "${MVN_ARGS[@]}"
+
+if [ $? -ne 0 ]; then
+  echo "Benchmark run failed."
+  exit 1
+fi
+
+echo "Results written to $RESULT_FILE"
+
+if [ -n "$1" ]; then
+  BASELINE_COMMIT=$(git rev-parse --short "$1")
+  BASELINE_FILE="$RESULTS_DIR/$BASELINE_COMMIT.json"
+  if [ ! -f "$BASELINE_FILE" ]; then
+    echo "Error: no stored result for baseline $BASELINE_COMMIT ($BASELINE_FILE)."
+    echo "Check it out and run this script there first."
+    exit 1
+  fi
+  python3 "$SCRIPT_DIR/compare-benchmarks.py" "$BASELINE_FILE" "$RESULT_FILE" --threshold "${THRESHOLD:-10}"
+fi